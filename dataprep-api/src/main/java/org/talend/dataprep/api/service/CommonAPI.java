@@ -13,6 +13,7 @@
 package org.talend.dataprep.api.service;
 
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
 import static org.springframework.web.bind.annotation.RequestMethod.GET;
 import static org.talend.dataprep.command.GenericCommand.ServiceType.*;
 
@@ -28,11 +29,14 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.talend.daikon.exception.error.ErrorCode;
+import org.talend.dataprep.api.service.command.QueueEventsCommand;
 import org.talend.dataprep.api.service.command.QueueStatusCommand;
 import org.talend.dataprep.api.service.command.error.ErrorList;
 import org.talend.dataprep.api.type.Type;
 import org.talend.dataprep.async.AsyncExecutionMessage;
+import org.talend.dataprep.command.CommandHelper;
 import org.talend.dataprep.command.GenericCommand;
 import org.talend.dataprep.exception.error.APIErrorCodes;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
@@ -133,6 +137,28 @@ public class CommonAPI extends APIService {
         return queueStatusCommand.execute();
     }
 
+    /**
+     * Stream the async method status updates as server-sent events (see the <code>/queue/{id}/events</code> endpoint
+     * of the services), so clients do not need to poll the async method status.
+     */
+    @RequestMapping(value = "/api/{service}/queue/{id}/events", method = GET, produces = TEXT_EVENT_STREAM_VALUE)
+    @ApiOperation(value = "Stream async method status updates.")
+    public StreamingResponseBody getQueueEvents(
+            @PathVariable(value = "service") @ApiParam(name = "service", value = "service name") String service,
+            @PathVariable(value = "id") @ApiParam(name = "id", value = "queue id.") String id) {
+        return CommandHelper.toEventStream(getQueueEventsCommand(service, id));
+    }
+
+    /**
+     * @param service the service name.
+     * @param id the queue id.
+     * @return the command that opens the server-sent events stream of the async method status updates.
+     * @see #getQueueEvents(String, String)
+     */
+    public HystrixCommand<InputStream> getQueueEventsCommand(String service, String id) {
+        return getCommand(QueueEventsCommand.class, GenericCommand.ServiceType.valueOf(service.toUpperCase()), id);
+    }
+
     /**
      * Get the async method status
      */
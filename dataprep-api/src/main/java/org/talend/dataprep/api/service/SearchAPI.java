@@ -12,17 +12,34 @@
 
 package org.talend.dataprep.api.service;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.toList;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static org.springframework.web.bind.annotation.RequestMethod.GET;
 import static org.talend.dataprep.exception.error.APIErrorCodes.UNABLE_TO_SEARCH_DATAPREP;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import javax.annotation.Resource;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -41,10 +58,18 @@ import io.swagger.annotations.ApiParam;
 
 /**
  * API in charge of the search.
+ * <p>
+ * Search delegates run concurrently (on the <code>search#executor</code> executor), and the results of each delegate
+ * are written as soon as it completes. A delegate that fails or does not complete within its deadline
+ * (<code>search.&lt;category&gt;.timeout</code> ms, <code>search.delegate.timeout</code> ms by default) gets empty
+ * results, and its category is listed in the <code>partial</code> field of the response.
  */
 @RestController
 public class SearchAPI extends APIService {
 
+    /** Name of the response field that lists the categories with incomplete results. */
+    static final String PARTIAL_FIELD = "partial";
+
     @Autowired
     private MessagesBundle messagesBundle;
 
@@ -52,6 +77,16 @@ public class SearchAPI extends APIService {
     @Qualifier("ordered#search")
     private OrderedBeans<SearchDelegate> searchDelegates;
 
+    @Resource(name = "search#executor")
+    private TaskExecutor searchExecutor;
+
+    @Autowired
+    private Environment environment;
+
+    /** Default deadline (in ms) of a search delegate. */
+    @Value("${search.delegate.timeout:5000}")
+    private long delegateTimeout;
+
     /**
      * Search dataprep folders, preparations and datasets.
      *
@@ -80,19 +115,12 @@ public class SearchAPI extends APIService {
             generator.writeStartObject();
 
             // Write results
+            final List<SearchDelegate> delegates = new ArrayList<>();
             searchDelegates //
                     .filter(searchDelegate -> categories.contains(searchDelegate.getSearchCategory())) //
-                    .forEach(searchDelegate -> {
-                        final String category = searchDelegate.getSearchCategory();
-                        try {
-                            generator.writeObjectField(category,
-                                    searchDelegate //
-                                            .search(name, strict) //
-                                            .map(result -> beanConversionService.convert(result, SearchResult.class)));
-                        } catch (IOException e) {
-                            LOG.error("Unable to search '{}'.", category, e);
-                        }
-                    });
+                    .forEach(delegates::add);
+            writeResults(generator, delegates, name, strict,
+                    result -> beanConversionService.convert(result, SearchResult.class));
 
             generator.writeEndObject();
 
@@ -144,20 +172,130 @@ public class SearchAPI extends APIService {
             generator.writeEndArray();
 
             // Write results
+            final List<SearchDelegate> delegates = new ArrayList<>();
             searchDelegates.forEach(searchDelegate -> {
-                final String category = searchDelegate.getSearchCategory();
-                if (categories == null || categories.contains(category)) {
-                    try {
-                        generator.writeObjectField(category, searchDelegate.search(name, strict));
-                    } catch (IOException e) {
-                        LOG.error("Unable to search '{}'.", category, e);
-                    }
+                if (categories == null || categories.contains(searchDelegate.getSearchCategory())) {
+                    delegates.add(searchDelegate);
                 }
             });
+            writeResults(generator, delegates, name, strict, Function.identity());
             generator.writeEndObject();
         } catch (IOException e) {
             throw new TDPException(UNABLE_TO_SEARCH_DATAPREP, e);
         }
         LOG.debug("Search done on for '{}' with filter '{}' (strict mode: {})", name, categories, strict);
     }
+
+    /**
+     * Runs the search delegates concurrently and writes the results of each one (in a field named after its category)
+     * as soon as it completes.
+     *
+     * @param generator where to write the results.
+     * @param delegates the search delegates to run.
+     * @param name the name searched.
+     * @param strict strict mode or not.
+     * @param converter conversion of the search results before they are written.
+     */
+    private void writeResults(JsonGenerator generator, List<SearchDelegate> delegates, String name, boolean strict,
+            Function<Object, Object> converter) throws IOException {
+        final CompletionService<List<Object>> completionService = new ExecutorCompletionService<>(searchExecutor);
+        final Map<Future<List<Object>>, PendingSearch> pending = new HashMap<>();
+        final List<String> partial = new ArrayList<>();
+
+        final long start = System.currentTimeMillis();
+        for (SearchDelegate delegate : delegates) {
+            final String category = delegate.getSearchCategory();
+            try {
+                final Future<List<Object>> future = completionService.submit(() -> {
+                    final Stream<?> results = delegate.search(name, strict);
+                    return results.map(converter).collect(toList());
+                });
+                pending.put(future, new PendingSearch(category, start + getTimeout(category)));
+            } catch (RejectedExecutionException e) {
+                LOG.warn("Unable to search '{}', too many concurrent searches.", category, e);
+                partial.add(category);
+            }
+        }
+
+        while (!pending.isEmpty()) {
+            final long nextDeadline = pending.values().stream().mapToLong(search -> search.deadline).min().getAsLong();
+            final Future<List<Object>> completed;
+            try {
+                final long delay = Math.max(0, nextDeadline - System.currentTimeMillis());
+                completed = completionService.poll(delay, MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                pending.forEach((future, search) -> {
+                    future.cancel(true);
+                    partial.add(search.category);
+                });
+                break;
+            }
+            if (completed != null) {
+                // a cancelled search (already reported as partial) is also returned once
+                final PendingSearch search = pending.remove(completed);
+                if (search != null) {
+                    writeResult(generator, search.category, completed, partial);
+                }
+            } else {
+                final long now = System.currentTimeMillis();
+                pending.entrySet().removeIf(entry -> {
+                    final PendingSearch search = entry.getValue();
+                    if (search.deadline > now) {
+                        return false;
+                    }
+                    LOG.warn("Search of '{}' did not complete within {} ms, results are partial.", search.category,
+                            search.deadline - start);
+                    entry.getKey().cancel(true);
+                    partial.add(search.category);
+                    return true;
+                });
+            }
+        }
+
+        // Categories without results are still present (as for a search with no match)
+        for (String category : partial) {
+            generator.writeObjectField(category, new ArrayList<>(0));
+        }
+        if (!partial.isEmpty()) {
+            generator.writeObjectField(PARTIAL_FIELD, partial);
+        }
+    }
+
+    private void writeResult(JsonGenerator generator, String category, Future<List<Object>> completed,
+            List<String> partial) throws IOException {
+        try {
+            generator.writeObjectField(category, completed.get());
+            generator.flush();
+        } catch (ExecutionException e) {
+            LOG.error("Unable to search '{}'.", category, e.getCause());
+            partial.add(category);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            partial.add(category);
+        }
+    }
+
+    /**
+     * @return the deadline (in ms) of the search delegate for the given category.
+     */
+    private long getTimeout(String category) {
+        return environment.getProperty("search." + category + ".timeout", Long.class, delegateTimeout);
+    }
+
+    /**
+     * A search delegate that was submitted and has not completed yet.
+     */
+    private static class PendingSearch {
+
+        private final String category;
+
+        /** When (in ms since epoch) the search is considered as too late. */
+        private final long deadline;
+
+        private PendingSearch(String category, long deadline) {
+            this.category = category;
+            this.deadline = deadline;
+        }
+    }
 }
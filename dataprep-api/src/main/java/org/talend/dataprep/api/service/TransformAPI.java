@@ -130,7 +130,7 @@ public class TransformAPI extends APIService {
         if (isNotBlank(preparationId)) {
             inputData = new AsyncGet<>(
                     () -> getCommand(PreparationGetContent.class, preparationId, dynamicParamsInput.getStepId()),
-                    commonAPI);
+                    commonAPI, mapper);
         } else {
             inputData = datasetClient.getDataSetGetCommand(dynamicParamsInput.getDatasetId(), false, false);
         }
@@ -0,0 +1,61 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.api.service.command;
+
+import static org.springframework.beans.factory.config.BeanDefinition.SCOPE_PROTOTYPE;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.commons.io.input.CloseShieldInputStream;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.util.EntityUtils;
+import org.springframework.context.annotation.Scope;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.command.GenericCommand;
+import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.exception.error.CommonErrorCodes;
+import org.talend.dataprep.io.ReleasableInputStream;
+
+/**
+ * Opens the server-sent events stream of an async execution (see the <code>/queue/{id}/events</code> endpoint of the
+ * services).
+ */
+@Component
+@Scope(SCOPE_PROTOTYPE)
+public class QueueEventsCommand extends GenericCommand<InputStream> {
+
+    private QueueEventsCommand(ServiceType service, String idQueue) {
+        super(ASYNC_GROUP);
+        execute(() -> {
+            final HttpGet events = new HttpGet(getServiceUrl(service) + "/queue/" + idQueue + "/events");
+            events.addHeader(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE);
+            return events;
+        });
+        on(HttpStatus.OK).then((request, response) -> {
+            try {
+                // Stream may stay open until the execution ends: closing it aborts the request instead of reading the
+                // remaining events.
+                final InputStream content = new CloseShieldInputStream(response.getEntity().getContent());
+                return new ReleasableInputStream(content, request::abort);
+            } catch (IOException e) {
+                EntityUtils.consumeQuietly(response.getEntity());
+                throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+            }
+        });
+    }
+
+}
@@ -1,5 +1,6 @@
 package org.talend.dataprep.api.service.command.common;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.slf4j.LoggerFactory.getLogger;
 import static org.talend.dataprep.async.AsyncExecution.Status.NEW;
 import static org.talend.dataprep.async.AsyncExecution.Status.RUNNING;
@@ -9,6 +10,9 @@ import static org.talend.dataprep.command.GenericCommand.FULLRUN_GROUP;
 import static org.talend.dataprep.command.GenericCommand.PREPARATION_GROUP;
 import static org.talend.dataprep.command.GenericCommand.TRANSFORM_GROUP;
 
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
@@ -25,6 +29,7 @@ import org.talend.dataprep.command.GenericCommand;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Stopwatch;
 import com.netflix.hystrix.HystrixCommand;
 import com.netflix.hystrix.HystrixCommandGroupKey;
@@ -37,14 +42,20 @@ public class AsyncGet<T> extends HystrixCommand<T> {
 
     private static final TimeUnit WAIT_TIME_UNIT = TimeUnit.MINUTES;
 
+    /** Prefix of the data lines of a server-sent event. */
+    private static final String EVENT_DATA = "data:";
+
     private final Supplier<GenericCommand<T>> commandSupplier;
 
     private CommonAPI commonAPI;
 
-    public AsyncGet(Supplier<GenericCommand<T>> commandSupplier, CommonAPI commonAPI) {
+    private final ObjectMapper mapper;
+
+    public AsyncGet(Supplier<GenericCommand<T>> commandSupplier, CommonAPI commonAPI, ObjectMapper mapper) {
         super(ASYNC_GROUP);
         this.commandSupplier = commandSupplier;
         this.commonAPI = commonAPI;
+        this.mapper = mapper;
     }
 
     public T run() {
@@ -79,7 +90,8 @@ public class AsyncGet<T> extends HystrixCommand<T> {
     }
 
     /**
-     * Ping (100 times max) async method status url in order to wait the end of the execution
+     * Listen to the async method status updates in order to wait the end of the execution. If updates can't be
+     * listened to (or stop before the end of the execution), ping async method status url instead.
      *
      * @param group
      * @param asyncMethodStatusUrl
@@ -93,18 +105,18 @@ public class AsyncGet<T> extends HystrixCommand<T> {
         if (asyncMethodStatusUrl.matches(".*/queue/[a-f0-9_]+")) {
             String execId = StringUtils.substringAfterLast(asyncMethodStatusUrl, "/");
             GenericCommand.ServiceType service = getServiceFromGroup(group);
-            boolean isAsyncMethodRunning;
-            do {
+            executionStatus = listenToAsyncMethodStatus(service, execId);
+            if (executionStatus == null) {
                 executionStatus = commonAPI.getQueue(service.name(), execId);
-                AsyncExecution.Status asyncStatus = executionStatus.getStatus();
-                isAsyncMethodRunning = RUNNING.equals(asyncStatus) || NEW.equals(asyncStatus);
-
+            }
+            while (isRunning(executionStatus) && waitTimeStopWatch.elapsed(WAIT_TIME_UNIT) < WAIT_TIME) {
                 try {
                     TimeUnit.SECONDS.sleep(retryDelaySeconds);
                 } catch (InterruptedException e) {
                     LOGGER.error("cannot sleep", e);
                 }
-            } while (isAsyncMethodRunning && waitTimeStopWatch.elapsed(WAIT_TIME_UNIT) < WAIT_TIME);
+                executionStatus = commonAPI.getQueue(service.name(), execId);
+            }
         } else {
             throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, ExceptionContext
                     .withBuilder()
@@ -114,6 +126,47 @@ public class AsyncGet<T> extends HystrixCommand<T> {
         return executionStatus;
     }
 
+    /**
+     * Reads the server-sent events stream of the async method status until the execution ends.
+     *
+     * @param service the service that runs the async method.
+     * @param execId the execution id.
+     * @return the status of the ended execution, or <code>null</code> if stream could not be read or ended before the
+     * execution (e.g. on stream timeout).
+     */
+    private AsyncExecutionMessage listenToAsyncMethodStatus(GenericCommand.ServiceType service, String execId) {
+        final HystrixCommand<InputStream> command = commonAPI.getQueueEventsCommand(service.name(), execId);
+        try (BufferedReader events = new BufferedReader(new InputStreamReader(command.execute(), UTF_8))) {
+            final StringBuilder data = new StringBuilder();
+            String line;
+            while ((line = events.readLine()) != null) {
+                if (line.startsWith(EVENT_DATA)) {
+                    if (data.length() > 0) {
+                        data.append('\n');
+                    }
+                    data.append(StringUtils.removeStart(line.substring(EVENT_DATA.length()), " "));
+                } else if (line.isEmpty() && data.length() > 0) {
+                    // end of event
+                    final AsyncExecutionMessage status =
+                            mapper.readerFor(AsyncExecutionMessage.class).readValue(data.toString());
+                    data.setLength(0);
+                    if (!isRunning(status)) {
+                        return status;
+                    }
+                }
+            }
+            LOGGER.debug("Status updates of execution #{} ended before execution.", execId);
+        } catch (Exception e) {
+            LOGGER.debug("Unable to listen to status updates of execution #{}.", execId, e);
+        }
+        return null;
+    }
+
+    private static boolean isRunning(AsyncExecutionMessage executionStatus) {
+        final AsyncExecution.Status asyncStatus = executionStatus.getStatus();
+        return RUNNING.equals(asyncStatus) || NEW.equals(asyncStatus);
+    }
+
     private static GenericCommand.ServiceType getServiceFromGroup(HystrixCommandGroupKey group) {
         GenericCommand.ServiceType service;
         if (group == TRANSFORM_GROUP) {
@@ -14,8 +14,12 @@ package org.talend.dataprep.configuration;
 
 import static java.util.Arrays.asList;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncListenableTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.talend.dataprep.api.service.delegate.DataSetSearchDelegate;
 import org.talend.dataprep.api.service.delegate.FolderSearchDelegate;
 import org.talend.dataprep.api.service.delegate.PreparationSearchDelegate;
@@ -34,4 +38,32 @@ public class SearchConfiguration {
             PreparationSearchDelegate preparation) {
         return new OrderedBeans<>(asList(preparation, folder, dataset));
     }
+
+    /**
+     * Search delegates call other services: they run on the authenticated executor of {@link TaskExecution} so these
+     * calls are made on behalf of the current user.
+     *
+     * @param taskExecution the task execution configuration that provides authenticated executors.
+     * Executor is bounded (<code>poolSize</code> threads and up to 10 waiting searches per thread) so searches are
+     * rejected, and reported as partial, when too many are running at the same time.
+     *
+     * @param poolSize the maximum number of search delegates running at the same time.
+     * @return the (bounded) executor of the search delegates.
+     */
+    @Bean(name = "search#executor")
+    public TaskExecutor searchExecutor(TaskExecution taskExecution,
+            @Value("${search.executor.pool-size:12}") int poolSize) {
+        final AsyncListenableTaskExecutor executor = taskExecution.getAsyncExecutor();
+        if (executor instanceof ThreadPoolTaskExecutor) {
+            final ThreadPoolTaskExecutor threadPoolExecutor = (ThreadPoolTaskExecutor) executor;
+            // queue capacity is only taken into account when executor is initialized
+            threadPoolExecutor.shutdown();
+            threadPoolExecutor.setMaxPoolSize(poolSize);
+            threadPoolExecutor.setCorePoolSize(poolSize);
+            threadPoolExecutor.setQueueCapacity(poolSize * 10);
+            threadPoolExecutor.setThreadNamePrefix("search-");
+            threadPoolExecutor.initialize();
+        }
+        return executor;
+    }
 }
@@ -0,0 +1,155 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.api.service;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.talend.dataprep.api.service.api.SearchResult;
+import org.talend.dataprep.api.service.delegate.SearchDelegate;
+import org.talend.dataprep.configuration.SearchConfiguration;
+import org.talend.dataprep.configuration.TaskExecution;
+import org.talend.dataprep.conversions.BeanConversionService;
+import org.talend.dataprep.util.OrderedBeans;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Unit test for the concurrent run of the search delegates in {@link SearchAPI}.
+ */
+public class SearchAPIDelegatesTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final SearchAPI searchAPI = new SearchAPI();
+
+    private final SearchDelegate fast = mock(SearchDelegate.class);
+
+    private final SearchDelegate slow = mock(SearchDelegate.class);
+
+    /** Released when the slow delegate may complete. */
+    private final CountDownLatch slowRelease = new CountDownLatch(1);
+
+    @Before
+    public void setUp() {
+        when(fast.getSearchCategory()).thenReturn("fast");
+        when(fast.search("beer", false)).thenAnswer(invocation -> Stream.of("Queue de charrue"));
+        when(slow.getSearchCategory()).thenReturn("slow");
+        when(slow.search("beer", false)).thenAnswer(invocation -> {
+            slowRelease.await();
+            return Stream.of("Saint Feuillien");
+        });
+
+        final BeanConversionService conversionService = mock(BeanConversionService.class);
+        when(conversionService.convert(any(), eq(SearchResult.class))).thenAnswer(invocation -> {
+            final SearchResult result = new SearchResult();
+            result.setName((String) invocation.getArguments()[0]);
+            return result;
+        });
+
+        ReflectionTestUtils.setField(searchAPI, "searchDelegates", new OrderedBeans<>(asList(slow, fast)));
+        ReflectionTestUtils.setField(searchAPI, "searchExecutor",
+                new SearchConfiguration().searchExecutor(new TaskExecution(), 2));
+        ReflectionTestUtils.setField(searchAPI, "environment", new MockEnvironment());
+        ReflectionTestUtils.setField(searchAPI, "delegateTimeout", 200L);
+        ReflectionTestUtils.setField(searchAPI, "mapper", mapper);
+        ReflectionTestUtils.setField(searchAPI, "beanConversionService", conversionService);
+    }
+
+    @After
+    public void tearDown() {
+        slowRelease.countDown();
+    }
+
+    @Test
+    public void shouldReportLateDelegateAsPartial() throws Exception {
+        // given (slow delegate does not complete before search returns)
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        searchAPI.search("beer", asList("fast", "slow"), false).writeTo(output);
+
+        // then
+        assertEquals(1, slowRelease.getCount());
+        final JsonNode results = mapper.readTree(output.toByteArray());
+        assertEquals(1, results.get("fast").size());
+        assertEquals("Queue de charrue", results.get("fast").get(0).get("name").asText());
+        assertEquals(0, results.get("slow").size());
+        assertEquals(1, results.get(SearchAPI.PARTIAL_FIELD).size());
+        assertEquals("slow", results.get(SearchAPI.PARTIAL_FIELD).get(0).asText());
+    }
+
+    @Test
+    public void shouldReportRejectedDelegateAsPartial() throws Exception {
+        // given (1 thread and 10 waiting searches, all busy)
+        final TaskExecutor executor = new SearchConfiguration().searchExecutor(new TaskExecution(), 1);
+        ReflectionTestUtils.setField(searchAPI, "searchExecutor", executor);
+        for (int i = 0; i < 11; i++) {
+            executor.execute(() -> {
+                try {
+                    slowRelease.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        searchAPI.search("beer", singletonList("fast"), false).writeTo(output);
+
+        // then
+        final JsonNode results = mapper.readTree(output.toByteArray());
+        assertEquals(0, results.get("fast").size());
+        assertEquals(1, results.get(SearchAPI.PARTIAL_FIELD).size());
+        assertEquals("fast", results.get(SearchAPI.PARTIAL_FIELD).get(0).asText());
+    }
+
+    @Test
+    public void shouldUseDeadlineOfCategory() throws Exception {
+        // given
+        ReflectionTestUtils.setField(searchAPI, "environment",
+                new MockEnvironment().withProperty("search.slow.timeout", "10000"));
+        when(fast.search("beer", false)).thenAnswer(invocation -> {
+            slowRelease.countDown();
+            return Stream.of("Queue de charrue");
+        });
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        searchAPI.search("beer", asList("fast", "slow"), false).writeTo(output);
+
+        // then
+        final JsonNode results = mapper.readTree(output.toByteArray());
+        assertEquals(1, results.get("fast").size());
+        assertEquals(1, results.get("slow").size());
+        assertNull(results.get(SearchAPI.PARTIAL_FIELD));
+    }
+}
@@ -12,9 +12,13 @@
 
 package org.talend.dataprep.async.progress;
 
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,6 +32,7 @@ import org.talend.dataprep.transformation.pipeline.Signal;
  * <ul>
  * <li>Execute custom code when asynchronous task is canceled.</li>
  * <li>Push information to asynchronous task monitor (e.g. for progress update)</li>
+ * <li>Notify subscribers of an execution when its status or progress changes (e.g. for status streaming)</li>
  * </ul>
  *
  * @see #get()
@@ -45,10 +50,14 @@ public class ExecutionContext {
     private static final ExecutionContext INSTANCE = new ExecutionContext();
 
     /** List of current progress entry per thread. */
-    private final Map<Thread, ProgressEntry> currentProgress = new HashMap<>();
+    private final Map<Thread, ProgressEntry> currentProgress = new ConcurrentHashMap<>();
 
     /** Map of signals per execution id. */
-    private final Map<String, BiConsumer<AsyncExecution, Signal>> signalHandlers = new FifoMap<>(1000);
+    private final Map<String, BiConsumer<AsyncExecution, Signal>> signalHandlers =
+            Collections.synchronizedMap(new FifoMap<>(1000));
+
+    /** Update listeners per execution id. */
+    private final Map<String, List<Consumer<AsyncExecution>>> updateListeners = new ConcurrentHashMap<>();
 
     /**
      * Private constructor used to ensure the singleton.
@@ -103,6 +112,7 @@ public class ExecutionContext {
         }
         entry.execution.setResult(result);
         entry.repository.save(entry.execution);
+        notifyUpdate(entry.execution);
     }
 
     /**
@@ -117,6 +127,7 @@ public class ExecutionContext {
         if (entry != null) {
             entry.execution.setProgress(progress);
             entry.repository.save(entry.execution);
+            notifyUpdate(entry.execution);
         } else {
             LOGGER.warn("Unable to publish progress (outside of a managed execution thread).");
         }
@@ -130,7 +141,7 @@ public class ExecutionContext {
         }
         entry.execution.updateExecutionState(AsyncExecution.Status.NEW);
         entry.repository.save(entry.execution);
-
+        notifyUpdate(entry.execution);
     }
 
     /**
@@ -178,6 +189,57 @@ public class ExecutionContext {
         }
     }
 
+    /**
+     * Subscribe to the updates (status, progress...) of an execution. Listener is automatically removed once the
+     * execution is no longer running (see {@link AsyncExecution#isResumable()}).
+     *
+     * @param executionId the execution id.
+     * @param listener the listener to call with the updated execution.
+     * @see #notifyUpdate(AsyncExecution)
+     * @see #unsubscribe(String, Consumer)
+     */
+    public void subscribe(String executionId, Consumer<AsyncExecution> listener) {
+        updateListeners.computeIfAbsent(executionId, id -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * Remove a listener previously added with {@link #subscribe(String, Consumer)}. If listener was not subscribed no
+     * exception is thrown.
+     *
+     * @param executionId the execution id.
+     * @param listener the listener to remove.
+     */
+    public void unsubscribe(String executionId, Consumer<AsyncExecution> listener) {
+        updateListeners.computeIfPresent(executionId, (id, listeners) -> {
+            listeners.remove(listener);
+            return listeners.isEmpty() ? null : listeners;
+        });
+    }
+
+    /**
+     * Notify the listeners of the given execution that it was updated (and saved).
+     *
+     * @param execution the updated execution.
+     * @see #subscribe(String, Consumer)
+     */
+    public void notifyUpdate(AsyncExecution execution) {
+        if (execution == null) {
+            return;
+        }
+        final List<Consumer<AsyncExecution>> listeners = execution.isResumable()
+                ? updateListeners.get(execution.getId()) : updateListeners.remove(execution.getId());
+        if (listeners == null) {
+            return;
+        }
+        for (Consumer<AsyncExecution> listener : listeners) {
+            try {
+                listener.accept(execution);
+            } catch (Exception e) {
+                LOGGER.warn("Unable to notify update of execution #{}.", execution.getId(), e);
+            }
+        }
+    }
+
     /**
      * Class used to group a progress, its execution and the task repository.
      */
@@ -0,0 +1,82 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.async.progress;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.Test;
+import org.talend.dataprep.async.AsyncExecution;
+
+public class ExecutionContextTest {
+
+    private final ExecutionContext context = ExecutionContext.get();
+
+    @Test
+    public void shouldNotifySubscribersUntilExecutionIsFinished() {
+        // given
+        final AsyncExecution execution = new AsyncExecution();
+        final List<AsyncExecution.Status> notified = new ArrayList<>();
+        context.subscribe(execution.getId(), e -> notified.add(e.getStatus()));
+
+        // when
+        execution.setStatus(AsyncExecution.Status.RUNNING);
+        context.notifyUpdate(execution);
+        execution.setStatus(AsyncExecution.Status.DONE);
+        context.notifyUpdate(execution);
+        context.notifyUpdate(execution);
+
+        // then
+        assertEquals(2, notified.size());
+        assertEquals(AsyncExecution.Status.RUNNING, notified.get(0));
+        assertEquals(AsyncExecution.Status.DONE, notified.get(1));
+    }
+
+    @Test
+    public void shouldNotNotifyUnsubscribedListeners() {
+        // given
+        final AsyncExecution execution = new AsyncExecution();
+        execution.setStatus(AsyncExecution.Status.RUNNING);
+        final List<AsyncExecution> notified = new ArrayList<>();
+        final Consumer<AsyncExecution> listener = notified::add;
+        context.subscribe(execution.getId(), listener);
+
+        // when
+        context.unsubscribe(execution.getId(), listener);
+        context.notifyUpdate(execution);
+
+        // then
+        assertEquals(0, notified.size());
+    }
+
+    @Test
+    public void shouldNotifyOtherSubscribersWhenOneFails() {
+        // given
+        final AsyncExecution execution = new AsyncExecution();
+        execution.setStatus(AsyncExecution.Status.DONE);
+        final List<AsyncExecution> notified = new ArrayList<>();
+        context.subscribe(execution.getId(), e -> {
+            throw new IllegalStateException("on purpose");
+        });
+        context.subscribe(execution.getId(), notified::add);
+
+        // when
+        context.notifyUpdate(execution);
+
+        // then
+        assertEquals(1, notified.size());
+    }
+}
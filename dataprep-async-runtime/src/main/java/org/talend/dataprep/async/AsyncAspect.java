@@ -111,6 +111,9 @@ public class AsyncAspect {
         // https://www.w3.org/Protocols/rfc2616/rfc2616-sec14.html#sec14.37
         // Duration in seconds before a retry. Value is 1s because it is the current front-side wait time
         HttpResponseContext.header(HttpHeaders.RETRY_AFTER, "1");
+        // Clients may rather listen to the execution updates (see AsyncController#events)
+        final String eventsURL = statusCheckURL + "/" + AsyncController.EVENTS_PATH;
+        HttpResponseContext.header("Link", "<" + eventsURL + ">; rel=\"monitor\"");
     }
 
     private AsyncExecution scheduleAsynchroneTask(ProceedingJoinPoint pjp, boolean resumeExistingAsyncExecution) {
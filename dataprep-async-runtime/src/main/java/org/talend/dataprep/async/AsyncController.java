@@ -15,17 +15,28 @@ package org.talend.dataprep.async;
 import static org.talend.daikon.exception.ExceptionContext.build;
 import static org.talend.dataprep.async.AsyncController.QUEUE_PATH;
 
+import java.io.IOException;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
+import javax.annotation.Resource;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.talend.dataprep.async.progress.ExecutionContext;
 import org.talend.dataprep.async.repository.ManagedTaskRepository;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.TransformationErrorCodes;
@@ -36,6 +47,8 @@ public class AsyncController {
 
     static final String QUEUE_PATH = "queue";
 
+    static final String EVENTS_PATH = "events";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(AsyncController.class);
 
     @Autowired
@@ -44,12 +57,107 @@ public class AsyncController {
     @Autowired
     private ManagedTaskRepository repository;
 
+    @Resource(name = "asyncEventsExecutor")
+    private TaskExecutor eventsExecutor;
+
+    /** How long (in ms) an events stream stays open if execution does not finish. */
+    @Value("${async-runtime.events.timeout:600000}")
+    private long eventsTimeout;
+
     @GetMapping(path = "/{id}")
     public AsyncExecution get(@PathVariable("id") String id) {
         LOGGER.debug("Get execution {}", id);
         return repository.get(id);
     }
 
+    /**
+     * Stream the updates (status, progress...) of an execution as server-sent events, starting with its current state,
+     * so clients are told of the execution completion without polling {@link #get(String)}. Stream is completed once
+     * execution is no longer running (or after <code>async-runtime.events.timeout</code> ms).
+     * <p>
+     * Only updates of executions run by this instance are pushed (see
+     * {@link ExecutionContext#notifyUpdate(AsyncExecution)}), clients should fall back to polling when stream times
+     * out.
+     *
+     * @param id the execution id.
+     * @return the events stream (completed at once if execution does not exist).
+     */
+    @GetMapping(path = "/{id}/" + EVENTS_PATH, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@PathVariable("id") String id) {
+        LOGGER.debug("Stream execution {} events", id);
+        final SseEmitter emitter = new SseEmitter(eventsTimeout);
+        final Consumer<AsyncExecution> listener = new EventsStream(emitter);
+        final ExecutionContext context = ExecutionContext.get();
+        // subscribe before reading current state so no update is missed in between
+        context.subscribe(id, listener);
+        emitter.onCompletion(() -> context.unsubscribe(id, listener));
+        emitter.onTimeout(() -> context.unsubscribe(id, listener));
+
+        final AsyncExecution execution = repository.get(id);
+        if (execution == null) {
+            context.unsubscribe(id, listener);
+            emitter.complete();
+        } else {
+            listener.accept(execution);
+        }
+        return emitter;
+    }
+
+    private static void send(SseEmitter emitter, AsyncExecution execution) {
+        try {
+            emitter.send(SseEmitter.event().name("status").data(execution, MediaType.APPLICATION_JSON));
+            if (!execution.isResumable()) {
+                emitter.complete();
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Unable to send update of execution #{} (client is gone).", execution.getId(), e);
+            emitter.completeWithError(e);
+        } catch (IllegalStateException e) {
+            LOGGER.debug("Events stream of execution #{} is already complete.", execution.getId(), e);
+        }
+    }
+
+    /**
+     * Sends the updates of an execution to an events stream using the <code>asyncEventsExecutor</code>, so the thread
+     * that notifies an update does not wait for the client. Updates are the whole execution state: an update not sent
+     * yet is replaced by a newer one, so a slow client does not queue updates.
+     */
+    private class EventsStream implements Consumer<AsyncExecution> {
+
+        private final SseEmitter emitter;
+
+        /** Latest update not sent yet. */
+        private final AtomicReference<AsyncExecution> pending = new AtomicReference<>();
+
+        /** True when a task sending the pending updates is scheduled. */
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private EventsStream(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void accept(AsyncExecution execution) {
+            // current state read when stream opens must not replace a final update received in the meantime
+            pending.accumulateAndGet(execution,
+                    (previous, next) -> previous != null && !previous.isResumable() ? previous : next);
+            if (scheduled.compareAndSet(false, true)) {
+                eventsExecutor.execute(this::sendPending);
+            }
+        }
+
+        private void sendPending() {
+            do {
+                AsyncExecution execution;
+                while ((execution = pending.getAndSet(null)) != null) {
+                    send(emitter, execution);
+                }
+                scheduled.set(false);
+                // an update may have been set after the last send but before scheduled was reset
+            } while (pending.get() != null && scheduled.compareAndSet(false, true));
+        }
+    }
+
     @GetMapping
     public Stream<AsyncExecution> list() {
         return repository.list();
@@ -111,7 +111,7 @@ public class SimpleManagedTaskExecutor implements ManagedTaskExecutor {
 
         asyncExecution.setUserId(security.getUserId());
         asyncExecution.setTenantId(security.getTenantId());
-        repository.save(asyncExecution);
+        save(asyncExecution);
 
         // Wrap callable to get the running status.
         final Callable wrapper = wrapTaskWithProgressInformation(task, asyncExecution);
@@ -136,7 +136,7 @@ public class SimpleManagedTaskExecutor implements ManagedTaskExecutor {
     private Callable wrapTaskWithProgressInformation(Callable task, AsyncExecution asyncExecution) {
         return () -> {
             asyncExecution.updateExecutionState(AsyncExecution.Status.RUNNING);
-            repository.save(asyncExecution);
+            save(asyncExecution);
             try {
                 ExecutionContext.get().link(asyncExecution, Thread.currentThread(), repository);
                 return task.call();
@@ -146,6 +146,17 @@ public class SimpleManagedTaskExecutor implements ManagedTaskExecutor {
         };
     }
 
+    /**
+     * Save the execution in the repository and notify its subscribers (if any) of the update.
+     *
+     * @param asyncExecution the updated execution.
+     * @see ExecutionContext#notifyUpdate(AsyncExecution)
+     */
+    private void save(AsyncExecution asyncExecution) {
+        repository.save(asyncExecution);
+        ExecutionContext.get().notifyUpdate(asyncExecution);
+    }
+
     /**
      * @see ManagedTaskRepository#get(String)
      */
@@ -178,7 +189,7 @@ public class SimpleManagedTaskExecutor implements ManagedTaskExecutor {
                 LOGGER.debug("Cancel task {} exception.", id, e);
             } finally {
                 asyncExecution.updateExecutionState(AsyncExecution.Status.CANCELLED);
-                repository.save(asyncExecution);
+                save(asyncExecution);
             }
         }
         return asyncExecution;
@@ -196,7 +207,7 @@ public class SimpleManagedTaskExecutor implements ManagedTaskExecutor {
 
             // update and save the async execution
             asyncTask.updateExecutionState(DONE);
-            repository.save(asyncTask);
+            save(asyncTask);
         }
         return asyncTask;
     }
@@ -234,7 +245,7 @@ public class SimpleManagedTaskExecutor implements ManagedTaskExecutor {
 
                 } finally {
                     futures.remove(asyncExecution.getId());
-                    repository.save(asyncExecution);
+                    save(asyncExecution);
                 }
             }
         }
@@ -254,7 +265,7 @@ public class SimpleManagedTaskExecutor implements ManagedTaskExecutor {
                     asyncExecution.updateExecutionState(AsyncExecution.Status.DONE);
                 } finally {
                     futures.remove(asyncExecution.getId());
-                    repository.save(asyncExecution);
+                    save(asyncExecution);
                 }
             }
         }
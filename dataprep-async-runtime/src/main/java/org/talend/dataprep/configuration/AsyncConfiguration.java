@@ -16,6 +16,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.AsyncListenableTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 /**
@@ -27,6 +28,9 @@ public class AsyncConfiguration {
     @Value("${async.operation.concurrent.run:5}")
     private int maxConcurrentRuns;
 
+    @Value("${async-runtime.events.pool-size:2}")
+    private int eventsPoolSize;
+
     /**
      * @return the 'engine' (thread pool) that runs behind the ManagedTaskExecutor.
      */
@@ -40,4 +44,20 @@ public class AsyncConfiguration {
 
         return threadPoolTaskExecutor;
     }
+
+    /**
+     * @return the thread pool that sends execution updates to the events streams (so a slow client does not slow down
+     * the execution that notifies the update).
+     */
+    @Bean(name = "asyncEventsExecutor")
+    public TaskExecutor getAsyncEventsExecutor() {
+        final ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+        threadPoolTaskExecutor.setCorePoolSize(eventsPoolSize);
+        threadPoolTaskExecutor.setMaxPoolSize(eventsPoolSize);
+        threadPoolTaskExecutor.setThreadNamePrefix("async-events-");
+        threadPoolTaskExecutor.setWaitForTasksToCompleteOnShutdown(false);
+        threadPoolTaskExecutor.initialize();
+
+        return threadPoolTaskExecutor;
+    }
 }
@@ -12,24 +12,135 @@
 
 package org.talend.dataprep.transformation.async;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.util.stream.Collectors.toList;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
 import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.async.AsyncExecution;
 import org.talend.dataprep.async.repository.ManagedTaskRepository;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
 /**
- * In-Memory implementation for the ManagedTaskRepository (only for tests)
+ * In-Memory implementation for the ManagedTaskRepository.
+ * <ul>
+ * <li>Finished executions are evicted once they are older than <code>execution.store.in-memory.ttl</code> ms, or when
+ * there are more than <code>execution.store.in-memory.max-finished</code> of them (oldest first).</li>
+ * <li>Executions are indexed by group id.</li>
+ * <li>If <code>execution.store.in-memory.journal</code> is set, all changes are appended to this local file and
+ * replayed on startup: executions that were running or queued are restored as {@link AsyncExecution.Status#NEW new},
+ * so they are resumed on next call (see {@link org.talend.dataprep.async.AsyncAspect}).</li>
+ * </ul>
  */
 @Component
 @ConditionalOnProperty(name = "execution.store", havingValue = "in-memory", matchIfMissing = true)
 public class InMemoryManagedTaskRepository implements ManagedTaskRepository {
 
-    private Map<String, AsyncExecution> executions = new ConcurrentHashMap<>();
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryManagedTaskRepository.class);
+
+    /** Minimum delay between two evictions of finished executions. */
+    private static final long EVICTION_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+    /** Journal record prefix for a saved execution (followed by the execution as JSON). */
+    private static final char SAVED = '+';
+
+    /** Journal record prefix for a removed execution (followed by the execution id). */
+    private static final char REMOVED = '-';
+
+    private final Map<String, AsyncExecution> executions = new ConcurrentHashMap<>();
+
+    /** Execution ids by group id (<code>null</code> group is indexed as an empty group). */
+    private final Map<String, Set<String>> groups = new ConcurrentHashMap<>();
+
+    /** When finished executions were last evicted. */
+    private final AtomicLong lastEviction = new AtomicLong(System.currentTimeMillis());
+
+    /** Guards the journal writes. */
+    private final Object journalLock = new Object();
+
+    /** How long (in ms) a finished execution is kept. */
+    @Value("${execution.store.in-memory.ttl:3600000}")
+    private long ttl;
+
+    /** Maximum number of finished executions kept. */
+    @Value("${execution.store.in-memory.max-finished:10000}")
+    private int maxFinished;
+
+    /** Path to the journal file, journal is disabled if empty. */
+    @Value("${execution.store.in-memory.journal:}")
+    private String journalPath;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    /** The journal (<code>null</code> if disabled). */
+    private volatile Writer journal;
+
+    @PostConstruct
+    public void init() {
+        if (StringUtils.isEmpty(journalPath)) {
+            return;
+        }
+        final Path path = Paths.get(journalPath);
+        if (Files.exists(path)) {
+            try (Stream<String> records = Files.lines(path, UTF_8)) {
+                records.forEach(this::replay);
+            } catch (IOException e) {
+                LOGGER.error("Unable to read execution journal '{}'.", path, e);
+            }
+        }
+        // Executions that were running when service stopped are resumed on next call
+        executions.values().stream() //
+                .filter(execution -> execution.getStatus() == AsyncExecution.Status.RUNNING) //
+                .forEach(execution -> execution.setStatus(AsyncExecution.Status.NEW));
+        LOGGER.info("{} execution(s) restored from journal '{}'.", executions.size(), path);
+        evict();
+        compact();
+    }
+
+    @PreDestroy
+    public void close() {
+        synchronized (journalLock) {
+            if (journal != null) {
+                try {
+                    journal.close();
+                } catch (IOException e) {
+                    LOGGER.warn("Unable to close execution journal '{}'.", journalPath, e);
+                }
+                journal = null;
+            }
+        }
+    }
 
     @Override
     public AsyncExecution get(String id) {
@@ -38,7 +149,11 @@ public class InMemoryManagedTaskRepository implements ManagedTaskRepository {
 
     @Override
     public Stream<AsyncExecution> list(String groupId) {
-        return executions.values().stream().filter((task) -> StringUtils.equals(task.getGroup(), groupId));
+        return groups.getOrDefault(StringUtils.defaultString(groupId), Collections.emptySet()) //
+                .stream() //
+                .map(executions::get) //
+                .filter(Objects::nonNull) //
+                .filter(task -> StringUtils.equals(task.getGroup(), groupId));
     }
 
     @Override
@@ -48,17 +163,152 @@ public class InMemoryManagedTaskRepository implements ManagedTaskRepository {
 
     @Override
     public void remove(String id) {
-        executions.remove(id);
+        unindex(id);
+        append(REMOVED + id);
     }
 
     @Override
     public void save(AsyncExecution asyncExecution) {
-        executions.put(asyncExecution.getId(), asyncExecution);
+        index(asyncExecution);
+        if (journal != null) {
+            try {
+                append(SAVED + toJson(asyncExecution));
+            } catch (IOException e) {
+                LOGGER.warn("Unable to journal execution #{}.", asyncExecution.getId(), e);
+            }
+        }
+
+        final long now = System.currentTimeMillis();
+        final long last = lastEviction.get();
+        if (now - last > EVICTION_INTERVAL && lastEviction.compareAndSet(last, now)) {
+            evict();
+        }
     }
 
     @Override
     public void clear() {
         executions.clear();
+        groups.clear();
+        compact();
     }
 
+    /**
+     * Evicts the finished executions that are expired, or in excess (oldest first).
+     */
+    void evict() {
+        final long now = System.currentTimeMillis();
+        final List<AsyncExecution> finished = executions.values().stream() //
+                .filter(execution -> !execution.isResumable()) //
+                .sorted(AsyncExecution.reverseEndDateComparator()) //
+                .collect(toList());
+        int evicted = 0;
+        for (int i = 0; i < finished.size(); i++) {
+            final AsyncExecution execution = finished.get(i);
+            if (i >= maxFinished || now - execution.getTime().getEndDate() > ttl) {
+                unindex(execution.getId());
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            LOGGER.debug("{} finished execution(s) evicted.", evicted);
+            compact();
+        }
+    }
+
+    private void index(AsyncExecution execution) {
+        final AsyncExecution previous = executions.put(execution.getId(), execution);
+        if (previous != null && !StringUtils.equals(previous.getGroup(), execution.getGroup())) {
+            unindexGroup(previous.getGroup(), previous.getId());
+        }
+        groups.compute(StringUtils.defaultString(execution.getGroup()), (group, ids) -> {
+            final Set<String> groupIds = ids == null ? ConcurrentHashMap.newKeySet() : ids;
+            groupIds.add(execution.getId());
+            return groupIds;
+        });
+    }
+
+    private void unindex(String id) {
+        final AsyncExecution previous = executions.remove(id);
+        if (previous != null) {
+            unindexGroup(previous.getGroup(), id);
+        }
+    }
+
+    private void unindexGroup(String group, String id) {
+        groups.computeIfPresent(StringUtils.defaultString(group), (key, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private void replay(String record) {
+        if (record.isEmpty()) {
+            return;
+        }
+        try {
+            if (record.charAt(0) == SAVED) {
+                index(mapper.readerFor(AsyncExecution.class).readValue(record.substring(1)));
+            } else if (record.charAt(0) == REMOVED) {
+                unindex(record.substring(1));
+            }
+        } catch (IOException e) {
+            // Most likely last record, partially written when service stopped
+            LOGGER.warn("Unable to read execution journal record, record is ignored.", e);
+        }
+    }
+
+    /**
+     * @return the execution as single line JSON.
+     */
+    private String toJson(AsyncExecution execution) throws IOException {
+        return mapper.writerFor(AsyncExecution.class) //
+                .without(SerializationFeature.INDENT_OUTPUT) //
+                .writeValueAsString(execution);
+    }
+
+    private void append(String record) {
+        synchronized (journalLock) {
+            if (journal == null) {
+                return;
+            }
+            try {
+                journal.write(record);
+                journal.write('\n');
+                journal.flush();
+            } catch (IOException e) {
+                LOGGER.warn("Unable to write execution journal '{}'.", journalPath, e);
+            }
+        }
+    }
+
+    /**
+     * Rewrites the journal with the current executions only (so it does not grow forever).
+     */
+    private void compact() {
+        if (StringUtils.isEmpty(journalPath)) {
+            return;
+        }
+        synchronized (journalLock) {
+            close();
+            final Path path = Paths.get(journalPath);
+            try {
+                Files.createDirectories(path.toAbsolutePath().getParent());
+                final Path compacted = Files.createTempFile(path.toAbsolutePath().getParent(), "executions", ".tmp");
+                try (Writer writer = Files.newBufferedWriter(compacted, UTF_8)) {
+                    for (AsyncExecution execution : executions.values()) {
+                        writer.write(SAVED + toJson(execution));
+                        writer.write('\n');
+                    }
+                }
+                Files.move(compacted, path, REPLACE_EXISTING, ATOMIC_MOVE);
+            } catch (IOException e) {
+                LOGGER.error("Unable to compact execution journal '{}'.", path, e);
+            }
+            try {
+                journal = Files.newBufferedWriter(path, UTF_8, CREATE, APPEND);
+            } catch (IOException e) {
+                LOGGER.error("Unable to open execution journal '{}', executions are no longer journaled.", path, e);
+            }
+        }
+    }
 }
@@ -0,0 +1,63 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.async;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.talend.dataprep.async.progress.ExecutionContext;
+import org.talend.dataprep.async.repository.ManagedTaskRepository;
+
+public class AsyncControllerTest {
+
+    private final AsyncController controller = new AsyncController();
+
+    private final ManagedTaskRepository repository = mock(ManagedTaskRepository.class);
+
+    /** Tasks submitted to the events executor (run on demand). */
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    @Before
+    public void setUp() throws Exception {
+        ReflectionTestUtils.setField(controller, "repository", repository);
+        ReflectionTestUtils.setField(controller, "eventsExecutor", (TaskExecutor) tasks::add);
+        ReflectionTestUtils.setField(controller, "eventsTimeout", 1000L);
+    }
+
+    @Test
+    public void shouldSendUpdatesOutsideOfNotifyingThread() {
+        // given
+        final AsyncExecution execution = new AsyncExecution();
+        execution.setStatus(AsyncExecution.Status.RUNNING);
+        when(repository.get(execution.getId())).thenReturn(execution);
+        controller.events(execution.getId());
+
+        // when
+        ExecutionContext.get().notifyUpdate(execution);
+        execution.setStatus(AsyncExecution.Status.DONE);
+        ExecutionContext.get().notifyUpdate(execution);
+
+        // then
+        assertEquals(1, tasks.size()); // current state and updates are sent by one task
+        tasks.remove(0).run();
+        assertEquals(0, tasks.size());
+    }
+}
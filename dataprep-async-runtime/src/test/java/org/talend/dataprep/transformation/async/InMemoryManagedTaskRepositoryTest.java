@@ -0,0 +1,135 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.async;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.talend.dataprep.async.AsyncExecution;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class InMemoryManagedTaskRepositoryTest {
+
+    private Path journal;
+
+    private InMemoryManagedTaskRepository repository;
+
+    @Before
+    public void setUp() throws Exception {
+        journal = Files.createTempFile("executions", ".journal");
+        repository = newRepository(journal.toString());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        repository.close();
+        Files.deleteIfExists(journal);
+    }
+
+    @Test
+    public void shouldListExecutionsOfGroup() {
+        // given
+        final AsyncExecution first = new AsyncExecution("group1");
+        final AsyncExecution second = new AsyncExecution("group1");
+        final AsyncExecution other = new AsyncExecution("group2");
+        repository.save(first);
+        repository.save(second);
+        repository.save(other);
+
+        // when
+        repository.remove(second.getId());
+        final List<AsyncExecution> group1 = repository.list("group1").collect(toList());
+
+        // then
+        assertEquals(1, group1.size());
+        assertEquals(first.getId(), group1.get(0).getId());
+        assertEquals(0, repository.list("unknown").count());
+    }
+
+    @Test
+    public void shouldEvictExpiredAndExcessFinishedExecutions() {
+        // given
+        ReflectionTestUtils.setField(repository, "ttl", 60000L);
+        ReflectionTestUtils.setField(repository, "maxFinished", 1);
+        final AsyncExecution expired = finished(System.currentTimeMillis() - 120000);
+        final AsyncExecution older = finished(System.currentTimeMillis() - 1000);
+        final AsyncExecution recent = finished(System.currentTimeMillis());
+        final AsyncExecution running = new AsyncExecution();
+        running.updateExecutionState(AsyncExecution.Status.RUNNING);
+        repository.save(expired);
+        repository.save(older);
+        repository.save(recent);
+        repository.save(running);
+
+        // when
+        repository.evict();
+
+        // then
+        assertNull(repository.get(expired.getId()));
+        assertNull(repository.get(older.getId()));
+        assertNotNull(repository.get(recent.getId()));
+        assertNotNull(repository.get(running.getId()));
+    }
+
+    @Test
+    public void shouldRestoreExecutionsFromJournal() {
+        // given
+        final AsyncExecution running = new AsyncExecution("group");
+        running.updateExecutionState(AsyncExecution.Status.RUNNING);
+        final AsyncExecution removed = new AsyncExecution("group");
+        final AsyncExecution done = finished(System.currentTimeMillis());
+        repository.save(running);
+        repository.save(removed);
+        repository.save(done);
+        repository.remove(removed.getId());
+        repository.close();
+
+        // when
+        final InMemoryManagedTaskRepository restarted = newRepository(journal.toString());
+
+        // then
+        assertEquals(AsyncExecution.Status.NEW, restarted.get(running.getId()).getStatus());
+        assertEquals(AsyncExecution.Status.DONE, restarted.get(done.getId()).getStatus());
+        assertNull(restarted.get(removed.getId()));
+        assertEquals(1, restarted.list("group").count());
+        restarted.close();
+    }
+
+    private static InMemoryManagedTaskRepository newRepository(String journalPath) {
+        final InMemoryManagedTaskRepository repository = new InMemoryManagedTaskRepository();
+        ReflectionTestUtils.setField(repository, "ttl", 3600000L);
+        ReflectionTestUtils.setField(repository, "maxFinished", 10000);
+        ReflectionTestUtils.setField(repository, "journalPath", journalPath);
+        ReflectionTestUtils.setField(repository, "mapper",
+                new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false));
+        repository.init();
+        return repository;
+    }
+
+    private static AsyncExecution finished(long endDate) {
+        final AsyncExecution execution = new AsyncExecution();
+        execution.setStatus(AsyncExecution.Status.DONE);
+        execution.getTime().setEndDate(endDate);
+        return execution;
+    }
+}
@@ -12,7 +12,6 @@
 
 package org.talend.dataprep.api.preparation;
 
-import static java.util.stream.Collectors.toList;
 import static org.talend.tql.api.TqlBuilder.in;
 
 import java.beans.PropertyDescriptor;
@@ -159,10 +158,13 @@ public class PreparationUtils {
      * @return The list of step ids from starting (limit) to step
      */
     public List<String> listStepsIds(final String stepId, final String limit, final PreparationRepository repository) {
-        return listSteps(repository.get(stepId, Step.class), limit, repository) //
-                .stream() //
-                .map(Step::id) //
-                .collect(toList());
+        if (repository == null) {
+            throw new IllegalArgumentException("Repository cannot be null.");
+        }
+        if (limit == null) {
+            throw new IllegalArgumentException("Limit cannot be null.");
+        }
+        return repository.getStepChain(stepId, limit, false).getStepIds();
     }
 
     /**
@@ -0,0 +1,438 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.cache;
+
+import java.io.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.dataprep.metrics.Timed;
+import org.talend.dataprep.metrics.VolumeMetered;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * An implementation of {@link ContentCache} that keeps small entries in heap in front of another {@link ContentCache}
+ * so repeated {@link #has(ContentCacheKey)} and {@link #get(ContentCacheKey)} calls do not reach the delegate.
+ * <p>
+ * This cache holds:
+ * <ul>
+ * <li>a size-bounded LRU of entries smaller than a maximum size, filled when content is {@link #put(ContentCacheKey,
+ * TimeToLive) put} or fully read through {@link #get(ContentCacheKey)}.</li>
+ * <li>a short lived cache of keys known to be absent from the delegate.</li>
+ * </ul>
+ * Heap entries never outlive the delegate entry {@link TimeToLive TTL} and are invalidated by
+ * {@link #evict(ContentCacheKey)}, {@link #evictMatch(ContentCacheKey)}, {@link #move(ContentCacheKey, ContentCacheKey,
+ * TimeToLive)} and {@link #clear()}.
+ * <p>
+ * These invalidations are local to this JVM: when the delegate store is shared with other services, an entry evicted or
+ * replaced by another service may still be served from heap until its heap time to live expires (60 seconds by
+ * default, see <code>service.cache.heap.ttl</code>). Disable this cache (<code>service.cache.heap.enabled=false</code>)
+ * or lower its time to live on deployments where such stale reads are not acceptable.
+ */
+public class HeapContentCache implements ContentCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HeapContentCache.class);
+
+    /** Maximum number of unread bytes consumed on close to find out if the content was fully read. */
+    private static final int MAX_DRAIN_ON_CLOSE = 8192;
+
+    private final ContentCache delegate;
+
+    private final int maxEntrySize;
+
+    private final long timeToLive;
+
+    /** Content of small entries, weighted by their size. */
+    private final Cache<String, HeapEntry> entries;
+
+    /** Keys known to have no content in delegate. */
+    private final Cache<String, Boolean> absentKeys;
+
+    /** Incremented on each invalidation, used to prevent read-through of content invalidated while being read. */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong negativeHitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * @param delegate The {@link ContentCache} that holds all entries.
+     * @param maxSize The maximum number of bytes to keep in heap.
+     * @param maxEntrySize The maximum size (in bytes) of an entry to keep in heap.
+     * @param timeToLive The maximum time (in milliseconds) an entry is kept in heap.
+     * @param absentKeysTimeToLive The time (in milliseconds) a key is known to be absent from delegate.
+     */
+    public HeapContentCache(ContentCache delegate, long maxSize, int maxEntrySize, long timeToLive,
+            long absentKeysTimeToLive) {
+        this.delegate = delegate;
+        this.maxEntrySize = maxEntrySize;
+        this.timeToLive = timeToLive;
+        this.entries = CacheBuilder.newBuilder() //
+                .maximumWeight(maxSize) //
+                .weigher((String key, HeapEntry entry) -> entry.content.length) //
+                .expireAfterWrite(timeToLive, TimeUnit.MILLISECONDS) //
+                .build();
+        this.absentKeys = CacheBuilder.newBuilder() //
+                .maximumSize(10000) //
+                .expireAfterWrite(absentKeysTimeToLive, TimeUnit.MILLISECONDS) //
+                .build();
+    }
+
+    @Override
+    @Timed
+    public boolean has(ContentCacheKey key) {
+        final String cacheKey = key.getKey();
+        if (getEntry(cacheKey) != null) {
+            hitCount.incrementAndGet();
+            return true;
+        }
+        if (absentKeys.getIfPresent(cacheKey) != null) {
+            negativeHitCount.incrementAndGet();
+            return false;
+        }
+        missCount.incrementAndGet();
+        final long currentGeneration = generation.get();
+        final boolean present = delegate.has(key);
+        if (!present) {
+            markAbsent(cacheKey, currentGeneration);
+        }
+        return present;
+    }
+
+    @Override
+    @VolumeMetered
+    public InputStream get(ContentCacheKey key) {
+        final String cacheKey = key.getKey();
+        final HeapEntry entry = getEntry(cacheKey);
+        if (entry != null) {
+            hitCount.incrementAndGet();
+            return new ByteArrayInputStream(entry.content);
+        }
+        if (absentKeys.getIfPresent(cacheKey) != null) {
+            negativeHitCount.incrementAndGet();
+            return null;
+        }
+        missCount.incrementAndGet();
+        final long currentGeneration = generation.get();
+        final InputStream content = delegate.get(key);
+        if (content == null) {
+            markAbsent(cacheKey, currentGeneration);
+            return null;
+        }
+        return new ReadThroughInputStream(content, cacheKey, currentGeneration);
+    }
+
+    @Override
+    @VolumeMetered
+    public OutputStream put(ContentCacheKey key, TimeToLive timeToLive) {
+        final String cacheKey = key.getKey();
+        invalidate(cacheKey);
+        final OutputStream content = delegate.put(key, timeToLive);
+        if (content == null) {
+            return null;
+        }
+        return new WriteThroughOutputStream(content, cacheKey, timeToLive, generation.get());
+    }
+
+    @Override
+    @Timed
+    public void evict(ContentCacheKey key) {
+        final String cacheKey = key.getKey();
+        invalidate(entryKey -> entryKey.startsWith(cacheKey));
+        delegate.evict(key);
+    }
+
+    @Override
+    @Timed
+    public void evictMatch(ContentCacheKey key) {
+        final Predicate<String> matcher = key.getMatcher();
+        invalidate(matcher);
+        delegate.evictMatch(key);
+    }
+
+    @Override
+    @Timed
+    public void move(ContentCacheKey from, ContentCacheKey to, TimeToLive toTimeToLive) {
+        final HeapEntry entry = getEntry(from.getKey());
+        invalidate(from.getKey());
+        invalidate(to.getKey());
+        delegate.move(from, to, toTimeToLive);
+        if (entry != null) {
+            store(to.getKey(), entry.content, toTimeToLive, generation.get());
+        }
+    }
+
+    @Override
+    @Timed
+    public void clear() {
+        synchronized (generation) {
+            generation.incrementAndGet();
+            entries.invalidateAll();
+            absentKeys.invalidateAll();
+        }
+        delegate.clear();
+    }
+
+    /**
+     * @return The number of {@link #has(ContentCacheKey)} or {@link #get(ContentCacheKey)} calls served with heap
+     * content.
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return The number of {@link #has(ContentCacheKey)} or {@link #get(ContentCacheKey)} calls served by a known
+     * absent key.
+     */
+    public long getNegativeHitCount() {
+        return negativeHitCount.get();
+    }
+
+    /**
+     * @return The number of {@link #has(ContentCacheKey)} or {@link #get(ContentCacheKey)} calls forwarded to delegate.
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return The number of bytes currently held in heap.
+     */
+    public long getSize() {
+        return entries.asMap().values().stream().mapToLong(entry -> entry.content.length).sum();
+    }
+
+    private HeapEntry getEntry(String cacheKey) {
+        final HeapEntry entry = entries.getIfPresent(cacheKey);
+        if (entry != null && entry.isExpired()) {
+            entries.invalidate(cacheKey);
+            return null;
+        }
+        return entry;
+    }
+
+    private void markAbsent(String cacheKey, long expectedGeneration) {
+        synchronized (generation) {
+            if (generation.get() == expectedGeneration) {
+                absentKeys.put(cacheKey, Boolean.TRUE);
+            }
+        }
+    }
+
+    private void store(String cacheKey, byte[] content, TimeToLive ttl, long expectedGeneration) {
+        long expiration = System.currentTimeMillis() + timeToLive;
+        if (ttl != null && ttl.getTime() > 0) {
+            // Don't serve entries the delegate is about to clear (see ContentCache.EVICTION_PERIOD)
+            expiration = Math.min(expiration, System.currentTimeMillis() + ttl.getTime() - EVICTION_PERIOD);
+        }
+        synchronized (generation) {
+            if (generation.get() == expectedGeneration) {
+                entries.put(cacheKey, new HeapEntry(content, expiration));
+                absentKeys.invalidate(cacheKey);
+            } else {
+                LOGGER.debug("Entry '{}' invalidated while being cached, not kept in heap.", cacheKey);
+            }
+        }
+    }
+
+    private void invalidate(String cacheKey) {
+        synchronized (generation) {
+            generation.incrementAndGet();
+            entries.invalidate(cacheKey);
+            absentKeys.invalidate(cacheKey);
+        }
+    }
+
+    private void invalidate(Predicate<String> matcher) {
+        synchronized (generation) {
+            generation.incrementAndGet();
+            entries.asMap().keySet().removeIf(matcher);
+            absentKeys.asMap().keySet().removeIf(matcher);
+        }
+    }
+
+    private static class HeapEntry {
+
+        private final byte[] content;
+
+        private final long expiration;
+
+        private HeapEntry(byte[] content, long expiration) {
+            this.content = content;
+            this.expiration = expiration;
+        }
+
+        private boolean isExpired() {
+            return expiration <= System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Copies content read from delegate, content is kept in heap if fully read and small enough. Readers such as
+     * {@link java.util.zip.GZIPInputStream} stop once they have all their data and leave a few trailing bytes unread:
+     * these are consumed on close so the content can still be kept.
+     */
+    private class ReadThroughInputStream extends FilterInputStream {
+
+        private final String cacheKey;
+
+        private final long expectedGeneration;
+
+        private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+        private boolean fullyRead = false;
+
+        private ReadThroughInputStream(InputStream in, String cacheKey, long expectedGeneration) {
+            super(in);
+            this.cacheKey = cacheKey;
+            this.expectedGeneration = expectedGeneration;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int read = super.read();
+            if (read < 0) {
+                fullyRead = true;
+            } else if (copy != null) {
+                copy.write(read);
+                checkSize();
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            final int read = super.read(b, off, len);
+            if (read < 0) {
+                fullyRead = true;
+            } else if (copy != null) {
+                copy.write(b, off, read);
+                checkSize();
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            copy = null; // Skipped content can't be cached
+            return super.skip(n);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void checkSize() {
+            if (copy.size() > maxEntrySize) {
+                copy = null;
+            }
+        }
+
+        /**
+         * Read what remains of the delegate content if it is only a few bytes, so a content read up to its last useful
+         * byte is considered as fully read.
+         */
+        private void drain() {
+            final byte[] buffer = new byte[1024];
+            int drained = 0;
+            try {
+                while (copy != null && !fullyRead && drained <= MAX_DRAIN_ON_CLOSE) {
+                    final int read = read(buffer, 0, buffer.length);
+                    drained += Math.max(read, 0);
+                }
+            } catch (IOException e) {
+                LOGGER.debug("Unable to read end of entry '{}', not kept in heap.", cacheKey, e);
+                copy = null;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                drain();
+                super.close();
+            } finally {
+                if (fullyRead && copy != null) {
+                    store(cacheKey, copy.toByteArray(), null, expectedGeneration);
+                }
+                copy = null;
+            }
+        }
+    }
+
+    /**
+     * Copies content written to delegate, content is kept in heap once closed if small enough.
+     */
+    private class WriteThroughOutputStream extends FilterOutputStream {
+
+        private final String cacheKey;
+
+        private final TimeToLive ttl;
+
+        private final long expectedGeneration;
+
+        private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+        private WriteThroughOutputStream(OutputStream out, String cacheKey, TimeToLive ttl, long expectedGeneration) {
+            super(out);
+            this.cacheKey = cacheKey;
+            this.ttl = ttl;
+            this.expectedGeneration = expectedGeneration;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            if (copy != null) {
+                copy.write(b);
+                checkSize();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            if (copy != null) {
+                copy.write(b, off, len);
+                checkSize();
+            }
+        }
+
+        private void checkSize() {
+            if (copy.size() > maxEntrySize) {
+                copy = null;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+                if (copy != null) {
+                    store(cacheKey, copy.toByteArray(), ttl, expectedGeneration);
+                }
+            } finally {
+                copy = null;
+            }
+        }
+    }
+}
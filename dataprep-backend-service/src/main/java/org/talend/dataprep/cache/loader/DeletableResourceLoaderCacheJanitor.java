@@ -40,6 +40,9 @@ public class DeletableResourceLoaderCacheJanitor implements CacheJanitor {
     @Autowired
     private ResourceResolver deletablePathResolver;
 
+    @Autowired(required = false)
+    private ResourceLoaderCacheIndex index;
+
     @PostConstruct
     public void init() {
         LOGGER.info("Using resource loader cache janitor.");
@@ -49,12 +52,44 @@ public class DeletableResourceLoaderCacheJanitor implements CacheJanitor {
     public void janitor() {
         final AtomicLong deletedCount = new AtomicLong();
         final AtomicLong totalCount = new AtomicLong();
-        performCleanUp(deletedCount, totalCount);
+        if (index != null && index.isEnabled()) {
+            performIndexedCleanUp(deletedCount, totalCount);
+        } else {
+            performCleanUp(deletedCount, totalCount);
+        }
 
         LOGGER.debug("Janitor process end ({}/{} files successfully deleted).", System.currentTimeMillis(),
                 deletedCount, totalCount);
     }
 
+    /**
+     * Only visits expired entries using the {@link ResourceLoaderCacheIndex cache index} (refreshed first, as entries
+     * may have been created by another process sharing the cache store).
+     */
+    private void performIndexedCleanUp(AtomicLong deletedCount, AtomicLong totalCount) {
+        try {
+            index.refresh();
+        } catch (IOException e) {
+            LOGGER.error("Unable to refresh cache index", e);
+            return;
+        }
+        final long start = System.currentTimeMillis();
+        for (String location : index.expiredBefore(start)) {
+            try {
+                totalCount.incrementAndGet();
+                final DeletableResource resource =
+                        deletablePathResolver.getResource(ResourceLoaderCacheIndex.CACHE_PREFIX + location);
+                if (resource.exists()) {
+                    resource.delete();
+                    deletedCount.incrementAndGet();
+                }
+                index.remove(location);
+            } catch (IOException e) {
+                LOGGER.error("Unable to delete resource {}", location, e);
+            }
+        }
+    }
+
     private void performCleanUp(AtomicLong deletedCount, AtomicLong totalCount) {
         try {
             final long start = System.currentTimeMillis();
@@ -0,0 +1,292 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.cache.loader;
+
+import static java.util.stream.Collectors.toList;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Predicate;
+
+import javax.annotation.PostConstruct;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.stereotype.Component;
+import org.talend.daikon.content.ContentServiceEnabled;
+import org.talend.daikon.content.DeletableResource;
+import org.talend.daikon.content.ResourceResolver;
+
+/**
+ * An in-process index of the cache entries stored by {@link ResourceLoaderContentCache}, so cache lookups, evictions
+ * and {@link DeletableResourceLoaderCacheJanitor janitor} runs do not list the cache resources.
+ * <p>
+ * Index holds the cache entry locations (key followed by the optional expiration time, e.g. <code>key.12345</code>),
+ * sorted by name so all entries sharing a prefix (dataset, preparation...) are found with a range query, and sorted by
+ * expiration time so the janitor only visits expired entries.
+ * <p>
+ * The index is built once at startup and then kept up to date by the content cache. Between two
+ * {@link #refresh() refreshes}, it only knows about entries created or deleted by the current process: a lookup missing
+ * in index falls back to a listing of the cache resources, and evictions and janitor runs refresh the index from the
+ * cache store before using it. As the cache store is usually shared by the dataset, transformation and maintenance
+ * services, index is disabled by default (<code>content-service.cache.index.enabled=true</code> to enable it).
+ */
+@Component
+@ConditionalOnBean(ContentServiceEnabled.class)
+public class ResourceLoaderCacheIndex {
+
+    static final String CACHE_PREFIX = "/cache/";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResourceLoaderCacheIndex.class);
+
+    /** Expiration time for permanent entries. */
+    private static final long PERMANENT = Long.MAX_VALUE;
+
+    /** Upper bound of a range query on a prefix. */
+    private static final char MAX_CHAR = Character.MAX_VALUE;
+
+    /** All known entries (location -> expiration time). */
+    private final ConcurrentSkipListMap<String, Long> locations = new ConcurrentSkipListMap<>();
+
+    /** All known entries with an expiration time, sorted by expiration time. */
+    private final NavigableSet<Expiration> expirations = new ConcurrentSkipListSet<>();
+
+    @Autowired
+    private ResourceResolver resolver;
+
+    @Value("${content-service.cache.index.enabled:false}")
+    private boolean enabled;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            LOGGER.info("Cache index is disabled.");
+            return;
+        }
+        try {
+            final long start = System.currentTimeMillis();
+            listLocations().forEach(this::add);
+            LOGGER.info("Cache index built with {} entries in {} ms.", locations.size(),
+                    System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            LOGGER.error("Unable to build cache index, disable it.", e);
+            enabled = false;
+        }
+    }
+
+    /**
+     * Synchronizes index with the cache store: entries created by other processes are added, and entries deleted by
+     * other processes are removed (entries added to index during the refresh are kept).
+     *
+     * @throws IOException If cache resources can't be listed.
+     */
+    public void refresh() throws IOException {
+        final long start = System.currentTimeMillis();
+        final Set<String> indexed = new HashSet<>(locations.keySet());
+        final Set<String> stored = listLocations();
+        stored.stream().filter(location -> !indexed.contains(location)).forEach(this::add);
+        indexed.stream().filter(location -> !stored.contains(location)).forEach(this::remove);
+        LOGGER.debug("Cache index refreshed with {} entries in {} ms.", locations.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * @return The locations of all entries in the cache store (hidden and NFS files are ignored).
+     */
+    private Set<String> listLocations() throws IOException {
+        final Set<String> stored = new HashSet<>();
+        for (DeletableResource resource : resolver.getResources(CACHE_PREFIX + "*")) {
+            final String location = toLocation(resource.getFilename());
+            if (!location.startsWith(".") && !StringUtils.substringAfterLast(location, ".").startsWith("nfs")) {
+                stored.add(location);
+            }
+        }
+        return stored;
+    }
+
+    /**
+     * @return <code>true</code> if the index can be used instead of listing cache resources.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the location of a cache resource relative to the cache root.
+     *
+     * @param filename A resource file name, possibly including the cache directory.
+     * @return The location of the resource relative to the cache root.
+     */
+    static String toLocation(String filename) {
+        if (filename.contains(CACHE_PREFIX)) {
+            return filename.substring(filename.lastIndexOf(CACHE_PREFIX) + CACHE_PREFIX.length());
+        }
+        return filename;
+    }
+
+    /**
+     * Returns the expiration time of a location.
+     *
+     * @param location A cache entry location.
+     * @return The expiration time or {@link #PERMANENT} if location has no expiration time.
+     */
+    private static long getExpiration(String location) {
+        final String suffix = StringUtils.substringAfterLast(location, ".");
+        if (NumberUtils.isDigits(suffix)) {
+            return Long.parseLong(suffix);
+        }
+        return PERMANENT;
+    }
+
+    /**
+     * Adds a new entry in index.
+     *
+     * @param location The cache entry location.
+     */
+    public void add(String location) {
+        final long expiration = getExpiration(location);
+        locations.put(location, expiration);
+        if (expiration != PERMANENT) {
+            expirations.add(new Expiration(expiration, location));
+        }
+    }
+
+    /**
+     * Removes an entry from index.
+     *
+     * @param location The cache entry location.
+     */
+    public void remove(String location) {
+        final Long expiration = locations.remove(location);
+        if (expiration != null && expiration != PERMANENT) {
+            expirations.remove(new Expiration(expiration, location));
+        }
+    }
+
+    /**
+     * Returns the location of the most recent entry for a cache key, expired entries are ignored.
+     *
+     * @param key A cache key.
+     * @return The location of the most recent non expired entry, empty if there is none.
+     */
+    public Optional<String> get(String key) {
+        final long now = System.currentTimeMillis();
+        String newest = null;
+        long newestExpiration = Long.MIN_VALUE;
+        for (Map.Entry<String, Long> entry : locations.subMap(key, true, key + '.' + MAX_CHAR, true).entrySet()) {
+            final String location = entry.getKey();
+            final boolean sameKey = location.equals(key) || (location.startsWith(key + '.')
+                    && NumberUtils.isDigits(location.substring(key.length() + 1)));
+            if (sameKey && entry.getValue() > now && entry.getValue() > newestExpiration) {
+                newest = location;
+                newestExpiration = entry.getValue();
+            }
+        }
+        return Optional.ofNullable(newest);
+    }
+
+    /**
+     * Returns all locations starting with <code>prefix</code> and matching a predicate.
+     *
+     * @param prefix A common prefix for the locations.
+     * @param matcher A predicate on locations.
+     * @return The matching locations.
+     */
+    public List<String> match(String prefix, Predicate<String> matcher) {
+        return locations.subMap(prefix, true, prefix + MAX_CHAR, true) //
+                .keySet() //
+                .stream() //
+                .filter(matcher) //
+                .collect(toList());
+    }
+
+    /**
+     * Returns all locations that expire before a given time, sorted by expiration time.
+     *
+     * @param time A time in milliseconds.
+     * @return The locations of entries that expire strictly before <code>time</code>.
+     */
+    public List<String> expiredBefore(long time) {
+        final List<String> expired = new ArrayList<>();
+        for (Expiration expiration : expirations) {
+            if (expiration.time >= time) {
+                break;
+            }
+            expired.add(expiration.location);
+        }
+        return expired;
+    }
+
+    /**
+     * @return The number of entries in index.
+     */
+    public int size() {
+        return locations.size();
+    }
+
+    /**
+     * Removes all entries from index.
+     */
+    public void clear() {
+        locations.clear();
+        expirations.clear();
+    }
+
+    private static class Expiration implements Comparable<Expiration> {
+
+        private final long time;
+
+        private final String location;
+
+        private Expiration(long time, String location) {
+            this.time = time;
+            this.location = location;
+        }
+
+        @Override
+        public int compareTo(Expiration other) {
+            final int compare = Long.compare(time, other.time);
+            return compare != 0 ? compare : location.compareTo(other.location);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final Expiration that = (Expiration) o;
+            return time == that.time && location.equals(that.location);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(time) + location.hashCode();
+        }
+    }
+}
@@ -47,19 +47,18 @@ public class ResourceLoaderContentCache implements ContentCache {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ResourceLoaderContentCache.class);
 
-    private static final String CACHE_PREFIX = "/cache/";
+    private static final String CACHE_PREFIX = ResourceLoaderCacheIndex.CACHE_PREFIX;
 
     @Autowired
     private ResourceResolver resolver;
 
+    @Autowired(required = false)
+    private ResourceLoaderCacheIndex index;
+
     public ResourceLoaderContentCache() {
         LOGGER.info("Using content cache: {}", this.getClass().getName());
     }
 
-    private DeletableResource getOrCreateResource(ContentCacheKey key, TimeToLive ttl) {
-        return resolver.getResource(getLocation(key, ttl));
-    }
-
     private String getLocation(ContentCacheKey key, TimeToLive ttl) {
         if (ttl.getTime() > 0) {
             return CACHE_PREFIX + key.getKey() + "." + (System.currentTimeMillis() + ttl.getTime());
@@ -68,7 +67,43 @@ public class ResourceLoaderContentCache implements ContentCache {
         }
     }
 
+    private boolean isIndexed() {
+        return index != null && index.isEnabled();
+    }
+
+    /**
+     * @return The location of the most recent entry for <code>key</code> using {@link #index}, removes entries whose
+     * resource no longer exists from index.
+     */
+    private Optional<String> getIndexedLocation(ContentCacheKey key) {
+        Optional<String> location = index.get(key.getKey());
+        while (location.isPresent() && !resolver.getResource(CACHE_PREFIX + location.get()).exists()) {
+            index.remove(location.get());
+            location = index.get(key.getKey());
+        }
+        return location;
+    }
+
     private DeletableResource getResource(ContentCacheKey key) {
+        if (isIndexed()) {
+            final Optional<String> location = getIndexedLocation(key);
+            if (location.isPresent()) {
+                return resolver.getResource(CACHE_PREFIX + location.get());
+            }
+            // Entry may have been created by another process sharing the cache store: look for it and index it.
+            final DeletableResource resource = getListedResource(key);
+            if (resource != null) {
+                index.add(ResourceLoaderCacheIndex.toLocation(resource.getFilename()));
+            }
+            return resource;
+        }
+        return getListedResource(key);
+    }
+
+    /**
+     * @return The most recent non expired resource for <code>key</code> found by listing the cache resources.
+     */
+    private DeletableResource getListedResource(ContentCacheKey key) {
         try {
             final DeletableResource[] patternMatches = resolver.getResources(CACHE_PREFIX + key.getKey() + "*");
             final DeletableResource[] directMatches = resolver.getResources(CACHE_PREFIX + key.getKey());
@@ -136,7 +171,12 @@ public class ResourceLoaderContentCache implements ContentCache {
     public OutputStream put(ContentCacheKey key, TimeToLive timeToLive) {
         LOGGER.debug("Put '{}' (TTL: {})", key.getKey(), timeToLive);
         try {
-            return getOrCreateResource(key, timeToLive).getOutputStream();
+            final String location = getLocation(key, timeToLive);
+            final OutputStream outputStream = resolver.getResource(location).getOutputStream();
+            if (isIndexed()) {
+                index.add(location.substring(CACHE_PREFIX.length()));
+            }
+            return outputStream;
         } catch (IOException e) {
             throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
         }
@@ -149,16 +189,48 @@ public class ResourceLoaderContentCache implements ContentCache {
         ofNullable(getResource(key)).ifPresent(r -> {
             try {
                 r.delete();
+                unindex(r);
             } catch (IOException e) {
                 throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
             }
         });
     }
 
+    private void refreshIndex() {
+        try {
+            index.refresh();
+        } catch (IOException e) {
+            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+        }
+    }
+
+    private void unindex(DeletableResource resource) {
+        if (isIndexed()) {
+            index.remove(ResourceLoaderCacheIndex.toLocation(resource.getFilename()));
+        }
+    }
+
     @Timed
     @Override
     public void evictMatch(ContentCacheKey key) {
         LOGGER.debug("Evict match '{}'", key.getKey());
+        if (isIndexed()) {
+            // Matching entries may have been created by another process sharing the cache store.
+            refreshIndex();
+            index.match(key.getPrefix(), key.getMatcher()).forEach(location -> {
+                try {
+                    LOGGER.debug("Delete file '{}'.", location);
+                    final DeletableResource resource = resolver.getResource(CACHE_PREFIX + location);
+                    if (resource.exists()) {
+                        resource.delete();
+                    }
+                    index.remove(location);
+                } catch (IOException e) {
+                    throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+                }
+            });
+            return;
+        }
         try {
             final DeletableResource[] resources = resolver.getResources(CACHE_PREFIX + key.getPrefix() + "**");
             final Predicate<String> matcher = key.getMatcher();
@@ -192,6 +264,7 @@ public class ResourceLoaderContentCache implements ContentCache {
                 LOGGER.debug("Source file no longer exists.");
                 if (resolver.getResource(destination).exists()) {
                     LOGGER.debug("No need to move file (destination already exists).");
+                    unindex(resource);
                     return;
                 } else {
                     LOGGER.error("Source file '{}' no longer exists, neither does destination '{}'", from.getKey(),
@@ -200,7 +273,12 @@ public class ResourceLoaderContentCache implements ContentCache {
                 }
             }
             try {
+                final String source = ResourceLoaderCacheIndex.toLocation(resource.getFilename());
                 resource.move(destination);
+                if (isIndexed()) {
+                    index.remove(source);
+                    index.add(destination.substring(CACHE_PREFIX.length()));
+                }
             } catch (IOException e) {
                 throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
             }
@@ -213,6 +291,9 @@ public class ResourceLoaderContentCache implements ContentCache {
         LOGGER.debug("Clear all");
         try {
             resolver.clear(CACHE_PREFIX + "**");
+            if (isIndexed()) {
+                index.clear();
+            }
         } catch (IOException e) {
             throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
         }
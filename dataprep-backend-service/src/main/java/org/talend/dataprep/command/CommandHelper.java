@@ -65,6 +65,26 @@ public class CommandHelper {
         };
     }
 
+    /**
+     * Same as {@link #toStreaming(HystrixCommand)}, but output is flushed as soon as content is received so the events
+     * of a server-sent events stream are forwarded when they are sent.
+     *
+     * @param command the command that returns the events stream.
+     * @return the events stream, closed once the client is gone or the stream ends.
+     */
+    public static StreamingResponseBody toEventStream(final HystrixCommand<InputStream> command) {
+        return outputStream -> {
+            try (InputStream events = command.execute()) {
+                final byte[] buffer = new byte[4096];
+                int read;
+                while ((read = events.read(buffer)) >= 0) {
+                    outputStream.write(buffer, 0, read);
+                    outputStream.flush();
+                }
+            }
+        };
+    }
+
     public static ResponseEntity<Void> async(final GenericCommand<?> command) {
         final Observable<?> stream = command.toObservable();
         return stream.map(is -> {
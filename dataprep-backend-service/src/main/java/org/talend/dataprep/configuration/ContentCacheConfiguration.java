@@ -1,16 +1,47 @@
 package org.talend.dataprep.configuration;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.talend.dataprep.cache.ContentCache;
+import org.talend.dataprep.cache.HeapContentCache;
 import org.talend.dataprep.cache.ZippedContentCache;
+import org.talend.dataprep.cache.noop.NoOpContentCache;
 import org.talend.dataprep.processor.Wrapper;
 
 @Configuration
 public class ContentCacheConfiguration {
 
+    /**
+     * Keeps small cache entries in heap. Declared before {@link #zippedContentCacheWrapper()} so it is applied first:
+     * heap holds the compressed content.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "service.cache.heap.enabled", havingValue = "true", matchIfMissing = true)
+    public Wrapper<ContentCache> heapContentCacheWrapper(
+            @Value("${service.cache.heap.size:67108864}") long maxSize, //
+            @Value("${service.cache.heap.entry.size:1048576}") int maxEntrySize, //
+            @Value("${service.cache.heap.ttl:60000}") long timeToLive, //
+            @Value("${service.cache.heap.absent.ttl:1000}") long absentKeysTimeToLive) {
+        return new Wrapper<ContentCache>() {
+
+            @Override
+            public Class<ContentCache> wrapped() {
+                return ContentCache.class;
+            }
+
+            @Override
+            public ContentCache doWith(ContentCache instance, String beanName, ApplicationContext applicationContext) {
+                if (instance instanceof NoOpContentCache) {
+                    return instance;
+                }
+                return new HeapContentCache(instance, maxSize, maxEntrySize, timeToLive, absentKeysTimeToLive);
+            }
+        };
+    }
+
     @Bean
     @ConditionalOnProperty(name = "service.cache.zipped", havingValue = "true", matchIfMissing = true)
     public Wrapper<ContentCache> zippedContentCacheWrapper() {
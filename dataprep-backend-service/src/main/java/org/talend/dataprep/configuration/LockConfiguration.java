@@ -0,0 +1,53 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.configuration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.lock.DistributedLockWatcher;
+import org.talend.dataprep.lock.LockFactory;
+import org.talend.dataprep.processor.Wrapper;
+
+/**
+ * A configuration that wraps the active {@link LockFactory} using {@link DistributedLockWatcher}, so locks are released
+ * on shutdown and lock acquisitions wait at most <code>lock.acquire.timeout</code> milliseconds.
+ */
+@Configuration
+public class LockConfiguration {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LockConfiguration.class);
+
+    @Component
+    public class LockFactoryPostProcessor implements Wrapper<LockFactory> {
+
+        @Override
+        public Class<LockFactory> wrapped() {
+            return LockFactory.class;
+        }
+
+        @Override
+        public LockFactory doWith(LockFactory instance, String beanName, ApplicationContext applicationContext) {
+            if (instance instanceof DistributedLockWatcher) {
+                return instance;
+            }
+            final long acquireTimeout =
+                    applicationContext.getEnvironment().getProperty("lock.acquire.timeout", Long.class, 0L);
+            LOGGER.info("Wrapping '{}' ({}), lock acquire timeout: {} ms.", instance.getClass(), beanName,
+                    acquireTimeout);
+            return new DistributedLockWatcher(instance, acquireTimeout);
+        }
+    }
+}
@@ -65,7 +65,10 @@ public class PreparationRepositoryConfiguration {
                 ApplicationContext applicationContext) {
             LOGGER.info("Wrapping '{}' ({})...", instance.getClass(), beanName);
             final BeanConversionService beanConversionService = applicationContext.getBean(BeanConversionService.class);
-            return new PersistentPreparationRepository(instance, beanConversionService);
+            final long actionsCacheSize = applicationContext.getEnvironment().getProperty(
+                    "preparation.store.actions.cache.size", Long.class,
+                    (long) PersistentPreparationRepository.DEFAULT_ACTIONS_CACHE_SIZE);
+            return new PersistentPreparationRepository(instance, beanConversionService, actionsCacheSize);
         }
     }
 
@@ -12,9 +12,11 @@
 
 package org.talend.dataprep.configuration;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.AsyncListenableTaskExecutor;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
@@ -98,6 +100,25 @@ public class TaskExecution {
         return getAsyncExecutor();
     }
 
+    /**
+     * @param poolSize the maximum number of advanced analyses running at the same time.
+     * @return A {@link TaskExecutor} for the advanced analyses of the background dataset statistics. An advanced
+     * analysis waits for the rows of the reading thread, so tasks are never queued: a task is rejected if all threads
+     * are busy.
+     * @see org.talend.dataprep.dataset.service.analysis.asynchronous.BackgroundAnalysis
+     */
+    @Bean(name = "analysis#advanced#executor")
+    AsyncTaskExecutor getAdvancedAnalysisExecutor(@Value("${dataset.analysis.advanced.pool-size:10}") int poolSize) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(0);
+        executor.setMaxPoolSize(Math.max(1, poolSize));
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("advanced-analysis-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
     /**
      * @return an Authenticated task executor ready to run.
      */
@@ -12,23 +12,15 @@
 
 package org.talend.dataprep.conversions;
 
-import static java.util.Collections.unmodifiableList;
 import static java.util.stream.Stream.of;
 
-import java.beans.PropertyDescriptor;
-import java.lang.reflect.Method;
-import java.lang.reflect.Type;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 
-import org.springframework.beans.BeanUtils;
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.sleuth.Span;
 import org.springframework.cloud.sleuth.Tracer;
@@ -41,77 +33,28 @@ import org.springframework.stereotype.Service;
 /**
  * This service provides methods to convert beans to other beans (DTOs, transient beans...). This service helps code to
  * separate between core business code and representations for various use cases.
+ * <p>
+ * Each source/target class pair is compiled once into a {@link ConversionPlan} (properties to copy and custom
+ * conversions to apply), plans are discarded when registrations change.
  */
 @Service
 public class BeanConversionService implements ConversionService {
 
-    private final Map<Class<?>, Registration<Object>> registrations = new HashMap<>();
+    private final Map<Class<?>, Registration<Object>> registrations = new ConcurrentHashMap<>();
+
+    /** Compiled conversions (source class -> target class -> plan). */
+    private final Map<Class<?>, Map<Class<?>, ConversionPlan<?>>> plans = new ConcurrentHashMap<>();
 
     @Autowired(required = false)
     private Tracer tracer;
 
-    /**
-     * The {@link BeanUtils#copyProperties(java.lang.Object, java.lang.Object)} method does <b>NOT</b> check if parametrized type
-     * are compatible when copying values, this helper method performs this additional check and ignore copy of those values.
-     *
-     * @param source The source bean (from which values are read).
-     * @param converted The target bean (to which values are written).
-     */
-    private static void copyBean(Object source, Object converted) {
-        // Find property(ies) to ignore during copy.
-        final List<String> discardedProperties = getDiscardedProperties(source, converted);
-
-        // Perform copy
-        BeanUtils.copyProperties(source, converted, discardedProperties.toArray(new String[0]));
-    }
-
-    private static final Map<String, List<String>> discardedPropertiesCache = new HashMap<>();
-
-    private static List<String> getDiscardedProperties(Object source, Object converted) {
-        final String cacheKey = source.getClass().getName() + " to " + converted.getClass().getName();
-        if (discardedPropertiesCache.containsKey(cacheKey)) {
-            return discardedPropertiesCache.get(cacheKey);
-        }
-
-        final List<String> discardedProperties = new LinkedList<>();
-        final BeanWrapper sourceBean = new BeanWrapperImpl(source);
-        final BeanWrapper targetBean = new BeanWrapperImpl(converted);
-        final PropertyDescriptor[] sourceProperties = sourceBean.getPropertyDescriptors();
-        for (PropertyDescriptor sourceProperty : sourceProperties) {
-            if (targetBean.isWritableProperty(sourceProperty.getName())) {
-                final PropertyDescriptor targetProperty = targetBean.getPropertyDescriptor(sourceProperty.getName());
-                final Class<?> sourcePropertyType = sourceProperty.getPropertyType();
-                final Class<?> targetPropertyType = targetProperty.getPropertyType();
-                final Method readMethod = sourceProperty.getReadMethod();
-                if (readMethod != null) {
-                    final Type sourceReturnType = readMethod.getGenericReturnType();
-                    final Method targetPropertyWriteMethod = targetProperty.getWriteMethod();
-                    if (targetPropertyWriteMethod != null) {
-                        final Type targetReturnType =
-                                targetPropertyWriteMethod.getParameters()[0].getParameterizedType();
-                        boolean valid =
-                                Object.class.equals(targetPropertyType) || sourcePropertyType.equals(targetPropertyType)
-                                        && sourceReturnType.equals(targetReturnType);
-                        if (!valid) {
-                            discardedProperties.add(sourceProperty.getName());
-                        }
-                    }
-                } else {
-                    discardedProperties.add(sourceProperty.getName());
-                }
-            }
-        }
-        discardedPropertiesCache.put(cacheKey, unmodifiableList(discardedProperties));
-
-        return discardedProperties;
-    }
-
     public static <T> RegistrationBuilder<T> fromBean(Class<T> source) {
         return new RegistrationBuilder<>(source);
     }
 
     public void register(Registration<?> registration) {
         registrations.merge(registration.getModelClass(), (Registration<Object>) registration, Registration::merge);
+        plans.clear();
     }
 
     public boolean has(Class<?> modelClass) {
@@ -120,6 +63,7 @@ public class BeanConversionService implements ConversionService {
 
     public void clear() {
         registrations.clear();
+        plans.clear();
     }
 
     @Override
@@ -165,26 +109,22 @@ public class BeanConversionService implements ConversionService {
         if (source.getClass().equals(targetClass)) {
             return (U) source;
         }
-        try {
-            U converted = targetClass.newInstance();
-            copyBean(source, converted);
-
-            List<Registration<Object>> registrationsFound = getRegistrationsForSourceClass(source.getClass());
-
-            List<BiFunction<Object, U, U>> customs = new ArrayList<>();
-            for (Registration<Object> registrationFound : registrationsFound) {
-                customs.addAll(getRegistrationFunctions(targetClass, registrationFound));
-            }
+        return getPlan(source.getClass(), targetClass).convert(source);
+    }
 
-            U result = converted;
-            for (BiFunction<Object, U, U> current : customs) {
-                result = current.apply(source, converted);
-            }
+    /** Get (or compile) the conversion plan from a source class to a target class. */
+    private <U> ConversionPlan<U> getPlan(Class<?> sourceClass, Class<U> targetClass) {
+        return (ConversionPlan<U>) plans //
+                .computeIfAbsent(sourceClass, c -> new ConcurrentHashMap<>()) //
+                .computeIfAbsent(targetClass, c -> compile(sourceClass, targetClass));
+    }
 
-            return result;
-        } catch (InstantiationException | IllegalAccessException e) {
-            throw new RuntimeException(e);
+    private <U> ConversionPlan<U> compile(Class<?> sourceClass, Class<U> targetClass) {
+        List<BiFunction<Object, U, U>> customs = new ArrayList<>();
+        for (Registration<Object> registrationFound : getRegistrationsForSourceClass(sourceClass)) {
+            customs.addAll(getRegistrationFunctions(targetClass, registrationFound));
         }
+        return new ConversionPlan<>(sourceClass, targetClass, customs);
     }
 
     /** Find all registrations that can convert this type of source. */
@@ -0,0 +1,156 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.conversions;
+
+import static java.lang.invoke.MethodType.methodType;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.FatalBeanException;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * A conversion from a source class to a target class, compiled once by {@link BeanConversionService}: the target
+ * constructor, the properties to copy (as method handles) and the custom conversions to apply.
+ * <p>
+ * Properties are copied as {@link BeanUtils#copyProperties(Object, Object)} would do, except for properties whose
+ * (parameterized) types differ between source and target: those are ignored.
+ *
+ * @param <U> The target type.
+ */
+class ConversionPlan<U> {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private final Class<U> targetClass;
+
+    /** Creates a new target instance, <code>null</code> if target class can't be instantiated. */
+    private final MethodHandle constructor;
+
+    /** Getters of the copied properties (same order as {@link #setters}). */
+    private final MethodHandle[] getters;
+
+    /** Setters of the copied properties (same order as {@link #getters}). */
+    private final MethodHandle[] setters;
+
+    private final String[] propertyNames;
+
+    private final List<BiFunction<Object, U, U>> customs;
+
+    ConversionPlan(Class<?> sourceClass, Class<U> targetClass, List<BiFunction<Object, U, U>> customs) {
+        this.targetClass = targetClass;
+        this.constructor = findConstructor(targetClass);
+        this.customs = customs;
+
+        final List<MethodHandle> sourceGetters = new ArrayList<>();
+        final List<MethodHandle> targetSetters = new ArrayList<>();
+        final List<String> names = new ArrayList<>();
+        for (PropertyDescriptor targetProperty : BeanUtils.getPropertyDescriptors(targetClass)) {
+            final Method writeMethod = targetProperty.getWriteMethod();
+            if (writeMethod == null) {
+                continue;
+            }
+            final PropertyDescriptor sourceProperty = BeanUtils.getPropertyDescriptor(sourceClass,
+                    targetProperty.getName());
+            if (sourceProperty == null || sourceProperty.getReadMethod() == null) {
+                continue;
+            }
+            final Method readMethod = sourceProperty.getReadMethod();
+            if (isCopyable(sourceProperty, targetProperty)) {
+                sourceGetters.add(unreflect(readMethod).asType(methodType(Object.class, Object.class)));
+                targetSetters.add(unreflect(writeMethod).asType(methodType(void.class, Object.class, Object.class)));
+                names.add(targetProperty.getName());
+            }
+        }
+        this.getters = sourceGetters.toArray(new MethodHandle[0]);
+        this.setters = targetSetters.toArray(new MethodHandle[0]);
+        this.propertyNames = names.toArray(new String[0]);
+    }
+
+    /**
+     * Checks both property types are the same (including type parameters), or target property accepts any object.
+     */
+    private static boolean isCopyable(PropertyDescriptor sourceProperty, PropertyDescriptor targetProperty) {
+        final Class<?> targetPropertyType = targetProperty.getPropertyType();
+        if (Object.class.equals(targetPropertyType)) {
+            return true;
+        }
+        return sourceProperty.getPropertyType().equals(targetPropertyType)
+                && sourceProperty.getReadMethod().getGenericReturnType().equals(
+                        targetProperty.getWriteMethod().getParameters()[0].getParameterizedType());
+    }
+
+    private static MethodHandle unreflect(Method method) {
+        try {
+            ReflectionUtils.makeAccessible(method);
+            return LOOKUP.unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new FatalBeanException("Could not access '" + method + "'", e);
+        }
+    }
+
+    private static MethodHandle findConstructor(Class<?> targetClass) {
+        try {
+            final Constructor<?> constructor = targetClass.getDeclaredConstructor();
+            ReflectionUtils.makeAccessible(constructor);
+            return LOOKUP.unreflectConstructor(constructor).asType(methodType(Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Converts a source bean.
+     *
+     * @param source The source bean, must be an instance of the source class of this plan.
+     * @return The converted bean.
+     */
+    U convert(Object source) {
+        final U converted = newInstance();
+        for (int i = 0; i < getters.length; i++) {
+            try {
+                setters[i].invokeExact(converted, (Object) getters[i].invokeExact(source));
+            } catch (Throwable e) {
+                throw new FatalBeanException("Could not copy property '" + propertyNames[i]
+                        + "' from source to target", e);
+            }
+        }
+
+        U result = converted;
+        for (BiFunction<Object, U, U> current : customs) {
+            result = current.apply(source, converted);
+        }
+        return result;
+    }
+
+    private U newInstance() {
+        if (constructor == null) {
+            throw new RuntimeException(new InstantiationException(targetClass.getName()));
+        }
+        try {
+            return targetClass.cast((Object) constructor.invokeExact());
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
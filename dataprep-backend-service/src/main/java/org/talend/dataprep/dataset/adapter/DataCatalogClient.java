@@ -1,5 +1,6 @@
 package org.talend.dataprep.dataset.adapter;
 
+import java.util.List;
 import java.util.stream.Stream;
 
 import org.apache.avro.Schema;
@@ -39,4 +40,8 @@ public class DataCatalogClient {
         return context.getBean(DataSetGetContent.class, id, schema, limit).execute();
     }
 
+    public Stream<GenericRecord> getDataSetContent(String id, Long limit, Schema schema, List<Long> tdpIds) {
+        return context.getBean(DataSetGetContent.class, id, schema, limit, tdpIds).execute();
+    }
+
 }
@@ -37,6 +37,7 @@ import org.talend.dataprep.conversions.BeanConversionService;
 import org.talend.dataprep.conversions.inject.OwnerInjection;
 import org.talend.dataprep.dataset.DatasetConfiguration;
 import org.talend.dataprep.dataset.adapter.commands.DataSetGetMetadataLegacy;
+import org.talend.dataprep.dataset.event.DatasetDeletedEvent;
 import org.talend.dataprep.dataset.event.DatasetUpdatedEvent;
 import org.talend.dataprep.dataset.store.content.DataSetContentLimit;
 import org.talend.dataprep.quality.AnalyzerService;
@@ -90,6 +91,9 @@ public class DatasetClient {
     @Autowired
     private ApplicationContext context;
 
+    @Autowired
+    private DatasetMetadataCache metadataCache;
+
     // ------- Composite adapters -------
 
     /**
@@ -109,18 +113,18 @@ public class DatasetClient {
     }
 
     public DataSetMetadata getDataSetMetadata(String id) {
-        final Schema dataSetSchema = dataCatalogClient.getDataSetSchema(id);
-        return toDataSetMetadata(dataCatalogClient.getMetadata(id), dataSetSchema);
+        final Schema dataSetSchema = metadataCache.getSchema(id);
+        return toDataSetMetadata(metadataCache.getMetadata(id), dataSetSchema);
     }
 
     public RowMetadata getDataSetRowMetadata(String id) {
-        Schema dataSetSchema = dataCatalogClient.getDataSetSchema(id);
+        Schema dataSetSchema = metadataCache.getSchema(id);
         return AvroUtils.toRowMetadata(dataSetSchema);
     }
 
     public Stream<DataSetRow> getDataSetContentAsRows(String id, boolean fullContent) {
-        final Schema dataSetSchema = dataCatalogClient.getDataSetSchema(id);
-        final DataSetMetadata dataSetMetadata = toDataSetMetadata(dataCatalogClient.getMetadata(id), dataSetSchema);
+        final Schema dataSetSchema = metadataCache.getSchema(id);
+        final DataSetMetadata dataSetMetadata = toDataSetMetadata(metadataCache.getMetadata(id), dataSetSchema);
         final Stream<GenericRecord> dataSetContent =
                 dataCatalogClient.getDataSetContent(id, limit(fullContent), dataSetSchema);
         return toDataSetRows(dataSetContent, dataSetMetadata.getRowMetadata());
@@ -166,13 +170,28 @@ public class DatasetClient {
      * @param filter TQL filter for content
      */
     public DataSet getDataSet(String id, boolean fullContent, boolean withRowValidityMarker, String filter) {
+        return getDataSet(id, fullContent, withRowValidityMarker, filter, null);
+    }
+
+    /**
+     * Get a dataSet by id, possibly restricted to some records.
+     * Convert metadata and records from {@link Dataset} to {@link DataSet}
+     *
+     * @param id the dataset to fetch
+     * @param fullContent we need the full dataset or a sample (see sample limit in datset: 10k rows)
+     * @param withRowValidityMarker perform a quality analysis on the dataset records
+     * @param filter TQL filter for content
+     * @param tdpIds if not null, only fetch the records with these TDP ids
+     */
+    public DataSet getDataSet(String id, boolean fullContent, boolean withRowValidityMarker, String filter,
+            List<Long> tdpIds) {
         DataSet dataset = new DataSet();
         // convert metadata
-        Dataset metadata = dataCatalogClient.getMetadata(id);
+        Dataset metadata = metadataCache.getMetadata(id);
         if (metadata == null) {
             return null;
         }
-        final Schema dataSetSchema = dataCatalogClient.getDataSetSchema(id);
+        final Schema dataSetSchema = metadataCache.getSchema(id);
         DataSetMetadata dataSetMetadata = toDataSetMetadata(metadata, dataSetSchema);
         dataset.setMetadata(dataSetMetadata);
 
@@ -180,7 +199,7 @@ public class DatasetClient {
         final RowMetadata rowMetadata = dataSetMetadata.getRowMetadata();
 
         Stream<GenericRecord> dataSetContent =
-                dataCatalogClient.getDataSetContent(id, limit(fullContent), dataSetSchema);
+                dataCatalogClient.getDataSetContent(id, limit(fullContent), dataSetSchema, tdpIds);
         Stream<DataSetRow> records = toDataSetRows(dataSetContent, rowMetadata);
         if (withRowValidityMarker) {
             records = records.peek(addValidity(rowMetadata.getColumns()));
@@ -210,7 +229,7 @@ public class DatasetClient {
             }
         }
         return datasetStream.filter(Objects::nonNull).map(dataset -> {
-            final Schema dataSetSchema = dataCatalogClient.getDataSetSchema(dataset.getId());
+            final Schema dataSetSchema = metadataCache.getSchema(dataset.getId());
             return toDataSetMetadata(dataset, dataSetSchema);
         });
     }
@@ -314,7 +333,7 @@ public class DatasetClient {
     }
 
     public DatasetDetailsDTO getDataSetDetails(String id) {
-        Dataset dataset = dataCatalogClient.getMetadata(id);
+        Dataset dataset = metadataCache.getMetadata(id);
         return conversionService.convert(dataset, DatasetDetailsDTO.class, ownerInjection.injectIntoDatasetDetails());
 
     }
@@ -336,4 +355,9 @@ public class DatasetClient {
         computedMetadataCache.invalidate(event.getSource().getId());
     }
 
+    @EventListener
+    public void cleanCacheEntryOnDatasetDeletion(DatasetDeletedEvent event) {
+        computedMetadataCache.invalidate(event.getSource());
+    }
+
 }
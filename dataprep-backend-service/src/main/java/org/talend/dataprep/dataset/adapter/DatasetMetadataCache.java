@@ -0,0 +1,228 @@
+package org.talend.dataprep.dataset.adapter;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.Map;
+import java.util.Objects;
+
+import javax.annotation.PostConstruct;
+
+import org.apache.avro.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.statistics.Statistics;
+import org.talend.dataprep.dataset.DatasetConfiguration;
+import org.talend.dataprep.dataset.event.DatasetDeletedEvent;
+import org.talend.dataprep.dataset.event.DatasetUpdatedEvent;
+import org.talend.dataprep.util.avro.AvroUtils;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+/**
+ * Bounded cache of the dataset metadata and schemas fetched with {@link DataCatalogClient}, shared by all the callers
+ * of {@link DatasetClient}.
+ * <p>
+ * Entries are keyed by dataset id and version, where the version of a dataset changes on each
+ * {@link DatasetUpdatedEvent update} or {@link DatasetDeletedEvent deletion} event received by this JVM: a value loaded
+ * before such an event is not returned after it, even if its loading completes after the event.
+ * <p>
+ * Events are only received in the JVM that changed the dataset, so entries older than
+ * <code>dataset.metadata.cache.revalidate</code> ms are also revalidated: the dataset metadata is fetched again and the
+ * cached schema is only kept if the dataset last modification date did not change. A dataset changed by another
+ * service may therefore be served for up to this delay.
+ * <p>
+ * The legacy dataset service saves the statistics of a dataset after its update event (see BackgroundAnalysis), so
+ * with this provider a dataset is only cached once its statistics are computed. Entries also expire after
+ * <code>dataset.metadata.cache.ttl</code> ms in case an event is missed (<code>dataset.metadata.cache.size=0</code>
+ * disables the cache).
+ */
+@Component
+public class DatasetMetadataCache {
+
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatasetMetadataCache.class);
+
+    private static final Statistics EMPTY_STATS = new Statistics();
+
+    @Autowired
+    private DataCatalogClient dataCatalogClient;
+
+    @Autowired
+    private ApplicationContext context;
+
+    /** Maximum number of datasets kept. */
+    @Value("${dataset.metadata.cache.size:1000}")
+    private long maximumSize;
+
+    /** How long (in ms) a dataset is kept. */
+    @Value("${dataset.metadata.cache.ttl:300000}")
+    private long ttl;
+
+    /** How long (in ms) a dataset is served without checking its last modification date. */
+    @Value("${dataset.metadata.cache.revalidate:5000}")
+    private long revalidation;
+
+    /**
+     * Current version of the datasets (0 if dataset did not change recently). A version is kept twice as long as the
+     * cache entries, so a load racing with an event has expired before the version of its dataset is forgotten.
+     */
+    private Map<String, Long> versions;
+
+    private Cache<VersionedId, CachedDataset> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = CacheBuilder
+                .newBuilder() //
+                .maximumSize(maximumSize) //
+                .expireAfterWrite(ttl, MILLISECONDS) //
+                .recordStats() //
+                .build();
+        versions = CacheBuilder
+                .newBuilder() //
+                .expireAfterWrite(2 * ttl, MILLISECONDS) //
+                .<String, Long> build() //
+                .asMap();
+    }
+
+    /**
+     * @param id the dataset id.
+     * @return the dataset metadata or <code>null</code> if dataset does not exist.
+     * @see DataCatalogClient#getMetadata(String)
+     */
+    public Dataset getMetadata(String id) {
+        final CachedDataset dataset = get(id);
+        return dataset == null ? null : dataset.metadata;
+    }
+
+    /**
+     * @param id the dataset id.
+     * @return the dataset schema.
+     * @see DataCatalogClient#getDataSetSchema(String)
+     */
+    public Schema getSchema(String id) {
+        final CachedDataset dataset = get(id);
+        return dataset == null ? dataCatalogClient.getDataSetSchema(id) : dataset.schema;
+    }
+
+    /**
+     * @return hit and miss counters.
+     */
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    @EventListener
+    public void onDatasetUpdated(DatasetUpdatedEvent event) {
+        invalidate(event.getSource().getId());
+    }
+
+    @EventListener
+    public void onDatasetDeleted(DatasetDeletedEvent event) {
+        invalidate(event.getSource());
+    }
+
+    /**
+     * Changes the version of a dataset, and removes it from cache.
+     *
+     * @param id the dataset id.
+     */
+    public void invalidate(String id) {
+        versions.merge(id, 1L, Long::sum);
+        cache.asMap().keySet().removeIf(key -> key.id.equals(id));
+        LOGGER.debug("Cached metadata of dataset #{} invalidated.", id);
+    }
+
+    /**
+     * @return the metadata and schema of the dataset or <code>null</code> if dataset does not exist.
+     */
+    private CachedDataset get(String id) {
+        final VersionedId key = new VersionedId(id, versions.getOrDefault(id, 0L));
+        final CachedDataset cached = cache.getIfPresent(key);
+        if (cached != null && System.currentTimeMillis() - cached.loaded < revalidation) {
+            return cached;
+        }
+        final Dataset metadata = dataCatalogClient.getMetadata(id);
+        if (metadata == null) {
+            return null;
+        }
+        final CachedDataset dataset;
+        if (cached != null && Objects.equals(cached.metadata.getUpdated(), metadata.getUpdated())) {
+            // Dataset did not change since it was cached: keep its schema
+            dataset = new CachedDataset(metadata, cached.schema);
+        } else {
+            dataset = new CachedDataset(metadata, dataCatalogClient.getDataSetSchema(id));
+        }
+        if (!context.getBean(DatasetConfiguration.class).isLegacy() || hasStatistics(dataset.schema)) {
+            cache.put(key, dataset);
+        }
+        return dataset;
+    }
+
+    private static boolean hasStatistics(Schema schema) {
+        return AvroUtils
+                .toRowMetadata(schema) //
+                .getColumns() //
+                .stream() //
+                .map(ColumnMetadata::getStatistics) //
+                .noneMatch(statistics -> statistics == null || EMPTY_STATS.equals(statistics));
+    }
+
+    /**
+     * Metadata and schema of a dataset.
+     */
+    private static final class CachedDataset {
+
+        private final Dataset metadata;
+
+        private final Schema schema;
+
+        /** When metadata was fetched. */
+        private final long loaded = System.currentTimeMillis();
+
+        private CachedDataset(Dataset metadata, Schema schema) {
+            this.metadata = metadata;
+            this.schema = schema;
+        }
+    }
+
+    /**
+     * A dataset id and the version of the dataset.
+     */
+    private static final class VersionedId {
+
+        private final String id;
+
+        private final long version;
+
+        private VersionedId(String id, long version) {
+            this.id = id;
+            this.version = version;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final VersionedId that = (VersionedId) o;
+            return version == that.version && Objects.equals(id, that.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, version);
+        }
+    }
+}
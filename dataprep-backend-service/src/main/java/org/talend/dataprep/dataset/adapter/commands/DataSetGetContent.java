@@ -16,6 +16,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.List;
 import java.util.stream.Stream;
 import javax.annotation.PostConstruct;
 
@@ -23,8 +24,10 @@ import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.utils.URIBuilder;
+import org.apache.http.entity.StringEntity;
 import org.springframework.context.annotation.Scope;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
@@ -34,7 +37,11 @@ import org.talend.dataprep.command.GenericCommand;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.util.avro.AvroUtils;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+
 import static org.apache.http.HttpHeaders.ACCEPT;
+import static org.apache.http.HttpHeaders.CONTENT_TYPE;
+import static org.apache.http.entity.ContentType.APPLICATION_JSON;
 import static org.springframework.beans.factory.config.ConfigurableBeanFactory.SCOPE_PROTOTYPE;
 import static org.talend.daikon.exception.ExceptionContext.build;
 import static org.talend.dataprep.exception.error.APIErrorCodes.UNABLE_TO_RETRIEVE_DATASET_CONTENT;
@@ -55,11 +62,22 @@ public class DataSetGetContent extends GenericCommand<Stream<GenericRecord>> {
 
     private final Long limit;
 
+    private final List<Long> tdpIds;
+
     public DataSetGetContent(final String dataSetId, Schema contentSchema, Long limit) {
+        this(dataSetId, contentSchema, limit, null);
+    }
+
+    /**
+     * @param tdpIds If not <code>null</code>, only get the records with these TDP ids (sent in request body, as the list
+     * may be too long for a query parameter).
+     */
+    public DataSetGetContent(final String dataSetId, Schema contentSchema, Long limit, List<Long> tdpIds) {
         super(DATASET_GROUP);
         this.dataSetId = dataSetId;
         this.contentSchema = contentSchema;
         this.limit = limit;
+        this.tdpIds = tdpIds;
 
         on(HttpStatus.NO_CONTENT).then((req, resp) -> Stream.empty());
         on(HttpStatus.OK).then(this::readResult);
@@ -82,9 +100,21 @@ public class DataSetGetContent extends GenericCommand<Stream<GenericRecord>> {
                 throw new TalendRuntimeException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
             }
 
-            HttpGet httpGet = new HttpGet(uri);
-            httpGet.addHeader(ACCEPT, AvroUtils.AVRO_BINARY_MIME_TYPES_UNOFFICIAL_VALID_VALUE);
-            return httpGet;
+            final HttpRequestBase request;
+            if (tdpIds != null) {
+                try {
+                    final HttpPost httpPost = new HttpPost(uri);
+                    httpPost.setHeader(CONTENT_TYPE, APPLICATION_JSON.getMimeType());
+                    httpPost.setEntity(new StringEntity(objectMapper.writeValueAsString(tdpIds), APPLICATION_JSON));
+                    request = httpPost;
+                } catch (JsonProcessingException e) {
+                    throw new TalendRuntimeException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+                }
+            } else {
+                request = new HttpGet(uri);
+            }
+            request.addHeader(ACCEPT, AvroUtils.AVRO_BINARY_MIME_TYPES_UNOFFICIAL_VALID_VALUE);
+            return request;
         });
     }
 
@@ -13,12 +13,26 @@
 
 package org.talend.dataprep.dataset.store.content;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
@@ -30,7 +44,9 @@ import org.talend.dataprep.api.dataset.row.InvalidMarker;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
 import org.talend.dataprep.quality.AnalyzerService;
+import org.talend.dataprep.schema.DataSetRowSerializer;
 import org.talend.dataprep.schema.FormatFamilyFactory;
+import org.talend.dataprep.schema.SeekableRowSerializer;
 import org.talend.dataprep.schema.Serializer;
 import org.talend.dataquality.common.inference.Analyzer;
 import org.talend.dataquality.common.inference.Analyzers;
@@ -42,9 +58,15 @@ import com.fasterxml.jackson.databind.ObjectMapper;
  */
 public abstract class DataSetContentStore {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataSetContentStore.class);
+
     @Value("${dataset.records.limit:10000}")
     private long sampleSize;
 
+    /** Number of rows between two entries of the row offset index. */
+    @Value("${dataset.content.index.interval:1000}")
+    private int indexInterval;
+
     @Autowired
     AnalyzerService service;
 
@@ -129,32 +151,329 @@ public abstract class DataSetContentStore {
      * @return A valid <b>{@link DataSetRow}</b> stream.
      */
     public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata, long limit) {
-        final InputStream inputStream = get(dataSetMetadata, limit);
-        final DataSetRowIterator iterator = new DataSetRowIterator(inputStream);
-        final Iterable<DataSetRow> rowIterable = () -> iterator;
-        Stream<DataSetRow> dataSetRowStream = StreamSupport.stream(rowIterable.spliterator(), false);
+        return numberRows(readRows(dataSetMetadata, limit), 1).map(getInvalidMarker(dataSetMetadata));
+    }
 
-        // make sure to close the original input stream when closing this one
-        AtomicLong tdpId = new AtomicLong(1);
-        final List<ColumnMetadata> columns = dataSetMetadata.getRowMetadata().getColumns();
-        final Analyzer<Analyzers.Result> analyzer = service.build(columns, AnalyzerService.Analysis.QUALITY);
+    /**
+     * Returns the rows of the data set with the given TDP ids (row order is preserved). If the data set has a valid
+     * {@link RowOffsetIndex row offset index}, content is read from the indexed row closest to the first wanted row,
+     * otherwise content is read from start. In both cases, content after the last wanted row is not read.
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} to read rows from.
+     * @param tdpIds The TDP ids of the wanted rows.
+     * @return The wanted rows (ids with no matching row are ignored).
+     */
+    public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata, Collection<Long> tdpIds) {
+        if (tdpIds.isEmpty()) {
+            return Stream.empty();
+        }
+        final Set<Long> wanted = new HashSet<>(tdpIds);
+        final long first = Collections.min(wanted);
+        final long last = Collections.max(wanted);
 
-        dataSetRowStream = dataSetRowStream
-                .filter(r -> !r.isEmpty())
-                .peek(r -> analyzer.analyze(r.order(columns).toArray(DataSetRow.SKIP_TDP_ID))) //
-                .map(new InvalidMarker(columns, analyzer)) // Mark invalid columns as detected by provided analyzer.
+        final SeekableRowSerializer serializer = getSeekableSerializer(dataSetMetadata);
+        final RowOffsetIndex index = serializer == null ? null : getRowOffsetIndex(dataSetMetadata);
+        final Map.Entry<Long, Long> start = index == null ? null : index.floor(first);
+        final Stream<DataSetRow> rows;
+        if (start != null) {
+            LOGGER.debug("Read rows of data set #{} from row #{} (position {}).", dataSetMetadata.getId(),
+                    start.getKey(), start.getValue());
+            final InputStream rawContent = getAsRaw(dataSetMetadata, -1);
+            rows = numberRows(serializer.stream(rawContent, dataSetMetadata, start.getValue(), null) //
+                    .onClose(() -> closeContent(rawContent)), start.getKey());
+        } else {
+            rows = numberRows(readRows(dataSetMetadata, -1), 1);
+        }
+        return takeWhile(rows, r -> r.getTdpId() <= last) //
+                .filter(r -> wanted.contains(r.getTdpId())) //
+                .map(getInvalidMarker(dataSetMetadata));
+    }
+
+    /**
+     * Removes empty rows and sets TDP id of remaining ones.
+     *
+     * @param rows The rows as read from content.
+     * @param firstTdpId The TDP id of the first non empty row.
+     * @return The numbered rows.
+     */
+    private static Stream<DataSetRow> numberRows(Stream<DataSetRow> rows, long firstTdpId) {
+        AtomicLong tdpId = new AtomicLong(firstTdpId);
+        return rows.filter(r -> !r.isEmpty()) //
                 .peek(r -> { //
                     r.setTdpId(tdpId.getAndIncrement());
-                })
-                .onClose(() -> { //
-                    try {
-                        inputStream.close();
-                    } catch (Exception e) {
-                        throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+                });
+    }
+
+    /**
+     * @return A function that marks invalid cells of rows: stored markers are used when available, otherwise cells are
+     * checked by a quality analyzer (only built for rows not covered by stored markers).
+     */
+    private Function<DataSetRow, DataSetRow> getInvalidMarker(DataSetMetadata dataSetMetadata) {
+        final List<ColumnMetadata> columns = dataSetMetadata.getRowMetadata().getColumns();
+        final InvalidMarkers invalidMarkers = getInvalidMarkers(dataSetMetadata);
+        final Function<DataSetRow, DataSetRow> qualityMarker = new QualityMarker(columns);
+        final int markedRows = invalidMarkers == null ? 0 : invalidMarkers.getRowCount();
+        return r -> {
+            final long index = r.getTdpId() - 1;
+            return index < markedRows ? invalidMarkers.mark(r, (int) index) : qualityMarker.apply(r);
+        };
+    }
+
+    /**
+     * Returns the rows of a stream until one does not match <code>predicate</code> (remaining rows are not read).
+     */
+    private static Stream<DataSetRow> takeWhile(Stream<DataSetRow> rows, Predicate<DataSetRow> predicate) {
+        final Spliterator<DataSetRow> spliterator = rows.spliterator();
+        final Spliterator<DataSetRow> limited = new Spliterators.AbstractSpliterator<DataSetRow>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+
+            private boolean done;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super DataSetRow> action) {
+                if (done) {
+                    return false;
+                }
+                final boolean advanced = spliterator.tryAdvance(r -> {
+                    if (predicate.test(r)) {
+                        action.accept(r);
+                    } else {
+                        done = true;
                     }
                 });
+                done |= !advanced;
+                return !done;
+            }
+        };
+        return StreamSupport.stream(limited, false).onClose(rows::close);
+    }
+
+    /**
+     * Computes the invalid cells of the data set content and stores them, so they are not computed again when content
+     * is {@link #stream(DataSetMetadata, long) read}. Markers are computed for the first
+     * <code>dataset.records.limit</code> rows, and only used while data set columns are unchanged.
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} to compute invalid markers for.
+     * @see #getInvalidMarkersOutput(DataSetMetadata)
+     */
+    public void storeInvalidMarkers(DataSetMetadata dataSetMetadata) {
+        final List<ColumnMetadata> columns = dataSetMetadata.getRowMetadata().getColumns();
+        final InvalidMarkers invalidMarkers = new InvalidMarkers(columns);
+        final Function<DataSetRow, DataSetRow> qualityMarker = new QualityMarker(columns);
+        try (Stream<DataSetRow> rows = readRows(dataSetMetadata, sampleSize)) {
+            rows.filter(r -> !r.isEmpty()).limit(sampleSize).map(qualityMarker).forEach(invalidMarkers::add);
+        }
+        final OutputStream output = getInvalidMarkersOutput(dataSetMetadata);
+        if (output == null) {
+            LOGGER.debug("Content store does not support invalid markers for data set #{}.", dataSetMetadata.getId());
+            return;
+        }
+        try {
+            invalidMarkers.write(output);
+            LOGGER.debug("Stored invalid markers of data set #{} ({} rows).", dataSetMetadata.getId(),
+                    invalidMarkers.getRowCount());
+        } catch (IOException e) {
+            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+        }
+    }
+
+    /**
+     * @return The stored invalid markers of the data set if they are still valid for the data set columns,
+     * <code>null</code> otherwise.
+     */
+    private InvalidMarkers getInvalidMarkers(DataSetMetadata dataSetMetadata) {
+        final InputStream input = getInvalidMarkersInput(dataSetMetadata);
+        if (input == null) {
+            return null;
+        }
+        try {
+            final InvalidMarkers invalidMarkers = InvalidMarkers.read(input);
+            if (invalidMarkers != null && invalidMarkers.isValidFor(dataSetMetadata.getRowMetadata().getColumns())) {
+                return invalidMarkers;
+            }
+            LOGGER.debug("Ignore outdated invalid markers of data set #{}.", dataSetMetadata.getId());
+        } catch (IOException e) {
+            LOGGER.warn("Unable to read invalid markers of data set #{}.", dataSetMetadata.getId(), e);
+        }
+        return null;
+    }
+
+    /**
+     * Returns where to write the invalid markers of the data set. Default implementation does not store markers.
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} the markers belong to.
+     * @return The stream to write markers to, or <code>null</code> if store does not support markers.
+     * @see #storeInvalidMarkers(DataSetMetadata)
+     */
+    protected OutputStream getInvalidMarkersOutput(DataSetMetadata dataSetMetadata) {
+        return null;
+    }
+
+    /**
+     * Returns the invalid markers of the data set previously written to
+     * {@link #getInvalidMarkersOutput(DataSetMetadata)}. Default implementation does not store markers.
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} the markers belong to.
+     * @return The stored markers, or <code>null</code> if there is none.
+     */
+    protected InputStream getInvalidMarkersInput(DataSetMetadata dataSetMetadata) {
+        return null;
+    }
+
+    /**
+     * Computes the {@link RowOffsetIndex row offset index} of the data set content and stores it, so rows can later be
+     * {@link #stream(DataSetMetadata, Collection) read by TDP id} without parsing all previous rows. Does nothing if
+     * the data set format (or encoding) does not allow seeks.
+     * <p>
+     * Only the first <code>dataset.records.limit</code> rows (plus one) are indexed: the returned number of indexed
+     * rows tells callers whether the content exceeds this limit without reading content again.
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} to index.
+     * @return The number of indexed rows, or -1 if content can't be indexed.
+     * @see #getRowOffsetIndexOutput(DataSetMetadata)
+     */
+    public long storeRowOffsetIndex(DataSetMetadata dataSetMetadata) {
+        final SeekableRowSerializer serializer = getSeekableSerializer(dataSetMetadata);
+        if (serializer == null) {
+            LOGGER.debug("Content of data set #{} can't be indexed.", dataSetMetadata.getId());
+            return -1;
+        }
+        final RowOffsetIndex index = new RowOffsetIndex(dataSetMetadata, indexInterval);
+        final long[] position = new long[1];
+        final InputStream rawContent = getAsRaw(dataSetMetadata, -1);
+        try (Stream<DataSetRow> rows = serializer.stream(rawContent, dataSetMetadata, 0, p -> position[0] = p) //
+                .onClose(() -> closeContent(rawContent))) {
+            final Stream<DataSetRow> nonEmptyRows = rows.filter(r -> !r.isEmpty());
+            (sampleSize < 0 ? nonEmptyRows : nonEmptyRows.limit(sampleSize + 1))
+                    .forEach(r -> index.add(position[0]));
+        }
+        final OutputStream output = getRowOffsetIndexOutput(dataSetMetadata);
+        if (output == null) {
+            LOGGER.debug("Content store does not support row index for data set #{}.", dataSetMetadata.getId());
+            return index.getRowCount();
+        }
+        try {
+            index.write(output);
+            LOGGER.debug("Stored row index of data set #{} ({} rows).", dataSetMetadata.getId(), index.getRowCount());
+        } catch (IOException e) {
+            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+        }
+        return index.getRowCount();
+    }
+
+    /**
+     * @return The stored row offset index of the data set if it is still valid for the data set format,
+     * <code>null</code> otherwise.
+     */
+    private RowOffsetIndex getRowOffsetIndex(DataSetMetadata dataSetMetadata) {
+        final InputStream input = getRowOffsetIndexInput(dataSetMetadata);
+        if (input == null) {
+            return null;
+        }
+        try {
+            final RowOffsetIndex index = RowOffsetIndex.read(input);
+            if (index != null && index.isValidFor(dataSetMetadata)) {
+                return index;
+            }
+            LOGGER.debug("Ignore outdated row index of data set #{}.", dataSetMetadata.getId());
+        } catch (IOException e) {
+            LOGGER.warn("Unable to read row index of data set #{}.", dataSetMetadata.getId(), e);
+        }
+        return null;
+    }
+
+    /**
+     * Returns where to write the row offset index of the data set. Default implementation does not store index.
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} the index belongs to.
+     * @return The stream to write index to, or <code>null</code> if store does not support index.
+     * @see #storeRowOffsetIndex(DataSetMetadata)
+     */
+    protected OutputStream getRowOffsetIndexOutput(DataSetMetadata dataSetMetadata) {
+        return null;
+    }
+
+    /**
+     * Returns the row offset index of the data set previously written to
+     * {@link #getRowOffsetIndexOutput(DataSetMetadata)}. Default implementation does not store index.
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} the index belongs to.
+     * @return The stored index, or <code>null</code> if there is none.
+     */
+    protected InputStream getRowOffsetIndexInput(DataSetMetadata dataSetMetadata) {
+        return null;
+    }
+
+    /**
+     * @return The data set serializer if it can seek in the data set raw content, <code>null</code> otherwise.
+     */
+    private SeekableRowSerializer getSeekableSerializer(DataSetMetadata dataSetMetadata) {
+        final DataSetContent content = dataSetMetadata.getContent();
+        final Serializer serializer = factory.getFormatFamily(content.getFormatFamilyId()).getSerializer();
+        if (serializer instanceof SeekableRowSerializer
+                && ((SeekableRowSerializer) serializer).isSeekable(dataSetMetadata)) {
+            return (SeekableRowSerializer) serializer;
+        }
+        return null;
+    }
+
+    /**
+     * Reads the data set content as {@link DataSetRow rows}. If the format family serializer is a
+     * {@link DataSetRowSerializer}, rows are directly read from the raw content, otherwise rows are parsed from the
+     * JSON content returned by {@link #get(DataSetMetadata, long)}.
+     *
+     * @param dataSetMetadata The {@link DataSetMetadata data set} to read rows from.
+     * @param limit A limit to pass to raw content supplier (use -1 for "no limit).
+     * @return The data set rows, closing the stream closes the underlying content.
+     */
+    private Stream<DataSetRow> readRows(DataSetMetadata dataSetMetadata, long limit) {
+        final DataSetContent content = dataSetMetadata.getContent();
+        final Serializer serializer = factory.getFormatFamily(content.getFormatFamilyId()).getSerializer();
+        if (serializer instanceof DataSetRowSerializer) {
+            final InputStream rawContent = getAsRaw(dataSetMetadata, limit);
+            return ((DataSetRowSerializer) serializer).stream(rawContent, dataSetMetadata, limit) //
+                    .onClose(() -> closeContent(rawContent));
+        }
+
+        final InputStream inputStream = get(dataSetMetadata, limit);
+        final DataSetRowIterator iterator = new DataSetRowIterator(inputStream);
+        final Iterable<DataSetRow> rowIterable = () -> iterator;
+        // make sure to close the original input stream when closing this one
+        return StreamSupport.stream(rowIterable.spliterator(), false).onClose(() -> closeContent(inputStream));
+    }
+
+    /**
+     * Runs a quality analysis on rows and marks their invalid cells. Analyzer is only built for the first row.
+     */
+    private class QualityMarker implements Function<DataSetRow, DataSetRow> {
+
+        private final List<ColumnMetadata> columns;
+
+        private Analyzer<Analyzers.Result> analyzer;
+
+        private InvalidMarker invalidMarker;
+
+        private QualityMarker(List<ColumnMetadata> columns) {
+            this.columns = columns;
+        }
+
+        @Override
+        public DataSetRow apply(DataSetRow row) {
+            if (analyzer == null) {
+                analyzer = service.build(columns, AnalyzerService.Analysis.QUALITY);
+                invalidMarker = new InvalidMarker(columns, analyzer);
+            }
+            analyzer.analyze(row.order(columns).toArray(DataSetRow.SKIP_TDP_ID));
+            return invalidMarker.apply(row);
+        }
+    }
 
-        return dataSetRowStream;
+    private static void closeContent(InputStream content) {
+        try {
+            content.close();
+        } catch (Exception e) {
+            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+        }
     }
 
     /**
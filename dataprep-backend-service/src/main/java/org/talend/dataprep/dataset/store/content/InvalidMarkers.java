@@ -0,0 +1,170 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.content;
+
+import static java.util.stream.Collectors.joining;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.BitSet;
+import java.util.List;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+
+/**
+ * Invalid cells of a data set content, stored as one bitmap (indexed by row) per column.
+ * <p>
+ * Markers are computed once by {@link DataSetContentStore#storeInvalidMarkers(DataSetMetadata)} and then applied to
+ * rows on read, so reading content does not need any quality analysis. Markers are only valid for the columns (id,
+ * type and domain) they were computed with, see {@link #isValidFor(List)}.
+ *
+ * @see org.talend.dataprep.api.dataset.row.InvalidMarker
+ */
+public class InvalidMarkers {
+
+    /** Version of the serialized format. */
+    private static final int VERSION = 1;
+
+    /** A signature of the columns used to compute markers. */
+    private final String signature;
+
+    private final String[] columnIds;
+
+    private final BitSet[] invalidRows;
+
+    /** Number of rows covered by the markers. */
+    private int rowCount;
+
+    private InvalidMarkers(String signature, String[] columnIds, BitSet[] invalidRows, int rowCount) {
+        this.signature = signature;
+        this.columnIds = columnIds;
+        this.invalidRows = invalidRows;
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * Creates empty markers for <code>columns</code>, use {@link #add(DataSetRow)} to fill them.
+     *
+     * @param columns The data set columns.
+     */
+    public InvalidMarkers(List<ColumnMetadata> columns) {
+        this(signature(columns), columns.stream().map(ColumnMetadata::getId).toArray(String[]::new),
+                new BitSet[columns.size()], 0);
+        for (int i = 0; i < invalidRows.length; i++) {
+            invalidRows[i] = new BitSet();
+        }
+    }
+
+    private static String signature(List<ColumnMetadata> columns) {
+        return DigestUtils.sha1Hex(columns.stream() //
+                .map(c -> c.getId() + ':' + c.getType() + ':' + c.getDomain()) //
+                .collect(joining("|")));
+    }
+
+    /**
+     * @param columns The current columns of the data set.
+     * @return <code>true</code> if markers were computed with the same column ids, types and domains.
+     */
+    public boolean isValidFor(List<ColumnMetadata> columns) {
+        return signature.equals(signature(columns));
+    }
+
+    /**
+     * @return The number of rows covered by these markers.
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Records the invalid cells of the next row.
+     *
+     * @param row A row already marked by an {@link org.talend.dataprep.api.dataset.row.InvalidMarker}.
+     */
+    public void add(DataSetRow row) {
+        for (int i = 0; i < columnIds.length; i++) {
+            if (row.isInvalid(columnIds[i])) {
+                invalidRows[i].set(rowCount);
+            }
+        }
+        rowCount++;
+    }
+
+    /**
+     * Marks the invalid cells of a row.
+     *
+     * @param row The row to mark.
+     * @param index The row index (starting at 0), must be lower than {@link #getRowCount()}.
+     * @return The marked row.
+     */
+    public DataSetRow mark(DataSetRow row, int index) {
+        for (int i = 0; i < columnIds.length; i++) {
+            if (invalidRows[i].get(index)) {
+                row.setInvalid(columnIds[i]);
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Writes the markers in a compact binary form.
+     *
+     * @param output Where to write markers, closed by this method.
+     */
+    public void write(OutputStream output) throws IOException {
+        try (DataOutputStream dataOutput = new DataOutputStream(output)) {
+            dataOutput.writeInt(VERSION);
+            dataOutput.writeUTF(signature);
+            dataOutput.writeInt(rowCount);
+            dataOutput.writeInt(columnIds.length);
+            for (int i = 0; i < columnIds.length; i++) {
+                dataOutput.writeUTF(columnIds[i]);
+                final byte[] bytes = invalidRows[i].toByteArray();
+                dataOutput.writeInt(bytes.length);
+                dataOutput.write(bytes);
+            }
+        }
+    }
+
+    /**
+     * Reads markers written by {@link #write(OutputStream)}.
+     *
+     * @param input Where to read markers from, closed by this method.
+     * @return The markers or <code>null</code> if markers were written in an unknown version.
+     */
+    public static InvalidMarkers read(InputStream input) throws IOException {
+        try (DataInputStream dataInput = new DataInputStream(input)) {
+            if (dataInput.readInt() != VERSION) {
+                return null;
+            }
+            final String signature = dataInput.readUTF();
+            final int rowCount = dataInput.readInt();
+            final int columnCount = dataInput.readInt();
+            final String[] columnIds = new String[columnCount];
+            final BitSet[] invalidRows = new BitSet[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                columnIds[i] = dataInput.readUTF();
+                final byte[] bytes = new byte[dataInput.readInt()];
+                dataInput.readFully(bytes);
+                invalidRows[i] = BitSet.valueOf(bytes);
+            }
+            return new InvalidMarkers(signature, columnIds, invalidRows, rowCount);
+        }
+    }
+}
@@ -6,6 +6,10 @@ import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 @Component
@@ -79,6 +83,45 @@ class LimitDataSetContent implements DataSetContentLimit {
             delegate.delete(dataSetMetadata);
         }
 
+        @Override
+        public void storeInvalidMarkers(DataSetMetadata dataSetMetadata) {
+            delegate.storeInvalidMarkers(dataSetMetadata);
+        }
+
+        @Override
+        protected OutputStream getInvalidMarkersOutput(DataSetMetadata dataSetMetadata) {
+            return delegate.getInvalidMarkersOutput(dataSetMetadata);
+        }
+
+        @Override
+        protected InputStream getInvalidMarkersInput(DataSetMetadata dataSetMetadata) {
+            return delegate.getInvalidMarkersInput(dataSetMetadata);
+        }
+
+        @Override
+        public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata, Collection<Long> tdpIds) {
+            // deal with dataset size limit (ignored if limit is <= 0)
+            final List<Long> limitedIds = tdpIds.stream() //
+                    .filter(id -> limit <= 0 || id <= limit) //
+                    .collect(Collectors.toList());
+            return delegate.stream(dataSetMetadata, limitedIds);
+        }
+
+        @Override
+        public long storeRowOffsetIndex(DataSetMetadata dataSetMetadata) {
+            return delegate.storeRowOffsetIndex(dataSetMetadata);
+        }
+
+        @Override
+        protected OutputStream getRowOffsetIndexOutput(DataSetMetadata dataSetMetadata) {
+            return delegate.getRowOffsetIndexOutput(dataSetMetadata);
+        }
+
+        @Override
+        protected InputStream getRowOffsetIndexInput(DataSetMetadata dataSetMetadata) {
+            return delegate.getRowOffsetIndexInput(dataSetMetadata);
+        }
+
         @Override
         public void clear() {
             delegate.clear();
@@ -0,0 +1,173 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.content;
+
+
+import static java.util.stream.Collectors.joining;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.talend.dataprep.api.dataset.DataSetContent;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+
+/**
+ * Positions (in bytes) of some rows in a data set raw content: one entry every <code>interval</code> rows, so a read
+ * of rows by TDP id starts close to the first requested row instead of parsing all rows before it.
+ * <p>
+ * Index is computed by {@link DataSetContentStore#storeRowOffsetIndex(DataSetMetadata)} and is only valid for the
+ * encoding and format parameters it was computed with, see {@link #isValidFor(DataSetMetadata)}.
+ *
+ * @see org.talend.dataprep.schema.SeekableRowSerializer
+ */
+public class RowOffsetIndex {
+
+    /** Version of the serialized format. */
+    private static final int VERSION = 1;
+
+    /** A signature of the format parameters used to compute the index. */
+    private final String signature;
+
+    /** Number of rows between two index entries. */
+    private final int interval;
+
+    /** Position of the rows with TDP id <code>i * interval + 1</code>. */
+    private long[] positions;
+
+    private int size;
+
+    /** Number of rows read while building the index. */
+    private long rowCount;
+
+    private RowOffsetIndex(String signature, int interval, long[] positions, long rowCount) {
+        this.signature = signature;
+        this.interval = interval;
+        this.positions = positions;
+        this.size = positions.length;
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * Creates an empty index for a data set, use {@link #add(long)} to fill it.
+     *
+     * @param dataSetMetadata The data set to index.
+     * @param interval The number of rows between two index entries.
+     */
+    public RowOffsetIndex(DataSetMetadata dataSetMetadata, int interval) {
+        this(signature(dataSetMetadata), interval, new long[16], 0);
+        this.size = 0;
+    }
+
+    private static String signature(DataSetMetadata dataSetMetadata) {
+        final DataSetContent content = dataSetMetadata.getContent();
+        final String parameters = new TreeMap<>(content.getParameters()).entrySet() //
+                .stream() //
+                .map(e -> e.getKey() + '=' + e.getValue()) //
+                .collect(joining("|"));
+        return DigestUtils.sha1Hex(dataSetMetadata.getEncoding() + ':' + content.getFormatFamilyId() + ':'
+                + content.getNbLinesInHeader() + ':' + parameters);
+    }
+
+    /**
+     * @param dataSetMetadata The current data set metadata.
+     * @return <code>true</code> if index was computed with the same encoding and format parameters.
+     */
+    public boolean isValidFor(DataSetMetadata dataSetMetadata) {
+        return signature.equals(signature(dataSetMetadata));
+    }
+
+    /**
+     * @return The number of rows read while building this index.
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Records the position of the next row.
+     *
+     * @param position The position (in bytes) of the row in raw content.
+     */
+    public void add(long position) {
+        if (rowCount % interval == 0) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+        rowCount++;
+    }
+
+    /**
+     * Returns the closest indexed row before (or at) a given row.
+     *
+     * @param tdpId The TDP id (starting at 1) of the wanted row.
+     * @return The TDP id of the closest indexed row as key, and its position as value, or <code>null</code> if the
+     * index is empty.
+     */
+    public Map.Entry<Long, Long> floor(long tdpId) {
+        if (size == 0 || tdpId < 1) {
+            return null;
+        }
+        final int entry = (int) Math.min((tdpId - 1) / interval, size - 1);
+        return new AbstractMap.SimpleImmutableEntry<>((long) entry * interval + 1, positions[entry]);
+    }
+
+    /**
+     * Writes the index in a compact binary form.
+     *
+     * @param output Where to write index, closed by this method.
+     */
+    public void write(OutputStream output) throws IOException {
+        try (DataOutputStream dataOutput = new DataOutputStream(output)) {
+            dataOutput.writeInt(VERSION);
+            dataOutput.writeUTF(signature);
+            dataOutput.writeInt(interval);
+            dataOutput.writeLong(rowCount);
+            dataOutput.writeInt(size);
+            for (int i = 0; i < size; i++) {
+                dataOutput.writeLong(positions[i]);
+            }
+        }
+    }
+
+    /**
+     * Reads an index written by {@link #write(OutputStream)}.
+     *
+     * @param input Where to read index from, closed by this method.
+     * @return The index or <code>null</code> if index was written in an unknown version.
+     */
+    public static RowOffsetIndex read(InputStream input) throws IOException {
+        try (DataInputStream dataInput = new DataInputStream(input)) {
+            if (dataInput.readInt() != VERSION) {
+                return null;
+            }
+            final String signature = dataInput.readUTF();
+            final int interval = dataInput.readInt();
+            final long rowCount = dataInput.readLong();
+            final long[] positions = new long[dataInput.readInt()];
+            for (int i = 0; i < positions.length; i++) {
+                positions[i] = dataInput.readLong();
+            }
+            return new RowOffsetIndex(signature, interval, positions, rowCount);
+        }
+    }
+}
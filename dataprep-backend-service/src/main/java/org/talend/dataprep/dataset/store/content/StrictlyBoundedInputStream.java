@@ -69,6 +69,20 @@ public class StrictlyBoundedInputStream extends InputStream {
         return i;
     }
 
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = in.read(b, off, len);
+        if (read > 0) {
+            incrementCounter(read);
+        }
+        return read;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
     /**
      * Increment the number of bytes, so far read, with the specified number.
      *
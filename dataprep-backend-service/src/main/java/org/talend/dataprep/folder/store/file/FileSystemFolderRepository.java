@@ -12,6 +12,11 @@
 
 package org.talend.dataprep.folder.store.file;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
 import static org.talend.daikon.exception.ExceptionContext.build;
 import static org.talend.dataprep.api.folder.FolderBuilder.folder;
 import static org.talend.dataprep.exception.error.DataSetErrorCodes.FOLDER_DOES_NOT_EXIST;
@@ -20,28 +25,31 @@ import static org.talend.dataprep.exception.error.DataSetErrorCodes.UNABLE_TO_AD
 import static org.talend.dataprep.exception.error.DataSetErrorCodes.UNABLE_TO_ADD_FOLDER_ENTRY;
 import static org.talend.dataprep.exception.error.DataSetErrorCodes.UNABLE_TO_DELETE_FOLDER;
 import static org.talend.dataprep.exception.error.DataSetErrorCodes.UNABLE_TO_LIST_FOLDER_CHILDREN;
-import static org.talend.dataprep.exception.error.DataSetErrorCodes.UNABLE_TO_LIST_FOLDER_ENTRIES;
 import static org.talend.dataprep.exception.error.DataSetErrorCodes.UNABLE_TO_REMOVE_FOLDER_ENTRY;
 import static org.talend.dataprep.exception.error.DataSetErrorCodes.UNABLE_TO_RENAME_FOLDER;
 import static org.talend.dataprep.exception.error.FolderErrorCodes.FOLDER_NOT_EMPTY;
 import static org.talend.dataprep.folder.store.FoldersRepositoriesConstants.PATH_SEPARATOR;
-import static org.talend.dataprep.folder.store.file.FileSystemUtils.countSubDirectories;
 import static org.talend.dataprep.folder.store.file.FileSystemUtils.deleteFile;
 import static org.talend.dataprep.folder.store.file.FileSystemUtils.fromId;
-import static org.talend.dataprep.folder.store.file.FileSystemUtils.hasEntry;
-import static org.talend.dataprep.folder.store.file.FileSystemUtils.matches;
 import static org.talend.dataprep.folder.store.file.FileSystemUtils.toId;
 import static org.talend.dataprep.folder.store.file.FileSystemUtils.writeEntryToStream;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -49,6 +57,8 @@ import javax.annotation.PostConstruct;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
@@ -65,11 +75,34 @@ import org.talend.dataprep.util.StringsHelper;
 
 /**
  * File system folder repository implementation.
+ * <p>
+ * Folders and their entries are also kept in an in-memory {@link FolderIndex}, loaded at startup and updated on every
+ * write, so lookups do not walk the folder root. Every write also changes a version file in the folder root: when
+ * another instance (sharing the same volume) changes the folders, the index is rebuilt from disk on next access. Writes
+ * hold a file lock in the folder root, so changes from several instances are applied (and versioned) one at a time.
  */
 @Component("folderRepository#file")
 @ConditionalOnProperty(name = "folder.store", havingValue = "file")
 public class FileSystemFolderRepository implements FolderRepository {
 
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileSystemFolderRepository.class);
+
+    /** Name of the file (in folder root) that changes on every write. */
+    private static final String VERSION_FILE_NAME = ".version";
+
+    /** Name of the file (in folder root) locked by the instance changing the folders. */
+    private static final String LOCK_FILE_NAME = VERSION_FILE_NAME + ".lock";
+
+    /** In-memory tree of folders and their entries. */
+    private final FolderIndex index = new FolderIndex();
+
+    /** Guards the index. */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Content of the version file the index was built (or last updated) with. */
+    private volatile String indexVersion;
+
     @Autowired
     private Security security;
 
@@ -81,10 +114,20 @@ public class FileSystemFolderRepository implements FolderRepository {
     }
 
     /**
-     * Make sure the root folder is there.
+     * Make sure the root folder is there and load the index.
      */
     @PostConstruct
     private void init() {
+        lock.writeLock().lock();
+        try {
+            createRootFolder();
+            rebuildIndex();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void createRootFolder() {
         try {
             Path rootPath = pathsConverter.getRootFolder();
             if (!Files.exists(rootPath)) {
@@ -95,6 +138,128 @@ public class FileSystemFolderRepository implements FolderRepository {
         }
     }
 
+    /**
+     * Rebuilds the index from disk (caller must hold the write lock).
+     */
+    private void rebuildIndex() {
+        final String version = readVersion();
+        index.clear();
+        loadIndex(pathsConverter.getRootFolder());
+        indexVersion = version;
+        LOGGER.debug("Folder index rebuilt ({} folders).", index.size());
+    }
+
+    /**
+     * Adds the given directory, its sub directories and all their entries to the index (caller must hold the write
+     * lock).
+     */
+    private void loadIndex(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.forEach(path -> {
+                if (Files.isDirectory(path)) {
+                    index.addFolder(pathsConverter.toFolderPath(path));
+                } else if (!path.getFileName().toString().startsWith(VERSION_FILE_NAME)) {
+                    index.addEntry(pathsConverter.toFolderPath(path.getParent()), path.getFileName().toString(),
+                            FileSystemUtils.toFolderEntry(path));
+                }
+            });
+        } catch (IOException e) {
+            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+        }
+    }
+
+    /**
+     * @return the content of the version file (empty if there is none).
+     */
+    private String readVersion() {
+        final Path versionFile = pathsConverter.getRootFolder().resolve(VERSION_FILE_NAME);
+        try {
+            return Files.exists(versionFile) ? new String(Files.readAllBytes(versionFile), UTF_8) : StringUtils.EMPTY;
+        } catch (IOException e) {
+            LOGGER.warn("Unable to read folder version file '{}'.", versionFile, e);
+            return indexVersion;
+        }
+    }
+
+    /**
+     * Changes the version file so other instances know their index is stale (caller must hold the write lock).
+     */
+    private void writeVersion() {
+        final String version = UUID.randomUUID().toString();
+        final Path versionFile = pathsConverter.getRootFolder().resolve(VERSION_FILE_NAME);
+        try {
+            final Path tempFile = Files.createTempFile(pathsConverter.getRootFolder(), VERSION_FILE_NAME, ".tmp");
+            Files.write(tempFile, version.getBytes(UTF_8));
+            Files.move(tempFile, versionFile, REPLACE_EXISTING, ATOMIC_MOVE);
+            indexVersion = version;
+        } catch (IOException e) {
+            LOGGER.warn("Unable to write folder version file '{}'.", versionFile, e);
+        }
+    }
+
+    /**
+     * Rebuilds the index if folders were changed by another instance.
+     */
+    private void refreshIndex() {
+        if (!Objects.equals(readVersion(), indexVersion)) {
+            lock.writeLock().lock();
+            try {
+                if (!Objects.equals(readVersion(), indexVersion)) {
+                    rebuildIndex();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Runs a query on the (up to date) index.
+     */
+    private <T> T read(Supplier<T> query) {
+        refreshIndex();
+        lock.readLock().lock();
+        try {
+            return query.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs a change on disk and in the index, while holding the lock file so other instances can't change folders
+     * between the version check and the version write.
+     */
+    private <T> T write(Supplier<T> change) {
+        lock.writeLock().lock();
+        try (FileChannel channel = FileChannel.open(pathsConverter.getRootFolder().resolve(LOCK_FILE_NAME), CREATE,
+                WRITE); FileLock fileLock = channel.lock()) {
+            return doWrite(change);
+        } catch (IOException e) {
+            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Runs a change on disk and in the index (caller must hold the write lock and the lock file).
+     */
+    private <T> T doWrite(Supplier<T> change) {
+        try {
+            if (!Objects.equals(readVersion(), indexVersion)) {
+                rebuildIndex();
+            }
+            return change.get();
+        } catch (RuntimeException e) {
+            // disk may have been partially changed
+            rebuildIndex();
+            throw e;
+        } finally {
+            writeVersion();
+        }
+    }
+
     @Override
     public Folder getHome() {
         return toFolder(pathsConverter.getRootFolder(), security.getUserId());
@@ -147,13 +312,16 @@ public class FileSystemFolderRepository implements FolderRepository {
 
         FolderPath folderPathToCreate =
                 new FolderPath(parentFolderPath, pathToAppend.toArray(new String[pathToAppend.size()]));
-        try {
-            Path pathToCreate = pathsConverter.toPath(folderPathToCreate);
-            Files.createDirectories(pathToCreate);
-            return toFolder(pathToCreate, security.getUserId());
-        } catch (IOException e) {
-            throw new TDPException(UNABLE_TO_ADD_FOLDER, e, build().put("path", givenPath));
-        }
+        return write(() -> {
+            try {
+                Path pathToCreate = pathsConverter.toPath(folderPathToCreate);
+                Files.createDirectories(pathToCreate);
+                index.addFolder(folderPathToCreate);
+                return toFolder(pathToCreate, security.getUserId());
+            } catch (IOException e) {
+                throw new TDPException(UNABLE_TO_ADD_FOLDER, e, build().put("path", givenPath));
+            }
+        });
     }
 
     @Override
@@ -196,11 +364,16 @@ public class FileSystemFolderRepository implements FolderRepository {
         Path folderPath = pathsConverter.toPath(folderToMovePath);
         Path newFolderPath = pathsConverter.toPath(targetFolderPath);
 
-        try {
-            FileUtils.moveDirectory(folderPath.toFile(), newFolderPath.toFile());
-        } catch (IOException e) {
-            throw new TDPException(UNABLE_TO_RENAME_FOLDER, e, build().put("path", folder.getPath()));
-        }
+        write(() -> {
+            try {
+                FileUtils.moveDirectory(folderPath.toFile(), newFolderPath.toFile());
+            } catch (IOException e) {
+                throw new TDPException(UNABLE_TO_RENAME_FOLDER, e, build().put("path", folder.getPath()));
+            }
+            index.removeFolder(folderToMovePath);
+            loadIndex(newFolderPath);
+            return null;
+        });
 
         return getFolderById(toId(pathsConverter.toFolderPath(newFolderPath)));
     }
@@ -214,6 +387,10 @@ public class FileSystemFolderRepository implements FolderRepository {
         }
 
         // we store the FolderEntry bean content as properties the file name is the name
+        return write(() -> doAddFolderEntry(folderEntry, folderId, folderPath));
+    }
+
+    private FolderEntry doAddFolderEntry(FolderEntry folderEntry, String folderId, FolderPath folderPath) {
         try {
             String fileName = buildFileName(folderEntry);
 
@@ -234,6 +411,7 @@ public class FileSystemFolderRepository implements FolderRepository {
             try (OutputStream outputStream = Files.newOutputStream(entryFilePath)) {
                 writeEntryToStream(folderEntry, outputStream);
             }
+            index.addEntry(folderPath, fileName, folderEntry);
             return folderEntry;
         } catch (IOException e) {
             throw new TDPException(UNABLE_TO_ADD_FOLDER_ENTRY, e, build().put("path", folderPath));
@@ -249,32 +427,41 @@ public class FileSystemFolderRepository implements FolderRepository {
 
         final FolderPath folderPath = fromId(folderId);
 
-        try {
-            Path path = pathsConverter.toPath(folderPath);
+        if (folderPath == null) {
+            throw new TDPException(UNABLE_TO_REMOVE_FOLDER_ENTRY, build().put("path", folderId));
+        }
 
-            try (Stream<Path> paths = Files.walk(path)) {
-                paths
-                        .filter(pathFound -> !Files.isDirectory(pathFound)) //
-                        .filter(pathFile -> matches(pathFile, contentId, contentType)) //
-                        .forEach(deleteFile());
+        write(() -> {
+            for (FolderPath folder : index.subtree(folderPath)) {
+                for (Map.Entry<String, FolderEntry> entry : index.entries(folder).entrySet()) {
+                    if (Objects.equals(contentType, entry.getValue().getContentType()) //
+                            && StringUtils.equalsIgnoreCase(entry.getValue().getContentId(), contentId)) {
+                        deleteFile().accept(pathsConverter.toPath(folder).resolve(entry.getKey()));
+                        index.removeEntry(folder, entry.getKey());
+                    }
+                }
             }
-        } catch (IOException e) {
-            throw new TDPException(UNABLE_TO_REMOVE_FOLDER_ENTRY, e, build().put("path", folderPath));
-        }
+            return null;
+        });
     }
 
     @Override
     public void removeFolder(String folderId) {
-        final Path path = pathsConverter.toPath(fromId(folderId));
+        final FolderPath folderPath = fromId(folderId);
+        final Path path = pathsConverter.toPath(folderPath);
 
-        if (hasEntry(path)) {
+        if (read(() -> index.hasEntry(folderPath))) {
             throw new TDPException(FOLDER_NOT_EMPTY);
         } else {
-            try {
-                FileUtils.deleteDirectory(path.toFile());
-            } catch (IOException e) {
-                throw new TDPException(UNABLE_TO_DELETE_FOLDER, e, build().put("path", path));
-            }
+            write(() -> {
+                try {
+                    FileUtils.deleteDirectory(path.toFile());
+                } catch (IOException e) {
+                    throw new TDPException(UNABLE_TO_DELETE_FOLDER, e, build().put("path", path));
+                }
+                index.removeFolder(folderPath);
+                return null;
+            });
         }
     }
 
@@ -286,66 +473,47 @@ public class FileSystemFolderRepository implements FolderRepository {
             throw new TDPException(FOLDER_DOES_NOT_EXIST, build().put("id", folderId));
         }
 
-        final Path path = pathsConverter.toPath(folderPath);
-
-        if (Files.notExists(path)) {
-            return Stream.empty();
-        }
-
-        try {
-            return Files
-                    .list(path) //
-                    .filter(pathFound -> !Files.isDirectory(pathFound)) //
-                    .map(FileSystemUtils::toFolderEntry) //
-                    .filter(entry -> Objects.equals(contentType, entry.getContentType()));
-        } catch (IOException e) {
-            throw new TDPException(UNABLE_TO_LIST_FOLDER_ENTRIES, e,
-                    build().put("path", path).put("type", contentType));
-        }
+        return read(() -> index.entries(folderPath).values()) //
+                .stream() //
+                .filter(entry -> Objects.equals(contentType, entry.getContentType()));
     }
 
     @Override
     public Stream<FolderEntry> findFolderEntries(String contentId, FolderContentType contentType) {
-        try {
-            return Files
-                    .walk(pathsConverter.getRootFolder()) //
-                    .filter(Files::isRegularFile) //
-                    .map(FileSystemUtils::toFolderEntry) //
-                    .filter(entry -> StringUtils.equals(entry.getContentId(), contentId) //
-                            && Objects.equals(contentType, entry.getContentType()));
-        } catch (IOException e) {
-            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
-        }
+        return read(() -> index.find(contentId, contentType)).stream();
     }
 
     @Override
     public void clear() {
-        try {
-            FileUtils.deleteDirectory(pathsConverter.getRootFolder().toFile());
-            init();
-        } catch (IOException e) {
-            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
-        }
+        write(() -> {
+            // Keep the lock file: other instances may be waiting on it
+            try (Stream<Path> paths = Files.list(pathsConverter.getRootFolder())) {
+                for (Path path : paths.collect(Collectors.toList())) {
+                    if (!LOCK_FILE_NAME.equals(path.getFileName().toString())) {
+                        FileUtils.forceDelete(path.toFile());
+                    }
+                }
+                rebuildIndex();
+            } catch (IOException e) {
+                throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+            }
+            return null;
+        });
     }
 
     @Override
     public Stream<Folder> searchFolders(String folderName, boolean strict) {
-        try {
-            final String queryForFileSearch;
-            if (folderName.startsWith("/")) {
-                queryForFileSearch = folderName.substring(1);
-            } else {
-                queryForFileSearch = folderName;
-            }
-            return Files
-                    .walk(pathsConverter.getRootFolder()) //
-                    .filter(path -> //
-                    Files.isDirectory(path) //
-                            && StringsHelper.match(path.getFileName().toString(), queryForFileSearch, strict)) //
-                    .map(path -> toFolder(path, security.getUserId()));
-        } catch (IOException e) {
-            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+        final String queryForFileSearch;
+        if (folderName.startsWith("/")) {
+            queryForFileSearch = folderName.substring(1);
+        } else {
+            queryForFileSearch = folderName;
         }
+        return read(index::folders) //
+                .stream() //
+                .filter(folderPath -> !folderPath.isRoot() //
+                        && StringsHelper.match(folderPath.getName(), queryForFileSearch, strict)) //
+                .map(folderPath -> toFolder(pathsConverter.toPath(folderPath), security.getUserId()));
     }
 
     @Override
@@ -368,35 +536,32 @@ public class FileSystemFolderRepository implements FolderRepository {
         }
 
         Path destinationFile = Paths.get(destinationPath.toString(), buildFileName(folderEntry));
-        try {
-            Files.move(originFilePath, destinationFile);
-        } catch (IOException e) {
-            throw new TDPException(DataSetErrorCodes.UNABLE_TO_MOVE_FOLDER_ENTRY, e);
-        }
+        write(() -> {
+            try {
+                Files.move(originFilePath, destinationFile);
+            } catch (IOException e) {
+                throw new TDPException(DataSetErrorCodes.UNABLE_TO_MOVE_FOLDER_ENTRY, e);
+            }
+            final FolderEntry moved = index.removeEntry(fromId(fromId), buildFileName(folderEntry));
+            index.addEntry(fromId(toId), buildFileName(folderEntry),
+                    moved != null ? moved : FileSystemUtils.toFolderEntry(destinationFile));
+            return null;
+        });
     }
 
     @Override
     public Folder locateEntry(String contentId, FolderContentType type) {
-        try (Stream<Path> entriesStream = Files.walk(pathsConverter.getRootFolder())) {
-            return entriesStream //
-                    .filter(Files::isRegularFile) //
-                    .filter(file -> {
-                        FolderEntry folderEntry = FileSystemUtils.toFolderEntry(file);
-                        return Objects.equals(folderEntry.getContentId(), contentId) //
-                                && Objects.equals(folderEntry.getContentType(), type);
-                    }) //
-                    .findFirst() //
-                    .map(Path::getParent) //
-                    .map(p -> toFolder(p, security.getUserId())) //
-                    .orElse(null);
-        } catch (IOException e) {
-            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
-        }
+        return read(() -> index.locate(contentId, type)) //
+                .stream() //
+                .findFirst() //
+                .map(folderPath -> toFolder(pathsConverter.toPath(folderPath), security.getUserId())) //
+                .orElse(null);
     }
 
     @Override
     public long size() {
-        return countSubDirectories(pathsConverter.getRootFolder());
+        // root folder is not counted
+        return read(() -> index.size() - 1);
     }
 
     @Override
@@ -410,17 +575,11 @@ public class FileSystemFolderRepository implements FolderRepository {
         } else {
             queryForFileSearch = path;
         }
-        try (Stream<Path> matchingFolders = Files
-                .walk(pathsConverter.getRootFolder()) //
-                .filter(p -> Files.isDirectory(p) && p.getFileName().toString().equals(queryForFileSearch))) {
-
-            return matchingFolders //
-                    .findFirst() //
-                    .map(p -> toFolder(p, security.getUserId()));
-
-        } catch (IOException e) {
-            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
-        }
+        return read(index::folders) //
+                .stream() //
+                .filter(folderPath -> !folderPath.isRoot() && folderPath.getName().equals(queryForFileSearch)) //
+                .findFirst() //
+                .map(folderPath -> toFolder(pathsConverter.toPath(folderPath), security.getUserId()));
     }
 
     /** If the path represents a directory, build the {@link Folder} object based on it. */
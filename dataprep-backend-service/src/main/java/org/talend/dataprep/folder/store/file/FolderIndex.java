@@ -0,0 +1,205 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.folder.store.file;
+
+import static org.talend.dataprep.folder.store.FoldersRepositoriesConstants.PATH_SEPARATOR;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.talend.dataprep.api.folder.FolderContentType;
+import org.talend.dataprep.api.folder.FolderEntry;
+
+/**
+ * In-memory tree of the folders stored by {@link FileSystemFolderRepository} and of their entries, so lookups do not
+ * walk the whole folder root on disk.
+ * <p>
+ * Index is not thread safe: callers are expected to guard it. Returned entries are copies.
+ */
+class FolderIndex {
+
+    /** Entries of each folder (entry file name -> entry). */
+    private final Map<FolderPath, Map<String, FolderEntry>> folders = new HashMap<>();
+
+    /** Folders of each entry (entry key -> folders). */
+    private final Map<String, Set<FolderPath>> locations = new HashMap<>();
+
+    /**
+     * @return the key of an entry in {@link #locations}.
+     */
+    private static String key(FolderContentType contentType, String contentId) {
+        return String.valueOf(contentType) + '@' + contentId;
+    }
+
+    private static FolderEntry copy(FolderEntry entry) {
+        final FolderEntry copy = new FolderEntry(entry.getContentType(), entry.getContentId());
+        copy.setFolderId(entry.getFolderId());
+        return copy;
+    }
+
+    /**
+     * @return <code>true</code> if <code>path</code> is <code>ancestor</code> or one of its sub folders.
+     */
+    private static boolean isInSubtree(FolderPath path, FolderPath ancestor) {
+        if (ancestor.isRoot()) {
+            return true;
+        }
+        final String ancestorAsString = ancestor.serializeAsString();
+        final String pathAsString = path.serializeAsString();
+        return pathAsString.equals(ancestorAsString) || pathAsString.startsWith(ancestorAsString + PATH_SEPARATOR);
+    }
+
+    void clear() {
+        folders.clear();
+        locations.clear();
+    }
+
+    /**
+     * Adds a folder (and its missing parents).
+     *
+     * @param path the folder path.
+     */
+    void addFolder(FolderPath path) {
+        FolderPath current = path;
+        while (!folders.containsKey(current)) {
+            folders.put(current, new HashMap<>());
+            if (current.isRoot()) {
+                break;
+            }
+            current = current.getParent();
+        }
+    }
+
+    /**
+     * Removes a folder, its sub folders and all their entries.
+     *
+     * @param path the folder path.
+     */
+    void removeFolder(FolderPath path) {
+        for (FolderPath folder : subtree(path)) {
+            for (String fileName : new ArrayList<>(folders.get(folder).keySet())) {
+                removeEntry(folder, fileName);
+            }
+            folders.remove(folder);
+        }
+    }
+
+    boolean containsFolder(FolderPath path) {
+        return folders.containsKey(path);
+    }
+
+    /**
+     * @return all folders (including root).
+     */
+    List<FolderPath> folders() {
+        return new ArrayList<>(folders.keySet());
+    }
+
+    /**
+     * @return the folder and all its sub folders.
+     */
+    List<FolderPath> subtree(FolderPath path) {
+        return folders.keySet().stream().filter(folder -> isInSubtree(folder, path)).collect(Collectors.toList());
+    }
+
+    /**
+     * @return <code>true</code> if the folder or one of its sub folders has an entry.
+     */
+    boolean hasEntry(FolderPath path) {
+        return subtree(path).stream().anyMatch(folder -> !folders.get(folder).isEmpty());
+    }
+
+    /**
+     * Adds (or replaces) an entry in a folder (folder is added if missing).
+     *
+     * @param folder the folder path.
+     * @param fileName the name of the entry file.
+     * @param entry the entry.
+     */
+    void addEntry(FolderPath folder, String fileName, FolderEntry entry) {
+        removeEntry(folder, fileName);
+        addFolder(folder);
+        folders.get(folder).put(fileName, copy(entry));
+        locations.computeIfAbsent(key(entry.getContentType(), entry.getContentId()), k -> new HashSet<>()).add(folder);
+    }
+
+    /**
+     * Removes an entry from a folder.
+     *
+     * @param folder the folder path.
+     * @param fileName the name of the entry file.
+     * @return the removed entry, <code>null</code> if there was none.
+     */
+    FolderEntry removeEntry(FolderPath folder, String fileName) {
+        final Map<String, FolderEntry> entries = folders.get(folder);
+        final FolderEntry removed = entries == null ? null : entries.remove(fileName);
+        if (removed != null) {
+            final String key = key(removed.getContentType(), removed.getContentId());
+            final Set<FolderPath> entryFolders = locations.get(key);
+            // same content may be referenced by another file of the folder
+            final boolean stillInFolder = entries.values().stream().anyMatch(
+                    entry -> key.equals(key(entry.getContentType(), entry.getContentId())));
+            if (entryFolders != null && !stillInFolder) {
+                entryFolders.remove(folder);
+                if (entryFolders.isEmpty()) {
+                    locations.remove(key);
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * @return the entries of a folder (entry file name -> entry), empty if folder does not exist.
+     */
+    Map<String, FolderEntry> entries(FolderPath folder) {
+        final Map<String, FolderEntry> entries = new HashMap<>();
+        folders.getOrDefault(folder, new HashMap<>()).forEach((fileName, entry) -> entries.put(fileName, copy(entry)));
+        return entries;
+    }
+
+    /**
+     * @return the folders that contain an entry for the given content (exact match).
+     */
+    List<FolderPath> locate(String contentId, FolderContentType contentType) {
+        return new ArrayList<>(locations.getOrDefault(key(contentType, contentId), new HashSet<>()));
+    }
+
+    /**
+     * @return the entries for the given content (exact match).
+     */
+    List<FolderEntry> find(String contentId, FolderContentType contentType) {
+        final List<FolderEntry> found = new ArrayList<>();
+        for (FolderPath folder : locate(contentId, contentType)) {
+            folders.get(folder).values().stream() //
+                    .filter(entry -> Objects.equals(contentType, entry.getContentType())
+                            && Objects.equals(contentId, entry.getContentId())) //
+                    .map(FolderIndex::copy) //
+                    .forEach(found::add);
+        }
+        return found;
+    }
+
+    /**
+     * @return the number of folders (including root).
+     */
+    int size() {
+        return folders.size();
+    }
+}
@@ -0,0 +1,67 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.io;
+
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+
+/**
+ * A {@link PipedInputStream} the writing side can {@link #abort(Throwable) abort}: once aborted, reads fail with the
+ * cause of the abort instead of returning the end of stream when writing side closes the pipe. This prevents a reader
+ * from taking truncated content for complete content.
+ */
+public class AbortablePipedInputStream extends PipedInputStream {
+
+    private volatile Throwable failure;
+
+    public AbortablePipedInputStream(PipedOutputStream source) throws IOException {
+        super(source);
+    }
+
+    /**
+     * Marks the content as incomplete. Writing side is still expected to close its {@link PipedOutputStream} so a
+     * blocked reader is notified.
+     *
+     * @param cause Why the content could not be fully written.
+     */
+    public void abort(Throwable cause) {
+        failure = cause;
+    }
+
+    @Override
+    public synchronized int read() throws IOException {
+        checkFailure();
+        final int read = super.read();
+        if (read < 0) {
+            checkFailure();
+        }
+        return read;
+    }
+
+    @Override
+    public synchronized int read(byte[] bytes, int off, int len) throws IOException {
+        checkFailure();
+        final int read = super.read(bytes, off, len);
+        if (read < 0) {
+            checkFailure();
+        }
+        return read;
+    }
+
+    private void checkFailure() throws IOException {
+        if (failure != null) {
+            throw new IOException("Content was not completely written.", failure);
+        }
+    }
+}
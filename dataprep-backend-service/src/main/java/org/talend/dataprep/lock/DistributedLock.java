@@ -11,6 +11,7 @@
 // ============================================================================
 package org.talend.dataprep.lock;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 
 /**
@@ -26,6 +27,20 @@ public interface DistributedLock {
      */
     void lock();
 
+    /**
+     * Waits at most <code>timeout</code> for the lock. Implementations that can not wait for a bounded time simply
+     * call {@link #lock()}.
+     *
+     * @param timeout The maximum time to wait for the lock.
+     * @param unit The unit of the <code>timeout</code> argument.
+     * @return <code>true</code> if the lock was acquired, <code>false</code> if the waiting time elapsed.
+     * @see Lock#tryLock(long, TimeUnit)
+     */
+    default boolean tryLock(long timeout, TimeUnit unit) {
+        lock();
+        return true;
+    }
+
     /**
      * Releases the lock.
      */
@@ -12,15 +12,30 @@
 
 package org.talend.dataprep.lock;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.talend.daikon.exception.ExceptionContext.build;
+import static org.talend.dataprep.exception.error.CommonErrorCodes.CONFLICT_TO_LOCK_RESOURCE;
+
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.event.ContextClosedEvent;
+import org.talend.dataprep.exception.TDPException;
 
 /**
- * An implementation of {@link LockFactory} that will forcibly unlock all created locks on application shutdown.
+ * An implementation of {@link LockFactory} that will forcibly unlock all held locks on application shutdown.
+ * When created with a positive acquire timeout, {@link DistributedLock#lock()} waits at most this timeout and then
+ * fails with {@link org.talend.dataprep.exception.error.CommonErrorCodes#CONFLICT_TO_LOCK_RESOURCE}.
+ * <p>
+ * Locks are watched from the time they are acquired until they are released, each lock instance separately (read and
+ * write locks on the same id, or several holders of a read lock are all watched). Locks owned by a thread can't be
+ * released by the shutdown thread: a delegate that holds such locks should release its resources itself when it is
+ * {@link AutoCloseable closed}, which happens on shutdown after the watched locks are released.
  *
  * @see org.talend.dataprep.processor.Wrapper
  */
@@ -28,59 +43,100 @@ public class DistributedLockWatcher implements LockFactory, ApplicationListener<
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DistributedLockWatcher.class);
 
-    private final Map<String, DistributedLock> locks = new HashMap<>();
+    /** Held locks (compared by identity). */
+    private final Set<WatchedDistributedLock> locks = Collections.newSetFromMap(new ConcurrentHashMap<>());
 
     private final LockFactory delegate;
 
+    /** Maximum time (in milliseconds) to wait for a lock, 0 to wait until the lock is acquired. */
+    private final long acquireTimeout;
+
     public DistributedLockWatcher(LockFactory delegate) {
+        this(delegate, 0);
+    }
+
+    public DistributedLockWatcher(LockFactory delegate, long acquireTimeout) {
         this.delegate = delegate;
+        this.acquireTimeout = acquireTimeout;
     }
 
     @Override
     public DistributedLock getLock(String id) {
-        final DistributedLock lock = delegate.getLock(id);
-        final WatchedDistributedLock watchedDistributedLock = new WatchedDistributedLock(lock);
-        locks.put(watchedDistributedLock.getKey(), watchedDistributedLock);
-        return watchedDistributedLock;
+        return new WatchedDistributedLock(delegate.getLock(id));
+    }
+
+    @Override
+    public DistributedLock getReadLock(String id) {
+        return new WatchedDistributedLock(delegate.getReadLock(id));
     }
 
     @Override
     public void onApplicationEvent(ContextClosedEvent event) {
         if (!locks.isEmpty()) {
             LOGGER.info("Application is being shut down but {} locks remain, releasing them...", locks.size());
-            final Collection<DistributedLock> locksToRelease = new ArrayList<>(locks.values());
+            final Collection<DistributedLock> locksToRelease = new ArrayList<>(locks);
             for (DistributedLock lock : locksToRelease) {
                 LOGGER.info("Releasing lock '{}'", lock.getKey());
                 try {
                     lock.unlock();
                 } catch (Exception e) {
-                    LOGGER.warn("Unable to release lock '{}' due to exception.", e);
+                    LOGGER.warn("Unable to release lock '{}' due to exception.", lock.getKey(), e);
                 }
             }
             LOGGER.info("Locks released.");
         } else {
             LOGGER.info("No lock to release on shutdown.");
         }
+        if (delegate instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) delegate).close();
+            } catch (Exception e) {
+                LOGGER.warn("Unable to close lock factory.", e);
+            }
+        }
     }
 
     /**
-     * @return Returns an unmodifiable set of {@link DistributedLock} currently watched by this instance.
+     * @return Returns an unmodifiable set of {@link DistributedLock} currently held and watched by this instance.
      */
     public Collection<DistributedLock> getLocks() {
-        return Collections.unmodifiableCollection(locks.values());
+        return Collections.unmodifiableCollection(locks);
     }
 
     class WatchedDistributedLock implements DistributedLock {
 
         private final DistributedLock lock;
 
+        /** Number of times this lock is held (a lock may be reentrant). */
+        private final AtomicInteger holds = new AtomicInteger();
+
         private WatchedDistributedLock(DistributedLock lock) {
             this.lock = lock;
         }
 
         @Override
         public void lock() {
-            lock.lock();
+            if (acquireTimeout <= 0) {
+                lock.lock();
+            } else if (!lock.tryLock(acquireTimeout, MILLISECONDS)) {
+                LOGGER.debug("Unable to get lock '{}' within {} ms.", lock.getKey(), acquireTimeout);
+                throw new TDPException(CONFLICT_TO_LOCK_RESOURCE, build().put("id", lock.getKey()));
+            }
+            watch();
+        }
+
+        @Override
+        public boolean tryLock(long timeout, TimeUnit unit) {
+            final boolean locked = lock.tryLock(timeout, unit);
+            if (locked) {
+                watch();
+            }
+            return locked;
+        }
+
+        private void watch() {
+            holds.incrementAndGet();
+            locks.add(this);
         }
 
         @Override
@@ -91,7 +147,10 @@ public class DistributedLockWatcher implements LockFactory, ApplicationListener<
                 LOGGER.debug("Unable to successfully unlock lock '{}'", lock.getKey(), e);
                 throw new IllegalStateException("Unable to remove lock", e);
             } finally {
-                locks.remove(lock.getKey());
+                if (holds.decrementAndGet() <= 0) {
+                    holds.set(0);
+                    locks.remove(this);
+                }
             }
         }
 
@@ -0,0 +1,288 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.lock;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.exception.error.CommonErrorCodes;
+
+/**
+ * A {@link LockFactory} for single node deployments, or for nodes sharing the same store directory.
+ * <p>
+ * Ids are hashed to a fixed number of stripes, each stripe being a fair {@link ReentrantReadWriteLock}: readers of a
+ * stripe do not block each other and writers queue in arrival order. When <code>lock.local.directory</code> is set,
+ * each stripe is also backed by a {@link FileLock} on a file of this directory, so JVMs that share the directory (and
+ * the same <code>lock.local.stripes</code>) exclude each other too.
+ * </p>
+ * <p>
+ * As with any {@link Lock}, a lock must be released by the thread that acquired it. Locks still held on shutdown can't
+ * be released by another thread: {@link #close()} releases the file locks so other JVMs are not blocked.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "lock.store", havingValue = "local")
+public class LocalLockFactory implements LockFactory, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocalLockFactory.class);
+
+    /** Delay between two attempts to get a file lock held by another JVM. */
+    private static final long FILE_LOCK_POLL_MILLIS = 20;
+
+    /** Number of stripes, rounded up to a power of two. */
+    @Value("${lock.local.stripes:64}")
+    private int stripeCount;
+
+    /** Directory of the file locks shared with other JVMs, no file lock when empty. */
+    @Value("${lock.local.directory:}")
+    private String directory;
+
+    private Stripe[] stripes;
+
+    public LocalLockFactory() {
+    }
+
+    LocalLockFactory(int stripeCount, String directory) {
+        this.stripeCount = stripeCount;
+        this.directory = directory;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        final int size = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        Path root = null;
+        if (StringUtils.isNotEmpty(directory)) {
+            root = Files.createDirectories(Paths.get(directory));
+        }
+        stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe(root == null ? null : root.resolve("stripe-" + i + ".lock"));
+        }
+        LOGGER.info("Lock engine: local ({} stripes, file locks in '{}')", size, root == null ? "none" : root);
+    }
+
+    /**
+     * Releases the file locks and closes their files (called on shutdown, also by {@link DistributedLockWatcher} as
+     * this factory is usually wrapped).
+     */
+    @Override
+    @PreDestroy
+    public void close() {
+        if (stripes == null) {
+            return;
+        }
+        for (Stripe stripe : stripes) {
+            stripe.close();
+        }
+    }
+
+    @Override
+    public DistributedLock getLock(String id) {
+        return new StripedLock(id, stripeOf(id), false);
+    }
+
+    @Override
+    public DistributedLock getReadLock(String id) {
+        return new StripedLock(id, stripeOf(id), true);
+    }
+
+    private Stripe stripeOf(String id) {
+        final int hash = id.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    /**
+     * A lock on a stripe, either shared (read) or exclusive (write).
+     */
+    private static class StripedLock implements DistributedLock {
+
+        private final String id;
+
+        private final Stripe stripe;
+
+        private final boolean shared;
+
+        private StripedLock(String id, Stripe stripe, boolean shared) {
+            this.id = id;
+            this.stripe = stripe;
+            this.shared = shared;
+        }
+
+        private Lock jvmLock() {
+            return shared ? stripe.lock.readLock() : stripe.lock.writeLock();
+        }
+
+        @Override
+        public void lock() {
+            acquire(-1);
+        }
+
+        @Override
+        public boolean tryLock(long timeout, TimeUnit unit) {
+            return acquire(Math.max(0, unit.toNanos(timeout)));
+        }
+
+        /**
+         * @param timeout Maximum time to wait in nanoseconds, a negative value waits until the lock is acquired.
+         * @return <code>true</code> if both the in-JVM lock and the file lock were acquired.
+         */
+        private boolean acquire(long timeout) {
+            final long start = System.nanoTime();
+            final Lock lock = jvmLock();
+            if (timeout < 0) {
+                lock.lock();
+            } else {
+                try {
+                    if (!lock.tryLock(timeout, NANOSECONDS)) {
+                        return false;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            try {
+                final long remaining = timeout < 0 ? -1 : Math.max(0, timeout - (System.nanoTime() - start));
+                if (stripe.acquireFile(shared, remaining)) {
+                    return true;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                lock.unlock();
+                throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+            }
+            lock.unlock();
+            return false;
+        }
+
+        @Override
+        public void unlock() {
+            final boolean held =
+                    shared ? stripe.lock.getReadHoldCount() > 0 : stripe.lock.isWriteLockedByCurrentThread();
+            if (!held) {
+                throw new IllegalMonitorStateException("Lock '" + id + "' is not held by current thread.");
+            }
+            try {
+                stripe.releaseFile();
+            } catch (IOException e) {
+                LOGGER.warn("Unable to release file lock of '{}'.", id, e);
+            } finally {
+                jvmLock().unlock();
+            }
+        }
+
+        @Override
+        public String getKey() {
+            return id;
+        }
+    }
+
+    /**
+     * One stripe: the in-JVM lock and the (optional) file lock shared by all the holders of the in-JVM lock.
+     */
+    private static class Stripe {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock(true);
+
+        private final Path file;
+
+        private FileChannel channel;
+
+        private FileLock fileLock;
+
+        /** Number of in-JVM holds covered by the current file lock. */
+        private int fileHolders;
+
+        private Stripe(Path file) {
+            this.file = file;
+        }
+
+        /**
+         * Called once the in-JVM lock is held: since a writer excludes readers of the same stripe in this JVM, the file
+         * lock is always taken in the mode of its first holder.
+         *
+         * @param timeout Maximum time to wait in nanoseconds, a negative value waits until the lock is acquired.
+         */
+        private synchronized boolean acquireFile(boolean shared, long timeout)
+                throws IOException, InterruptedException {
+            if (file == null) {
+                return true;
+            }
+            if (fileHolders == 0) {
+                if (channel == null) {
+                    channel = FileChannel.open(file, CREATE, READ, WRITE);
+                }
+                final long start = System.nanoTime();
+                FileLock acquired;
+                while ((acquired = channel.tryLock(0L, Long.MAX_VALUE, shared)) == null) {
+                    if (timeout >= 0 && System.nanoTime() - start >= timeout) {
+                        return false;
+                    }
+                    Thread.sleep(FILE_LOCK_POLL_MILLIS);
+                }
+                fileLock = acquired;
+            }
+            fileHolders++;
+            return true;
+        }
+
+        private synchronized void releaseFile() throws IOException {
+            if (file == null || fileHolders == 0) {
+                return;
+            }
+            if (--fileHolders == 0) {
+                fileLock.release();
+                fileLock = null;
+            }
+        }
+
+        /**
+         * Closes the lock file, which releases the file lock even if in-JVM holders did not unlock.
+         */
+        private synchronized void close() {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    LOGGER.debug("Unable to close lock file '{}'.", file, e);
+                }
+                channel = null;
+                fileLock = null;
+                fileHolders = 0;
+            }
+        }
+    }
+}
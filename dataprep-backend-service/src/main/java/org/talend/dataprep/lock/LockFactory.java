@@ -20,6 +20,9 @@ public interface LockFactory {
     /** Prefix for the shared lock when working on a dataset. */
     String DATASET_LOCK_PREFIX = "dataset#";
 
+    /** Prefix for the shared lock when working on a preparation. */
+    String PREPARATION_LOCK_PREFIX = "preparation#";
+
     /**
      * @param id An id for the distributed lock. It is up to the caller to decide any naming rules or for uniqueness of
      * id.
@@ -27,4 +30,13 @@ public interface LockFactory {
      */
     DistributedLock getLock(String id);
 
+    /**
+     * @param id An id for the distributed lock, same rules as {@link #getLock(String)}.
+     * @return A {@link DistributedLock lock} that can be held by several readers at the same time but excludes the
+     * lock returned by {@link #getLock(String)} for the same id. Default implementation returns the exclusive lock.
+     */
+    default DistributedLock getReadLock(String id) {
+        return getLock(id);
+    }
+
 }
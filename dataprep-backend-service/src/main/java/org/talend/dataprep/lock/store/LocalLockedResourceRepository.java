@@ -0,0 +1,173 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.lock.store;
+
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.talend.daikon.exception.ExceptionContext.build;
+import static org.talend.dataprep.exception.error.CommonErrorCodes.CONFLICT_TO_LOCK_RESOURCE;
+import static org.talend.dataprep.exception.error.CommonErrorCodes.CONFLICT_TO_UNLOCK_RESOURCE;
+import static org.talend.dataprep.exception.error.PreparationErrorCodes.PREPARATION_DOES_NOT_EXIST;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.preparation.store.PersistentPreparation;
+import org.talend.dataprep.preparation.store.PreparationRepository;
+
+/**
+ * In memory implementation of the LockedResourceRepository.
+ * <p>
+ * A preparation locked by a user can be locked again by the same user (the lock is then incremented). Other users wait
+ * at most <code>lock.preparation.timeout</code> milliseconds for the lock to be released instead of failing right
+ * away. A lock that is not released within <code>lock.preparation.delay</code> seconds expires, so a client that never
+ * unlocks does not block a preparation forever.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "lock.preparation.store", havingValue = "local")
+public class LocalLockedResourceRepository implements LockedResourceRepository {
+
+    private static final Logger LOGGER = getLogger(LocalLockedResourceRepository.class);
+
+    private static final int STRIPES = 64;
+
+    @Autowired
+    private PreparationRepository preparationRepository;
+
+    /** How long (in milliseconds) to wait for a preparation locked by another user. */
+    @Value("${lock.preparation.timeout:30000}")
+    private long timeout;
+
+    /** How long (in seconds) a lock is kept if not released. */
+    @Value("${lock.preparation.delay:600}")
+    private long delay;
+
+    private final Map<String, UserLock> userLocks = new ConcurrentHashMap<>();
+
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    private final Condition[] released = new Condition[STRIPES];
+
+    public LocalLockedResourceRepository() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock(true);
+            released[i] = stripes[i].newCondition();
+        }
+        LOGGER.info("Preparation lock engine: local");
+    }
+
+    @Override
+    public PersistentPreparation tryLock(String preparationId, String userId, String displayName) {
+        final int stripe = stripeOf(preparationId);
+        final ReentrantLock lock = stripes[stripe];
+        lock.lock();
+        try {
+            long remaining = TimeUnit.MILLISECONDS.toNanos(timeout);
+            UserLock userLock;
+            while ((userLock = activeLock(preparationId)) != null && !userLock.userId.equals(userId)) {
+                if (remaining <= 0) {
+                    LOGGER.debug("Preparation #{} still locked by {}, giving up.", preparationId, userLock.userId);
+                    throw new TDPException(CONFLICT_TO_LOCK_RESOURCE, build().put("id", preparationId));
+                }
+                remaining = released[stripe].awaitNanos(remaining);
+            }
+
+            final PersistentPreparation preparation =
+                    preparationRepository.get(preparationId, PersistentPreparation.class);
+            if (preparation == null) {
+                throw new TDPException(PREPARATION_DOES_NOT_EXIST, build().put("id", preparationId));
+            }
+            final long expiry = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(delay);
+            if (userLock == null) {
+                userLocks.put(preparationId, new UserLock(userId, displayName, expiry));
+            } else {
+                userLock.count++;
+                userLock.expiry = expiry;
+            }
+            return preparation;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TDPException(CONFLICT_TO_LOCK_RESOURCE, e, build().put("id", preparationId));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void unlock(String preparationId, String userId) {
+        final int stripe = stripeOf(preparationId);
+        final ReentrantLock lock = stripes[stripe];
+        lock.lock();
+        try {
+            final UserLock userLock = activeLock(preparationId);
+            if (userLock == null) {
+                return;
+            }
+            if (!userLock.userId.equals(userId)) {
+                throw new TDPException(CONFLICT_TO_UNLOCK_RESOURCE, build().put("id", preparationId));
+            }
+            if (--userLock.count == 0) {
+                userLocks.remove(preparationId);
+                released[stripe].signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The lock on the preparation, or <code>null</code> if not locked. Expired locks are removed. Must be
+     * called while holding the stripe of the preparation.
+     */
+    private UserLock activeLock(String preparationId) {
+        final UserLock userLock = userLocks.get(preparationId);
+        if (userLock != null && userLock.expiry < System.currentTimeMillis()) {
+            LOGGER.info("Lock of {} on preparation #{} expired.", userLock.displayName, preparationId);
+            userLocks.remove(preparationId);
+            return null;
+        }
+        return userLock;
+    }
+
+    private static int stripeOf(String preparationId) {
+        final int hash = preparationId.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+
+    private static class UserLock {
+
+        private final String userId;
+
+        private final String displayName;
+
+        private long expiry;
+
+        private int count = 1;
+
+        private UserLock(String userId, String displayName, long expiry) {
+            this.userId = userId;
+            this.displayName = displayName;
+            this.expiry = expiry;
+        }
+    }
+}
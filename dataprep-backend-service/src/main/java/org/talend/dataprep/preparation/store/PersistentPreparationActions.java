@@ -0,0 +1,85 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.preparation.store;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.talend.dataprep.api.preparation.Action;
+
+/**
+ * A delta encoded {@link org.talend.dataprep.api.preparation.PreparationActions} for persistent storage: instead of the
+ * full list of actions, it only holds the actions added by a step and the id of the parent actions.
+ * <p>
+ * Its id is the id of the full {@link org.talend.dataprep.api.preparation.PreparationActions} it stands for, so
+ * {@link org.talend.dataprep.api.preparation.Step#getContent()} is unchanged whatever the storage format is.
+ *
+ * @see PersistentPreparationRepository#get(String, Class)
+ */
+public class PersistentPreparationActions extends PersistentIdentifiable {
+
+    /** Serialization UID. */
+    private static final long serialVersionUID = 1L;
+
+    /** The id of the parent actions (actions to apply before the ones in this instance). */
+    private String parentId;
+
+    /** The actions added on top of the parent actions. */
+    private List<Action> actions = new ArrayList<>();
+
+    /**
+     * Default empty constructor.
+     */
+    public PersistentPreparationActions() {
+        // needed for Serialization
+    }
+
+    public String getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(String parentId) {
+        this.parentId = parentId;
+    }
+
+    public List<Action> getActions() {
+        return actions;
+    }
+
+    public void setActions(List<Action> actions) {
+        this.actions = actions;
+    }
+
+    @Override
+    public String id() {
+        return getId();
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    @Override
+    public String toString() {
+        return "PersistentPreparationActions{id='" + id + '\'' + //
+                ", parentId='" + parentId + '\'' + //
+                ", actions=" + actions.size() + //
+                '}';
+    }
+}
@@ -12,38 +12,69 @@
 
 package org.talend.dataprep.preparation.store;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.talend.dataprep.api.preparation.Action;
 import org.talend.dataprep.api.preparation.Identifiable;
 import org.talend.dataprep.api.preparation.Preparation;
 import org.talend.dataprep.api.preparation.PreparationActions;
 import org.talend.dataprep.api.preparation.PreparationUtils;
 import org.talend.dataprep.api.preparation.Step;
+import org.talend.dataprep.api.preparation.StepRowMetadata;
 import org.talend.dataprep.conversions.BeanConversionService;
 import org.talend.dataprep.metrics.Timed;
+import org.talend.tql.bean.BeanPredicateVisitor;
 import org.talend.tql.model.Expression;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 /**
  * A {@link PreparationRepository} implementation that splits {@link Identifiable identifiable} into multiple ones for
  * persistent storage.
  *
+ * <p>
+ * {@link PreparationActions} may be stored either as a full list of actions or delta encoded (see
+ * {@link PersistentPreparationActions}), in the latter case the full list is rebuilt on read from the chain of deltas,
+ * which are kept in a bounded in-memory cache.
+ *
  * @see PersistentIdentifiable
  * @see PreparationUtils#scatter(Identifiable)
  */
 public class PersistentPreparationRepository implements PreparationRepository {
 
+    /** Default number of {@link PersistentPreparationActions} kept in memory. */
+    public static final int DEFAULT_ACTIONS_CACHE_SIZE = 10000;
+
     private final BeanConversionService beanConversionService;
 
     private final PreparationRepository delegate;
 
+    /** Cache of the delta encoded actions (full stored actions are cached as a delta without parent). */
+    private final Cache<String, PersistentPreparationActions> actionsCache;
+
     public PersistentPreparationRepository(PreparationRepository delegate,
             BeanConversionService beanConversionService) {
+        this(delegate, beanConversionService, DEFAULT_ACTIONS_CACHE_SIZE);
+    }
+
+    public PersistentPreparationRepository(PreparationRepository delegate, BeanConversionService beanConversionService,
+            long actionsCacheSize) {
         this.delegate = delegate;
         this.beanConversionService = beanConversionService;
+        this.actionsCache = CacheBuilder.newBuilder().maximumSize(actionsCacheSize).build();
     }
 
     private static Class<? extends Identifiable>
@@ -79,9 +110,20 @@ public class PersistentPreparationRepository implements PreparationRepository {
     public <T extends Identifiable> Stream<T> list(Class<T> clazz) {
         final Class<T> persistentClass = (Class<T>) selectPersistentClass(clazz);
         Stream<T> delegateStream = applyConversions(() -> delegate.list(persistentClass), clazz, persistentClass);
+        if (PreparationActions.class.equals(clazz)) {
+            delegateStream = Stream.concat(delegateStream, (Stream<T>) listDeltaActions());
+        }
         return Stream.concat(delegateStream, getRootElement(persistentClass, clazz));
     }
 
+    // Rebuild all delta encoded actions as full PreparationActions.
+    private Stream<PreparationActions> listDeltaActions() {
+        return delegate
+                .list(PersistentPreparationActions.class) //
+                .map(delta -> getActions(delta.id())) //
+                .filter(Objects::nonNull);
+    }
+
     private <T extends Identifiable> Stream<T> getRootElement(Class<T> clazz, Class<T> targetClass) {
         if (PersistentStep.class.isAssignableFrom(clazz)) {
             return Stream.of(beanConversionService.convert(Step.ROOT_STEP, targetClass));
@@ -98,12 +140,22 @@ public class PersistentPreparationRepository implements PreparationRepository {
         final Class<T> persistentClass = (Class<T>) selectPersistentClass(clazz);
         Stream<T> delegateStream =
                 applyConversions(() -> delegate.list(persistentClass, expression), clazz, persistentClass);
+        if (PreparationActions.class.equals(clazz)) {
+            final Predicate<PreparationActions> accept =
+                    expression.accept(new BeanPredicateVisitor<>(PreparationActions.class));
+            delegateStream = Stream.concat(delegateStream, (Stream<T>) listDeltaActions().filter(accept));
+        }
         return Stream.concat(delegateStream, getRootElement(clazz, clazz));
     }
 
     @Timed
     @Override
     public void add(Identifiable object) {
+        if (object instanceof PersistentPreparationActions) {
+            actionsCache.put(object.id(), (PersistentPreparationActions) object);
+        } else if (object instanceof PreparationActions) {
+            actionsCache.invalidate(object.id());
+        }
         final Class<? extends Identifiable> clazz = selectPersistentClass(object.getClass());
         if (!object.getClass().equals(clazz)) {
             final List<? extends Identifiable> objects = PreparationUtils
@@ -117,8 +169,23 @@ public class PersistentPreparationRepository implements PreparationRepository {
                     }) //
                     .collect(Collectors.toList());
             delegate.add(objects);
+            objects.forEach(this::removeStaleDelta);
         } else {
             delegate.add(object);
+            removeStaleDelta(object);
+        }
+    }
+
+    /**
+     * A full list of actions replaces any delta previously stored with the same id (e.g. when a migration rewrites
+     * actions), otherwise the older delta would still be preferred on read.
+     */
+    private void removeStaleDelta(Identifiable written) {
+        if (written instanceof PreparationActions) {
+            actionsCache.invalidate(written.id());
+            final PersistentPreparationActions staleDelta = new PersistentPreparationActions();
+            staleDelta.setId(written.id());
+            delegate.remove(staleDelta);
         }
     }
 
@@ -145,21 +212,133 @@ public class PersistentPreparationRepository implements PreparationRepository {
             return (T) persistentStep;
         } else if (clazz.equals(PreparationActions.class) && PreparationActions.ROOT_ACTIONS.getId().equals(id)) {
             return (T) PreparationActions.ROOT_ACTIONS;
+        } else if (clazz.equals(PreparationActions.class)) {
+            return (T) getActions(id);
         } else {
             beanToConvert = delegate.get(id, targetClass);
         }
         return beanConversionService.convert(beanToConvert, clazz);
     }
 
+    /**
+     * Returns the full {@link PreparationActions} for the given id, whether it is stored delta encoded or not.
+     *
+     * @param id The {@link PreparationActions} id.
+     * @return The {@link PreparationActions} or <code>null</code> if not found (or if a parent is missing).
+     */
+    private PreparationActions getActions(String id) {
+        // Walk up the parents until a full list of actions (or root) is reached
+        final Deque<PersistentPreparationActions> chain = new ArrayDeque<>();
+        final Set<String> visited = new HashSet<>();
+        String current = id;
+        while (current != null && !PreparationActions.ROOT_ACTIONS.id().equals(current)) {
+            final PersistentPreparationActions delta = getDeltaActions(current);
+            if (delta == null || !visited.add(current)) {
+                return null;
+            }
+            chain.push(delta);
+            current = delta.getParentId();
+        }
+        if (chain.isEmpty()) {
+            return PreparationActions.ROOT_ACTIONS;
+        }
+
+        // Copy actions (callers are free to modify returned instance)
+        final List<Action> actions = new ArrayList<>();
+        for (PersistentPreparationActions delta : chain) {
+            actions.addAll(copy(delta.getActions()));
+        }
+        final PreparationActions preparationActions = new PreparationActions();
+        preparationActions.setActions(actions);
+        preparationActions.setId(id);
+        return preparationActions;
+    }
+
+    /**
+     * Returns the chain of steps and, when content is wanted, rebuilds the actions of each step from the actions of its
+     * parent step and its delta (instead of rebuilding each full list of actions from root).
+     *
+     * @see PreparationRepository#getStepChain(String, String, boolean)
+     */
+    @Timed
+    @Override
+    public StepChain getStepChain(String headId, String limitId, boolean withContent) {
+        final StepChain chain = PreparationRepository.super.getStepChain(headId, limitId, false);
+        if (!withContent) {
+            return chain;
+        }
+        String previousContentId = null;
+        List<Action> previousActions = null;
+        for (PersistentStep step : chain.getSteps()) {
+            final String contentId = step.getContent();
+            final PersistentPreparationActions delta =
+                    PreparationActions.ROOT_ACTIONS.id().equals(contentId) ? null : getDeltaActions(contentId);
+            final List<Action> actions;
+            if (delta != null && previousActions != null && Objects.equals(previousContentId, delta.getParentId())) {
+                actions = new ArrayList<>(previousActions);
+                actions.addAll(copy(delta.getActions()));
+            } else {
+                final PreparationActions fullActions = get(contentId, PreparationActions.class);
+                actions = fullActions == null ? null : new ArrayList<>(fullActions.getActions());
+            }
+            if (actions != null) {
+                chain.setActions(step.id(), actions);
+            }
+            previousContentId = contentId;
+            previousActions = actions;
+
+            final StepRowMetadata stepRowMetadata = get(step.getRowMetadata(), StepRowMetadata.class);
+            if (stepRowMetadata != null) {
+                chain.setRowMetadata(step.id(), stepRowMetadata.getRowMetadata());
+            }
+        }
+        return chain;
+    }
+
+    private PersistentPreparationActions getDeltaActions(String id) {
+        PersistentPreparationActions delta = actionsCache.getIfPresent(id);
+        if (delta != null) {
+            return delta;
+        }
+        delta = delegate.get(id, PersistentPreparationActions.class);
+        if (delta == null) {
+            // Not delta encoded: full list of actions is a delta without parent
+            final PreparationActions fullActions = delegate.get(id, PreparationActions.class);
+            if (fullActions == null) {
+                return null;
+            }
+            delta = new PersistentPreparationActions();
+            delta.setId(id);
+            delta.setActions(fullActions.getActions());
+        }
+        actionsCache.put(id, delta);
+        return delta;
+    }
+
+    private static List<Action> copy(List<Action> actions) {
+        final List<Action> copies = new ArrayList<>(actions.size());
+        for (Action action : actions) {
+            final Action copy = new Action();
+            copy.setName(action.getName());
+            copy.setParameters(new HashMap<>(action.getParameters()));
+            copies.add(copy);
+        }
+        return copies;
+    }
+
     @Timed
     @Override
     public void clear() {
+        actionsCache.invalidateAll();
         delegate.clear();
     }
 
     @Timed
     @Override
     public void remove(Identifiable object) {
+        if (object instanceof PreparationActions) {
+            actionsCache.invalidate(object.id());
+        }
         final Class<? extends Identifiable> targetClass = selectPersistentClass(object.getClass());
         delegate.remove(beanConversionService.convert(object, targetClass));
     }
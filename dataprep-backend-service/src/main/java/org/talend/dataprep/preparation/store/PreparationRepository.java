@@ -12,10 +12,17 @@
 
 package org.talend.dataprep.preparation.store;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import org.talend.dataprep.api.preparation.Identifiable;
+import org.talend.dataprep.api.preparation.PreparationActions;
+import org.talend.dataprep.api.preparation.StepRowMetadata;
 import org.talend.dataprep.metrics.Timed;
 import org.talend.tql.model.Expression;
 
@@ -110,4 +117,43 @@ public interface PreparationRepository {
      */
     @Timed
     long count(Class<? extends Identifiable> clazz, Expression filter);
+
+    /**
+     * Returns the chain of steps that ends with <code>headId</code>, walking up the parents until <code>limitId</code>
+     * (or a step without parent) is reached. Implementations are free to read chain in the most efficient way for their
+     * storage.
+     *
+     * @param headId The most recent step of the chain.
+     * @param limitId The oldest step of the chain, e.g. {@link org.talend.dataprep.api.preparation.Step#ROOT_STEP}.
+     * @param withContent <code>true</code> to also load actions and row metadata of each step.
+     * @return The chain of steps (empty if <code>headId</code> does not exist).
+     */
+    @Timed
+    default StepChain getStepChain(String headId, String limitId, boolean withContent) {
+        final Deque<PersistentStep> steps = new ArrayDeque<>();
+        final Set<String> visited = new HashSet<>();
+        PersistentStep current = get(headId, PersistentStep.class);
+        while (current != null && visited.add(current.id())) {
+            steps.addFirst(current);
+            if (current.id().equals(limitId) || current.getParentId() == null) {
+                break;
+            }
+            current = get(current.getParentId(), PersistentStep.class);
+        }
+
+        final StepChain chain = new StepChain(new ArrayList<>(steps));
+        if (withContent) {
+            for (PersistentStep step : steps) {
+                final PreparationActions actions = get(step.getContent(), PreparationActions.class);
+                if (actions != null) {
+                    chain.setActions(step.id(), actions.getActions());
+                }
+                final StepRowMetadata stepRowMetadata = get(step.getRowMetadata(), StepRowMetadata.class);
+                if (stepRowMetadata != null) {
+                    chain.setRowMetadata(step.id(), stepRowMetadata.getRowMetadata());
+                }
+            }
+        }
+        return chain;
+    }
 }
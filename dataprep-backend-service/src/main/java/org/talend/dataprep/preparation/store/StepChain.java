@@ -0,0 +1,104 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.preparation.store;
+
+import static java.util.stream.Collectors.toList;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.preparation.Action;
+
+/**
+ * A chain of {@link PersistentStep steps} (from the oldest to the most recent one) as returned by
+ * {@link PreparationRepository#getStepChain(String, String, boolean)}, optionally with the actions and the row
+ * metadata of each step.
+ * <p>
+ * Actions may be shared between the lists of consecutive steps (the actions of a step are usually the actions of its
+ * parent followed by the ones it adds): copy them before any modification.
+ */
+public class StepChain {
+
+    private final List<PersistentStep> steps;
+
+    private final Map<String, PersistentStep> stepsById = new HashMap<>();
+
+    /** Actions by step id (empty if chain was loaded without content). */
+    private final Map<String, List<Action>> actions = new HashMap<>();
+
+    /** Row metadata by step id (empty if chain was loaded without content). */
+    private final Map<String, RowMetadata> rowMetadata = new HashMap<>();
+
+    /**
+     * @param steps The steps, from the oldest to the most recent one.
+     */
+    public StepChain(List<PersistentStep> steps) {
+        this.steps = steps;
+        for (PersistentStep step : steps) {
+            stepsById.put(step.id(), step);
+        }
+    }
+
+    /**
+     * @return The steps from the oldest to the most recent one (empty if head step does not exist).
+     */
+    public List<PersistentStep> getSteps() {
+        return steps;
+    }
+
+    /**
+     * @return The step ids from the oldest to the most recent one.
+     */
+    public List<String> getStepIds() {
+        return steps.stream().map(PersistentStep::id).collect(toList());
+    }
+
+    /**
+     * @param stepId A step id.
+     * @return The step with this id or <code>null</code> if step is not part of the chain.
+     */
+    public PersistentStep getStep(String stepId) {
+        return stepsById.get(stepId);
+    }
+
+    public boolean isEmpty() {
+        return steps.isEmpty();
+    }
+
+    /**
+     * @param stepId A step id.
+     * @return All the actions of the step (empty list if actions are missing or were not loaded).
+     */
+    public List<Action> getActions(String stepId) {
+        return actions.getOrDefault(stepId, Collections.emptyList());
+    }
+
+    /**
+     * @param stepId A step id.
+     * @return The row metadata of the step or <code>null</code> if step has none (or it was not loaded).
+     */
+    public RowMetadata getRowMetadata(String stepId) {
+        return rowMetadata.get(stepId);
+    }
+
+    public void setActions(String stepId, List<Action> stepActions) {
+        actions.put(stepId, stepActions);
+    }
+
+    public void setRowMetadata(String stepId, RowMetadata stepRowMetadata) {
+        rowMetadata.put(stepId, stepRowMetadata);
+    }
+}
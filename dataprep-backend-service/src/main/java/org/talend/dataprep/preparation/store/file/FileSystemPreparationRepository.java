@@ -19,7 +19,12 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
@@ -41,9 +46,12 @@ import org.talend.dataprep.api.preparation.Step;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
 import org.talend.dataprep.preparation.store.ObjectPreparationRepository;
+import org.talend.dataprep.preparation.store.PersistentPreparation;
 import org.talend.dataprep.preparation.store.PersistentStep;
 import org.talend.dataprep.security.Security;
 import org.talend.dataprep.util.FilesHelper;
+import org.talend.tql.bean.BeanPredicateVisitor;
+import org.talend.tql.model.Expression;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -69,6 +77,9 @@ public class FileSystemPreparationRepository extends ObjectPreparationRepository
     @Autowired
     private Security security;
 
+    /** In-memory index of the preparations (by id) for filters on most used fields. */
+    private final Map<String, PreparationIndexEntry> index = new ConcurrentHashMap<>();
+
     /**
      * Make sure the root folder is there.
      */
@@ -80,6 +91,12 @@ public class FileSystemPreparationRepository extends ObjectPreparationRepository
         persistentStep.setId(Step.ROOT_STEP.id());
         remove(persistentStep);
         remove(PreparationActions.ROOT_ACTIONS);
+
+        // build preparation index
+        try (Stream<PersistentPreparation> preparations = source(PersistentPreparation.class)) {
+            preparations.forEach(preparation -> index.put(preparation.id(), new PreparationIndexEntry(preparation)));
+        }
+        LOG.info("{} preparation(s) indexed.", index.size());
     }
 
     @Override
@@ -105,9 +122,82 @@ public class FileSystemPreparationRepository extends ObjectPreparationRepository
             throw new TDPException(CommonErrorCodes.UNABLE_TO_SAVE_PREPARATION, e,
                     ExceptionContext.build().put("id", object.id()));
         }
+        if (object instanceof PersistentPreparation) {
+            index.put(object.id(), new PreparationIndexEntry((PersistentPreparation) object));
+        }
         LOG.debug("{} #{} saved", object.getClass().getSimpleName(), object.id());
     }
 
+    @Override
+    public <T extends Identifiable> T get(String id, Class<T> clazz) {
+        if (StringUtils.isBlank(id)) {
+            return null;
+        }
+        // file name is built from class name and id, no need to list store content
+        final T result = read(id, clazz);
+        if (result != null && clazz.isAssignableFrom(result.getClass())) {
+            return result;
+        }
+        return null;
+    }
+
+    @Override
+    public <T extends Identifiable> boolean exist(Class<T> clazz, Expression expression) {
+        final List<String> ids = matchIndex(clazz, expression);
+        if (ids == null) {
+            return super.exist(clazz, expression);
+        }
+        return !ids.isEmpty();
+    }
+
+    @Override
+    public <T extends Identifiable> Stream<T> list(Class<T> clazz, Expression expression) {
+        final List<String> ids = matchIndex(clazz, expression);
+        if (ids == null) {
+            return super.list(clazz, expression);
+        }
+        return ids
+                .stream() //
+                .map(id -> get(id, clazz)) //
+                .filter(Objects::nonNull);
+    }
+
+    @Override
+    public long count(Class<? extends Identifiable> clazz, Expression filter) {
+        final List<String> ids = matchIndex(clazz, filter);
+        if (ids == null) {
+            return super.count(clazz, filter);
+        }
+        return ids.size();
+    }
+
+    /**
+     * Evaluates the expression against the preparation index.
+     *
+     * @param clazz The class of the elements to filter.
+     * @param expression A TQL filter.
+     * @return The ids of the matching preparations or <code>null</code> if the expression can't be evaluated using
+     * index (not a preparation or filter on a field not present in {@link PreparationIndexEntry}).
+     */
+    private List<String> matchIndex(Class<? extends Identifiable> clazz, Expression expression) {
+        if (!PersistentPreparation.class.equals(clazz) || expression == null) {
+            return null;
+        }
+        try {
+            final Predicate<PreparationIndexEntry> accept =
+                    expression.accept(new BeanPredicateVisitor<>(PreparationIndexEntry.class));
+            return index
+                    .values()
+                    .stream() //
+                    .filter(accept) //
+                    .map(PreparationIndexEntry::getId) //
+                    .collect(Collectors.toList());
+        } catch (RuntimeException e) {
+            LOG.debug("Unable to use preparation index for '{}', fall back to full read.", expression, e);
+            return null;
+        }
+    }
+
     @Override
     public <T extends Identifiable> Stream<T> source(Class<T> clazz) {
         File[] files = getRootFolder().listFiles();
@@ -159,6 +249,7 @@ public class FileSystemPreparationRepository extends ObjectPreparationRepository
             }
         }
 
+        index.clear();
         LOG.debug("preparation repository cleared");
     }
 
@@ -169,6 +260,9 @@ public class FileSystemPreparationRepository extends ObjectPreparationRepository
         }
         final File file = getIdentifiableFile(object);
         FilesHelper.deleteQuietly(file);
+        if (object instanceof PersistentPreparation) {
+            index.remove(object.id());
+        }
         LOG.debug("identifiable {} #{} removed", object.getClass().getSimpleName(), object.id());
     }
 
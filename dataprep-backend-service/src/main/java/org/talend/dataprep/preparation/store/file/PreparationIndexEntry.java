@@ -0,0 +1,89 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.preparation.store.file;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.talend.dataprep.preparation.store.PersistentPreparation;
+
+/**
+ * In-memory projection of a {@link PersistentPreparation} kept by {@link FileSystemPreparationRepository} so TQL
+ * filters on the most queried fields can be evaluated without reading preparation files.
+ * <p>
+ * This class only exposes getters for indexed fields: a TQL expression that refers to any other field cannot be
+ * evaluated on this class and repository falls back to a full read of the preparations.
+ */
+public class PreparationIndexEntry {
+
+    private final String id;
+
+    private final String dataSetId;
+
+    private final String folderId;
+
+    private final String name;
+
+    private final String author;
+
+    private final long creationDate;
+
+    private final long lastModificationDate;
+
+    PreparationIndexEntry(PersistentPreparation preparation) {
+        this.id = preparation.getId();
+        this.dataSetId = preparation.getDataSetId();
+        this.folderId = preparation.getFolderId();
+        this.name = preparation.getName();
+        this.author = preparation.getAuthor();
+        this.creationDate = preparation.getCreationDate();
+        this.lastModificationDate = preparation.getLastModificationDate();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getDataSetId() {
+        return dataSetId;
+    }
+
+    public String getFolderId() {
+        return folderId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public long getCreationDate() {
+        return creationDate;
+    }
+
+    public long getLastModificationDate() {
+        return lastModificationDate;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("id", id)
+                .append("dataSetId", dataSetId)
+                .append("folderId", folderId)
+                .append("name", name)
+                .append("lastModificationDate", lastModificationDate)
+                .toString();
+    }
+}
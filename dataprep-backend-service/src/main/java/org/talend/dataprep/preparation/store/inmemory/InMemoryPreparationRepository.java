@@ -20,6 +20,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.api.preparation.Identifiable;
 import org.talend.dataprep.preparation.store.ObjectPreparationRepository;
+import org.talend.dataprep.preparation.store.PersistentPreparationActions;
 
 /**
  * In memory Preparation repository.
@@ -77,6 +78,11 @@ public class InMemoryPreparationRepository extends ObjectPreparationRepository {
         if (object == null) {
             return;
         }
+        // delta encoded actions share the id of the full actions they stand for
+        final Identifiable stored = store.get(object.id());
+        if (stored instanceof PersistentPreparationActions != object instanceof PersistentPreparationActions) {
+            return;
+        }
         store.remove(object.id());
     }
 
@@ -0,0 +1,42 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.schema;
+
+import java.io.InputStream;
+import java.util.stream.Stream;
+
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+
+/**
+ * A {@link Serializer} able to produce {@link DataSetRow rows} directly from the raw content, without going through
+ * the intermediate JSON representation returned by {@link Serializer#serialize(InputStream, DataSetMetadata, long)}.
+ * <p>
+ * Format families whose serializer implements this interface are read by
+ * {@link org.talend.dataprep.dataset.store.content.DataSetContentStore#stream(DataSetMetadata, long)} without any
+ * extra thread, pipe or JSON encoding / decoding.
+ */
+public interface DataSetRowSerializer extends Serializer {
+
+    /**
+     * Reads the <code>rawContent</code> as a stream of {@link DataSetRow rows}. Each row values are keyed by column
+     * ids of <code>metadata</code>, row order is the same as the one in the raw content.
+     *
+     * @param rawContent The data set content as supplied by the user.
+     * @param metadata The data set metadata (used to get format parameters and columns).
+     * @param limit The maximum number of rows to return (use -1 for "no limit").
+     * @return A stream of {@link DataSetRow rows}, closing the stream closes the <code>rawContent</code>.
+     */
+    Stream<DataSetRow> stream(InputStream rawContent, DataSetMetadata metadata, long limit);
+}
@@ -0,0 +1,48 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.schema;
+
+import java.io.InputStream;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+
+/**
+ * A {@link DataSetRowSerializer} able to report the position of each row in the raw content and to start reading the
+ * raw content from such a position. This allows content stores to index rows and seek to them.
+ */
+public interface SeekableRowSerializer extends DataSetRowSerializer {
+
+    /**
+     * @param metadata The data set metadata (used to get format parameters).
+     * @return <code>true</code> if positions can be used for this data set (e.g. depending on its encoding).
+     */
+    boolean isSeekable(DataSetMetadata metadata);
+
+    /**
+     * Reads the <code>rawContent</code> as a stream of {@link DataSetRow rows}, starting from a position previously
+     * reported to a <code>positionListener</code>.
+     *
+     * @param rawContent The data set content as supplied by the user.
+     * @param metadata The data set metadata (used to get format parameters and columns).
+     * @param position The position (in bytes) of the first row to read, 0 to read content from start.
+     * @param positionListener Optional listener notified with the position (in bytes) of each row just before the row
+     * is returned.
+     * @return A stream of {@link DataSetRow rows}, closing the stream closes the <code>rawContent</code>.
+     */
+    Stream<DataSetRow> stream(InputStream rawContent, DataSetMetadata metadata, long position,
+            LongConsumer positionListener);
+}
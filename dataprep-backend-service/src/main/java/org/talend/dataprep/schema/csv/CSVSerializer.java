@@ -16,11 +16,15 @@ package org.talend.dataprep.schema.csv;
 import static org.talend.dataprep.schema.csv.CSVFormatFamily.TEXT_ENCLOSURE_CHAR;
 
 import java.io.*;
-import java.util.List;
-import java.util.Map;
+import java.nio.charset.Charset;
+import java.util.*;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.annotation.Resource;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,9 +33,10 @@ import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.CommonErrorCodes;
-import org.talend.dataprep.schema.Serializer;
+import org.talend.dataprep.schema.SeekableRowSerializer;
 
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
@@ -39,7 +44,7 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import au.com.bytecode.opencsv.CSVReader;
 
 @Service("serializer#csv")
-public class CSVSerializer implements Serializer {
+public class CSVSerializer implements SeekableRowSerializer {
 
     /** This class' logger. */
     private static final Logger LOGGER = LoggerFactory.getLogger(CSVSerializer.class);
@@ -63,20 +68,9 @@ public class CSVSerializer implements Serializer {
             PipedOutputStream jsonOutput = new PipedOutputStream(pipe);
             // Serialize asynchronously for better performance (especially if caller doesn't consume all, see sampling).
             Runnable r = () -> {
-                final Map<String, String> parameters = metadata.getContent().getParameters();
-                final String separator = parameters.get(CSVFormatFamily.SEPARATOR_PARAMETER);
-                final char actualSeparator = separator.charAt(0);
-                final char textEnclosureChar = getFromParameters(parameters, TEXT_ENCLOSURE_CHAR, defaultTextEnclosure);
-                final char escapeChar = getFromParameters(parameters, CSVFormatFamily.ESCAPE_CHAR, defaultEscapeChar);
-
-                try (InputStreamReader input = new InputStreamReader(rawContent, metadata.getEncoding());
-                        CSVReader reader = new CSVReader(input, actualSeparator, textEnclosureChar, escapeChar)) {
-
+                final String separator = getSeparator(metadata);
+                try (CSVReader reader = openReader(rawContent, metadata)) {
                     JsonGenerator generator = new JsonFactory().createGenerator(jsonOutput);
-                    int i = 0;
-                    while (i++ < metadata.getContent().getNbLinesInHeader()) {
-                        reader.readNext(); // Skip all header lines
-                    }
                     generator.writeStartArray();
                     writeLineContent(reader, metadata, generator, separator, limit);
                     generator.writeEndArray();
@@ -102,6 +96,98 @@ public class CSVSerializer implements Serializer {
         }
     }
 
+    @Override
+    public Stream<DataSetRow> stream(InputStream rawContent, DataSetMetadata metadata, long limit) {
+        final CSVReader reader;
+        try {
+            reader = openReader(rawContent, metadata);
+        } catch (IOException e) {
+            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+        }
+        final RowIterator iterator = new RowIterator(reader::readNext, metadata, getSeparator(metadata), limit);
+        return toStream(iterator, reader);
+    }
+
+    @Override
+    public boolean isSeekable(DataSetMetadata metadata) {
+        return Charset.isSupported(metadata.getEncoding())
+                && PositionCSVReader.isSupported(Charset.forName(metadata.getEncoding()));
+    }
+
+    @Override
+    public Stream<DataSetRow> stream(InputStream rawContent, DataSetMetadata metadata, long position,
+            LongConsumer positionListener) {
+        if (!isSeekable(metadata)) {
+            throw new IllegalArgumentException("Encoding '" + metadata.getEncoding() + "' does not allow seeks.");
+        }
+        final Map<String, String> parameters = metadata.getContent().getParameters();
+        final PositionCSVReader reader = new PositionCSVReader(rawContent, Charset.forName(metadata.getEncoding()),
+                position, getSeparator(metadata).charAt(0),
+                getFromParameters(parameters, TEXT_ENCLOSURE_CHAR, defaultTextEnclosure),
+                getFromParameters(parameters, CSVFormatFamily.ESCAPE_CHAR, defaultEscapeChar));
+        try {
+            IOUtils.skipFully(rawContent, position);
+            if (position == 0) {
+                int i = 0;
+                while (i++ < metadata.getContent().getNbLinesInHeader()) {
+                    reader.readNext(); // Skip all header lines
+                }
+            }
+        } catch (IOException e) {
+            IOUtils.closeQuietly(reader);
+            throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+        }
+        final RowIterator iterator = new RowIterator(reader::readNext, metadata, getSeparator(metadata), -1);
+        if (positionListener != null) {
+            iterator.positionListener = () -> positionListener.accept(reader.getRecordPosition());
+        }
+        return toStream(iterator, reader);
+    }
+
+    private Stream<DataSetRow> toStream(Iterator<DataSetRow> iterator, Closeable reader) {
+        final Spliterator<DataSetRow> spliterator =
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                LOGGER.error("Unable to close CSV reader", e);
+            }
+        });
+    }
+
+    /**
+     * Opens a {@link CSVReader} on the raw content using the data set format parameters. All header lines are skipped.
+     *
+     * @param rawContent the data set raw content.
+     * @param metadata the data set metadata to use to get the format parameters.
+     * @return a {@link CSVReader} positioned on the first data line.
+     * @throws IOException if an error occurs while skipping header lines.
+     */
+    private CSVReader openReader(InputStream rawContent, DataSetMetadata metadata) throws IOException {
+        final Map<String, String> parameters = metadata.getContent().getParameters();
+        final char actualSeparator = getSeparator(metadata).charAt(0);
+        final char textEnclosureChar = getFromParameters(parameters, TEXT_ENCLOSURE_CHAR, defaultTextEnclosure);
+        final char escapeChar = getFromParameters(parameters, CSVFormatFamily.ESCAPE_CHAR, defaultEscapeChar);
+
+        final InputStreamReader input = new InputStreamReader(rawContent, metadata.getEncoding());
+        final CSVReader reader = new CSVReader(input, actualSeparator, textEnclosureChar, escapeChar);
+        try {
+            int i = 0;
+            while (i++ < metadata.getContent().getNbLinesInHeader()) {
+                reader.readNext(); // Skip all header lines
+            }
+        } catch (IOException e) {
+            reader.close();
+            throw e;
+        }
+        return reader;
+    }
+
+    private String getSeparator(DataSetMetadata metadata) {
+        return metadata.getContent().getParameters().get(CSVFormatFamily.SEPARATOR_PARAMETER);
+    }
+
     /**
      * Extract the parameter value from the dataset parameters or return the given default value if not found.
      *
@@ -138,7 +224,7 @@ public class CSVSerializer implements Serializer {
 
         while ((line = reader.readNext()) != null && withinLimit(limit, current)) {
             // skip empty lines
-            if (line.length == 1 && (StringUtils.isEmpty(line[0]) || line[0].charAt(0) == Character.MIN_VALUE)) {
+            if (isEmptyLine(line)) {
                 continue;
             }
 
@@ -146,22 +232,12 @@ public class CSVSerializer implements Serializer {
             generator.writeStartObject();
             int columnsSize = columns.size();
             for (int i = 0; i < columnsSize; i++) {
-                ColumnMetadata columnMetadata = columns.get(i);
-
-                generator.writeFieldName(columnMetadata.getId());
-
-                // deal with additional content (line.length > columns.size)
-                if (i == columnsSize - 1 && line.length > columnsSize) {
-                    String additionalContent = getRemainingColumns(line, i, separator);
-                    generator.writeString(cleanCharacters(additionalContent));
-                }
-                // deal with fewer content (line.length < columns.size)
-                else if (i < line.length && line[i] != null) {
-                    generator.writeString(cleanCharacters(line[i]));
-                }
-                // deal with null
-                else {
+                generator.writeFieldName(columns.get(i).getId());
+                final String value = getCellValue(line, i, columnsSize, separator);
+                if (value == null) {
                     generator.writeNull();
+                } else {
+                    generator.writeString(value);
                 }
             }
             generator.writeEndObject();
@@ -169,6 +245,34 @@ public class CSVSerializer implements Serializer {
         }
     }
 
+    /**
+     * Return the value of the <code>i</code>-th column for the line.
+     *
+     * @param line the parsed line.
+     * @param i the column index.
+     * @param columnsSize the number of columns in the data set.
+     * @param separator the csv separator to use.
+     * @return the cleaned value or <code>null</code> if line has no value for this column.
+     */
+    private String getCellValue(String[] line, int i, int columnsSize, String separator) {
+        // deal with additional content (line.length > columns.size)
+        if (i == columnsSize - 1 && line.length > columnsSize) {
+            return cleanCharacters(getRemainingColumns(line, i, separator));
+        }
+        // deal with fewer content (line.length < columns.size)
+        else if (i < line.length && line[i] != null) {
+            return cleanCharacters(line[i]);
+        }
+        // deal with null
+        else {
+            return null;
+        }
+    }
+
+    private boolean isEmptyLine(String[] line) {
+        return line.length == 1 && (StringUtils.isEmpty(line[0]) || line[0].charAt(0) == Character.MIN_VALUE);
+    }
+
     private boolean withinLimit(long limit, int current) {
         return limit < 0 || current < limit;
     }
@@ -195,4 +299,94 @@ public class CSVSerializer implements Serializer {
         }
         return buffer.toString();
     }
+
+    /**
+     * A source of parsed CSV lines ({@link CSVReader} or {@link PositionCSVReader}).
+     */
+    @FunctionalInterface
+    private interface LineReader {
+
+        String[] readNext() throws IOException;
+    }
+
+    /**
+     * Iterates over a CSV reader lines and returns them as {@link DataSetRow rows}.
+     */
+    private class RowIterator implements Iterator<DataSetRow> {
+
+        private final LineReader reader;
+
+        private final DataSetMetadata metadata;
+
+        private final List<ColumnMetadata> columns;
+
+        private final String separator;
+
+        private final long limit;
+
+        private int current;
+
+        private String[] next;
+
+        private boolean done;
+
+        /** Optional callback run before each row is returned (while reader is still on this row). */
+        private Runnable positionListener;
+
+        private RowIterator(LineReader reader, DataSetMetadata metadata, String separator, long limit) {
+            this.reader = reader;
+            this.metadata = metadata;
+            this.columns = metadata.getRowMetadata().getColumns();
+            this.separator = separator;
+            this.limit = limit;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                next = readNextLine();
+                done = next == null;
+            }
+            return next != null;
+        }
+
+        @Override
+        public DataSetRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final String[] line = next;
+            next = null;
+            current++;
+            if (positionListener != null) {
+                positionListener.run();
+            }
+
+            final int columnsSize = columns.size();
+            final Map<String, String> values = new LinkedHashMap<>(columnsSize * 2);
+            for (int i = 0; i < columnsSize; i++) {
+                values.put(columns.get(i).getId(), getCellValue(line, i, columnsSize, separator));
+            }
+            return new DataSetRow(values);
+        }
+
+        private String[] readNextLine() {
+            if (!withinLimit(limit, current)) {
+                return null;
+            }
+            try {
+                String[] line;
+                while ((line = reader.readNext()) != null) {
+                    // skip empty lines
+                    if (!isEmptyLine(line)) {
+                        return line;
+                    }
+                }
+                return null;
+            } catch (IOException e) {
+                LOGGER.debug("Unable to continue reading for {}. Skipping remaining content.", metadata.getId(), e);
+                return null;
+            }
+        }
+    }
 }
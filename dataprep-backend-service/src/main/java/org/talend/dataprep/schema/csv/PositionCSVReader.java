@@ -0,0 +1,144 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.schema.csv;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+import au.com.bytecode.opencsv.CSVParser;
+
+/**
+ * A CSV reader that keeps track of the position (in bytes) of each record in the raw content. Lines are split and
+ * parsed the same way {@link au.com.bytecode.opencsv.CSVReader} does, but on bytes, so this reader only works with
+ * encodings where line terminators are single ASCII bytes (see {@link #isSupported(Charset)}).
+ */
+class PositionCSVReader implements Closeable {
+
+    private static final int LF = '\n';
+
+    private static final int CR = '\r';
+
+    private final InputStream input;
+
+    private final Charset charset;
+
+    private final CSVParser parser;
+
+    /** Position of the next byte to read. */
+    private long position;
+
+    /** Position of the record returned by last {@link #readNext()} call. */
+    private long recordPosition;
+
+    private byte[] line = new byte[1024];
+
+    /**
+     * @param rawContent The raw content, expected to be positioned at <code>position</code>.
+     * @param charset The content encoding.
+     * @param position The position of the first byte of <code>rawContent</code>.
+     * @param separator The CSV separator.
+     * @param textEnclosure The CSV text enclosure character.
+     * @param escape The CSV escape character.
+     */
+    PositionCSVReader(InputStream rawContent, Charset charset, long position, char separator, char textEnclosure,
+            char escape) {
+        this.input = new BufferedInputStream(rawContent);
+        this.charset = charset;
+        this.position = position;
+        this.parser = new CSVParser(separator, textEnclosure, escape);
+    }
+
+    /**
+     * @param charset A content encoding.
+     * @return <code>true</code> if lines can be split on bytes for this encoding.
+     */
+    static boolean isSupported(Charset charset) {
+        return Arrays.equals(new byte[] { CR, LF }, "\r\n".getBytes(charset));
+    }
+
+    /**
+     * Reads the next record (possibly on several lines).
+     *
+     * @return The record values or <code>null</code> if end of content is reached.
+     * @throws IOException If content can't be read.
+     */
+    String[] readNext() throws IOException {
+        String[] result = null;
+        recordPosition = position;
+        do {
+            final String nextLine = readLine();
+            if (nextLine == null) {
+                return result;
+            }
+            final String[] values = parser.parseLineMulti(nextLine);
+            if (values.length > 0) {
+                if (result == null) {
+                    result = values;
+                } else {
+                    final String[] merged = Arrays.copyOf(result, result.length + values.length);
+                    System.arraycopy(values, 0, merged, result.length, values.length);
+                    result = merged;
+                }
+            }
+        } while (parser.isPending());
+        return result;
+    }
+
+    /**
+     * @return The position (in bytes) of the record returned by last {@link #readNext()} call.
+     */
+    long getRecordPosition() {
+        return recordPosition;
+    }
+
+    /**
+     * Reads a line, a line is terminated by '\n', '\r' or "\r\n" (same as {@link java.io.BufferedReader#readLine()}).
+     */
+    private String readLine() throws IOException {
+        int length = 0;
+        int read;
+        while ((read = input.read()) >= 0) {
+            position++;
+            if (read == LF) {
+                break;
+            }
+            if (read == CR) {
+                input.mark(1);
+                if (input.read() == LF) {
+                    position++;
+                } else {
+                    input.reset();
+                }
+                break;
+            }
+            if (length == line.length) {
+                line = Arrays.copyOf(line, length * 2);
+            }
+            line[length++] = (byte) read;
+        }
+        if (read < 0 && length == 0) {
+            return null;
+        }
+        return new String(line, 0, length, charset);
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+}
@@ -21,6 +21,7 @@ import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSet;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.dataset.adapter.DatasetClient;
@@ -37,6 +38,10 @@ import static org.apache.commons.lang3.StringUtils.EMPTY;
 import static org.springframework.beans.factory.config.BeanDefinition.SCOPE_PROTOTYPE;
 import static org.talend.dataprep.transformation.actions.datablending.Lookup.Parameters.LOOKUP_DS_ID;
 
+/**
+ * Matches rows with the rows of a lookup dataset, using the {@link LookupIndex join index} of the lookup dataset (see
+ * {@link LookupIndexService}), or by reading the lookup dataset if the index can't be built.
+ */
 @Component
 @Scope(SCOPE_PROTOTYPE)
 public class DataSetLookupRowMatcher implements DisposableBean, LookupRowMatcher {
@@ -47,10 +52,22 @@ public class DataSetLookupRowMatcher implements DisposableBean, LookupRowMatcher
     @Autowired
     private DatasetClient datasetClient;
 
+    @Autowired
+    private LookupIndexService lookupIndexService;
+
     /** The dataset id to lookup. */
     private String datasetId;
 
-    /** Lookup row iterator. */
+    /** The lookup dataset metadata. */
+    private DataSetMetadata lookupMetadata;
+
+    /** Join index of the lookup dataset (<code>null</code> until first match). */
+    private LookupIndex index;
+
+    /** The column the {@link #index} was built for. */
+    private String indexedColumn;
+
+    /** Lookup row iterator (<code>null</code> unless join index can't be built). */
     private Iterator<DataSetRow> lookupIterator;
 
     /** Default empty row for the parsed lookup dataset. */
@@ -63,6 +80,9 @@ public class DataSetLookupRowMatcher implements DisposableBean, LookupRowMatcher
 
     private List<LookupSelectedColumnParameter> selectedColumns;
 
+    /** The selected columns of the lookup rows (computed on first matching row). */
+    private List<ColumnMetadata> filteredColumns;
+
     private Stream<DataSetRow> records;
 
     DataSetLookupRowMatcher() {
@@ -92,15 +112,23 @@ public class DataSetLookupRowMatcher implements DisposableBean, LookupRowMatcher
     }
 
     /**
-     * Open the connection to get the dataset content and init the row iterator.
+     * Get the lookup dataset metadata (join index is opened on first match, as join column is known then).
      */
     @PostConstruct
     private void init() {
         LOGGER.debug("opening {}", datasetId);
+        lookupMetadata = datasetClient.getDataSetMetadata(datasetId);
+        this.emptyRow = getEmptyRow(lookupMetadata.getRowMetadata().getColumns());
+    }
+
+    /**
+     * Open the connection to get the dataset content and init the row iterator.
+     */
+    private void openLookupIterator() {
+        LOGGER.debug("reading {}", datasetId);
         DataSet lookup = datasetClient.getDataSet(datasetId, true);
         records = lookup.getRecords();
         this.lookupIterator = records.iterator();
-        this.emptyRow = getEmptyRow(lookup.getMetadata().getRowMetadata().getColumns());
     }
 
     /**
@@ -108,7 +136,13 @@ public class DataSetLookupRowMatcher implements DisposableBean, LookupRowMatcher
      */
     @Override
     public void destroy() {
-        records.close();
+        if (records != null) {
+            records.close();
+        }
+        if (index != null) {
+            index.release();
+            index = null;
+        }
         LOGGER.debug("connection to {} closed", datasetId);
     }
 
@@ -132,28 +166,29 @@ public class DataSetLookupRowMatcher implements DisposableBean, LookupRowMatcher
             return cache.get(joinValue);
         }
 
+        if (lookupIterator == null) {
+            if (index == null || !joinOn.equals(indexedColumn)) {
+                if (index != null) {
+                    index.release();
+                }
+                index = lookupIndexService.getIndex(lookupMetadata, joinOn);
+                indexedColumn = joinOn;
+            }
+            if (index != null) {
+                // rows are read from the (memory mapped) index, no need to cache them
+                return getIndexedRow(joinValue);
+            }
+            openLookupIterator();
+        }
+
         // if the value is not cached, let's update the cache
-        List<ColumnMetadata> filteredColumns = null;
         while (lookupIterator.hasNext()) {
             DataSetRow nextRow = lookupIterator.next();
             final String nextRowJoinValue = nextRow.get(joinOn);
 
             // update the cache no matter what so that the next joinValue may be already cached !
-            if (filteredColumns == null) {
-                final List<String> selectedColumnIds = selectedColumns
-                        .stream() //
-                        .map(LookupSelectedColumnParameter::getId) //
-                        .collect(Collectors.toList());
-                filteredColumns = nextRow
-                        .getRowMetadata() //
-                        .getColumns() //
-                        .stream() //
-                        .filter(c -> !joinOnColumn.equals(c.getId()) && selectedColumnIds.contains(c.getId())) //
-                        .collect(Collectors.toList());
-            }
-
             if (!cache.containsKey(nextRowJoinValue)) {
-                cache.put(nextRowJoinValue, nextRow.filter(filteredColumns).clone());
+                cache.put(nextRowJoinValue, nextRow.filter(getFilteredColumns(nextRow.getRowMetadata())).clone());
                 LOGGER.trace("row found and cached for {} -> {}", nextRowJoinValue, nextRow.values());
             }
 
@@ -169,6 +204,38 @@ public class DataSetLookupRowMatcher implements DisposableBean, LookupRowMatcher
         return this.emptyRow;
     }
 
+    /**
+     * @return the selected columns of the first lookup row with this join value, or the empty row if there is none.
+     */
+    private DataSetRow getIndexedRow(String joinValue) {
+        final String[] values = index.get(joinValue);
+        if (values == null) {
+            LOGGER.trace("no row found for {}, returning an empty row", joinValue);
+            return emptyRow;
+        }
+        final DataSetRow row = new DataSetRow(lookupMetadata.getRowMetadata());
+        final List<String> columnIds = index.getColumnIds();
+        for (int i = 0; i < values.length; i++) {
+            row.set(columnIds.get(i), values[i]);
+        }
+        return row.filter(getFilteredColumns(row.getRowMetadata()));
+    }
+
+    private List<ColumnMetadata> getFilteredColumns(RowMetadata rowMetadata) {
+        if (filteredColumns == null) {
+            final List<String> selectedColumnIds = selectedColumns
+                    .stream() //
+                    .map(LookupSelectedColumnParameter::getId) //
+                    .collect(Collectors.toList());
+            filteredColumns = rowMetadata
+                    .getColumns() //
+                    .stream() //
+                    .filter(c -> !joinOnColumn.equals(c.getId()) && selectedColumnIds.contains(c.getId())) //
+                    .collect(Collectors.toList());
+        }
+        return filteredColumns;
+    }
+
     @Override
     public RowMetadata getRowMetadata() {
         return emptyRow.getRowMetadata();
@@ -0,0 +1,307 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.actions.datablending;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.util.MappedBuffers;
+
+/**
+ * A join index of a lookup dataset (join value &rarr; row values) stored in a file, read through a read only memory
+ * mapping so it is shared by all the lookups of the dataset (and does not use heap).
+ * <p>
+ * File layout (all integers are big endian, a string is its length in bytes, or -1 for <code>null</code>, followed by
+ * its UTF-8 bytes):
+ * <ul>
+ * <li>header: magic number, format version, offset of the table, size of the table, number of rows, number of
+ * columns, and the column ids.</li>
+ * <li>rows: for each row, the hash of its join value, its join value and all its values (in column ids order).</li>
+ * <li>table: an open addressing hash table (linear probing) of row offsets, 0 for a free slot.</li>
+ * </ul>
+ * Rows are added to the table in dataset order, so the first row of a join value is the one found (as when the
+ * lookup dataset is read). The whole file must be smaller than 2GB.
+ * <p>
+ * Users of an index {@link #acquire() acquire} and {@link #release() release} it: the memory mapping is released once a
+ * {@link #retire() retired} index has no more users.
+ */
+class LookupIndex {
+
+    private static final int MAGIC = 0x54445049;
+
+    /** Version of the file format. */
+    private static final int VERSION = 1;
+
+    /** Position (in file) of the table offset (followed by table size and number of rows). */
+    private static final int TABLE_POSITION = 8;
+
+    private final ByteBuffer buffer;
+
+    private final List<String> columnIds;
+
+    private final int tableOffset;
+
+    private final int mask;
+
+    private final int size;
+
+    /** Number of users of the index, -1 once memory mapping is released. */
+    private final AtomicInteger users = new AtomicInteger();
+
+    /** <code>true</code> once index must be released when it has no more users. */
+    private volatile boolean retired;
+
+    private LookupIndex(ByteBuffer buffer, List<String> columnIds, int tableOffset, int tableSize, int size) {
+        this.buffer = buffer;
+        this.columnIds = columnIds;
+        this.tableOffset = tableOffset;
+        this.mask = tableSize - 1;
+        this.size = size;
+    }
+
+    /**
+     * Writes the index of some rows.
+     *
+     * @param file where to write the index (replaced once index is fully written).
+     * @param columnIds the ids of the columns to store.
+     * @param joinOn the id of the column to index.
+     * @param rows the rows to index.
+     * @throws IOException if index can't be written or if it is larger than 2GB.
+     */
+    static void write(Path file, List<String> columnIds, String joinOn, Iterator<DataSetRow> rows) throws IOException {
+        final Path tempFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            int[] hashes = new int[1024];
+            int[] offsets = new int[1024];
+            int size = 0;
+            try (DataOutputStream output =
+                    new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeInt(0); // table offset
+                output.writeInt(0); // table size
+                output.writeInt(0); // number of rows
+                output.writeInt(columnIds.size());
+                for (String columnId : columnIds) {
+                    writeString(output, columnId);
+                }
+                while (rows.hasNext()) {
+                    final DataSetRow row = rows.next();
+                    final String joinValue = row.get(joinOn);
+                    if (joinValue == null) {
+                        continue;
+                    }
+                    if (size == hashes.length) {
+                        hashes = Arrays.copyOf(hashes, size * 2);
+                        offsets = Arrays.copyOf(offsets, size * 2);
+                    }
+                    hashes[size] = hash(joinValue);
+                    offsets[size] = checkSize(output.size());
+                    size++;
+                    output.writeInt(hash(joinValue));
+                    writeString(output, joinValue);
+                    for (String columnId : columnIds) {
+                        writeString(output, row.get(columnId));
+                    }
+                }
+
+                // keep load factor under 0.75
+                final int tableSize = Math.max(16, Integer.highestOneBit(Math.max(1, size * 4 / 3)) << 1);
+                final int[] table = new int[tableSize];
+                for (int i = 0; i < size; i++) {
+                    int slot = hashes[i] & (tableSize - 1);
+                    while (table[slot] != 0) {
+                        slot = (slot + 1) & (tableSize - 1);
+                    }
+                    table[slot] = offsets[i];
+                }
+                final int tableOffset = checkSize(output.size());
+                checkSize((long) tableOffset + 4L * tableSize);
+                for (int offset : table) {
+                    output.writeInt(offset);
+                }
+                output.close();
+
+                try (RandomAccessFile header = new RandomAccessFile(tempFile.toFile(), "rw")) {
+                    header.seek(TABLE_POSITION);
+                    header.writeInt(tableOffset);
+                    header.writeInt(tableSize);
+                    header.writeInt(size);
+                }
+            }
+            Files.move(tempFile, file, REPLACE_EXISTING, ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Opens an index written by {@link #write(Path, List, String, Iterator)}.
+     *
+     * @param file the index file.
+     * @return the index or <code>null</code> if index was written in an unknown format.
+     */
+    static LookupIndex open(Path file) throws IOException {
+        final MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.limit() < TABLE_POSITION || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            return null;
+        }
+        buffer.position(TABLE_POSITION);
+        final int tableOffset = buffer.getInt();
+        final int tableSize = buffer.getInt();
+        final int size = buffer.getInt();
+        final int columnCount = buffer.getInt();
+        final List<String> columnIds = new ArrayList<>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            columnIds.add(readString(buffer));
+        }
+        return new LookupIndex(buffer, Collections.unmodifiableList(columnIds), tableOffset, tableSize, size);
+    }
+
+    /**
+     * Registers a new user of this index.
+     *
+     * @return <code>false</code> if index is already released and can't be used.
+     */
+    boolean acquire() {
+        while (true) {
+            final int count = users.get();
+            if (count < 0) {
+                return false;
+            }
+            if (users.compareAndSet(count, count + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Unregisters a user of this index (index must not be used by this user after this call).
+     */
+    void release() {
+        if (users.decrementAndGet() == 0 && retired) {
+            unmap();
+        }
+    }
+
+    /**
+     * Marks this index as no longer shared: its memory mapping is released as soon as it has no more users.
+     */
+    void retire() {
+        retired = true;
+        unmap();
+    }
+
+    private void unmap() {
+        if (users.compareAndSet(0, -1)) {
+            MappedBuffers.unmap(buffer);
+        }
+    }
+
+    /**
+     * @return the ids of the columns of the values returned by {@link #get(String)}.
+     */
+    List<String> getColumnIds() {
+        return columnIds;
+    }
+
+    /**
+     * @return the number of indexed rows.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @param joinValue the join value.
+     * @return the values (in {@link #getColumnIds() column ids} order) of the first row with this join value, or
+     * <code>null</code> if there is none.
+     */
+    String[] get(String joinValue) {
+        final int hash = hash(joinValue);
+        int slot = hash & mask;
+        while (true) {
+            final int offset = buffer.getInt(tableOffset + slot * 4);
+            if (offset == 0) {
+                return null;
+            }
+            if (buffer.getInt(offset) == hash) {
+                // duplicate so concurrent reads do not share a position
+                final ByteBuffer row = buffer.duplicate();
+                row.position(offset + 4);
+                if (joinValue.equals(readString(row))) {
+                    final String[] values = new String[columnIds.size()];
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = readString(row);
+                    }
+                    return values;
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private static int hash(String value) {
+        final int h = value.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int checkSize(long size) throws IOException {
+        if (size >= Integer.MAX_VALUE) {
+            throw new IOException("Lookup index is larger than 2GB.");
+        }
+        return (int) size;
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        if (value == null) {
+            output.writeInt(-1);
+        } else {
+            final byte[] bytes = value.getBytes(UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        final int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+}
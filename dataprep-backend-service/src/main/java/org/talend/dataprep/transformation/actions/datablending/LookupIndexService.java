@@ -0,0 +1,257 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.actions.datablending;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import javax.annotation.PostConstruct;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSet;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.dataset.adapter.DatasetClient;
+import org.talend.dataprep.dataset.event.DatasetDeletedEvent;
+import org.talend.dataprep.dataset.event.DatasetUpdatedEvent;
+
+/**
+ * Builds and shares the {@link LookupIndex join indexes} of the lookup datasets.
+ * <p>
+ * An index is built once per lookup dataset version (last modification date) and join column, and stored in
+ * <code>lookup.index.file.location</code>, so it is shared by all preparations and executions on this node. Only the
+ * index of the most recent version is kept: it replaces the previous one as soon as a newer version is seen, and
+ * indexes of a dataset are removed when it is updated or deleted. Indexes not used for
+ * <code>lookup.index.ttl</code> ms are removed.
+ * <p>
+ * Indexes returned by {@link #getIndex(DataSetMetadata, String)} must be {@link LookupIndex#release() released} once no
+ * longer used, so their memory mapping can be released when they are removed.
+ */
+@Component
+public class LookupIndexService {
+
+    /** This class' logger. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(LookupIndexService.class);
+
+    private static final String INDEX_EXTENSION = ".idx";
+
+    /** Where the indexes are stored. */
+    @Value("${lookup.index.file.location:${java.io.tmpdir}/dataprep/lookup}")
+    private String location;
+
+    /** How long (in ms) an unused index is kept. */
+    @Value("${lookup.index.ttl:3600000}")
+    private long timeToLive;
+
+    @Autowired
+    private DatasetClient datasetClient;
+
+    /** Opened indexes by dataset id and join column (see {@link #getKey(String, String)}). */
+    private final Map<String, OpenedIndex> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * Guards the build and removal of an index (by dataset id and join column). Locks are kept so threads waiting for
+     * a build use the built index instead of building it again.
+     */
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    private Path root;
+
+    @PostConstruct
+    public void init() {
+        root = Paths.get(location);
+        try {
+            Files.createDirectories(root);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to create lookup index directory '{}'.", root, e);
+        }
+    }
+
+    private static String getKey(String datasetId, String joinOn) {
+        return datasetId + '-' + DigestUtils.sha1Hex(joinOn);
+    }
+
+    /**
+     * Returns the index of a lookup dataset, built if needed.
+     *
+     * @param lookup the lookup dataset metadata.
+     * @param joinOn the id of the lookup column to join on.
+     * @return the index (to be {@link LookupIndex#release() released} after use) or <code>null</code> if index could
+     * not be built (lookup dataset must then be read).
+     */
+    LookupIndex getIndex(DataSetMetadata lookup, String joinOn) {
+        final String key = getKey(lookup.getId(), joinOn);
+        final long version = lookup.getLastModificationDate();
+        final LookupIndex index;
+        synchronized (locks.computeIfAbsent(key, k -> new Object())) {
+            final OpenedIndex opened = indexes.get(key);
+            if (opened != null && opened.version >= version && opened.index.acquire()) {
+                opened.lastAccess = System.currentTimeMillis();
+                return opened.index;
+            }
+            final String name = lookup.getId() + '-' + version + '-' + DigestUtils.sha1Hex(joinOn) + INDEX_EXTENSION;
+            try {
+                index = open(lookup, joinOn, root.resolve(name));
+                index.acquire();
+                final OpenedIndex previous = indexes.put(key, new OpenedIndex(name, version, index));
+                if (previous != null && !previous.name.equals(name)) {
+                    LOGGER.debug("Lookup index '{}' replaced by '{}'.", previous.name, name);
+                    remove(previous);
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Unable to build lookup index of dataset #{}, dataset will be read.", lookup.getId(), e);
+                return null;
+            }
+        }
+        // a new index takes disk space: good time to remove the unused ones (out of lock, clean takes other locks)
+        clean();
+        return index;
+    }
+
+    private LookupIndex open(DataSetMetadata lookup, String joinOn, Path file) throws IOException {
+        if (Files.exists(file)) {
+            // built by another execution on this node
+            final LookupIndex index = LookupIndex.open(file);
+            if (index != null) {
+                return index;
+            }
+        }
+        final long start = System.currentTimeMillis();
+        final DataSet dataSet = datasetClient.getDataSet(lookup.getId(), true);
+        final List<String> columnIds = dataSet.getMetadata().getRowMetadata().getColumns().stream() //
+                .map(ColumnMetadata::getId) //
+                .collect(toList());
+        try (Stream<DataSetRow> records = dataSet.getRecords()) {
+            LookupIndex.write(file, columnIds, joinOn, records.iterator());
+        }
+        final LookupIndex index = LookupIndex.open(file);
+        LOGGER.info("Lookup index of dataset #{} built in {} ms ({} rows).", lookup.getId(),
+                System.currentTimeMillis() - start, index.size());
+        return index;
+    }
+
+    /**
+     * Retires an index no longer shared and deletes its file (executions that already use it keep their mapping until
+     * they release it).
+     */
+    private void remove(OpenedIndex opened) {
+        opened.index.retire();
+        delete(root.resolve(opened.name));
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to delete lookup index '{}'.", file, e);
+        }
+    }
+
+    @EventListener
+    public void onDatasetUpdated(DatasetUpdatedEvent event) {
+        invalidate(event.getSource().getId());
+    }
+
+    @EventListener
+    public void onDatasetDeleted(DatasetDeletedEvent event) {
+        invalidate(event.getSource());
+    }
+
+    /**
+     * Removes all the indexes of a dataset (executions that already use them keep their mapping).
+     *
+     * @param datasetId the dataset id.
+     */
+    public void invalidate(String datasetId) {
+        final String prefix = datasetId + '-';
+        indexes.keySet().stream().filter(key -> key.startsWith(prefix)).collect(toList()).forEach(key -> {
+            synchronized (locks.computeIfAbsent(key, k -> new Object())) {
+                final OpenedIndex opened = indexes.remove(key);
+                if (opened != null) {
+                    opened.index.retire();
+                }
+            }
+        });
+        try (Stream<Path> files = Files.list(root)) {
+            files.filter(file -> file.getFileName().toString().startsWith(prefix)).forEach(LookupIndexService::delete);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to list lookup indexes of dataset #{}.", datasetId, e);
+        }
+    }
+
+    /**
+     * Removes the indexes not used for <code>lookup.index.ttl</code> ms, and the index files left by previous runs.
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void clean() {
+        final long limit = System.currentTimeMillis() - timeToLive;
+        indexes.entrySet().stream().filter(entry -> entry.getValue().lastAccess < limit).map(Map.Entry::getKey)
+                .collect(toList()).forEach(key -> {
+                    synchronized (locks.computeIfAbsent(key, k -> new Object())) {
+                        final OpenedIndex opened = indexes.get(key);
+                        if (opened != null && opened.lastAccess < limit) {
+                            LOGGER.debug("Lookup index '{}' unused, removed.", opened.name);
+                            indexes.remove(key);
+                            remove(opened);
+                        }
+                    }
+                });
+        final Set<String> used = indexes.values().stream().map(opened -> opened.name).collect(toSet());
+        try (Stream<Path> files = Files.list(root)) {
+            files.filter(file -> !used.contains(file.getFileName().toString())) //
+                    .filter(file -> file.toFile().lastModified() < limit) //
+                    .forEach(LookupIndexService::delete);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to list lookup indexes in '{}'.", root, e);
+        }
+    }
+
+    /**
+     * An index shared by the executions, and the name of its file.
+     */
+    private static class OpenedIndex {
+
+        private final String name;
+
+        /** Last modification date of the indexed dataset. */
+        private final long version;
+
+        private final LookupIndex index;
+
+        private volatile long lastAccess = System.currentTimeMillis();
+
+        private OpenedIndex(String name, long version, LookupIndex index) {
+            this.name = name;
+            this.version = version;
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.util;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Helper to release memory-mapped buffers as soon as they are no longer used: the JDK only unmaps them when they are
+ * garbage collected, which keeps the file mapped (and on some platforms not deletable) for an unpredictable time.
+ */
+public class MappedBuffers {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MappedBuffers.class);
+
+    private MappedBuffers() {
+    }
+
+    /**
+     * Unmaps the buffer if it is a direct buffer. The buffer (and any of its duplicates or slices) must not be used
+     * afterwards. Failures are only logged: the buffer is then released on garbage collection.
+     *
+     * @param buffer the buffer to unmap, may be null.
+     */
+    public static void unmap(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect()) {
+            return;
+        }
+        try {
+            try {
+                // Java 9+
+                final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+                invokeCleaner.invoke(theUnsafe.get(null), buffer);
+            } catch (NoSuchMethodException e) {
+                // Java 8
+                final Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+                cleanerMethod.setAccessible(true);
+                final Object cleaner = cleanerMethod.invoke(buffer);
+                if (cleaner != null) {
+                    cleaner.getClass().getMethod("clean").invoke(cleaner);
+                }
+            }
+        } catch (Exception e) {
+            LOGGER.debug("Unable to unmap buffer, it will be released on garbage collection.", e);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.cache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+
+@RunWith(MockitoJUnitRunner.class)
+public class HeapContentCacheTest {
+
+    private static final ContentCacheKey KEY = () -> "key";
+
+    @Mock
+    private ContentCache delegate;
+
+    private HeapContentCache contentCache;
+
+    @Before
+    public void setUp() {
+        contentCache = new HeapContentCache(delegate, 1024, 16, 60000, 60000);
+    }
+
+    @Test
+    public void shouldServePutContentFromHeap() throws Exception {
+        // given
+        when(delegate.put(any(), any())).thenReturn(new ByteArrayOutputStream());
+        try (OutputStream entry = contentCache.put(KEY, ContentCache.TimeToLive.DEFAULT)) {
+            entry.write("content".getBytes(UTF_8));
+        }
+
+        // when
+        final boolean has = contentCache.has(KEY);
+        final String content = IOUtils.toString(contentCache.get(KEY), UTF_8);
+
+        // then
+        assertTrue(has);
+        assertEquals("content", content);
+        verify(delegate, never()).has(any());
+        verify(delegate, never()).get(any());
+        assertEquals(2, contentCache.getHitCount());
+    }
+
+    @Test
+    public void shouldReadThroughDelegateOnce() throws Exception {
+        // given
+        when(delegate.get(any())).then((Answer<InputStream>) i -> new ByteArrayInputStream("content".getBytes(UTF_8)));
+
+        // when
+        try (InputStream first = contentCache.get(KEY)) {
+            assertEquals("content", IOUtils.toString(first, UTF_8));
+        }
+        final String second = IOUtils.toString(contentCache.get(KEY), UTF_8);
+
+        // then
+        assertEquals("content", second);
+        verify(delegate, times(1)).get(any());
+        assertEquals(1, contentCache.getMissCount());
+        assertEquals(1, contentCache.getHitCount());
+    }
+
+    @Test
+    public void shouldNotKeepLargeEntries() throws Exception {
+        // given
+        final String largeContent = "content larger than 16 bytes";
+        when(delegate.get(any()))
+                .then((Answer<InputStream>) i -> new ByteArrayInputStream(largeContent.getBytes(UTF_8)));
+
+        // when
+        try (InputStream first = contentCache.get(KEY)) {
+            assertEquals(largeContent, IOUtils.toString(first, UTF_8));
+        }
+        final String second = IOUtils.toString(contentCache.get(KEY), UTF_8);
+
+        // then
+        assertEquals(largeContent, second);
+        verify(delegate, times(2)).get(any());
+        assertEquals(0, contentCache.getSize());
+    }
+
+    @Test
+    public void shouldCacheAbsentKeys() throws Exception {
+        // given
+        when(delegate.has(any())).thenReturn(false);
+
+        // when
+        final boolean first = contentCache.has(KEY);
+        final boolean second = contentCache.has(KEY);
+        final InputStream content = contentCache.get(KEY);
+
+        // then
+        assertFalse(first);
+        assertFalse(second);
+        assertNull(content);
+        verify(delegate, times(1)).has(any());
+        verify(delegate, never()).get(any());
+        assertEquals(2, contentCache.getNegativeHitCount());
+    }
+
+    @Test
+    public void shouldForgetAbsentKeyOnPut() throws Exception {
+        // given
+        when(delegate.has(any())).thenReturn(false);
+        when(delegate.put(any(), any())).thenReturn(new ByteArrayOutputStream());
+        assertFalse(contentCache.has(KEY));
+
+        // when
+        try (OutputStream entry = contentCache.put(KEY, ContentCache.TimeToLive.DEFAULT)) {
+            entry.write("content".getBytes(UTF_8));
+        }
+
+        // then
+        assertTrue(contentCache.has(KEY));
+    }
+
+    @Test
+    public void shouldInvalidateOnEvict() throws Exception {
+        // given
+        when(delegate.put(any(), any())).thenReturn(new ByteArrayOutputStream());
+        try (OutputStream entry = contentCache.put(KEY, ContentCache.TimeToLive.DEFAULT)) {
+            entry.write("content".getBytes(UTF_8));
+        }
+
+        // when
+        contentCache.evict(KEY);
+
+        // then
+        assertFalse(contentCache.has(KEY));
+        verify(delegate, times(1)).evict(KEY);
+        verify(delegate, times(1)).has(KEY);
+    }
+
+    @Test
+    public void shouldMoveHeapEntry() throws Exception {
+        // given
+        final ContentCacheKey destination = () -> "destination";
+        when(delegate.put(any(), any())).thenReturn(new ByteArrayOutputStream());
+        try (OutputStream entry = contentCache.put(KEY, ContentCache.TimeToLive.DEFAULT)) {
+            entry.write("content".getBytes(UTF_8));
+        }
+
+        // when
+        contentCache.move(KEY, destination, ContentCache.TimeToLive.DEFAULT);
+
+        // then
+        assertEquals("content", IOUtils.toString(contentCache.get(destination), UTF_8));
+        assertFalse(contentCache.has(KEY));
+        verify(delegate, times(1)).move(KEY, destination, ContentCache.TimeToLive.DEFAULT);
+        verify(delegate, never()).get(any());
+    }
+
+    @Test
+    public void shouldKeepCompressedEntryReadThroughZippedCache() throws Exception {
+        // given
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream zip = new GZIPOutputStream(compressed)) {
+            zip.write("content".getBytes(UTF_8));
+        }
+        when(delegate.get(any())).then((Answer<InputStream>) i -> new ByteArrayInputStream(compressed.toByteArray()));
+        final HeapContentCache heapContentCache = new HeapContentCache(delegate, 1024, 1024, 60000, 60000);
+        final ContentCache zippedContentCache = new ZippedContentCache(heapContentCache);
+
+        // when
+        try (InputStream first = zippedContentCache.get(KEY)) {
+            assertEquals("content", IOUtils.toString(first, UTF_8));
+        }
+        final String second = IOUtils.toString(zippedContentCache.get(KEY), UTF_8);
+
+        // then
+        assertEquals("content", second);
+        verify(delegate, times(1)).get(any());
+        assertEquals(1, heapContentCache.getHitCount());
+    }
+}
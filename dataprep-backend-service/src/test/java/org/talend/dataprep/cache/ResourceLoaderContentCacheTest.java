@@ -1,5 +1,7 @@
 package org.talend.dataprep.cache;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -7,6 +9,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
+import java.util.Optional;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -15,6 +18,8 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.talend.daikon.content.DeletableResource;
 import org.talend.daikon.content.ResourceResolver;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.talend.dataprep.cache.loader.ResourceLoaderCacheIndex;
 import org.talend.dataprep.cache.loader.ResourceLoaderContentCache;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -118,6 +123,26 @@ public class ResourceLoaderContentCacheTest {
 
     }
 
+    @Test
+    public void shouldFindEntryMissingInIndex() throws IOException {
+        // given
+        final ResourceLoaderCacheIndex index = new ResourceLoaderCacheIndex();
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(resourceLoaderContentCache, "index", index);
+        final String location = "key." + (System.currentTimeMillis() + 60000);
+        final DeletableResource resource = createMockResource("/cache/" + location);
+        when(resource.exists()).thenReturn(true);
+        when(resolver.getResources("/cache/key*")).thenReturn(new DeletableResource[] { resource });
+        when(resolver.getResources("/cache/key")).thenReturn(new DeletableResource[0]);
+
+        // when
+        final boolean has = resourceLoaderContentCache.has(() -> "key");
+
+        // then
+        assertTrue(has);
+        assertEquals(Optional.of(location), index.get("key"));
+    }
+
     private DeletableResource createMockResource(String fileName) {
         DeletableResource resource = mock(DeletableResource.class);
         when(resource.getFilename()).thenReturn(fileName);
@@ -0,0 +1,136 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.cache.loader;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.talend.daikon.content.DeletableResource;
+import org.talend.daikon.content.ResourceResolver;
+
+public class ResourceLoaderCacheIndexTest {
+
+    private final ResourceLoaderCacheIndex index = new ResourceLoaderCacheIndex();
+
+    @Test
+    public void shouldGetMostRecentEntry() {
+        // given
+        final long now = System.currentTimeMillis();
+        index.add("key." + (now + 1000));
+        index.add("key." + (now + 5000));
+        index.add("key2." + (now + 9000));
+        index.add("key-other." + (now + 9000));
+
+        // when
+        final Optional<String> location = index.get("key");
+
+        // then
+        assertEquals(Optional.of("key." + (now + 5000)), location);
+    }
+
+    @Test
+    public void shouldPreferPermanentEntry() {
+        // given
+        index.add("key." + (System.currentTimeMillis() + 1000));
+        index.add("key");
+
+        // then
+        assertEquals(Optional.of("key"), index.get("key"));
+    }
+
+    @Test
+    public void shouldIgnoreExpiredEntries() {
+        // given
+        index.add("key." + (System.currentTimeMillis() - 1000));
+
+        // then
+        assertFalse(index.get("key").isPresent());
+    }
+
+    @Test
+    public void shouldMatchOnPrefix() {
+        // given
+        index.add("transformation_prep1_dataset1_a.12345");
+        index.add("transformation_prep1_dataset2_b.12345");
+        index.add("transformation_prep2_dataset1_c.12345");
+        index.add("transformation-metadata_prep1_step_d.12345");
+
+        // when
+        final List<String> matches = index.match("transformation_prep1", location -> location.contains("dataset1"));
+
+        // then
+        assertEquals(asList("transformation_prep1_dataset1_a.12345"), matches);
+    }
+
+    @Test
+    public void shouldListExpiredEntriesOnly() {
+        // given
+        index.add("expired1.100");
+        index.add("expired2.200");
+        index.add("valid.300");
+        index.add("permanent");
+
+        // then
+        assertEquals(asList("expired1.100", "expired2.200"), index.expiredBefore(250));
+    }
+
+    @Test
+    public void shouldRemoveEntries() {
+        // given
+        index.add("expired.100");
+        index.add("permanent");
+
+        // when
+        index.remove("expired.100");
+        index.remove("permanent");
+
+        // then
+        assertEquals(0, index.size());
+        assertTrue(index.expiredBefore(Long.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    public void shouldRefreshFromCacheStore() throws Exception {
+        // given
+        final ResourceResolver resolver = mock(ResourceResolver.class);
+        ReflectionTestUtils.setField(index, "resolver", resolver);
+        index.add("deletedElsewhere.100");
+        index.add("kept.200");
+        final DeletableResource kept = mock(DeletableResource.class);
+        when(kept.getFilename()).thenReturn("/cache/kept.200");
+        final DeletableResource createdElsewhere = mock(DeletableResource.class);
+        when(createdElsewhere.getFilename()).thenReturn("/cache/createdElsewhere.300");
+        when(resolver.getResources("/cache/*")).thenReturn(new DeletableResource[] { kept, createdElsewhere });
+
+        // when
+        index.refresh();
+
+        // then
+        assertEquals(2, index.size());
+        assertEquals(asList("kept.200", "createdElsewhere.300"), index.expiredBefore(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void shouldComputeLocationFromFilename() {
+        assertEquals("key.12345", ResourceLoaderCacheIndex.toLocation("key.12345"));
+        assertEquals("key.12345", ResourceLoaderCacheIndex.toLocation("/cache/key.12345"));
+        assertEquals("key.12345", ResourceLoaderCacheIndex.toLocation("/subDir/cache/key.12345"));
+    }
+}
@@ -0,0 +1,178 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.conversions;
+
+import static java.util.Collections.singletonList;
+import static org.talend.dataprep.conversions.BeanConversionService.fromBean;
+
+import java.util.List;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+
+/**
+ * Micro benchmark comparing the per-object cost of a {@link BeanConversionService} conversion with the reflective
+ * {@link BeanUtils#copyProperties(Object, Object)} copy it used to perform on each call. Ignored by default, run it
+ * manually.
+ */
+@Ignore("Micro benchmark, run manually")
+public class BeanConversionServiceBenchmark {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BeanConversionServiceBenchmark.class);
+
+    private static final int OBJECTS = 1_000_000;
+
+    private static final int ITERATIONS = 5;
+
+    private final BeanConversionService conversionService = new BeanConversionService();
+
+    private final Source source = new Source();
+
+    public BeanConversionServiceBenchmark() {
+        conversionService.register(fromBean(Source.class) //
+                .toBeans(Target.class) //
+                .using(Target.class, (s, t) -> {
+                    t.setDisplayName(s.getName() + " (" + s.getAuthor() + ')');
+                    return t;
+                }) //
+                .build());
+    }
+
+    @Test
+    public void reflectiveCopy() throws Exception {
+        for (int i = 0; i < ITERATIONS; i++) {
+            final long start = System.nanoTime();
+            long checksum = 0;
+            for (int j = 0; j < OBJECTS; j++) {
+                final Target target = Target.class.newInstance();
+                BeanUtils.copyProperties(source, target);
+                target.setDisplayName(source.getName() + " (" + source.getAuthor() + ')');
+                checksum += target.getRecords();
+            }
+            LOGGER.info("Reflective copy: {} ns per object (checksum {})", (System.nanoTime() - start) / OBJECTS,
+                    checksum);
+        }
+    }
+
+    @Test
+    public void compiledPlan() {
+        for (int i = 0; i < ITERATIONS; i++) {
+            final long start = System.nanoTime();
+            long checksum = 0;
+            for (int j = 0; j < OBJECTS; j++) {
+                checksum += conversionService.convert(source, Target.class).getRecords();
+            }
+            LOGGER.info("Compiled plan: {} ns per object (checksum {})", (System.nanoTime() - start) / OBJECTS,
+                    checksum);
+        }
+    }
+
+    public static class Source {
+
+        private String id = "a7f4e3c2";
+
+        private String name = "customers";
+
+        private String author = "anonymousUser";
+
+        private long creationDate = 1441101537765L;
+
+        private long lastModificationDate = 1441101537765L;
+
+        private long records = 1000;
+
+        private boolean favorite = true;
+
+        private List<String> tags = singletonList("crm");
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getAuthor() {
+            return author;
+        }
+
+        public void setAuthor(String author) {
+            this.author = author;
+        }
+
+        public long getCreationDate() {
+            return creationDate;
+        }
+
+        public void setCreationDate(long creationDate) {
+            this.creationDate = creationDate;
+        }
+
+        public long getLastModificationDate() {
+            return lastModificationDate;
+        }
+
+        public void setLastModificationDate(long lastModificationDate) {
+            this.lastModificationDate = lastModificationDate;
+        }
+
+        public long getRecords() {
+            return records;
+        }
+
+        public void setRecords(long records) {
+            this.records = records;
+        }
+
+        public boolean isFavorite() {
+            return favorite;
+        }
+
+        public void setFavorite(boolean favorite) {
+            this.favorite = favorite;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+    }
+
+    public static class Target extends Source {
+
+        private String displayName;
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        public void setDisplayName(String displayName) {
+            this.displayName = displayName;
+        }
+    }
+}
@@ -211,4 +211,26 @@ public class BeanConversionServiceTest {
         assertEquals("custom", modelA2.getCustom());
     }
 
+    @Test
+    public void shouldUseRegistrationAddedAfterConversion() throws Exception {
+        // Given
+        conversionService.register(fromBean(ModelA.class).toBeans(ModelA2.class).build());
+        assertNull(conversionService.convert(new ModelA("test"), ModelA2.class).getCustom());
+
+        // When
+        conversionService.register(fromBean(ModelA.class) //
+                .toBeans(ModelA2.class) //
+                .using(ModelA2.class, (modelA, modelA2) -> { //
+                    modelA2.setCustom("custom");
+                    return modelA2;
+                }) //
+                .build() //
+        );
+        final ModelA2 modelA2 = conversionService.convert(new ModelA("test"), ModelA2.class);
+
+        // Then
+        assertEquals("test", modelA2.getProperty());
+        assertEquals("custom", modelA2.getCustom());
+    }
+
 }
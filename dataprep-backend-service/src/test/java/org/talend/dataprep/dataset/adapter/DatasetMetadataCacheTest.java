@@ -0,0 +1,136 @@
+package org.talend.dataprep.dataset.adapter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.talend.dataprep.dataset.DatasetConfiguration;
+import org.talend.dataprep.dataset.event.DatasetDeletedEvent;
+
+public class DatasetMetadataCacheTest {
+
+    private final DataCatalogClient dataCatalogClient = mock(DataCatalogClient.class);
+
+    private final DatasetConfiguration configuration = new DatasetConfiguration();
+
+    private final DatasetMetadataCache cache = new DatasetMetadataCache();
+
+    private final Dataset dataset = new Dataset();
+
+    private final Schema schema = SchemaBuilder.record("dataset").fields().requiredString("name").endRecord();
+
+    @Before
+    public void setUp() {
+        configuration.getService().setProvider(DatasetConfiguration.Service.Provider.CATALOG);
+        final ApplicationContext context = mock(ApplicationContext.class);
+        when(context.getBean(DatasetConfiguration.class)).thenReturn(configuration);
+
+        dataset.setId("dataset#1");
+        when(dataCatalogClient.getMetadata("dataset#1")).thenReturn(dataset);
+        when(dataCatalogClient.getDataSetSchema("dataset#1")).thenReturn(schema);
+
+        ReflectionTestUtils.setField(cache, "dataCatalogClient", dataCatalogClient);
+        ReflectionTestUtils.setField(cache, "context", context);
+        ReflectionTestUtils.setField(cache, "maximumSize", 10L);
+        ReflectionTestUtils.setField(cache, "ttl", 60000L);
+        ReflectionTestUtils.setField(cache, "revalidation", 60000L);
+        cache.init();
+    }
+
+    @Test
+    public void shouldFetchMetadataAndSchemaOnce() {
+        // when
+        final Dataset metadata = cache.getMetadata("dataset#1");
+        final Schema datasetSchema = cache.getSchema("dataset#1");
+
+        // then
+        assertSame(dataset, metadata);
+        assertSame(schema, datasetSchema);
+        verify(dataCatalogClient, times(1)).getMetadata("dataset#1");
+        verify(dataCatalogClient, times(1)).getDataSetSchema("dataset#1");
+        assertEquals(1, cache.getStats().hitCount());
+        assertEquals(1, cache.getStats().missCount());
+    }
+
+    @Test
+    public void shouldFetchAgainAfterDeletionEvent() {
+        // given
+        cache.getMetadata("dataset#1");
+
+        // when
+        cache.onDatasetDeleted(new DatasetDeletedEvent("dataset#1"));
+        cache.getMetadata("dataset#1");
+
+        // then
+        verify(dataCatalogClient, times(2)).getMetadata("dataset#1");
+    }
+
+    @Test
+    public void shouldNotCacheMissingDataset() {
+        // when
+        final Dataset metadata = cache.getMetadata("unknown");
+        cache.getMetadata("unknown");
+
+        // then
+        assertNull(metadata);
+        verify(dataCatalogClient, times(2)).getMetadata("unknown");
+    }
+
+    @Test
+    public void shouldNotCacheLegacyDatasetWithoutStatistics() {
+        // given
+        configuration.getService().setProvider(DatasetConfiguration.Service.Provider.LEGACY);
+
+        // when
+        cache.getMetadata("dataset#1");
+        cache.getMetadata("dataset#1");
+
+        // then
+        verify(dataCatalogClient, times(2)).getMetadata("dataset#1");
+    }
+
+    @Test
+    public void shouldKeepSchemaOfUnchangedDatasetOnRevalidation() {
+        // given
+        ReflectionTestUtils.setField(cache, "revalidation", 0L);
+        dataset.setUpdated(1L);
+        cache.getMetadata("dataset#1");
+
+        // when
+        final Schema datasetSchema = cache.getSchema("dataset#1");
+
+        // then
+        assertSame(schema, datasetSchema);
+        verify(dataCatalogClient, times(2)).getMetadata("dataset#1");
+        verify(dataCatalogClient, times(1)).getDataSetSchema("dataset#1");
+    }
+
+    @Test
+    public void shouldFetchSchemaOfDatasetChangedByAnotherService() {
+        // given
+        ReflectionTestUtils.setField(cache, "revalidation", 0L);
+        dataset.setUpdated(1L);
+        cache.getMetadata("dataset#1");
+
+        // when (no event received)
+        final Dataset updated = new Dataset();
+        updated.setId("dataset#1");
+        updated.setUpdated(2L);
+        when(dataCatalogClient.getMetadata("dataset#1")).thenReturn(updated);
+        final Dataset metadata = cache.getMetadata("dataset#1");
+
+        // then
+        assertSame(updated, metadata);
+        verify(dataCatalogClient, times(2)).getDataSetSchema("dataset#1");
+    }
+}
@@ -0,0 +1,70 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.content;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+import static org.talend.dataprep.api.dataset.ColumnMetadata.Builder.column;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.type.Type;
+
+public class InvalidMarkersTest {
+
+    private final List<ColumnMetadata> columns = asList(column().id(0).name("id").type(Type.INTEGER).build(),
+            column().id(1).name("name").type(Type.STRING).build());
+
+    @Test
+    public void shouldMarkRowsAfterReadWrite() throws Exception {
+        // given
+        final InvalidMarkers markers = new InvalidMarkers(columns);
+        final DataSetRow invalidRow = new DataSetRow(new HashMap<>());
+        invalidRow.setInvalid("0000");
+        markers.add(new DataSetRow(new HashMap<>()));
+        markers.add(invalidRow);
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        markers.write(output);
+
+        // when
+        final InvalidMarkers read = InvalidMarkers.read(new ByteArrayInputStream(output.toByteArray()));
+        final DataSetRow row0 = read.mark(new DataSetRow(new HashMap<>()), 0);
+        final DataSetRow row1 = read.mark(new DataSetRow(new HashMap<>()), 1);
+
+        // then
+        assertEquals(2, read.getRowCount());
+        assertFalse(row0.isInvalid("0000"));
+        assertFalse(row0.isInvalid("0001"));
+        assertTrue(row1.isInvalid("0000"));
+        assertFalse(row1.isInvalid("0001"));
+    }
+
+    @Test
+    public void shouldNotBeValidForChangedColumns() {
+        // given
+        final InvalidMarkers markers = new InvalidMarkers(columns);
+        final List<ColumnMetadata> changedColumns = asList(column().id(0).name("id").type(Type.STRING).build(),
+                column().id(1).name("name").type(Type.STRING).build());
+
+        // then
+        assertTrue(markers.isValidFor(columns));
+        assertFalse(markers.isValidFor(changedColumns));
+    }
+}
@@ -13,11 +13,19 @@
 
 package org.talend.dataprep.folder.store.file;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Base64;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 
+import org.junit.Test;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.test.context.TestPropertySource;
 import org.talend.dataprep.folder.store.AbstractFolderTest;
@@ -47,4 +55,33 @@ public class FileSystemFolderRepositoryTest extends AbstractFolderTest {
     protected String pathToId(String path) {
         return Base64.getEncoder().encodeToString(path.getBytes());
     }
+
+    @Test
+    public void shouldSeeFoldersAddedByAnotherInstance() throws Exception {
+        // given
+        final Path root = Paths.get(foldersLocation);
+        assertEquals(0, folderRepository.searchFolders("external", true).count());
+        Files.createDirectories(root.resolve("external"));
+
+        // when (another instance changes folders version)
+        Files.write(root.resolve(".version"), "another instance".getBytes(StandardCharsets.UTF_8));
+
+        // then
+        assertEquals(1, folderRepository.searchFolders("external", true).count());
+        assertEquals(1, folderRepository.size());
+    }
+
+    @Test
+    public void shouldKeepLockFileOutOfFolders() throws Exception {
+        // given
+        final Path root = Paths.get(foldersLocation);
+        folderRepository.clear();
+
+        // when
+        folderRepository.addFolder(folderRepository.getHome().getId(), "locked");
+
+        // then
+        assertTrue(Files.exists(root.resolve(".version.lock")));
+        assertEquals(1, folderRepository.children(folderRepository.getHome().getId()).count());
+    }
 }
@@ -0,0 +1,70 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.io;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.PipedOutputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+public class AbortablePipedInputStreamTest {
+
+    @Test
+    public void shouldReadCompleteContent() throws Exception {
+        // given
+        final PipedOutputStream output = new PipedOutputStream();
+        final AbortablePipedInputStream input = new AbortablePipedInputStream(output);
+        output.write("content".getBytes(UTF_8));
+        output.close();
+
+        // when
+        final String content = IOUtils.toString(input, UTF_8);
+
+        // then
+        assertEquals("content", content);
+    }
+
+    @Test
+    public void shouldFailOnAbortedContent() throws Exception {
+        // given
+        final PipedOutputStream output = new PipedOutputStream();
+        final AbortablePipedInputStream input = new AbortablePipedInputStream(output);
+        final IOException cause = new IOException("Oops");
+        final Thread writer = new Thread(() -> {
+            try (PipedOutputStream out = output) {
+                out.write("trunc".getBytes(UTF_8));
+                input.abort(cause);
+            } catch (IOException e) {
+                // not expected
+            }
+        });
+
+        // when
+        writer.start();
+        try {
+            IOUtils.toString(input, UTF_8);
+            fail("Aborted content must not be read as complete content.");
+        } catch (IOException e) {
+            // then
+            assertSame(cause, e.getCause());
+        } finally {
+            writer.join();
+        }
+    }
+}
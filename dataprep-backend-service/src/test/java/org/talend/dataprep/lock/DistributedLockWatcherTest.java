@@ -13,13 +13,19 @@
 package org.talend.dataprep.lock;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
 
+import java.util.concurrent.TimeUnit;
+
 import org.junit.Test;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.event.ContextClosedEvent;
+import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.exception.error.CommonErrorCodes;
 
 public class DistributedLockWatcherTest {
 
@@ -120,8 +126,8 @@ public class DistributedLockWatcherTest {
         }).when(mock2).unlock();
 
         final DistributedLockWatcher watcher = new DistributedLockWatcher(delegate);
-        watcher.getLock("1234");
-        watcher.getLock("5678");
+        watcher.getLock("1234").lock();
+        watcher.getLock("5678").lock();
 
         // when
         watcher.onApplicationEvent(new ContextClosedEvent(new AnnotationConfigApplicationContext()));
@@ -131,4 +137,75 @@ public class DistributedLockWatcherTest {
         verify(mock2, times(1)).unlock();
         assertEquals(0, watcher.getLocks().size());
     }
+
+    @Test
+    public void shouldFailWhenLockNotAcquiredInTime() throws Exception {
+        // given
+        final LockFactory delegate = mock(LockFactory.class);
+        final DistributedLock mock = mock(DistributedLock.class);
+        when(mock.getKey()).thenReturn("1234");
+        when(mock.tryLock(anyLong(), eq(TimeUnit.MILLISECONDS))).thenReturn(false);
+        when(delegate.getLock(eq("1234"))).thenReturn(mock);
+        final DistributedLockWatcher watcher = new DistributedLockWatcher(delegate, 100);
+        final DistributedLock lock = watcher.getLock("1234");
+
+        // when
+        try {
+            lock.lock();
+            fail("Expected a lock failure.");
+        } catch (TDPException e) {
+            // then
+            assertEquals(CommonErrorCodes.CONFLICT_TO_LOCK_RESOURCE, e.getCode());
+        }
+        verify(mock, times(1)).tryLock(eq(100L), eq(TimeUnit.MILLISECONDS));
+        verify(mock, never()).lock();
+    }
+
+    @Test
+    public void shouldNotWatchLockNotAcquired() throws Exception {
+        // given
+        final LockFactory delegate = mock(LockFactory.class);
+        when(delegate.getLock(eq("1234"))).thenReturn(mock(DistributedLock.class));
+        final DistributedLockWatcher watcher = new DistributedLockWatcher(delegate);
+
+        // when
+        watcher.getLock("1234");
+
+        // then
+        assertEquals(0, watcher.getLocks().size());
+    }
+
+    @Test
+    public void shouldWatchEachHolderOfSameId() throws Exception {
+        // given
+        final LockFactory delegate = mock(LockFactory.class);
+        final DistributedLock readMock = mock(DistributedLock.class);
+        when(readMock.getKey()).thenReturn("1234");
+        when(delegate.getReadLock(eq("1234"))).thenAnswer(invocation -> readMock);
+        final DistributedLockWatcher watcher = new DistributedLockWatcher(delegate);
+        final DistributedLock reader1 = watcher.getReadLock("1234");
+        final DistributedLock reader2 = watcher.getReadLock("1234");
+        reader1.lock();
+        reader2.lock();
+
+        // when
+        reader1.unlock();
+
+        // then
+        assertEquals(1, watcher.getLocks().size());
+        assertSame(reader2, watcher.getLocks().iterator().next());
+    }
+
+    @Test
+    public void shouldCloseDelegateOnClose() throws Exception {
+        // given
+        final LocalLockFactory delegate = mock(LocalLockFactory.class);
+        final DistributedLockWatcher watcher = new DistributedLockWatcher(delegate);
+
+        // when
+        watcher.onApplicationEvent(new ContextClosedEvent(new AnnotationConfigApplicationContext()));
+
+        // then
+        verify(delegate, times(1)).close();
+    }
 }
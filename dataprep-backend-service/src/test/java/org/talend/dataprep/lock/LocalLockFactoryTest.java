@@ -0,0 +1,176 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.lock;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LocalLockFactoryTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private LocalLockFactory factory;
+
+    @After
+    public void tearDown() {
+        if (factory != null) {
+            factory.close();
+        }
+    }
+
+    private LocalLockFactory createFactory(String directory) throws Exception {
+        factory = new LocalLockFactory(16, directory);
+        factory.init();
+        return factory;
+    }
+
+    @Test
+    public void readersShouldNotBlockEachOther() throws Exception {
+        // given
+        createFactory("");
+        final DistributedLock reader = factory.getReadLock("preparation#1234");
+        reader.lock();
+
+        // when
+        final boolean acquired = runInOtherThread(() -> {
+            final DistributedLock otherReader = factory.getReadLock("preparation#1234");
+            final boolean result = otherReader.tryLock(100, MILLISECONDS);
+            if (result) {
+                otherReader.unlock();
+            }
+            return result;
+        });
+
+        // then
+        assertTrue(acquired);
+        reader.unlock();
+    }
+
+    @Test
+    public void writerShouldExcludeReaders() throws Exception {
+        // given
+        createFactory("");
+        final DistributedLock writer = factory.getLock("preparation#1234");
+        writer.lock();
+
+        // when
+        final boolean acquired =
+                runInOtherThread(() -> factory.getReadLock("preparation#1234").tryLock(100, MILLISECONDS));
+
+        // then
+        assertFalse(acquired);
+        writer.unlock();
+    }
+
+    @Test
+    public void writerShouldWaitForRelease() throws Exception {
+        // given
+        createFactory("");
+        final DistributedLock writer = factory.getLock("preparation#1234");
+        writer.lock();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CompletableFuture<Boolean> otherWriter = CompletableFuture.supplyAsync(() -> {
+            started.countDown();
+            final DistributedLock lock = factory.getLock("preparation#1234");
+            final boolean result = lock.tryLock(5, TimeUnit.SECONDS);
+            if (result) {
+                lock.unlock();
+            }
+            return result;
+        });
+        started.await();
+
+        // when
+        writer.unlock();
+
+        // then
+        assertTrue(otherWriter.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldBeReentrantWithFileLocks() throws Exception {
+        // given
+        final File directory = folder.newFolder("locks");
+        createFactory(directory.getAbsolutePath());
+        final DistributedLock writer = factory.getLock("preparation#1234");
+
+        // when
+        writer.lock();
+        writer.lock();
+        final DistributedLock reader = factory.getReadLock("preparation#1234");
+        reader.lock();
+        reader.unlock();
+        writer.unlock();
+        writer.unlock();
+
+        // then
+        assertTrue(directory.list().length > 0);
+        assertTrue(runInOtherThread(() -> {
+            final DistributedLock other = factory.getLock("preparation#1234");
+            final boolean result = other.tryLock(100, MILLISECONDS);
+            if (result) {
+                other.unlock();
+            }
+            return result;
+        }));
+    }
+
+    @Test
+    public void shouldReleaseFileLocksOnClose() throws Exception {
+        // given
+        final File directory = folder.newFolder("locks");
+        createFactory(directory.getAbsolutePath());
+        factory.getLock("preparation#1234").lock(); // never unlocked
+
+        // when
+        factory.close();
+
+        // then
+        for (File file : directory.listFiles()) {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE);
+                    FileLock lock = channel.tryLock()) {
+                assertNotNull(lock);
+            }
+        }
+    }
+
+    @Test(expected = IllegalMonitorStateException.class)
+    public void shouldNotUnlockLockNotHeld() throws Exception {
+        // given
+        createFactory("");
+
+        // when
+        factory.getLock("preparation#1234").unlock();
+    }
+
+    private static boolean runInOtherThread(Supplier<Boolean> supplier) throws Exception {
+        return CompletableFuture.supplyAsync(supplier).get(5, TimeUnit.SECONDS);
+    }
+}
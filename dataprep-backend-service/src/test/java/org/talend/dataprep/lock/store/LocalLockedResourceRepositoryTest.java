@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * This source code is available under agreement available at
+ * https://github.com/Talend/data-prep/blob/master/LICENSE
+ *
+ * You should have received a copy of the agreement
+ * along with this program; if not, write to Talend SA
+ * 9 rue Pages 92150 Suresnes, France
+ */
+
+package org.talend.dataprep.lock.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.talend.dataprep.exception.error.CommonErrorCodes.CONFLICT_TO_LOCK_RESOURCE;
+import static org.talend.dataprep.exception.error.CommonErrorCodes.CONFLICT_TO_UNLOCK_RESOURCE;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.preparation.store.PersistentPreparation;
+import org.talend.dataprep.preparation.store.PreparationRepository;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LocalLockedResourceRepositoryTest {
+
+    private static final String PREPARATION_ID = "preparation id";
+
+    @InjectMocks
+    private LocalLockedResourceRepository repository;
+
+    @Mock
+    private PreparationRepository preparationRepository;
+
+    private PersistentPreparation preparation;
+
+    @Before
+    public void setUp() {
+        ReflectionTestUtils.setField(repository, "timeout", 100L);
+        ReflectionTestUtils.setField(repository, "delay", 600L);
+        preparation = mock(PersistentPreparation.class);
+        when(preparationRepository.get(PREPARATION_ID, PersistentPreparation.class)).thenReturn(preparation);
+    }
+
+    @Test
+    public void shouldLockTwiceForSameUser() {
+        // when
+        repository.tryLock(PREPARATION_ID, "toto", "Toto");
+        final PersistentPreparation locked = repository.tryLock(PREPARATION_ID, "toto", "Toto");
+        repository.unlock(PREPARATION_ID, "toto");
+
+        // then
+        assertEquals(preparation, locked);
+        assertLockedBy("toto");
+    }
+
+    @Test
+    public void shouldFailWhenLockedByOtherUser() {
+        // given
+        repository.tryLock(PREPARATION_ID, "toto", "Toto");
+
+        // when
+        try {
+            repository.tryLock(PREPARATION_ID, "titi", "Titi");
+            fail();
+        } catch (TDPException e) {
+            // then
+            assertEquals(CONFLICT_TO_LOCK_RESOURCE, e.getCode());
+        }
+    }
+
+    @Test
+    public void shouldNotUnlockForOtherUser() {
+        // given
+        repository.tryLock(PREPARATION_ID, "toto", "Toto");
+
+        // when
+        try {
+            repository.unlock(PREPARATION_ID, "titi");
+            fail();
+        } catch (TDPException e) {
+            // then
+            assertEquals(CONFLICT_TO_UNLOCK_RESOURCE, e.getCode());
+        }
+    }
+
+    @Test
+    public void shouldWaitForOtherUser() throws Exception {
+        // given
+        ReflectionTestUtils.setField(repository, "timeout", 5000L);
+        repository.tryLock(PREPARATION_ID, "toto", "Toto");
+        final CompletableFuture<PersistentPreparation> titi =
+                CompletableFuture.supplyAsync(() -> repository.tryLock(PREPARATION_ID, "titi", "Titi"));
+
+        // when
+        repository.unlock(PREPARATION_ID, "toto");
+
+        // then
+        assertEquals(preparation, titi.get(5, TimeUnit.SECONDS));
+        assertLockedBy("titi");
+    }
+
+    @Test
+    public void shouldExpireLock() {
+        // given
+        ReflectionTestUtils.setField(repository, "delay", 0L);
+        repository.tryLock(PREPARATION_ID, "toto", "Toto");
+
+        // when
+        final PersistentPreparation locked = repository.tryLock(PREPARATION_ID, "titi", "Titi");
+
+        // then
+        assertEquals(preparation, locked);
+    }
+
+    private void assertLockedBy(String userId) {
+        try {
+            repository.tryLock(PREPARATION_ID, userId + "-other", "Other");
+            fail();
+        } catch (TDPException e) {
+            assertEquals(CONFLICT_TO_LOCK_RESOURCE, e.getCode());
+        }
+    }
+}
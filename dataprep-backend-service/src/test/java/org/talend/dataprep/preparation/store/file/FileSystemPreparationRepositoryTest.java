@@ -177,6 +177,22 @@ public class FileSystemPreparationRepositoryTest extends PreparationRepositoryTe
         assertTrue(actual.contains(expected));
     }
 
+    @Test
+    public void shouldKeepIndexInSyncOnAddAndRemove() {
+        // given
+        final Preparation preparation = getPreparation("index-4568");
+        repository.add(preparation);
+        assertTrue(repository.exist(Preparation.class, eq("dataSetId", "index-4568")));
+        assertEquals(1, repository.count(Preparation.class, eq("dataSetId", "index-4568")));
+
+        // when
+        repository.remove(preparation);
+
+        // then
+        assertFalse(repository.exist(Preparation.class, eq("dataSetId", "index-4568")));
+        assertEquals(0, repository.count(Preparation.class, eq("dataSetId", "index-4568")));
+    }
+
     /**
      * @param datasetId the preparation id.
      * @return a preparation with a root step an a the given dataset id.
@@ -16,6 +16,9 @@ import static org.talend.tql.api.TqlBuilder.eq;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -23,12 +26,17 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.talend.dataprep.api.preparation.Action;
 import org.talend.dataprep.api.preparation.Preparation;
+import org.talend.dataprep.api.preparation.PreparationActions;
 import org.talend.dataprep.api.preparation.Step;
 import org.talend.dataprep.conversions.BeanConversionService;
+import org.talend.dataprep.preparation.store.PersistentPreparationActions;
 import org.talend.dataprep.preparation.store.PersistentPreparationRepository;
+import org.talend.dataprep.preparation.store.PersistentStep;
 import org.talend.dataprep.preparation.store.PreparationRepository;
 import org.talend.dataprep.preparation.store.PreparationRepositoryTest;
+import org.talend.dataprep.preparation.store.StepChain;
 
 /**
  * Unit test for the InMemoryPreparationRepository.
@@ -90,6 +98,125 @@ public class InMemoryPreparationRepositoryTest extends PreparationRepositoryTest
         }
     }
 
+    @Test
+    public void shouldRebuildDeltaEncodedActions() {
+        // given
+        final Action first = getAction("uppercase", "0001");
+        final Action second = getAction("lowercase", "0002");
+        final PreparationActions firstActions = new PreparationActions();
+        firstActions.setActions(Collections.singletonList(first));
+        final PreparationActions secondActions = new PreparationActions();
+        secondActions.setActions(Arrays.asList(first, second));
+
+        final PersistentPreparationActions firstDelta = new PersistentPreparationActions();
+        firstDelta.setId(firstActions.id());
+        firstDelta.setParentId(PreparationActions.ROOT_ACTIONS.id());
+        firstDelta.setActions(Collections.singletonList(first));
+        final PersistentPreparationActions secondDelta = new PersistentPreparationActions();
+        secondDelta.setId(secondActions.id());
+        secondDelta.setParentId(firstActions.id());
+        secondDelta.setActions(Collections.singletonList(second));
+
+        // when
+        repository.add(firstDelta);
+        repository.add(secondDelta);
+
+        // then
+        final PreparationActions actual = repository.get(secondActions.id(), PreparationActions.class);
+        Assert.assertNotNull(actual);
+        Assert.assertEquals(secondActions.id(), actual.id());
+        Assert.assertEquals(2, actual.getActions().size());
+        Assert.assertEquals("uppercase", actual.getActions().get(0).getName());
+        Assert.assertEquals("lowercase", actual.getActions().get(1).getName());
+    }
+
+    @Test
+    public void shouldLoadStepChainWithDeltaEncodedActions() {
+        // given
+        final PersistentPreparationActions firstDelta = new PersistentPreparationActions();
+        firstDelta.setId("first_content");
+        firstDelta.setParentId(PreparationActions.ROOT_ACTIONS.id());
+        firstDelta.setActions(Collections.singletonList(getAction("uppercase", "0001")));
+        final PersistentPreparationActions secondDelta = new PersistentPreparationActions();
+        secondDelta.setId("second_content");
+        secondDelta.setParentId(firstDelta.id());
+        secondDelta.setActions(Collections.singletonList(getAction("lowercase", "0002")));
+        repository.add(firstDelta);
+        repository.add(secondDelta);
+        repository.add(getPersistentStep("first", Step.ROOT_STEP.id(), firstDelta.id()));
+        repository.add(getPersistentStep("second", "first", secondDelta.id()));
+
+        // when
+        final StepChain chain = repository.getStepChain("second", Step.ROOT_STEP.id(), true);
+        final StepChain limitedChain = repository.getStepChain("second", "first", false);
+
+        // then
+        Assert.assertEquals(Arrays.asList(Step.ROOT_STEP.id(), "first", "second"), chain.getStepIds());
+        Assert.assertTrue(chain.getActions(Step.ROOT_STEP.id()).isEmpty());
+        Assert.assertEquals(1, chain.getActions("first").size());
+        Assert.assertEquals(2, chain.getActions("second").size());
+        Assert.assertEquals("uppercase", chain.getActions("second").get(0).getName());
+        Assert.assertEquals("lowercase", chain.getActions("second").get(1).getName());
+        Assert.assertEquals(Arrays.asList("first", "second"), limitedChain.getStepIds());
+        Assert.assertTrue(limitedChain.getActions("second").isEmpty());
+        Assert.assertTrue(repository.getStepChain("unknown", Step.ROOT_STEP.id(), true).isEmpty());
+    }
+
+    @Test
+    public void shouldPreferFullActionsWrittenAfterDelta() {
+        // given
+        final Action first = getAction("uppercase", "0001");
+        final PreparationActions fullActions = new PreparationActions();
+        fullActions.setActions(Collections.singletonList(first));
+        final PersistentPreparationActions delta = new PersistentPreparationActions();
+        delta.setId(fullActions.id());
+        delta.setParentId(PreparationActions.ROOT_ACTIONS.id());
+        delta.setActions(Collections.singletonList(getAction("lowercase", "0001")));
+        repository.add(delta);
+
+        // when (e.g. a migration rewrites the full list of actions)
+        repository.add(fullActions);
+
+        // then
+        final PreparationActions actual = repository.get(fullActions.id(), PreparationActions.class);
+        Assert.assertNotNull(actual);
+        Assert.assertEquals(1, actual.getActions().size());
+        Assert.assertEquals("uppercase", actual.getActions().get(0).getName());
+        Assert.assertEquals(0, repository.list(PersistentPreparationActions.class).count());
+    }
+
+    @Test
+    public void shouldNotRebuildDeltaEncodedActionsWithMissingParent() {
+        // given
+        final PersistentPreparationActions delta = new PersistentPreparationActions();
+        delta.setId("delta");
+        delta.setParentId("missing");
+        delta.setActions(Collections.singletonList(getAction("uppercase", "0001")));
+
+        // when
+        repository.add(delta);
+
+        // then
+        Assert.assertNull(repository.get("delta", PreparationActions.class));
+    }
+
+    private Action getAction(String name, String columnId) {
+        final Action action = new Action();
+        action.setName(name);
+        final Map<String, String> parameters = new HashMap<>();
+        parameters.put("column_id", columnId);
+        action.setParameters(parameters);
+        return action;
+    }
+
+    private PersistentStep getPersistentStep(String id, String parentId, String contentId) {
+        final PersistentStep step = new PersistentStep();
+        step.setId(id);
+        step.setParentId(parentId);
+        step.setContent(contentId);
+        return step;
+    }
+
     /**
      * Helper method that only generates a step but simplify code.
      */
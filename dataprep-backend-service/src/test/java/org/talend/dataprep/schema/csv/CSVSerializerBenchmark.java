@@ -0,0 +1,131 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.schema.csv;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.talend.dataprep.schema.csv.CSVFormatFamily.SEPARATOR_PARAMETER;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.json.DataSetRowIterator;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.type.Type;
+
+/**
+ * Micro benchmark comparing the CSV to JSON to {@link DataSetRow} path with the direct CSV to {@link DataSetRow} path
+ * of {@link CSVSerializer}. Ignored by default as it generates a multi-million lines CSV file, run it manually.
+ */
+@Ignore("Micro benchmark, run manually")
+public class CSVSerializerBenchmark {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CSVSerializerBenchmark.class);
+
+    private static final int LINES = 2_000_000;
+
+    private static final int COLUMNS = 10;
+
+    private static final int ITERATIONS = 5;
+
+    private static File csv;
+
+    private final CSVSerializer serializer;
+
+    private final DataSetMetadata metadata;
+
+    public CSVSerializerBenchmark() {
+        serializer = new CSVSerializer();
+        ReflectionTestUtils.setField(serializer, "executor", new SimpleAsyncTaskExecutor());
+        ReflectionTestUtils.setField(serializer, "defaultTextEnclosure", "\"");
+        ReflectionTestUtils.setField(serializer, "defaultEscapeChar", "\u0000");
+
+        List<ColumnMetadata> columns = new ArrayList<>(COLUMNS);
+        for (int i = 0; i < COLUMNS; i++) {
+            columns.add(ColumnMetadata.Builder.column().id(i).name("column" + i).type(Type.STRING).build());
+        }
+        metadata = new DataSetMetadata();
+        metadata.setId(UUID.randomUUID().toString());
+        metadata.getContent().addParameter(SEPARATOR_PARAMETER, ";");
+        metadata.getContent().setNbLinesInHeader(1);
+        metadata.setRowMetadata(new RowMetadata(columns));
+    }
+
+    @BeforeClass
+    public static void generateContent() throws IOException {
+        csv = File.createTempFile("benchmark", ".csv");
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(csv), UTF_8))) {
+            for (int i = 0; i < COLUMNS; i++) {
+                writer.write((i > 0 ? ";" : "") + "column" + i);
+            }
+            writer.write('\n');
+            for (int line = 0; line < LINES; line++) {
+                for (int i = 0; i < COLUMNS; i++) {
+                    writer.write((i > 0 ? ";" : "") + "value " + line + '-' + i);
+                }
+                writer.write('\n');
+            }
+        }
+    }
+
+    @AfterClass
+    public static void deleteContent() throws IOException {
+        Files.deleteIfExists(csv.toPath());
+    }
+
+    @Test
+    public void jsonPipe() throws IOException {
+        for (int i = 0; i < ITERATIONS; i++) {
+            final long start = System.currentTimeMillis();
+            long count = 0;
+            try (InputStream json = serializer.serialize(open(), metadata, -1)) {
+                final DataSetRowIterator iterator = new DataSetRowIterator(json);
+                while (iterator.hasNext()) {
+                    iterator.next();
+                    count++;
+                }
+            }
+            LOGGER.info("JSON pipe: {} rows in {} ms", count, System.currentTimeMillis() - start);
+        }
+    }
+
+    @Test
+    public void rowStream() throws IOException {
+        for (int i = 0; i < ITERATIONS; i++) {
+            final long start = System.currentTimeMillis();
+            final long count;
+            try (Stream<DataSetRow> rows = serializer.stream(open(), metadata, -1)) {
+                count = rows.count();
+            }
+            LOGGER.info("Row stream: {} rows in {} ms", count, System.currentTimeMillis() - start);
+        }
+    }
+
+    private InputStream open() throws IOException {
+        return new BufferedInputStream(new FileInputStream(csv));
+    }
+}
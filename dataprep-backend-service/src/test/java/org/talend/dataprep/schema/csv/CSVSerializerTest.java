@@ -13,6 +13,8 @@
 package org.talend.dataprep.schema.csv;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
 import static org.talend.dataprep.schema.csv.CSVFormatFamily.ESCAPE_CHAR;
 import static org.talend.dataprep.schema.csv.CSVFormatFamily.SEPARATOR_PARAMETER;
 import static org.talend.dataprep.schema.csv.CSVFormatFamily.TEXT_ENCLOSURE_CHAR;
@@ -23,6 +25,7 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import org.apache.commons.io.IOUtils;
 import org.junit.Assert;
@@ -34,6 +37,8 @@ import org.springframework.test.util.ReflectionTestUtils;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.json.DataSetRowIterator;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.api.type.Type;
 
 /**
@@ -340,6 +345,67 @@ public class CSVSerializerTest {
         JSONAssert.assertEquals(expected, actual, false);
     }
 
+    @Test
+    public void should_stream_same_rows_as_serialized_json() throws IOException {
+        // given
+        DataSetMetadata datasetMetadata = getSimpleDataSetMetadata("first name", "last name");
+        final List<List<String>> expected = new ArrayList<>();
+        final InputStream json =
+                serializer.serialize(this.getClass().getResourceAsStream("simple.csv"), datasetMetadata, -1);
+        new DataSetRowIterator(json).forEachRemaining(r -> expected.add(asList(r.toArray(DataSetRow.SKIP_TDP_ID))));
+
+        // when
+        final List<List<String>> actual;
+        final InputStream inputStream = this.getClass().getResourceAsStream("simple.csv");
+        try (Stream<DataSetRow> rows = serializer.stream(inputStream, datasetMetadata, -1)) {
+            actual = rows.map(r -> asList(r.toArray(DataSetRow.SKIP_TDP_ID))).collect(toList());
+        }
+
+        // then
+        Assert.assertFalse(actual.isEmpty());
+        Assert.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void should_stream_rows_with_limit() throws IOException {
+        // given
+        InputStream inputStream = this.getClass().getResourceAsStream("simple.csv");
+        DataSetMetadata datasetMetadata = getSimpleDataSetMetadata("first name", "last name");
+
+        // when
+        final long count;
+        try (Stream<DataSetRow> rows = serializer.stream(inputStream, datasetMetadata, 1)) {
+            count = rows.count();
+        }
+
+        // then
+        Assert.assertEquals(1, count);
+    }
+
+    @Test
+    public void should_stream_rows_from_reported_position() throws IOException {
+        // given
+        DataSetMetadata datasetMetadata = getSimpleDataSetMetadata("first name", "last name");
+        final List<Long> positions = new ArrayList<>();
+        final List<List<String>> allRows;
+        try (Stream<DataSetRow> rows = serializer.stream(this.getClass().getResourceAsStream("simple.csv"),
+                datasetMetadata, 0, positions::add)) {
+            allRows = rows.map(r -> asList(r.toArray(DataSetRow.SKIP_TDP_ID))).collect(toList());
+        }
+
+        // when
+        final List<List<String>> lastRows;
+        try (Stream<DataSetRow> rows = serializer.stream(this.getClass().getResourceAsStream("simple.csv"),
+                datasetMetadata, positions.get(1), null)) {
+            lastRows = rows.map(r -> asList(r.toArray(DataSetRow.SKIP_TDP_ID))).collect(toList());
+        }
+
+        // then
+        Assert.assertTrue(serializer.isSeekable(datasetMetadata));
+        Assert.assertEquals(allRows.size(), positions.size());
+        Assert.assertEquals(allRows.subList(1, allRows.size()), lastRows);
+    }
+
     private DataSetMetadata getSimpleDataSetMetadata(String... columnsName) {
         List<ColumnMetadata> columns = new ArrayList<>(columnsName.length);
         for (int i = 0; i < columnsName.length; i++) {
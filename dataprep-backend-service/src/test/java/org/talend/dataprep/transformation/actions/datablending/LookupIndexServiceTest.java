@@ -0,0 +1,162 @@
+package org.talend.dataprep.transformation.actions.datablending;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSet;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.type.Type;
+import org.talend.dataprep.dataset.adapter.DatasetClient;
+
+public class LookupIndexServiceTest {
+
+    private final DatasetClient datasetClient = mock(DatasetClient.class);
+
+    private final LookupIndexService service = new LookupIndexService();
+
+    private Path directory;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("lookup");
+        when(datasetClient.getDataSet("states", true)).then((Answer<DataSet>) invocation -> {
+            final DataSet dataSet = new DataSet();
+            dataSet.setMetadata(metadata(0));
+            dataSet.setRecords(Stream.of(row("NY", "New York"), row("CA", "California")));
+            return dataSet;
+        });
+        ReflectionTestUtils.setField(service, "location", directory.toString());
+        ReflectionTestUtils.setField(service, "timeToLive", 60000L);
+        ReflectionTestUtils.setField(service, "datasetClient", datasetClient);
+        service.init();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FileUtils.deleteDirectory(directory.toFile());
+    }
+
+    @Test
+    public void shouldBuildIndexOnceAndShareIt() throws Exception {
+        // when
+        final LookupIndex first = service.getIndex(metadata(1), "0000");
+        final LookupIndex second = service.getIndex(metadata(1), "0000");
+
+        // then
+        assertSame(first, second);
+        assertArrayEquals(new String[] { "NY", "New York" }, first.get("NY"));
+        verify(datasetClient, times(1)).getDataSet("states", true);
+        assertEquals(1, indexFileCount());
+    }
+
+    @Test
+    public void shouldReplaceIndexOfOlderVersion() throws Exception {
+        // given
+        final LookupIndex previous = service.getIndex(metadata(1), "0000");
+        previous.release();
+
+        // when
+        final LookupIndex index = service.getIndex(metadata(2), "0000");
+
+        // then
+        assertNotSame(previous, index);
+        assertArrayEquals(new String[] { "CA", "California" }, index.get("CA"));
+        assertFalse(previous.acquire()); // released once replaced
+        verify(datasetClient, times(2)).getDataSet("states", true);
+        assertEquals(1, indexFileCount());
+    }
+
+    @Test
+    public void shouldKeepIndexOfNewerVersion() throws Exception {
+        // given
+        final LookupIndex newer = service.getIndex(metadata(2), "0000");
+
+        // when
+        final LookupIndex index = service.getIndex(metadata(1), "0000");
+
+        // then
+        assertSame(newer, index);
+        verify(datasetClient, times(1)).getDataSet("states", true);
+    }
+
+    @Test
+    public void shouldKeepReplacedIndexUntilReleased() throws Exception {
+        // given
+        final LookupIndex previous = service.getIndex(metadata(1), "0000");
+
+        // when
+        service.getIndex(metadata(2), "0000");
+
+        // then
+        assertArrayEquals(new String[] { "NY", "New York" }, previous.get("NY"));
+        previous.release();
+        assertFalse(previous.acquire());
+    }
+
+    @Test
+    public void shouldRemoveUnusedIndexes() throws Exception {
+        // given
+        final LookupIndex index = service.getIndex(metadata(1), "0000");
+        index.release();
+        ReflectionTestUtils.setField(service, "timeToLive", -1L);
+
+        // when
+        service.clean();
+
+        // then
+        assertEquals(0, indexFileCount());
+        assertFalse(index.acquire());
+        ReflectionTestUtils.setField(service, "timeToLive", 60000L);
+        assertTrue(service.getIndex(metadata(1), "0000").acquire());
+        verify(datasetClient, times(2)).getDataSet("states", true);
+    }
+
+    private long indexFileCount() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static DataSetMetadata metadata(long version) {
+        final DataSetMetadata metadata = new DataSetMetadata();
+        metadata.setId("states");
+        metadata.setLastModificationDate(version);
+        metadata.setRowMetadata(new RowMetadata(asList(column(0), column(1))));
+        return metadata;
+    }
+
+    private static ColumnMetadata column(int id) {
+        return ColumnMetadata.Builder.column().id(id).name("column" + id).type(Type.STRING).build();
+    }
+
+    private static DataSetRow row(String key, String value) {
+        final Map<String, String> values = new HashMap<>();
+        values.put("0000", key);
+        values.put("0001", value);
+        return new DataSetRow(values);
+    }
+}
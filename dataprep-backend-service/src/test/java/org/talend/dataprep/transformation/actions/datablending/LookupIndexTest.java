@@ -0,0 +1,90 @@
+package org.talend.dataprep.transformation.actions.datablending;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+
+public class LookupIndexTest {
+
+    private Path directory;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("lookup");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FileUtils.deleteDirectory(directory.toFile());
+    }
+
+    @Test
+    public void shouldReturnValuesOfFirstMatchingRow() throws Exception {
+        // given
+        final List<DataSetRow> rows = asList(row("NY", "New York"), row("CA", "California"), row("NY", "Duplicate"),
+                row(null, "No key"));
+        final Path file = directory.resolve("states.idx");
+
+        // when
+        LookupIndex.write(file, asList("0000", "0001"), "0000", rows.iterator());
+        final LookupIndex index = LookupIndex.open(file);
+
+        // then
+        assertEquals(asList("0000", "0001"), index.getColumnIds());
+        assertEquals(3, index.size());
+        assertArrayEquals(new String[] { "NY", "New York" }, index.get("NY"));
+        assertArrayEquals(new String[] { "CA", "California" }, index.get("CA"));
+        assertNull(index.get("TX"));
+    }
+
+    @Test
+    public void shouldIndexManyRows() throws Exception {
+        // given
+        final List<DataSetRow> rows = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            rows.add(row("key" + i, i % 2 == 0 ? "value" + i : null));
+        }
+        final Path file = directory.resolve("many.idx");
+
+        // when
+        LookupIndex.write(file, asList("0000", "0001"), "0000", rows.iterator());
+        final LookupIndex index = LookupIndex.open(file);
+
+        // then
+        assertEquals(10000, index.size());
+        assertArrayEquals(new String[] { "key4242", "value4242" }, index.get("key4242"));
+        assertArrayEquals(new String[] { "key4243", null }, index.get("key4243"));
+        assertNull(index.get("key10000"));
+    }
+
+    @Test
+    public void shouldNotOpenUnknownFormat() throws Exception {
+        // given
+        final Path file = directory.resolve("unknown.idx");
+        Files.write(file, "not an index".getBytes());
+
+        // then
+        assertNull(LookupIndex.open(file));
+    }
+
+    private static DataSetRow row(String key, String value) {
+        final Map<String, String> values = new HashMap<>();
+        values.put("0000", key);
+        values.put("0001", value);
+        return new DataSetRow(values);
+    }
+}
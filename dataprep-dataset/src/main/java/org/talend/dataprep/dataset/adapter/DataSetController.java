@@ -22,10 +22,8 @@ import static org.talend.dataprep.dataset.adapter.Dataset.CertificationState.CER
 import static org.talend.dataprep.util.SortAndOrderHelper.Order;
 import static org.talend.dataprep.util.SortAndOrderHelper.Sort;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.stream.Stream;
 
@@ -34,15 +32,17 @@ import org.apache.avro.generic.GenericDatumWriter;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.io.Encoder;
 import org.apache.avro.io.EncoderFactory;
-import org.springframework.core.io.InputStreamResource;
-import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.InitBinder;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.talend.daikon.exception.TalendRuntimeException;
 import org.talend.dataprep.BaseErrorCodes;
 import org.talend.dataprep.api.dataset.DataSet;
@@ -122,10 +122,23 @@ public class DataSetController {
     }
 
     @GetMapping(value = "/{datasetId}/content", produces = AvroUtils.AVRO_BINARY_MIME_TYPES_UNOFFICIAL_VALID_VALUE)
-    public Resource getDatasetContent(@PathVariable String datasetId, @RequestParam(defaultValue = "0") long offset,
-            @RequestParam(defaultValue = "-1") long limit) {
-        InputStream result;
-        Callable<DataSet> dataSetCallable = dataSetService.get(true, true, limit, EMPTY, datasetId);
+    public StreamingResponseBody getDatasetContent(@PathVariable String datasetId,
+            @RequestParam(defaultValue = "0") long offset, @RequestParam(defaultValue = "-1") long limit) {
+        return getDatasetContent(datasetId, limit, null);
+    }
+
+    /**
+     * Returns the records of a dataset with the given TDP ids, ids are sent in body as a JSON array.
+     */
+    @PostMapping(value = "/{datasetId}/content", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = AvroUtils.AVRO_BINARY_MIME_TYPES_UNOFFICIAL_VALID_VALUE)
+    public StreamingResponseBody getDatasetContentByIds(@PathVariable String datasetId,
+            @RequestBody List<Long> tdpIds) {
+        return getDatasetContent(datasetId, -1, tdpIds);
+    }
+
+    private StreamingResponseBody getDatasetContent(String datasetId, long limit, List<Long> tdpIds) {
+        Callable<DataSet> dataSetCallable = dataSetService.get(true, true, limit, EMPTY, datasetId, tdpIds);
         Stream<DataSetRow> records = Stream.empty();
         DataSetMetadata metadata = null;
         try {
@@ -140,32 +153,30 @@ public class DataSetController {
         }
 
         if (metadata == null) {
+            records.close();
             throw new TDPException(DataSetErrorCodes.UNABLE_TO_SERVE_DATASET_CONTENT, build().put("id", datasetId));
         }
 
         Schema schema = AvroUtils.toSchema(metadata.getRowMetadata());
         GenericDatumWriter<GenericRecord> writer = new GenericDatumWriter<>(schema);
 
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-            Encoder encoder = EncoderFactory.get().binaryEncoder(outputStream, null);
-
-            records
-                    .map(AvroUtils.buildToGenericRecordConverter(schema)) //
-                    .forEach(record -> {
-                        try {
-                            writer.write(record, encoder);
-                        } catch (IOException e) {
-                            throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e);
-                        }
-                    });
-            encoder.flush();
-            result = new ByteArrayInputStream(outputStream.toByteArray());
-        } catch (IOException e) {
-            throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e);
-        } finally {
-            records.close();
-        }
-        return new InputStreamResource(result);
+        // Records are encoded while being sent (no full copy of content in memory)
+        final Stream<DataSetRow> content = records;
+        return outputStream -> {
+            try (Stream<DataSetRow> rows = content) {
+                Encoder encoder = EncoderFactory.get().binaryEncoder(outputStream, null);
+                rows
+                        .map(AvroUtils.buildToGenericRecordConverter(schema)) //
+                        .forEach(record -> {
+                            try {
+                                writer.write(record, encoder);
+                            } catch (IOException e) {
+                                throw new TalendRuntimeException(BaseErrorCodes.UNEXPECTED_EXCEPTION, e);
+                            }
+                        });
+                encoder.flush();
+            }
+        };
     }
 
 }
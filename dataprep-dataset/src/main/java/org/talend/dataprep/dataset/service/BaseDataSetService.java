@@ -108,13 +108,18 @@ public abstract class BaseDataSetService {
      */
     protected final void analyzeDataSet(String id, List<Class<? extends DataSetAnalyzer>> analysersToSkip) {
         // Calls all synchronous analysis first
-        for (SynchronousDataSetAnalyzer synchronousDataSetAnalyzer : synchronousAnalyzers) {
-            if (analysersToSkip.contains(synchronousDataSetAnalyzer.getClass())) {
-                continue;
+        try {
+            for (SynchronousDataSetAnalyzer synchronousDataSetAnalyzer : synchronousAnalyzers) {
+                if (analysersToSkip.contains(synchronousDataSetAnalyzer.getClass())) {
+                    continue;
+                }
+                LOG.info("Running {}", synchronousDataSetAnalyzer.getClass());
+                synchronousDataSetAnalyzer.analyze(id);
+                LOG.info("Done running {}", synchronousDataSetAnalyzer.getClass());
             }
-            LOG.info("Running {}", synchronousDataSetAnalyzer.getClass());
-            synchronousDataSetAnalyzer.analyze(id);
-            LOG.info("Done running {}", synchronousDataSetAnalyzer.getClass());
+        } finally {
+            // synchronous analyses are done with the content kept in memory during import
+            contentStore.releaseHead(id);
         }
 
         // important log here (TDP-4137)
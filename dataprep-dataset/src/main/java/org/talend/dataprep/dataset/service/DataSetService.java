@@ -100,6 +100,8 @@ import org.talend.dataprep.cache.ContentCache.TimeToLive;
 import org.talend.dataprep.conversions.BeanConversionService;
 import org.talend.dataprep.dataset.DataSetMetadataBuilder;
 import org.talend.dataprep.dataset.StatisticsAdapter;
+import org.talend.dataprep.dataset.adapter.DatasetMetadataCache;
+import org.talend.dataprep.dataset.event.DatasetDeletedEvent;
 import org.talend.dataprep.dataset.event.DatasetImportedEvent;
 import org.talend.dataprep.dataset.event.DatasetUpdatedEvent;
 import org.talend.dataprep.dataset.service.analysis.synchronous.ContentAnalysis;
@@ -225,6 +227,9 @@ public class DataSetService extends BaseDataSetService {
     @Autowired
     private DataSetContentLimit dataSetContentLimit;
 
+    @Autowired
+    private DatasetMetadataCache datasetMetadataCache;
+
     @RequestMapping(value = "/datasets", method = RequestMethod.GET)
     @ApiOperation(value = "List all data sets and filters on certified, or favorite or a limited number when asked",
             notes = "Returns the list of data sets (and filters) the current user is allowed to see. Creation date is a Epoch time value (in UTC time zone).")
@@ -468,6 +473,22 @@ public class DataSetService extends BaseDataSetService {
                     defaultValue = "") String filter,
             @PathVariable(value = "id") @ApiParam(name = "id",
                     value = "Id of the requested data set") String dataSetId) {
+        return get(metadata, includeInternalContent, limit, filter, dataSetId, null);
+    }
+
+    /**
+     * Returns the data set content for given id, possibly restricted to some rows.
+     *
+     * @param metadata If <code>true</code>, includes data set metadata information.
+     * @param includeInternalContent If <code>true</code>, includes internal content (see {@link FlagNames}).
+     * @param limit The maximum number of rows to read (-1 for no limit).
+     * @param filter Filter for retrieved content.
+     * @param dataSetId A data set id.
+     * @param tdpIds If not <code>null</code>, only returns the rows with these TDP ids (limit is then ignored).
+     * @return The data set.
+     */
+    public Callable<DataSet> get(boolean metadata, boolean includeInternalContent, long limit, String filter,
+            String dataSetId, List<Long> tdpIds) {
         return () -> {
             final Marker marker = Markers.dataset(dataSetId);
             LOG.debug(marker, "Get data set #{}", dataSetId);
@@ -480,10 +501,14 @@ public class DataSetService extends BaseDataSetService {
                 if (metadata) {
                     dataSet.setMetadata(conversionService.convert(dataSetMetadata, UserDataSetMetadata.class));
                 }
-                stream = contentStore.stream(dataSetMetadata, limit); // Disable line limit
+                if (tdpIds != null) {
+                    stream = contentStore.stream(dataSetMetadata, tdpIds);
+                } else {
+                    stream = contentStore.stream(dataSetMetadata, limit); // Disable line limit
+                }
 
-                // on-demand analyzer for dataset (See TDP-4404, migration problems)
-                if (dataSetMetadata.getRowMetadata().getColumns().stream().anyMatch(
+                // on-demand analyzer for dataset (See TDP-4404, migration problems), needs all rows
+                if (tdpIds == null && dataSetMetadata.getRowMetadata().getColumns().stream().anyMatch(
                         c -> c.getStatistics().getWordPatternFrequencyTable().isEmpty())) {
                     stream = insertWordPatternAnalysis(dataSetMetadata, stream);
                 }
@@ -608,6 +633,7 @@ public class DataSetService extends BaseDataSetService {
                 // first remove the metadata as there may be additional check
                 dataSetMetadataRepository.remove(dataSetId);
                 contentStore.delete(metadata);
+                publisher.publishEvent(new DatasetDeletedEvent(dataSetId));
             } else {
                 HttpResponseContext.status(HttpStatus.NOT_FOUND);
             }
@@ -682,6 +708,7 @@ public class DataSetService extends BaseDataSetService {
             try (InputStream content = contentStore.getAsRaw(original)) {
                 contentStore.storeAsRaw(target, content);
             }
+            contentStore.releaseHead(newId); // copied data set is not analyzed
 
             LOG.debug(marker, "Content stored.");
 
@@ -1171,6 +1198,9 @@ public class DataSetService extends BaseDataSetService {
         } finally {
             lock.unlock();
         }
+
+        // dataset metadata may be cached (an update event would trigger a full statistics analysis)
+        datasetMetadataCache.invalidate(dataSetId);
     }
 
     /**
@@ -15,13 +15,24 @@ package org.talend.dataprep.dataset.service.analysis.asynchronous;
 
 import static org.talend.dataprep.exception.error.DataSetErrorCodes.UNABLE_TO_ANALYZE_DATASET_QUALITY;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
+import javax.annotation.Resource;
+
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
@@ -31,6 +42,7 @@ import org.talend.dataprep.dataset.service.analysis.DataSetAnalyzer;
 import org.talend.dataprep.dataset.store.content.ContentStoreRouter;
 import org.talend.dataprep.dataset.store.metadata.DataSetMetadataRepository;
 import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.exception.error.CommonErrorCodes;
 import org.talend.dataprep.lock.DistributedLock;
 import org.talend.dataprep.quality.AnalyzerService;
 import org.talend.dataquality.common.inference.Analyzer;
@@ -39,6 +51,12 @@ import org.talend.dataquality.common.inference.ValueQualityStatistics;
 
 /**
  * Compute statistics analysis on the full dataset.
+ * <p>
+ * Dataset content is read once: each row is given to the base (schema) analyzer by the reading thread and handed over
+ * to the advanced analyzer(s) running in their own thread(s). Base statistics are saved once all rows are read, while
+ * advanced analysis completes the rows still queued for it (reading is paused when these queues are full, so advanced
+ * statistics follow shortly). Advanced analysis can be partitioned on several threads
+ * (<code>dataset.analysis.advanced.partitions</code>), partial results are then merged.
  */
 @Component
 public class BackgroundAnalysis {
@@ -62,6 +80,18 @@ public class BackgroundAnalysis {
     @Autowired
     StatisticsAdapter adapter;
 
+    /** Number of threads (each with its own analyzer) for advanced analysis, analyzers must support merge if > 1. */
+    @Value("${dataset.analysis.advanced.partitions:1}")
+    int advancedPartitions = 1;
+
+    /** Number of rows waiting for advanced analysis (per partition) before reading of content is paused. */
+    @Value("${dataset.analysis.advanced.queue.size:1024}")
+    int queueSize = 1024;
+
+    /** Executor of the advanced analyses. */
+    @Resource(name = "analysis#advanced#executor")
+    AsyncTaskExecutor executor;
+
     /**
      * @see DataSetAnalyzer#analyze
      */
@@ -89,29 +119,48 @@ public class BackgroundAnalysis {
                     metadata.getId());
             return; // no acknowledge to allow re-poll.
         }
-        // base analysis
-        try (final Stream<DataSetRow> stream = store.stream(metadata)) {
-            try (Analyzer<Analyzers.Result> analyzer = analyzerService.schemaAnalysis(columns)) {
-                computeStatistics(analyzer, columns, stream);
+        final int partitions = Math.max(1, advancedPartitions);
+        final List<AdvancedAnalysis> advancedAnalyses = new ArrayList<>(partitions);
+        try {
+            for (int i = 0; i < partitions; i++) {
+                final AdvancedAnalysis advancedAnalysis =
+                        new AdvancedAnalysis(analyzerService.advancedAnalysis(columns));
+                advancedAnalyses.add(advancedAnalysis);
+                try {
+                    advancedAnalysis.future = executor.submit(advancedAnalysis);
+                } catch (TaskRejectedException e) {
+                    LOGGER.warn("No thread available for advanced statistics analysis of dataset {}", dataSetId);
+                    throw new TDPException(UNABLE_TO_ANALYZE_DATASET_QUALITY, e);
+                }
+            }
+            // base analysis, in the same pass as advanced analysis
+            try (final Stream<DataSetRow> stream = store.stream(metadata);
+                    Analyzer<Analyzers.Result> analyzer = analyzerService.schemaAnalysis(columns)) {
+                try {
+                    computeStatistics(analyzer, advancedAnalyses, stream);
+                } finally {
+                    advancedAnalyses.forEach(AdvancedAnalysis::end);
+                }
                 LOGGER.debug("Base statistics analysis done for {}", dataSetId);
-                // Save base analysis
+                // Save base analysis (intermediate results while advanced analysis completes)
                 saveAnalyzerResults(analyzer, metadata);
+            } catch (Exception e) {
+                LOGGER.warn("Base statistics analysis, dataset {} generates an error", dataSetId, e);
+                throw new TDPException(UNABLE_TO_ANALYZE_DATASET_QUALITY, e);
             }
-        } catch (Exception e) {
-            LOGGER.warn("Base statistics analysis, dataset {} generates an error", dataSetId, e);
-            throw new TDPException(UNABLE_TO_ANALYZE_DATASET_QUALITY, e);
-        }
-        // advanced analysis
-        try (final Stream<DataSetRow> stream = store.stream(metadata);
-                Analyzer<Analyzers.Result> analyzerAdvanced = analyzerService.advancedAnalysis(columns)) {
-            computeStatistics(analyzerAdvanced, columns, stream);
-            updateNbRecords(metadata, analyzerAdvanced.getResult());
-            LOGGER.debug("Advanced statistics analysis done for {}", dataSetId);
-            // Save advanced analysis
-            saveAnalyzerResults(analyzerAdvanced, metadata);
-        } catch (Exception e) {
-            LOGGER.warn("Advanced statistics analysis, dataset {} generates an error", dataSetId, e);
-            throw new TDPException(UNABLE_TO_ANALYZE_DATASET_QUALITY, e);
+            // advanced analysis
+            try {
+                final Analyzer<Analyzers.Result> analyzerAdvanced = merge(advancedAnalyses);
+                updateNbRecords(metadata, analyzerAdvanced.getResult());
+                LOGGER.debug("Advanced statistics analysis done for {}", dataSetId);
+                // Save advanced analysis
+                saveAnalyzerResults(analyzerAdvanced, metadata);
+            } catch (Exception e) {
+                LOGGER.warn("Advanced statistics analysis, dataset {} generates an error", dataSetId, e);
+                throw new TDPException(UNABLE_TO_ANALYZE_DATASET_QUALITY, e);
+            }
+        } finally {
+            advancedAnalyses.forEach(AdvancedAnalysis::close);
         }
         LOGGER.info("Statistics analysis done for {}", dataSetId);
     }
@@ -143,7 +192,10 @@ public class BackgroundAnalysis {
         }
         // get the analyzer of the first column
         final Analyzers.Result result = results.get(0);
-        if (metadata.getContent().getNbRecords() == 0 && result.exist(ValueQualityStatistics.class)) {
+        // count is unknown, or only known to be greater than the sample of synchronous quality analysis
+        final boolean countUnknown =
+                metadata.getContent().getNbRecords() == 0 || metadata.getLifecycle().isInProgress();
+        if (countUnknown && result.exist(ValueQualityStatistics.class)) {
             final ValueQualityStatistics valueQualityStatistics = result.get(ValueQualityStatistics.class);
             metadata.getContent().setNbRecords(valueQualityStatistics.getCount());
         }
@@ -151,20 +203,109 @@ public class BackgroundAnalysis {
     }
 
     /**
-     * Compute the statistics for the given dataset metadata and content.
+     * Compute the statistics for the given dataset content: rows are analyzed by <code>analyzer</code> and handed over
+     * to <code>advancedAnalyses</code> (in a round robin fashion).
      *
-     * @param analyzer the analyzer to perform.
-     * @param columns the columns metadata.
+     * @param analyzer the analyzer to perform in current thread.
+     * @param advancedAnalyses the analyses performed by other threads.
      * @param stream the content to compute the statistics from.
      */
-    private void computeStatistics(final Analyzer<Analyzers.Result> analyzer, final List<ColumnMetadata> columns,
-            final Stream<DataSetRow> stream) {
-        // Create a content with the expected format for the StatisticsClientJson class
-        stream.map(row -> row.toArray(DataSetRow.SKIP_TDP_ID)).forEach(analyzer::analyze);
+    private void computeStatistics(final Analyzer<Analyzers.Result> analyzer,
+            final List<AdvancedAnalysis> advancedAnalyses, final Stream<DataSetRow> stream) {
+        final int partitions = advancedAnalyses.size();
+        final int[] next = new int[1];
+        stream.map(row -> row.toArray(DataSetRow.SKIP_TDP_ID)).forEach(values -> {
+            analyzer.analyze(values);
+            advancedAnalyses.get(next[0]).add(values);
+            next[0] = (next[0] + 1) % partitions;
+        });
         analyzer.end();
+    }
+
+    /**
+     * Waits for the end of all advanced analyses and merges their results.
+     *
+     * @param advancedAnalyses the advanced analyses, already {@link AdvancedAnalysis#end() ended}.
+     * @return An analyzer that holds the results of all analyses.
+     */
+    private static Analyzer<Analyzers.Result> merge(List<AdvancedAnalysis> advancedAnalyses) throws Exception {
+        Analyzer<Analyzers.Result> merged = null;
+        for (AdvancedAnalysis advancedAnalysis : advancedAnalyses) {
+            final Analyzer<Analyzers.Result> analyzer = advancedAnalysis.future.get();
+            merged = merged == null ? analyzer : merged.merge(analyzer);
+        }
+        return merged;
+    }
+
+    /**
+     * An advanced analysis that consumes rows in its own thread.
+     */
+    private class AdvancedAnalysis implements Callable<Analyzer<Analyzers.Result>> {
 
-        // Store results back in data set
-        adapter.adapt(columns, analyzer.getResult());
+        /** Marks the end of rows. */
+        private final String[] endOfRows = new String[0];
+
+        private final BlockingQueue<String[]> rows = new ArrayBlockingQueue<>(Math.max(1, queueSize));
+
+        private final Analyzer<Analyzers.Result> analyzer;
+
+        private Future<Analyzer<Analyzers.Result>> future;
+
+        private AdvancedAnalysis(Analyzer<Analyzers.Result> analyzer) {
+            this.analyzer = analyzer;
+        }
+
+        /**
+         * Hands over a row to this analysis, waits if analysis is late on rows.
+         */
+        private void add(String[] row) {
+            try {
+                while (!rows.offer(row, 1, TimeUnit.SECONDS)) {
+                    if (future.isDone()) {
+                        future.get(); // Throws the analysis failure
+                        throw new IllegalStateException("Advanced analysis ended before end of rows.");
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+            } catch (Exception e) {
+                throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+            }
+        }
+
+        /**
+         * Signals the end of rows to this analysis.
+         */
+        private void end() {
+            if (!future.isDone()) {
+                add(endOfRows);
+            }
+        }
+
+        @Override
+        public Analyzer<Analyzers.Result> call() throws Exception {
+            String[] row;
+            while ((row = rows.take()) != endOfRows) {
+                analyzer.analyze(row);
+            }
+            analyzer.end();
+            return analyzer;
+        }
+
+        /**
+         * Stops this analysis (if still running) and releases its analyzer.
+         */
+        private void close() {
+            if (future != null) {
+                future.cancel(true);
+            }
+            try {
+                analyzer.close();
+            } catch (Exception e) {
+                LOGGER.debug("Unable to close advanced analyzer.", e);
+            }
+        }
     }
 
 }
@@ -72,7 +72,13 @@ public class ContentAnalysis implements SynchronousDataSetAnalyzer {
                 LOG.info("Indexing content of data set #{}...", metadata.getId());
 
                 updateHeaderAndFooter(metadata);
-                updateLimit(metadata);
+                // row index and limit need the same read of content: only read it once when content is indexed
+                final long indexedRows = storeRowOffsetIndex(metadata);
+                if (indexedRows < 0) {
+                    updateLimit(metadata);
+                } else if (indexedRows > sizeLimit) {
+                    metadata.getContent().setLimit(sizeLimit);
+                }
 
                 metadata.getLifecycle().contentIndexed(true);
 
@@ -126,6 +132,22 @@ public class ContentAnalysis implements SynchronousDataSetAnalyzer {
         }
     }
 
+    /**
+     * Stores the row offset index of the dataset content (needs the header information). A failure is not an analysis
+     * failure: rows are then read from content start when looked up by TDP id.
+     *
+     * @param metadata the dataset metadata.
+     * @return the number of indexed rows, or -1 if content was not indexed.
+     */
+    private long storeRowOffsetIndex(DataSetMetadata metadata) {
+        try {
+            return contentStore.storeRowOffsetIndex(metadata);
+        } catch (Exception e) {
+            LOG.warn("Unable to store row index of data set #{}.", metadata.getId(), e);
+            return -1;
+        }
+    }
+
     /**
      * @return this analysis order.
      */
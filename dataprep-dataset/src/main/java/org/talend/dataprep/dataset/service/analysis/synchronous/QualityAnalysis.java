@@ -14,7 +14,6 @@
 package org.talend.dataprep.dataset.service.analysis.synchronous;
 
 import java.util.List;
-import java.util.Objects;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
@@ -94,13 +93,15 @@ public class QualityAnalysis implements SynchronousDataSetAnalyzer {
                 // async).
                 final long dataSetSize = metadata.getContent().getNbRecords();
                 final boolean isNewDataSet = dataSetSize == 0;
+                boolean hasMoreRecords = false;
                 if (isNewDataSet || dataSetSize == maxRecord) {
-                    // If data set size is maxRecord, performs a full scan, otherwise only take first maxRecord
-                    // records.
-                    computeQuality(metadata, stream, dataSetSize == maxRecord ? -1 : maxRecord);
+                    // If data set size is maxRecord, performs a full scan, otherwise only read first maxRecord
+                    // records (content is not read any further).
+                    hasMoreRecords = computeQuality(metadata, stream, dataSetSize == maxRecord ? -1 : maxRecord);
+                    storeInvalidMarkers(metadata);
                 }
                 // Turn on / off "in progress" flag
-                if (isNewDataSet && metadata.getContent().getNbRecords() >= maxRecord) {
+                if (isNewDataSet && hasMoreRecords) {
                     metadata.getLifecycle().setInProgress(true);
                 } else {
                     metadata.getLifecycle().setInProgress(false);
@@ -123,6 +124,20 @@ public class QualityAnalysis implements SynchronousDataSetAnalyzer {
         }
     }
 
+    /**
+     * Stores the invalid cells of the data set so they are not computed again on each content read. A failure is not
+     * an analysis failure: invalid cells are then computed when content is read.
+     *
+     * @param metadata the dataset metadata.
+     */
+    private void storeInvalidMarkers(DataSetMetadata metadata) {
+        try {
+            store.storeInvalidMarkers(metadata);
+        } catch (Exception e) {
+            LOGGER.warn("Unable to store invalid markers of data set #{}.", metadata.getId(), e);
+        }
+    }
+
     /**
      * @see SynchronousDataSetAnalyzer#order()
      */
@@ -133,30 +148,45 @@ public class QualityAnalysis implements SynchronousDataSetAnalyzer {
 
     /**
      * Compute the quality (count, valid, invalid and empty) of the given dataset.
+     * <p>
+     * When <code>limit</code> is not negative, the analysis is sampled: reading of <code>records</code> stops as soon as
+     * the sample is full (plus one record to know if dataset has more records), so analysis cost does not depend on
+     * dataset size. When the dataset has more records, its number of records is set to <code>limit</code> and the
+     * actual count is left to the background analysis.
      *
      * @param dataset the dataset metadata.
      * @param records the dataset records
      * @param limit indicates how many records will be read from stream. Use a number < 0 to perform a full scan of
+     * the records.
+     * @return <code>true</code> if the sampled dataset has more than <code>limit</code> records, <code>false</code>
+     * otherwise.
      */
-    public void computeQuality(DataSetMetadata dataset, Stream<DataSetRow> records, long limit) {
+    public boolean computeQuality(DataSetMetadata dataset, Stream<DataSetRow> records, long limit) {
         // Compute sample / valid / invalid / empty / count, need data types for analyzer first
         final List<ColumnMetadata> columns = dataset.getRowMetadata().getColumns();
         if (columns.isEmpty()) {
             LOGGER.debug("Skip analysis of {} (no column information).", dataset.getId());
-            return;
+            return false;
         }
         try (Analyzer<Analyzers.Result> analyzer = analyzerService.qualityAnalysis(columns)) {
-            AtomicLong sampleRecordsCount = new AtomicLong(0);
-            records.peek(r -> sampleRecordsCount.incrementAndGet()).map(row -> {
-                if (sampleRecordsCount.get() < limit) {
-                    return row.toArray(DataSetRow.SKIP_TDP_ID);
+            final boolean sampled = limit >= 0;
+            final AtomicLong recordsCount = new AtomicLong(0);
+            (sampled ? records.limit(limit + 1) : records).forEach(row -> {
+                if (!sampled || recordsCount.get() < limit) {
+                    analyzer.analyze(row.toArray(DataSetRow.SKIP_TDP_ID));
                 }
-                return null;
-            }).filter(Objects::nonNull).forEach(analyzer::analyze);
+                recordsCount.incrementAndGet();
+            });
             final List<Analyzers.Result> result = analyzer.getResult();
             adapter.adapt(columns, result);
+            final boolean hasMoreRecords = sampled && recordsCount.get() > limit;
             // Remember the number of records of the current sample
-            dataset.getContent().setNbRecords((int) sampleRecordsCount.get());
+            dataset.getContent().setNbRecords((int) (hasMoreRecords ? limit : recordsCount.get()));
+            if (hasMoreRecords) {
+                LOGGER.debug("Dataset #{} has more than {} records, count is left to background analysis.",
+                        dataset.getId(), limit);
+            }
+            return hasMoreRecords;
         } catch (Exception e) {
             throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
         }
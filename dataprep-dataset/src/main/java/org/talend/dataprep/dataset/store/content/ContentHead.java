@@ -0,0 +1,189 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.content;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import org.apache.commons.io.IOUtils;
+
+/**
+ * The first bytes of a data set content, captured while content is stored (see {@link #capture(InputStream, int)}),
+ * so the analyses that only read the beginning of content (format detection, schema parsing...) do not read the
+ * content store again.
+ */
+class ContentHead {
+
+    private final byte[] bytes;
+
+    /** <code>true</code> if {@link #bytes} holds the whole content. */
+    private final boolean complete;
+
+    private ContentHead(byte[] bytes, boolean complete) {
+        this.bytes = bytes;
+        this.complete = complete;
+    }
+
+    /**
+     * Wraps a content so its first bytes are kept while it is read.
+     *
+     * @param content The content to read.
+     * @param size The maximum number of bytes to keep.
+     * @return A stream to read <code>content</code> from, use {@link Capture#getHead()} once it is read.
+     */
+    static Capture capture(InputStream content, int size) {
+        return new Capture(content, size);
+    }
+
+    /**
+     * Returns the content: captured bytes are read from memory, the remaining content (if any) is only read from
+     * <code>content</code> when all captured bytes are consumed.
+     *
+     * @param content A supplier for the whole content (the captured bytes are skipped).
+     * @return The content.
+     */
+    InputStream open(Supplier<InputStream> content) {
+        final InputStream head = new ByteArrayInputStream(bytes);
+        if (complete) {
+            return head;
+        }
+        return new SequenceInputStream(head, new RemainingContent(content, bytes.length));
+    }
+
+    /**
+     * @return The number of captured bytes.
+     */
+    int size() {
+        return bytes.length;
+    }
+
+    /**
+     * Keeps the first bytes read from the wrapped stream.
+     */
+    static class Capture extends FilterInputStream {
+
+        private final byte[] buffer;
+
+        private int length;
+
+        private boolean endOfContent;
+
+        private Capture(InputStream in, int size) {
+            super(in);
+            this.buffer = new byte[Math.max(0, size)];
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int read = super.read();
+            if (read < 0) {
+                endOfContent = true;
+            } else if (length < buffer.length) {
+                buffer[length++] = (byte) read;
+            } else {
+                length = buffer.length + 1; // content is longer than buffer
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            final int read = super.read(b, off, len);
+            if (read < 0) {
+                endOfContent = true;
+            } else if (length < buffer.length) {
+                final int kept = Math.min(read, buffer.length - length);
+                System.arraycopy(b, off, buffer, length, kept);
+                length += kept;
+                if (kept < read) {
+                    length = buffer.length + 1; // content is longer than buffer
+                }
+            } else if (read > 0) {
+                length = buffer.length + 1;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // Skipped bytes must be captured too
+            final byte[] skipped = new byte[(int) Math.min(n, 8192)];
+            final int read = read(skipped, 0, skipped.length);
+            return Math.max(0, read);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        /**
+         * @return The captured head, or <code>null</code> if content was not read up to the end of the buffer.
+         */
+        ContentHead getHead() {
+            final boolean complete = endOfContent && length <= buffer.length;
+            if (!complete && length <= buffer.length) {
+                return null;
+            }
+            return new ContentHead(Arrays.copyOf(buffer, Math.min(length, buffer.length)), complete);
+        }
+    }
+
+    /**
+     * Content after the captured bytes, only opened on first read.
+     */
+    private static class RemainingContent extends InputStream {
+
+        private final Supplier<InputStream> supplier;
+
+        private final long offset;
+
+        private InputStream delegate;
+
+        private RemainingContent(Supplier<InputStream> supplier, long offset) {
+            this.supplier = supplier;
+            this.offset = offset;
+        }
+
+        private InputStream delegate() throws IOException {
+            if (delegate == null) {
+                delegate = supplier.get();
+                IOUtils.skipFully(delegate, offset);
+            }
+            return delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return delegate().read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return delegate().read(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (delegate != null) {
+                delegate.close();
+            }
+        }
+    }
+}
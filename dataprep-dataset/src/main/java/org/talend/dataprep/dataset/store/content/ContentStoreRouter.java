@@ -14,9 +14,17 @@
 package org.talend.dataprep.dataset.store.content;
 
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.stream.Stream;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Service;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
@@ -32,6 +40,8 @@ import org.talend.dataprep.api.dataset.row.DataSetRow;
 @Service
 public class ContentStoreRouter extends DataSetContentStore {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContentStoreRouter.class);
+
     /** Content store name prefix. */
     private static final String STORE_PREFIX = "ContentStore#";
 
@@ -43,13 +53,57 @@ public class ContentStoreRouter extends DataSetContentStore {
     @Autowired
     private ApplicationContext context;
 
+    /** Number of bytes kept in memory from the start of a stored content (0 to disable). */
+    @Value("${dataset.import.head.size:262144}")
+    private int headSize;
+
+    /** Maximum number of content heads kept in memory. */
+    @Value("${dataset.import.head.max:16}")
+    private int maxHeads;
+
+    /**
+     * Heads of contents being imported (data set id -> first bytes of content), so analyses run after import read
+     * content beginning from memory.
+     */
+    private final Map<String, ContentHead> heads =
+            Collections.synchronizedMap(new LinkedHashMap<String, ContentHead>() {
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, ContentHead> eldest) {
+                    return size() > maxHeads;
+                }
+            });
+
     /**
+     * Stores the content and keeps its first bytes in memory until {@link #releaseHead(String)} is called.
+     *
      * @see DataSetContentStore#storeAsRaw(DataSetMetadata, InputStream)
      */
     @Override
     public void storeAsRaw(DataSetMetadata dataSetMetadata, InputStream dataSetContent) {
         DataSetContentStore target = wrapStore(dataSetMetadata);
-        target.storeAsRaw(dataSetMetadata, dataSetContent);
+        heads.remove(dataSetMetadata.getId());
+        if (headSize <= 0) {
+            target.storeAsRaw(dataSetMetadata, dataSetContent);
+            return;
+        }
+        final ContentHead.Capture capture = ContentHead.capture(dataSetContent, headSize);
+        target.storeAsRaw(dataSetMetadata, capture);
+        final ContentHead head = capture.getHead();
+        if (head != null) {
+            heads.put(dataSetMetadata.getId(), head);
+            LOGGER.debug("Keep first {} bytes of data set #{} content.", head.size(), dataSetMetadata.getId());
+        }
+    }
+
+    /**
+     * Releases the first bytes of content kept by {@link #storeAsRaw(DataSetMetadata, InputStream)} (content is then
+     * only read from the content store).
+     *
+     * @param dataSetId The data set id.
+     */
+    public void releaseHead(String dataSetId) {
+        heads.remove(dataSetId);
     }
 
     /**
@@ -73,12 +127,20 @@ public class ContentStoreRouter extends DataSetContentStore {
     @Override
     public InputStream getAsRaw(DataSetMetadata dataSetMetadata) {
         DataSetContentStore target = wrapStore(dataSetMetadata);
+        final ContentHead head = heads.get(dataSetMetadata.getId());
+        if (head != null) {
+            return head.open(() -> target.getAsRaw(dataSetMetadata));
+        }
         return target.getAsRaw(dataSetMetadata);
     }
 
     @Override
     public InputStream getAsRaw(DataSetMetadata dataSetMetadata, long limit) {
         DataSetContentStore target = wrapStore(dataSetMetadata);
+        final ContentHead head = heads.get(dataSetMetadata.getId());
+        if (head != null) {
+            return head.open(() -> target.getAsRaw(dataSetMetadata, limit));
+        }
         return target.getAsRaw(dataSetMetadata, limit);
     }
 
@@ -87,6 +149,7 @@ public class ContentStoreRouter extends DataSetContentStore {
      */
     @Override
     public void delete(DataSetMetadata dataSetMetadata) {
+        heads.remove(dataSetMetadata.getId());
         DataSetContentStore target = wrapStore(dataSetMetadata);
         target.delete(dataSetMetadata);
     }
@@ -97,11 +160,63 @@ public class ContentStoreRouter extends DataSetContentStore {
         return target.stream(dataSetMetadata);
     }
 
+    /**
+     * @see DataSetContentStore#storeInvalidMarkers(DataSetMetadata)
+     */
+    @Override
+    public void storeInvalidMarkers(DataSetMetadata dataSetMetadata) {
+        DataSetContentStore target = wrapStore(dataSetMetadata);
+        target.storeInvalidMarkers(dataSetMetadata);
+    }
+
+    @Override
+    protected OutputStream getInvalidMarkersOutput(DataSetMetadata dataSetMetadata) {
+        DataSetContentStore target = wrapStore(dataSetMetadata);
+        return target.getInvalidMarkersOutput(dataSetMetadata);
+    }
+
+    @Override
+    protected InputStream getInvalidMarkersInput(DataSetMetadata dataSetMetadata) {
+        DataSetContentStore target = wrapStore(dataSetMetadata);
+        return target.getInvalidMarkersInput(dataSetMetadata);
+    }
+
+    /**
+     * @see DataSetContentStore#stream(DataSetMetadata, Collection)
+     */
+    @Override
+    public Stream<DataSetRow> stream(DataSetMetadata dataSetMetadata, Collection<Long> tdpIds) {
+        DataSetContentStore target = wrapStore(dataSetMetadata);
+        return target.stream(dataSetMetadata, tdpIds);
+    }
+
+    /**
+     * @see DataSetContentStore#storeRowOffsetIndex(DataSetMetadata)
+     */
+    @Override
+    public long storeRowOffsetIndex(DataSetMetadata dataSetMetadata) {
+        DataSetContentStore target = wrapStore(dataSetMetadata);
+        return target.storeRowOffsetIndex(dataSetMetadata);
+    }
+
+    @Override
+    protected OutputStream getRowOffsetIndexOutput(DataSetMetadata dataSetMetadata) {
+        DataSetContentStore target = wrapStore(dataSetMetadata);
+        return target.getRowOffsetIndexOutput(dataSetMetadata);
+    }
+
+    @Override
+    protected InputStream getRowOffsetIndexInput(DataSetMetadata dataSetMetadata) {
+        DataSetContentStore target = wrapStore(dataSetMetadata);
+        return target.getRowOffsetIndexInput(dataSetMetadata);
+    }
+
     /**
      * @see DataSetContentStore#clear()
      */
     @Override
     public void clear() {
+        heads.clear();
         // find the local store and clear it
         DataSetContentStore target = getLocalContentStore();
         target.clear();
@@ -41,11 +41,29 @@ public class LocalFileContentStore extends DataSetContentStore {
 
     private static final String ROOT = "/store/datasets/content/dataset/";
 
+    /** Suffix of the resource that holds the invalid markers of a data set. */
+    private static final String INVALID_MARKERS_SUFFIX = ".invalid";
+
+    /** Suffix of the resource that holds the row offset index of a data set. */
+    private static final String ROW_INDEX_SUFFIX = ".index";
+
     @Autowired
     private ResourceResolver resolver;
 
-    @SuppressWarnings("ResultOfMethodCallIgnored")
     private DeletableResource getResource(DataSetMetadata dataSetMetadata) {
+        return resolver.getResource(ROOT + getId(dataSetMetadata));
+    }
+
+    private DeletableResource getInvalidMarkersResource(DataSetMetadata dataSetMetadata) {
+        return resolver.getResource(ROOT + getId(dataSetMetadata) + INVALID_MARKERS_SUFFIX);
+    }
+
+    private DeletableResource getRowIndexResource(DataSetMetadata dataSetMetadata) {
+        return resolver.getResource(ROOT + getId(dataSetMetadata) + ROW_INDEX_SUFFIX);
+    }
+
+    @SuppressWarnings("ResultOfMethodCallIgnored")
+    private static String getId(DataSetMetadata dataSetMetadata) {
         String id = dataSetMetadata.getId();
         try {
             UUID.fromString(id); // ID is supposed to be an UUID, Exception if not
@@ -53,7 +71,7 @@ public class LocalFileContentStore extends DataSetContentStore {
             throw new TDPException(DataSetErrorCodes.UNABLE_TO_SERVE_DATASET_CONTENT,
                     ExceptionContext.withBuilder().put("id", id).build());
         }
-        return resolver.getResource(ROOT + id);
+        return id;
     }
 
     @Override
@@ -61,6 +79,7 @@ public class LocalFileContentStore extends DataSetContentStore {
         final DeletableResource resource = getResource(dataSetMetadata);
         try (OutputStream outputStream = resource.getOutputStream()) {
             IOUtils.copy(dataSetContent, outputStream);
+            deleteDerivedContent(dataSetMetadata); // Content changed, markers and index must be computed again
         } catch (IOException e) {
             throw new TDPException(DataSetErrorCodes.UNABLE_TO_STORE_DATASET_CONTENT, e,
                     build().put("id", dataSetMetadata.getId()));
@@ -82,12 +101,65 @@ public class LocalFileContentStore extends DataSetContentStore {
         final DeletableResource resource = getResource(dataSetMetadata);
         try {
             resource.delete();
+            deleteDerivedContent(dataSetMetadata);
         } catch (IOException e) {
             throw new TDPException(DataSetErrorCodes.UNABLE_TO_DELETE_DATASET, e,
                     build().put("dataSetId", dataSetMetadata.getId()));
         }
     }
 
+    @Override
+    protected OutputStream getInvalidMarkersOutput(DataSetMetadata dataSetMetadata) {
+        return getOutput(getInvalidMarkersResource(dataSetMetadata), dataSetMetadata);
+    }
+
+    @Override
+    protected InputStream getInvalidMarkersInput(DataSetMetadata dataSetMetadata) {
+        return getInput(getInvalidMarkersResource(dataSetMetadata));
+    }
+
+    @Override
+    protected OutputStream getRowOffsetIndexOutput(DataSetMetadata dataSetMetadata) {
+        return getOutput(getRowIndexResource(dataSetMetadata), dataSetMetadata);
+    }
+
+    @Override
+    protected InputStream getRowOffsetIndexInput(DataSetMetadata dataSetMetadata) {
+        return getInput(getRowIndexResource(dataSetMetadata));
+    }
+
+    private static OutputStream getOutput(DeletableResource resource, DataSetMetadata dataSetMetadata) {
+        try {
+            return resource.getOutputStream();
+        } catch (IOException e) {
+            throw new TDPException(DataSetErrorCodes.UNABLE_TO_STORE_DATASET_CONTENT, e,
+                    build().put("id", dataSetMetadata.getId()));
+        }
+    }
+
+    private static InputStream getInput(DeletableResource resource) {
+        if (!resource.exists()) {
+            return null;
+        }
+        try {
+            return resource.getInputStream();
+        } catch (IOException e) {
+            throw new TDPException(DataSetErrorCodes.UNABLE_TO_READ_DATASET_CONTENT, e);
+        }
+    }
+
+    /**
+     * Deletes the content computed from the raw content (invalid markers, row index).
+     */
+    private void deleteDerivedContent(DataSetMetadata dataSetMetadata) throws IOException {
+        for (DeletableResource resource : new DeletableResource[] { getInvalidMarkersResource(dataSetMetadata),
+                getRowIndexResource(dataSetMetadata) }) {
+            if (resource.exists()) {
+                resource.delete();
+            }
+        }
+    }
+
     @Override
     public void clear() {
         try {
@@ -0,0 +1,145 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.metadata.file;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+
+/**
+ * An in-memory index of the data set metadata stored by {@link FileSystemDataSetMetadataRepository}, so existence
+ * checks, counts and filtered lists do not read (and gunzip) every metadata file.
+ * <p>
+ * For each data set, index holds a summary: a {@link DataSetMetadata} with only the {@link #INDEXED_FIELDS indexed
+ * fields} set. A TQL filter that only refers to indexed fields (see {@link #isIndexed(String)}) gives the same result
+ * on summaries than on the complete metadata. Index also keeps a running total of the data sets size.
+ */
+class DataSetMetadataIndex {
+
+    /** Fields (as used in TQL filters) available in summaries. */
+    static final Set<String> INDEXED_FIELDS = new HashSet<>(Arrays.asList("id", "name", "author", "creationDate",
+            "lastModificationDate", "dataSetSize", "governance.certificationStep", "lifecycle.importing"));
+
+    /** TQL keywords, not to be mistaken for field names. */
+    private static final Set<String> TQL_KEYWORDS = new HashSet<>(Arrays.asList("and", "or", "not", "in", "is",
+            "between", "contains", "complies", "wordComplies", "empty", "valid", "invalid", "true", "false"));
+
+    /** TQL string literals (may contain escaped quotes). */
+    private static final Pattern LITERAL = Pattern.compile("'(?:\\\\.|[^'\\\\])*'");
+
+    /** Identifiers (field names or keywords) once literals are removed. */
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_.]*");
+
+    /** Summaries of all known data sets (id -> summary). */
+    private final Map<String, DataSetMetadata> summaries = new ConcurrentHashMap<>();
+
+    /** Sum of the data sets size. */
+    private final AtomicLong totalSize = new AtomicLong();
+
+    /**
+     * Returns <code>true</code> if a TQL filter can be evaluated on summaries.
+     *
+     * @param filter A TQL filter.
+     * @return <code>true</code> if <code>filter</code> only refers to indexed fields.
+     */
+    static boolean isIndexed(String filter) {
+        final Matcher identifiers = IDENTIFIER.matcher(LITERAL.matcher(filter).replaceAll(" "));
+        while (identifiers.find()) {
+            final String identifier = identifiers.group();
+            if (!TQL_KEYWORDS.contains(identifier) && !INDEXED_FIELDS.contains(identifier)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds (or replaces) a data set in index. Callers are expected to hold the data set write lock.
+     *
+     * @param metadata The data set metadata as saved.
+     */
+    void add(DataSetMetadata metadata) {
+        final DataSetMetadata previous = summaries.put(metadata.getId(), summarize(metadata));
+        totalSize.addAndGet(metadata.getDataSetSize() - (previous == null ? 0 : previous.getDataSetSize()));
+    }
+
+    /**
+     * Removes a data set from index. Callers are expected to hold the data set write lock.
+     *
+     * @param id The data set id.
+     */
+    void remove(String id) {
+        final DataSetMetadata previous = summaries.remove(id);
+        if (previous != null) {
+            totalSize.addAndGet(-previous.getDataSetSize());
+        }
+    }
+
+    /**
+     * Returns the ids of data sets that match a predicate built from an {@link #isIndexed(String) indexed} filter.
+     *
+     * @param accept A predicate on data set metadata.
+     * @return The ids of matching data sets.
+     */
+    Stream<String> match(Predicate<DataSetMetadata> accept) {
+        return summaries.values().stream().filter(accept).map(DataSetMetadata::getId);
+    }
+
+    /**
+     * @return The number of data sets in index.
+     */
+    int size() {
+        return summaries.size();
+    }
+
+    /**
+     * @return The sum of the size of all data sets in index.
+     */
+    long getTotalSize() {
+        return totalSize.get();
+    }
+
+    /**
+     * Removes all data sets from index.
+     */
+    void clear() {
+        summaries.keySet().forEach(this::remove);
+    }
+
+    private static DataSetMetadata summarize(DataSetMetadata metadata) {
+        final DataSetMetadata summary = new DataSetMetadata();
+        summary.setId(metadata.getId());
+        summary.setName(metadata.getName());
+        summary.setAuthor(metadata.getAuthor());
+        summary.setCreationDate(metadata.getCreationDate());
+        summary.setLastModificationDate(metadata.getLastModificationDate());
+        summary.setDataSetSize(metadata.getDataSetSize());
+        if (metadata.getGovernance() != null) {
+            summary.getGovernance().setCertificationStep(metadata.getGovernance().getCertificationStep());
+        }
+        if (metadata.getLifecycle() != null) {
+            summary.getLifecycle().setImporting(metadata.getLifecycle().isImporting());
+        }
+        return summary;
+    }
+}
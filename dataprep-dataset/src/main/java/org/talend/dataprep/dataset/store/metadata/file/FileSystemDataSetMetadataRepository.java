@@ -13,10 +13,13 @@
 
 package org.talend.dataprep.dataset.store.metadata.file;
 
+import static org.talend.dataprep.util.SortAndOrderHelper.getDataSetMetadataComparator;
+
 import java.io.*;
 import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
@@ -37,6 +40,10 @@ import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.DataSetErrorCodes;
 import org.talend.dataprep.util.FilesHelper;
 import org.talend.dataprep.util.ReentrantReadWriteLockGroup;
+import org.talend.dataprep.util.SortAndOrderHelper.Order;
+import org.talend.dataprep.util.SortAndOrderHelper.Sort;
+import org.talend.tql.bean.BeanPredicateVisitor;
+import org.talend.tql.parser.Tql;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -44,6 +51,10 @@ import com.fasterxml.jackson.databind.ObjectMapper;
  * File system implementation of the DataSetMetadataRepository.
  *
  * DatasetMetadata are saved as gzipped json files.
+ *
+ * Unless disabled (<code>dataset.metadata.store.file.index.enabled=false</code>, e.g. when the store is shared between
+ * several processes), a {@link DataSetMetadataIndex} answers {@link #exist(String)}, {@link #size()},
+ * {@link #countAllDataSetsSize()} and filters on indexed fields without reading the metadata files.
  */
 @Component
 @ConditionalOnProperty(name = "dataset.metadata.store", havingValue = "file")
@@ -65,6 +76,13 @@ public class FileSystemDataSetMetadataRepository extends ObjectDataSetMetadataRe
     @Value("${dataset.metadata.store.file.location}")
     private String storeLocation;
 
+    /** True if the in-memory index is used to answer queries. */
+    @Value("${dataset.metadata.store.file.index.enabled:true}")
+    private boolean indexEnabled;
+
+    /** Summaries of the stored metadata. */
+    private final DataSetMetadataIndex index = new DataSetMetadataIndex();
+
     @PostConstruct
     private void init() {
         try {
@@ -72,6 +90,12 @@ public class FileSystemDataSetMetadataRepository extends ObjectDataSetMetadataRe
         } catch (IOException e) {
             throw new IllegalStateException("unable to create dataset metadata store folder", e);
         }
+        if (indexEnabled) {
+            final long start = System.currentTimeMillis();
+            source().forEach(index::add);
+            LOG.info("Dataset metadata index built with {} entries in {} ms.", index.size(),
+                    System.currentTimeMillis() - start);
+        }
     }
 
     @Override
@@ -85,6 +109,7 @@ public class FileSystemDataSetMetadataRepository extends ObjectDataSetMetadataRe
         lock.writeLock().lock();
         try (GZIPOutputStream output = new GZIPOutputStream(new FileOutputStream(file))) {
             mapper.writer().writeValue(output, metadata);
+            index.add(metadata);
         } catch (IOException e) {
             LOG.error("Error saving {}", metadata, e);
             throw new TDPException(DataSetErrorCodes.UNABLE_TO_STORE_DATASET_METADATA, e,
@@ -129,10 +154,64 @@ public class FileSystemDataSetMetadataRepository extends ObjectDataSetMetadataRe
     @Override
     public void remove(String id) {
         final File file = getFile(id);
-        FilesHelper.deleteQuietly(file);
+        ReentrantReadWriteLock lock = locks.getLock(id);
+
+        lock.writeLock().lock();
+        try {
+            FilesHelper.deleteQuietly(file);
+            index.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
         LOG.debug("metadata {} successfully deleted", id);
     }
 
+    @Override
+    public boolean exist(String filter) {
+        if (!indexEnabled || !DataSetMetadataIndex.isIndexed(filter)) {
+            return super.exist(filter);
+        }
+        return index.match(parse(filter)).findAny().isPresent();
+    }
+
+    @Override
+    public Stream<DataSetMetadata> list(String filter, Sort sortField, Order sortDirection) {
+        if (!indexEnabled || !DataSetMetadataIndex.isIndexed(filter)) {
+            return super.list(filter, sortField, sortDirection);
+        }
+        final Predicate<DataSetMetadata> accept = parse(filter);
+        // Filter again loaded metadata in case they changed since index lookup
+        final Stream<DataSetMetadata> stream = index.match(accept) //
+                .map(this::get) //
+                .filter(m -> m != null && accept.test(m));
+        if (sortField != null) {
+            return stream.sorted(getDataSetMetadataComparator(sortField, sortDirection));
+        } else {
+            return stream;
+        }
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        // Forget about metadata files removed without this repository
+        index.clear();
+    }
+
+    @Override
+    public int size() {
+        return indexEnabled ? index.size() : super.size();
+    }
+
+    @Override
+    public long countAllDataSetsSize() {
+        return indexEnabled ? index.getTotalSize() : super.countAllDataSetsSize();
+    }
+
+    private static Predicate<DataSetMetadata> parse(String filter) {
+        return Tql.parse(filter).accept(new BeanPredicateVisitor<>(DataSetMetadata.class));
+    }
+
     @Override
     public Stream<DataSetMetadata> source() {
         final File folder = getRootFolder();
@@ -18,14 +18,19 @@ import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
 
 import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.talend.dataprep.api.dataset.ColumnMetadata;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
 import org.talend.dataprep.api.dataset.Quality;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.api.type.Type;
 import org.talend.dataprep.dataset.DataSetBaseTest;
 import org.talend.dataprep.dataset.service.DataSetServiceTest;
@@ -99,6 +104,51 @@ public class QualityAnalysisTest extends DataSetBaseTest {
 
     }
 
+    @Test
+    public void shouldStopReadingRecordsWhenSampleIsFull() {
+        // given
+        final DataSetMetadata metadata = metadataBuilder.metadata() //
+                .id(UUID.randomUUID().toString()) //
+                .row(ColumnMetadata.Builder.column().id(0).name("id").type(Type.INTEGER)) //
+                .build();
+        final AtomicLong readRecords = new AtomicLong();
+        final Stream<DataSetRow> records = Stream.generate(() -> {
+            final Map<String, String> values = new HashMap<>();
+            values.put("0000", String.valueOf(readRecords.incrementAndGet()));
+            return new DataSetRow(values);
+        });
+
+        // when
+        final boolean hasMoreRecords = qualityAnalysis.computeQuality(metadata, records, 10);
+
+        // then
+        assertThat(readRecords.get(), is(11L));
+        assertThat(hasMoreRecords, is(true));
+        assertThat(metadata.getContent().getNbRecords(), is(10L));
+        assertThat(metadata.getRowMetadata().getColumns().get(0).getQuality().getValid(), is(10));
+    }
+
+    @Test
+    public void shouldCountAllRecordsOfSmallerDataSet() {
+        // given
+        final DataSetMetadata metadata = metadataBuilder.metadata() //
+                .id(UUID.randomUUID().toString()) //
+                .row(ColumnMetadata.Builder.column().id(0).name("id").type(Type.INTEGER)) //
+                .build();
+        final Stream<DataSetRow> records = Stream.of("1", "2", "3").map(id -> {
+            final Map<String, String> values = new HashMap<>();
+            values.put("0000", id);
+            return new DataSetRow(values);
+        });
+
+        // when
+        final boolean hasMoreRecords = qualityAnalysis.computeQuality(metadata, records, 10);
+
+        // then
+        assertThat(hasMoreRecords, is(false));
+        assertThat(metadata.getContent().getNbRecords(), is(3L));
+    }
+
     /**
      * This test ensures that data types have been rightly detected when performing a full analysis.
      *
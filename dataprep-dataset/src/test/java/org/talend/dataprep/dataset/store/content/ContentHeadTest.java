@@ -0,0 +1,90 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+
+package org.talend.dataprep.dataset.store.content;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+public class ContentHeadTest {
+
+    private static final String CONTENT = "id;name\n1;Tony\n2;Steve\n";
+
+    @Test
+    public void shouldServeShortContentFromMemory() throws Exception {
+        // given
+        final ContentHead.Capture capture = ContentHead.capture(stream(CONTENT), 1024);
+        IOUtils.toByteArray(capture);
+        final AtomicInteger storeReads = new AtomicInteger();
+
+        // when
+        final ContentHead head = capture.getHead();
+        final String content = IOUtils.toString(head.open(() -> {
+            storeReads.incrementAndGet();
+            return stream(CONTENT);
+        }), UTF_8);
+
+        // then
+        assertEquals(CONTENT, content);
+        assertEquals(0, storeReads.get());
+    }
+
+    @Test
+    public void shouldReadRemainingContentFromStore() throws Exception {
+        // given
+        final ContentHead.Capture capture = ContentHead.capture(stream(CONTENT), 8);
+        IOUtils.toByteArray(capture);
+        final AtomicInteger storeReads = new AtomicInteger();
+        final ContentHead head = capture.getHead();
+
+        // when
+        final byte[] firstBytes = new byte[8];
+        final String content;
+        try (InputStream input = head.open(() -> {
+            storeReads.incrementAndGet();
+            return stream(CONTENT);
+        })) {
+            IOUtils.readFully(input, firstBytes);
+            assertEquals(0, storeReads.get());
+            content = new String(firstBytes, UTF_8) + IOUtils.toString(input, UTF_8);
+        }
+
+        // then
+        assertEquals(8, head.size());
+        assertEquals(CONTENT, content);
+        assertEquals(1, storeReads.get());
+    }
+
+    @Test
+    public void shouldNotKeepPartiallyReadContent() throws Exception {
+        // given
+        final ContentHead.Capture capture = ContentHead.capture(stream(CONTENT), 1024);
+
+        // when
+        capture.read(new byte[4]);
+
+        // then
+        assertNull(capture.getHead());
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(UTF_8));
+    }
+}
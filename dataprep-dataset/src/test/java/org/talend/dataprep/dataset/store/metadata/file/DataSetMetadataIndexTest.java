@@ -0,0 +1,86 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.dataset.store.metadata.file;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+
+public class DataSetMetadataIndexTest {
+
+    private final DataSetMetadataIndex index = new DataSetMetadataIndex();
+
+    @Test
+    public void shouldDetectIndexedFilters() {
+        assertTrue(DataSetMetadataIndex.isIndexed("name = 'my dataset'"));
+        assertTrue(DataSetMetadataIndex.isIndexed("lifecycle.importing = false and id in ['1','2']"));
+        assertTrue(DataSetMetadataIndex.isIndexed("governance.certificationStep = 'CERTIFIED' and name ~ '.*(?i)a.*'"));
+        assertTrue(DataSetMetadataIndex.isIndexed("name = 'sheet \\' or location.type = local'"));
+        assertFalse(DataSetMetadataIndex.isIndexed("location.type = 'local'"));
+        assertFalse(DataSetMetadataIndex.isIndexed("name = 'a' or content.nbRecords > 10"));
+    }
+
+    @Test
+    public void shouldKeepRunningTotalSize() {
+        // given
+        index.add(metadata("1", "first", 100));
+        index.add(metadata("2", "second", 20));
+
+        // when
+        index.add(metadata("1", "first", 50));
+        index.remove("2");
+        index.remove("unknown");
+
+        // then
+        assertEquals(1, index.size());
+        assertEquals(50, index.getTotalSize());
+    }
+
+    @Test
+    public void shouldMatchOnSummaries() {
+        // given
+        index.add(metadata("1", "first", 100));
+        index.add(metadata("2", "second", 20));
+
+        // then
+        assertEquals(Collections.singletonList("2"), index.match(m -> "second".equals(m.getName())).collect(toList()));
+    }
+
+    @Test
+    public void shouldClear() {
+        // given
+        index.add(metadata("1", "first", 100));
+
+        // when
+        index.clear();
+
+        // then
+        assertEquals(0, index.size());
+        assertEquals(0, index.getTotalSize());
+    }
+
+    private static DataSetMetadata metadata(String id, String name, long size) {
+        final DataSetMetadata metadata = new DataSetMetadata();
+        metadata.setId(id);
+        metadata.setName(name);
+        metadata.setDataSetSize(size);
+        return metadata;
+    }
+}
@@ -80,6 +80,31 @@ public class FileSystemDataSetMetadataRepositoryTest extends DataSetBaseTest {
         assertFalse(noMatch);
     }
 
+    @Test
+    public void shouldMatchIndexedFieldsWithoutReadingFiles() throws Exception {
+        final String id = "987321";
+        final File metadataFile = new File(storeLocation + '/' + id);
+
+        try {
+            // given
+            repository.save(getMetadata(id));
+            try (FileOutputStream fos = new FileOutputStream(metadataFile)) {
+                fos.write("invalid content in dataset metadata file".getBytes());
+            }
+
+            // when
+            final boolean match = repository.exist("name = 'bands' and lifecycle.importing = false");
+            final boolean noMatch = repository.exist("name = 'other bands'");
+
+            // then
+            assertTrue(match);
+            assertFalse(noMatch);
+            assertEquals(1, repository.size());
+        } finally {
+            assertTrue(metadataFile.delete());
+        }
+    }
+
     @After
     public void clear() {
         repository.clear();
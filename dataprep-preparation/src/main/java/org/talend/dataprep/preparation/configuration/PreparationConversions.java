@@ -16,12 +16,12 @@ import static java.util.stream.Collectors.toList;
 import static org.springframework.context.i18n.LocaleContextHolder.getLocale;
 import static org.talend.dataprep.conversions.BeanConversionService.fromBean;
 import static org.talend.dataprep.transformation.actions.common.ActionsUtils.CREATE_NEW_COLUMN;
-import static org.talend.tql.api.TqlBuilder.in;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
@@ -46,11 +46,11 @@ import org.talend.dataprep.api.preparation.Step;
 import org.talend.dataprep.api.preparation.StepDiff;
 import org.talend.dataprep.api.preparation.StepRowMetadata;
 import org.talend.dataprep.conversions.BeanConversionService;
-import org.talend.dataprep.preparation.service.PreparationService;
 import org.talend.dataprep.preparation.service.UserPreparation;
 import org.talend.dataprep.preparation.store.PersistentPreparation;
 import org.talend.dataprep.preparation.store.PersistentStep;
 import org.talend.dataprep.preparation.store.PreparationRepository;
+import org.talend.dataprep.preparation.store.StepChain;
 import org.talend.dataprep.processor.BeanConversionServiceWrapper;
 import org.talend.dataprep.transformation.actions.category.ScopeCategory;
 import org.talend.dataprep.transformation.actions.common.ImplicitParameters;
@@ -106,18 +106,16 @@ public class PreparationConversions extends BeanConversionServiceWrapper {
 
         final PreparationRepository preparationRepository = applicationContext.getBean(PreparationRepository.class);
 
-        List<String> idsStep = source.getSteps();
+        // Read all steps (with their actions and row metadata) at once
+        final StepChain chain = preparationRepository.getStepChain(source.getHeadId(), Step.ROOT_STEP.id(), true);
 
-        final List<StepDiff> diffs = preparationRepository
-                .list(PersistentStep.class, in("id", idsStep.toArray(new String[] {})))
-                .filter(step -> !Step.ROOT_STEP.id().equals(step.getId())) //
-                .sorted((step1, step2) -> {
-                    // we need to keep the order from the original list (source.getSteps())
-                    int idPosStep1 = idsStep.indexOf(step1.getId());
-                    int idPosStep2 = idsStep.indexOf(step2.getId());
-
-                    return idPosStep1 - idPosStep2;
-                })
+        // we need to keep the order from the original list (source.getSteps())
+        final List<StepDiff> diffs = source
+                .getSteps()
+                .stream() //
+                .filter(stepId -> !Step.ROOT_STEP.id().equals(stepId)) //
+                .map(chain::getStep) //
+                .filter(Objects::nonNull) //
                 .map(PersistentStep::getDiff) //
                 .collect(toList());
         target.setDiff(diffs);
@@ -128,7 +126,7 @@ public class PreparationConversions extends BeanConversionServiceWrapper {
                 preparationRepository.get(source.getId(), PersistentPreparation.class);
         target.setRowMetadata(preparation.getRowMetadata());
 
-        injectColumnNamesIntoActions(source.getHeadId(), target, applicationContext.getBean(PreparationService.class));
+        injectColumnNamesIntoActions(source.getHeadId(), target, chain);
 
         return target;
     }
@@ -138,21 +136,20 @@ public class PreparationConversions extends BeanConversionServiceWrapper {
      *
      * @param headId the id of the head step of the version
      * @param target the already converted object to enrich
-     * @param preparationService the service to find actions to enrich and inject into the converted object
+     * @param chain the steps of the version, with the actions to enrich and inject into the converted object
      */
-    private void injectColumnNamesIntoActions(String headId, PreparationDetailsDTO target,
-            PreparationService preparationService) {
+    private void injectColumnNamesIntoActions(String headId, PreparationDetailsDTO target, StepChain chain) {
 
-        final List<Action> actions = preparationService.getVersionedAction(target.getId(), headId);
+        final List<Action> actions = chain.getActions(headId);
         target.setActions(actions);
-        for (Action action : actions) {
+        for (int i = 0; i < actions.size(); i++) {
+            final Action action = actions.get(i);
             Map<String, String> parameters = action.getParameters();
             List<ColumnMetadata> filterColumns = new ArrayList<>();
 
             // Fetch column metadata relative to the filtered action
             // Ask for (n-1) metadata (necessary if some columns are deleted during last step)
-            RowMetadata rowMetadata =
-                    preparationService.getPreparationStep(target.getSteps().get(actions.indexOf(action)));
+            RowMetadata rowMetadata = chain.getRowMetadata(target.getSteps().get(i));
             if (rowMetadata == null) {
                 rowMetadata = target.getRowMetadata();
             }
@@ -13,7 +13,6 @@
 package org.talend.dataprep.preparation.service;
 
 import static java.lang.Integer.MAX_VALUE;
-import static java.util.Collections.emptyList;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static java.util.stream.Collectors.toSet;
@@ -89,11 +88,15 @@ import org.talend.dataprep.exception.TDPException;
 import org.talend.dataprep.exception.error.PreparationErrorCodes;
 import org.talend.dataprep.exception.json.JsonErrorCodeDescription;
 import org.talend.dataprep.folder.store.FolderRepository;
+import org.talend.dataprep.lock.DistributedLock;
+import org.talend.dataprep.lock.LockFactory;
 import org.talend.dataprep.lock.store.LockedResourceRepository;
 import org.talend.dataprep.preparation.configuration.SharedInjection;
 import org.talend.dataprep.preparation.store.PersistentPreparation;
+import org.talend.dataprep.preparation.store.PersistentPreparationActions;
 import org.talend.dataprep.preparation.store.PersistentStep;
 import org.talend.dataprep.preparation.store.PreparationRepository;
+import org.talend.dataprep.preparation.store.StepChain;
 import org.talend.dataprep.security.Security;
 import org.talend.dataprep.transformation.actions.common.ActionFactory;
 import org.talend.dataprep.transformation.actions.common.ImplicitParameters;
@@ -167,6 +170,12 @@ public class PreparationService {
     @Autowired
     private LockedResourceRepository lockedResourceRepository;
 
+    /**
+     * Serializes concurrent updates of a preparation (see {@link #lockPreparationForUpdate(String, DistributedLock)}).
+     */
+    @Autowired
+    private LockFactory lockFactory;
+
     @Autowired
     private MetadataChangesOnActionsGenerator stepDiffDelegate;
 
@@ -548,7 +557,8 @@ public class PreparationService {
                 preparationId, folder, destination, newName);
 
         // get and lock the preparation to move
-        final PersistentPreparation original = lockPreparation(preparationId);
+        final DistributedLock lock = preparationLock(preparationId);
+        final PersistentPreparation original = lockPreparationForUpdate(preparationId, lock);
         try {
             // set the target name
             final String targetName = StringUtils.isEmpty(newName) ? original.getName() : newName;
@@ -571,7 +581,7 @@ public class PreparationService {
                     folder, destination, targetName);
             auditService.auditPreparationMove(preparationId, folder, destination, targetName);
         } finally {
-            unlockPreparation(preparationId);
+            unlockPreparationAfterUpdate(preparationId, lock);
         }
     }
 
@@ -584,7 +594,8 @@ public class PreparationService {
 
         LOGGER.debug("Deletion of preparation #{} requested.", preparationId);
 
-        final PersistentPreparation preparationToDelete = lockPreparation(preparationId);
+        final DistributedLock lock = preparationLock(preparationId);
+        final PersistentPreparation preparationToDelete = lockPreparationForUpdate(preparationId, lock);
         try {
             preparationRepository.remove(preparationToDelete);
 
@@ -596,7 +607,7 @@ public class PreparationService {
             }
         } finally {
             // Just in case remove failed
-            unlockPreparation(preparationId);
+            unlockPreparationAfterUpdate(preparationId, lock);
         }
     }
 
@@ -608,7 +619,8 @@ public class PreparationService {
      * @return the updated preparation id.
      */
     public String update(String preparationId, final PreparationDTO preparation) {
-        lockPreparation(preparationId);
+        final DistributedLock lock = preparationLock(preparationId);
+        lockPreparationForUpdate(preparationId, lock);
 
         try {
             final PersistentPreparation previousPreparation =
@@ -629,7 +641,7 @@ public class PreparationService {
 
             return updated.id();
         } finally {
-            unlockPreparation(preparationId);
+            unlockPreparationAfterUpdate(preparationId, lock);
         }
     }
 
@@ -680,14 +692,36 @@ public class PreparationService {
      */
     public PreparationDTO getPreparationDetails(String id, String stepId) {
         LOGGER.debug("Get content of preparation details for #{}.", id);
-        final PersistentPreparation preparation = preparationRepository.get(id, PersistentPreparation.class);
+        final DistributedLock readLock = lockFactory.getReadLock(LockFactory.PREPARATION_LOCK_PREFIX + id);
+        readLock.lock();
+        try {
+            final PersistentPreparation preparation = preparationRepository.get(id, PersistentPreparation.class);
+            if (preparation == null || isPreparationConsistent(preparation)) {
+                return toPreparationDetails(preparation, id, stepId);
+            }
+        } finally {
+            readLock.unlock();
+        }
+        // Repairing the preparation is an update: do it under the exclusive lock (another reader may have repaired
+        // the preparation in the meantime, ensurePreparationConsistency checks it again).
+        final DistributedLock lock = preparationLock(id);
+        lock.lock();
+        try {
+            final PersistentPreparation preparation = preparationRepository.get(id, PersistentPreparation.class);
+            if (preparation != null) {
+                ensurePreparationConsistency(preparation);
+            }
+            return toPreparationDetails(preparation, id, stepId);
+        } finally {
+            lock.unlock();
+        }
+    }
 
+    private PreparationDTO toPreparationDetails(PersistentPreparation preparation, String id, String stepId) {
         if (preparation == null) {
             throw new TDPException(PreparationErrorCodes.PREPARATION_DOES_NOT_EXIST, build().put(ID, id));
         }
 
-        ensurePreparationConsistency(preparation);
-
         // specify the step id if provided
         if (!StringUtils.equals(HEAD, stepId)) {
             // just make sure the step does exist
@@ -791,6 +825,17 @@ public class PreparationService {
         return actionDefinition;
     }
 
+    /**
+     * @param preparation the specified preparation
+     * @return <code>true</code> if the head step of the preparation has its actions available (nothing to repair by
+     * {@link #ensurePreparationConsistency(PersistentPreparation)}), <code>false</code> otherwise.
+     */
+    private boolean isPreparationConsistent(PersistentPreparation preparation) {
+        final PersistentStep head = preparationRepository.get(preparation.getHeadId(), PersistentStep.class);
+        return head == null || head.getId().equals(Step.ROOT_STEP.id())
+                || preparationRepository.get(head.getContent(), PreparationActions.class) != null;
+    }
+
     /**
      * This method ensures the consistency of a preparation .i.e. makes sure that a non-empty head step of a preparation
      * has its corresponding actions available. If it is not the case, we walk recursively on the steps from the current
@@ -849,14 +894,20 @@ public class PreparationService {
     }
 
     public void addPreparationAction(final String preparationId, final AppendStep appendStep) {
-        PersistentPreparation preparation = preparationRepository.get(preparationId, PersistentPreparation.class);
-        List<Action> actions = getVersionedAction(preparation, HEAD);
-        StepDiff actionCreatedColumns = stepDiffDelegate.computeCreatedColumns(preparation.getRowMetadata(),
-                buildActions(actions), buildActions(appendStep.getActions()));
-        appendStep.setDiff(actionCreatedColumns);
-
-        checkActionStepConsistency(appendStep);
-        appendStepToHead(preparation, appendStep);
+        final DistributedLock lock = lockFactory.getLock(LockFactory.PREPARATION_LOCK_PREFIX + preparationId);
+        lock.lock();
+        try {
+            PersistentPreparation preparation = preparationRepository.get(preparationId, PersistentPreparation.class);
+            List<Action> actions = getVersionedAction(preparation, HEAD);
+            StepDiff actionCreatedColumns = stepDiffDelegate.computeCreatedColumns(preparation.getRowMetadata(),
+                    buildActions(actions), buildActions(appendStep.getActions()));
+            appendStep.setDiff(actionCreatedColumns);
+
+            checkActionStepConsistency(appendStep);
+            appendStepToHead(preparation, appendStep);
+        } finally {
+            lock.unlock();
+        }
 
         LOGGER.debug("Added action to preparation.");
         if (auditService.isActive()) {
@@ -897,18 +948,19 @@ public class PreparationService {
         checkActionStepConsistency(newStep);
         LOGGER.debug("Modifying actions in preparation #{}", preparationId);
 
-        final PersistentPreparation preparation = lockPreparation(preparationId);
+        final DistributedLock lock = preparationLock(preparationId);
+        final PersistentPreparation preparation = lockPreparationForUpdate(preparationId, lock);
         try {
             LOGGER.debug("Current head for preparation #{}: {}", preparationId, preparation.getHeadId());
 
             // Get steps from "step to modify" to the head
-            final List<String> steps = extractSteps(preparation, stepToModifyId); // throws an exception if stepId is
+            final StepChain steps = extractSteps(preparation, stepToModifyId); // throws an exception if stepId is
             // not in
             // the preparation
-            LOGGER.debug("Rewriting history for {} steps.", steps.size());
+            LOGGER.debug("Rewriting history for {} steps.", steps.getSteps().size());
 
             // Extract created columns ids diff info
-            final PersistentStep stm = getStep(stepToModifyId);
+            final PersistentStep stm = steps.getStep(stepToModifyId);
             final List<String> originalCreatedColumns = stm.getDiff().getCreatedColumns();
             final List<String> updatedCreatedColumns = newStep.getDiff().getCreatedColumns();
             final List<String> deletedColumns = originalCreatedColumns //
@@ -920,13 +972,12 @@ public class PreparationService {
                     originalCreatedColumns.stream().mapToInt(Integer::parseInt).max().getAsInt() : MAX_VALUE;
 
             // Build list of actions from modified one to the head
-            final List<AppendStep> actionsSteps = getStepsWithShiftedColumnIds(steps, stepToModifyId, deletedColumns,
+            final List<AppendStep> actionsSteps = getStepsWithShiftedColumnIds(steps, deletedColumns,
                     maxCreatedColumnIdBeforeUpdate, columnsDiffNumber);
             actionsSteps.add(0, newStep);
 
             // Rebuild history from modified step
-            final PersistentStep stepToModify = getStep(stepToModifyId);
-            replaceHistory(preparation, stepToModify.getParentId(), actionsSteps);
+            replaceHistory(preparation, stm.getParentId(), actionsSteps);
             LOGGER.debug("Modified head of preparation #{}: head is now {}", preparationId, preparation.getHeadId());
             if (auditService.isActive()) {
                 auditService //
@@ -937,7 +988,7 @@ public class PreparationService {
                                         .collect(toMap(Action::getName, Action::getParameters)));
             }
         } finally {
-            unlockPreparation(preparationId);
+            unlockPreparationAfterUpdate(preparationId, lock);
         }
     }
 
@@ -965,12 +1016,13 @@ public class PreparationService {
             throw new TDPException(PREPARATION_ROOT_STEP_CANNOT_BE_DELETED);
         }
 
-        final PersistentPreparation preparation = lockPreparation(id);
+        final DistributedLock lock = preparationLock(id);
+        final PersistentPreparation preparation = lockPreparationForUpdate(id, lock);
         try {
             deleteAction(preparation, stepToDeleteId);
             auditService.auditPreparationDeleteStep(preparation.getId(), preparation.getName(), stepToDeleteId);
         } finally {
-            unlockPreparation(id);
+            unlockPreparationAfterUpdate(id, lock);
         }
 
     }
@@ -982,11 +1034,12 @@ public class PreparationService {
                     build().put(ID, preparationId).put(STEP_ID, headId));
         }
 
-        final PersistentPreparation preparation = lockPreparation(preparationId);
+        final DistributedLock lock = preparationLock(preparationId);
+        final PersistentPreparation preparation = lockPreparationForUpdate(preparationId, lock);
         try {
             setPreparationHead(preparation, head);
         } finally {
-            unlockPreparation(preparationId);
+            unlockPreparationAfterUpdate(preparationId, lock);
         }
     }
 
@@ -1065,12 +1118,13 @@ public class PreparationService {
      */
     public void moveStep(final String preparationId, String stepId, String parentStepId) {
         LOGGER.debug("Moving step {} after step {}, within preparation {}", stepId, parentStepId, preparationId);
-        final PersistentPreparation preparation = lockPreparation(preparationId);
+        final DistributedLock lock = preparationLock(preparationId);
+        final PersistentPreparation preparation = lockPreparationForUpdate(preparationId, lock);
         try {
             reorderSteps(preparation, stepId, parentStepId);
             auditService.auditPreparationMoveStep(preparationId, preparation.getName(), stepId, parentStepId);
         } finally {
-            unlockPreparation(preparationId);
+            unlockPreparationAfterUpdate(preparationId, lock);
         }
     }
 
@@ -1142,30 +1196,19 @@ public class PreparationService {
     }
 
     /**
-     * Extract all actions after a provided step
+     * Extract all actions after the first step of a chain
      *
-     * @param stepsIds The steps list
-     * @param afterStep The (excluded) step id where to start the extraction
-     * @return The actions after 'afterStep' to the end of the list
+     * @param chain The steps chain (loaded with content), its first step is the (excluded) step where to start the
+     * extraction
+     * @return The actions after the first step to the end of the chain
      */
-    private List<AppendStep> extractActionsAfterStep(final List<String> stepsIds, final String afterStep) {
-        final int stepIndex = stepsIds.indexOf(afterStep);
-        if (stepIndex == -1) {
-            return emptyList();
-        }
-
-        final List<PersistentStep> steps;
-        try (IntStream range = IntStream.range(stepIndex, stepsIds.size())) {
-            steps = range.mapToObj(index -> getStep(stepsIds.get(index))).collect(toList());
-        }
-
-        final List<List<Action>> stepActions = steps.stream().map(this::getActions).collect(toList());
-
+    private List<AppendStep> extractActionsAfterStep(final StepChain chain) {
+        final List<PersistentStep> steps = chain.getSteps();
         try (IntStream filteredActions = IntStream.range(1, steps.size())) {
             return filteredActions.mapToObj(index -> {
-                final List<Action> previous = stepActions.get(index - 1);
-                final List<Action> current = stepActions.get(index);
+                final List<Action> previous = chain.getActions(steps.get(index - 1).id());
                 final PersistentStep step = steps.get(index);
+                final List<Action> current = chain.getActions(step.id());
 
                 final AppendStep appendStep = new AppendStep();
                 appendStep.setDiff(step.getDiff());
@@ -1176,24 +1219,74 @@ public class PreparationService {
     }
 
     /**
-     * Get the steps ids from a specific step to the head. The specific step MUST be defined as an existing step of the
-     * preparation
+     * Get the steps (with their actions) from a specific step to the head. The specific step MUST be defined as an
+     * existing step of the preparation
      *
      * @param preparation The preparation
      * @param fromStepId The starting step id
-     * @return The steps ids from 'fromStepId' to the head
+     * @return The steps from 'fromStepId' to the head
      * @throws TDPException If 'fromStepId' is not a step of the provided preparation
      */
-    private List<String> extractSteps(final PersistentPreparation preparation, final String fromStepId) {
-        final List<String> steps =
-                preparationUtils.listStepsIds(preparation.getHeadId(), fromStepId, preparationRepository);
-        if (!fromStepId.equals(steps.get(0))) {
+    private StepChain extractSteps(final PersistentPreparation preparation, final String fromStepId) {
+        final StepChain steps = preparationRepository.getStepChain(preparation.getHeadId(), fromStepId, true);
+        if (steps.isEmpty() || !fromStepId.equals(steps.getSteps().get(0).id())) {
             throw new TDPException(PREPARATION_STEP_DOES_NOT_EXIST,
                     build().put(ID, preparation.getId()).put(STEP_ID, fromStepId));
         }
         return steps;
     }
 
+    /**
+     * @param preparationId the specified preparation identifier
+     * @return the exclusive lock of the preparation, to be given to {@link #lockPreparationForUpdate(String,
+     * DistributedLock)} and released by {@link #unlockPreparationAfterUpdate(String, DistributedLock)}.
+     */
+    private DistributedLock preparationLock(String preparationId) {
+        return lockFactory.getLock(LockFactory.PREPARATION_LOCK_PREFIX + preparationId);
+    }
+
+    /**
+     * Marks the preparation as locked by the current user (waiting for another user to release it), then takes the
+     * exclusive <code>lock</code> of the preparation (readers such as {@link #getPreparationDetails(String, String)}
+     * and other updates wait for it). The user lock is taken first so that waiting for another user does not block
+     * readers of the preparation.
+     *
+     * @param preparationId the specified preparation identifier
+     * @param lock the exclusive lock of the preparation (see {@link #preparationLock(String)}).
+     * @return the preparation, as read once the exclusive lock is held.
+     * @see #unlockPreparationAfterUpdate(String, DistributedLock)
+     */
+    private PersistentPreparation lockPreparationForUpdate(String preparationId, DistributedLock lock) {
+        lockPreparation(preparationId);
+        try {
+            lock.lock();
+        } catch (RuntimeException e) {
+            unlockPreparation(preparationId);
+            throw e;
+        }
+        // read again: preparation may have changed (or been deleted) by the same user before the lock was acquired
+        final PersistentPreparation preparation = preparationRepository.get(preparationId, PersistentPreparation.class);
+        if (preparation == null) {
+            unlockPreparationAfterUpdate(preparationId, lock);
+            throw new TDPException(PREPARATION_DOES_NOT_EXIST, build().put(ID, preparationId));
+        }
+        return preparation;
+    }
+
+    /**
+     * Releases the locks taken by {@link #lockPreparationForUpdate(String, DistributedLock)}.
+     *
+     * @param preparationId the specified preparation identifier
+     * @param lock the exclusive lock given to {@link #lockPreparationForUpdate(String, DistributedLock)}.
+     */
+    private void unlockPreparationAfterUpdate(String preparationId, DistributedLock lock) {
+        try {
+            lock.unlock();
+        } finally {
+            unlockPreparation(preparationId);
+        }
+    }
+
     /**
      * Marks the specified preparation (identified by <i>preparationId</i>) as locked by the user identified by the
      * specified user (identified by <i>userId</i>).
@@ -1270,16 +1363,15 @@ public class PreparationService {
      * as rule 2. (New_created_column_id = created_column_id + columnShiftNumber, only if created_column_id >
      * 'shiftColumnAfterId')
      *
-     * @param stepsIds The steps ids
-     * @param afterStepId The (EXCLUDED) step where the extraction starts
+     * @param steps The steps, the first one being the (EXCLUDED) step where the extraction starts
      * @param deletedColumns The column ids that will be removed
      * @param shiftColumnAfterId The (EXCLUDED) column id where we start the shift
      * @param shiftNumber The shift number. new_column_id = old_columns_id + columnShiftNumber
      * @return The adapted steps
      */
-    private List<AppendStep> getStepsWithShiftedColumnIds(final List<String> stepsIds, final String afterStepId,
-            final List<String> deletedColumns, final int shiftColumnAfterId, final int shiftNumber) {
-        Stream<AppendStep> stream = extractActionsAfterStep(stepsIds, afterStepId).stream();
+    private List<AppendStep> getStepsWithShiftedColumnIds(final StepChain steps, final List<String> deletedColumns,
+            final int shiftColumnAfterId, final int shiftNumber) {
+        Stream<AppendStep> stream = extractActionsAfterStep(steps).stream();
 
         // rule 1 : remove all steps that modify one of the created columns
         if (!deletedColumns.isEmpty()) {
@@ -1420,6 +1512,12 @@ public class PreparationService {
         newActions.addAll(appendStep.getActions());
         newContent.setActions(newActions);
 
+        // Only persist the new actions (full list is rebuilt by repository from parent content)
+        final PersistentPreparationActions newDeltaContent = new PersistentPreparationActions();
+        newDeltaContent.setId(newContent.id());
+        newDeltaContent.setParentId(head.getContent());
+        newDeltaContent.setActions(new ArrayList<>(appendStep.getActions()));
+
         // Create new step from new content
         final PersistentStep newHead = new PersistentStep();
         newHead.setParentId(headId);
@@ -1432,7 +1530,7 @@ public class PreparationService {
         preparation.setHeadId(newHead.id());
         preparation.setLastModificationDate(System.currentTimeMillis());
 
-        preparationRepository.add(newContent);
+        preparationRepository.add(newDeltaContent);
         preparationRepository.add(newHead);
         preparationRepository.add(preparation);
     }
@@ -1444,10 +1542,10 @@ public class PreparationService {
      * @param stepToDeleteId the specified step id to delete
      */
     private void deleteAction(PersistentPreparation preparation, String stepToDeleteId) {
-        final List<String> steps = extractSteps(preparation, stepToDeleteId); // throws an exception if stepId is not in
+        final StepChain steps = extractSteps(preparation, stepToDeleteId); // throws an exception if stepId is not in
 
         // get created columns by step to delete
-        final PersistentStep std = getStep(stepToDeleteId);
+        final PersistentStep std = steps.getStep(stepToDeleteId);
         final List<String> deletedColumns = std.getDiff().getCreatedColumns();
         final int columnsDiffNumber = -deletedColumns.size();
         final int maxCreatedColumnIdBeforeUpdate = deletedColumns.isEmpty() ? MAX_VALUE
@@ -1456,12 +1554,11 @@ public class PreparationService {
         LOGGER.debug("Deleting actions in preparation #{} at step #{}", preparation.getId(), stepToDeleteId); //$NON-NLS-1$
 
         // get new actions to rewrite history from deleted step
-        final List<AppendStep> actions = getStepsWithShiftedColumnIds(steps, stepToDeleteId, deletedColumns,
-                maxCreatedColumnIdBeforeUpdate, columnsDiffNumber);
+        final List<AppendStep> actions =
+                getStepsWithShiftedColumnIds(steps, deletedColumns, maxCreatedColumnIdBeforeUpdate, columnsDiffNumber);
 
         // rewrite history
-        final PersistentStep stepToDelete = getStep(stepToDeleteId);
-        replaceHistory(preparation, stepToDelete.getParentId(), actions);
+        replaceHistory(preparation, std.getParentId(), actions);
     }
 
     /**
@@ -1473,10 +1570,11 @@ public class PreparationService {
      * @param parentStepId the id of the step which wanted as the parent of the step to move
      */
     private void reorderSteps(final PersistentPreparation preparation, final String stepId, final String parentStepId) {
-        final List<String> steps = extractSteps(preparation, Step.ROOT_STEP.getId());
+        final StepChain chain = extractSteps(preparation, Step.ROOT_STEP.getId());
+        final List<String> steps = chain.getStepIds();
 
         // extract all appendStep
-        final List<AppendStep> allAppendSteps = extractActionsAfterStep(steps, steps.get(0));
+        final List<AppendStep> allAppendSteps = extractActionsAfterStep(chain);
 
         final int stepIndex = steps.indexOf(stepId);
         final int parentIndex = steps.indexOf(parentStepId);
@@ -17,6 +17,7 @@ import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
 import java.util.List;
@@ -29,6 +30,8 @@ import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.folder.Folder;
 import org.talend.dataprep.api.preparation.Preparation;
 import org.talend.dataprep.api.preparation.PreparationDTO;
+import org.talend.dataprep.lock.DistributedLockWatcher;
+import org.talend.dataprep.lock.LockFactory;
 import org.talend.dataprep.preparation.BasePreparationTest;
 
 import com.netflix.hystrix.HystrixCommandProperties;
@@ -44,6 +47,9 @@ public class PreparationServiceTest extends BasePreparationTest {
     @Autowired
     private PreparationService preparationService;
 
+    @Autowired
+    private LockFactory lockFactory;
+
     @Test
     public void testListAllShouldOnlyTakeInAccountPathIfPresentEvenIfNameAndFolderPathAreWrong() throws Exception {
         init();
@@ -187,6 +193,29 @@ public class PreparationServiceTest extends BasePreparationTest {
         updateHeadAndCheckResult(prep, originalStepIds, 2);
     }
 
+    @Test
+    public void shouldReleaseWatchedLocksAfterUpdate() throws IOException {
+        // given
+        Preparation preparation = new Preparation();
+        preparation.setName("prep_name_locks");
+        preparation.setDataSetId("1234");
+        preparation.setRowMetadata(new RowMetadata());
+        PreparationDTO prep = clientTest.createPreparation(preparation, home.getId());
+        final String step =
+                IOUtils.toString(this.getClass().getResourceAsStream("actions/append_lower_case.json"), UTF_8);
+        clientTest.addStep(prep.getId(), step);
+        clientTest.addStep(prep.getId(), step);
+        final List<String> stepIds = clientTest.getPreparation(prep.getId()).getSteps();
+
+        // when
+        preparationService.setPreparationHead(prep.getId(), stepIds.get(1));
+        preparationService.getPreparationDetails(prep.getId(), "head");
+
+        // then
+        assertTrue(lockFactory instanceof DistributedLockWatcher);
+        assertTrue(((DistributedLockWatcher) lockFactory).getLocks().isEmpty());
+    }
+
     private void updateHeadAndCheckResult(PreparationDTO prep, List<String> originalStepIds, Integer indexOfStep) {
         preparationService.setPreparationHead(prep.getId(), originalStepIds.get(indexOfStep));
 
@@ -14,8 +14,10 @@
 package org.talend.dataprep.transformation.aggregation;
 
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.talend.dataprep.api.dataset.DataSet;
 import org.talend.dataprep.api.dataset.DataSetMetadata;
@@ -42,6 +44,13 @@ public class AggregationService {
     @Autowired
     private FilterService filterService;
 
+    /**
+     * <code>true</code> to split rows across cores (each with its own partial state). Row sources must then not reuse
+     * row instances.
+     */
+    @Value("${transformation.aggregation.parallel:false}")
+    private boolean parallel;
+
     /**
      * Process an aggregation.
      *
@@ -58,16 +67,15 @@ public class AggregationService {
 
         AggregationResult result = new AggregationResult(parameters.getOperations().get(0).getOperator());
 
-        // get the aggregator
-        Aggregator aggregator = factory.get(parameters);
-
         // Build optional filter
         final DataSetMetadata metadata = dataset.getMetadata();
         final RowMetadata rowMetadata = metadata != null ? metadata.getRowMetadata() : new RowMetadata();
         final Predicate<DataSetRow> filter = filterService.build(parameters.getFilter(), rowMetadata);
 
-        // process the dataset
-        dataset.getRecords().filter(filter).forEach(row -> aggregator.accept(row, result));
+        // process the dataset (one aggregator per split of the rows, partial states are merged at the end)
+        final Stream<DataSetRow> records = dataset.getRecords().filter(filter);
+        final Aggregator aggregator = (parallel ? records.parallel() : records) //
+                .collect(() -> factory.get(parameters), Aggregator::accept, Aggregator::merge);
 
         // Normalize result (perform clean / optimization now that all input was processed).
         aggregator.normalize(result);
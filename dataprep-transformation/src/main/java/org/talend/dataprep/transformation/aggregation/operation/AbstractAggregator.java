@@ -13,10 +13,17 @@
 
 package org.talend.dataprep.transformation.aggregation.operation;
 
+import java.util.function.DoubleBinaryOperator;
+
+import org.apache.commons.lang3.StringUtils;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.transformation.aggregation.api.AggregationResult;
+
 /**
- * Base abstract class for aggregator used to factorize code across aggregators.
+ * Base abstract class for aggregator used to factorize code across aggregators: per group values are kept as
+ * primitives in a {@link GroupAccumulator}, each cell being parsed once.
  */
-public abstract class AbstractAggregator {
+public abstract class AbstractAggregator implements Aggregator {
 
     /** Group by key. */
     protected String groupBy;
@@ -24,15 +31,96 @@ public abstract class AbstractAggregator {
     /** Column id to aggregate. */
     protected String columnId;
 
+    /** The per group state. */
+    final GroupAccumulator groups;
+
     /**
      * Package protected constructor to ensure the factory.
      *
      * @param groupBy group by key.
      * @param columnId column id to aggregate
+     * @param identity the value of a new group.
+     * @param combiner how to combine the group value with a new value (must be associative).
      */
-    AbstractAggregator(String groupBy, String columnId) {
+    AbstractAggregator(String groupBy, String columnId, double identity, DoubleBinaryOperator combiner) {
         this.groupBy = groupBy;
         this.columnId = columnId;
+        this.groups = new GroupAccumulator(identity, combiner);
+    }
+
+    /**
+     * @see java.util.function.Consumer#accept(Object)
+     */
+    @Override
+    public void accept(DataSetRow row) {
+        final String key = row.get(groupBy);
+
+        // skip value not found
+        if (StringUtils.isEmpty(key) && !acceptEmptyGroup()) {
+            return;
+        }
+
+        // skip non number
+        final double value = parse(row.get(columnId));
+        if (Double.isNaN(value)) {
+            return;
+        }
+
+        groups.add(key, value);
+    }
+
+    /**
+     * @see Aggregator#merge(Aggregator)
+     */
+    @Override
+    public void merge(Aggregator other) {
+        groups.merge(((AbstractAggregator) other).groups);
+    }
+
+    /**
+     * @see Aggregator#normalize(AggregationResult)
+     */
+    @Override
+    public void normalize(AggregationResult result) {
+        groups.forEach((key, value, count) -> result.put(key, new NumberContext(getValue(value, count))));
+    }
+
+    /**
+     * @return <code>true</code> if rows with an empty group by value are aggregated (in an empty group).
+     */
+    boolean acceptEmptyGroup() {
+        return false;
     }
 
+    /**
+     * @param value the combined value of a group.
+     * @param count how many values were combined.
+     * @return the aggregated value of the group.
+     */
+    double getValue(double value, long count) {
+        return value;
+    }
+
+    /**
+     * Parses a cell value.
+     *
+     * @param value the cell value.
+     * @return the value as double or NaN if it is not a number.
+     */
+    static double parse(String value) {
+        if (value == null || value.isEmpty()) {
+            return Double.NaN;
+        }
+        // Avoid the cost of a NumberFormatException for most of non numbers
+        final char first = value.charAt(0);
+        if (!Character.isDigit(first) && first != '-' && first != '+' && first != '.' && first != 'I'
+                && !Character.isWhitespace(first)) {
+            return Double.NaN;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
 }
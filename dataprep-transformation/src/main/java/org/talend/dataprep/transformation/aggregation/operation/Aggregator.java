@@ -13,7 +13,7 @@
 
 package org.talend.dataprep.transformation.aggregation.operation;
 
-import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.transformation.aggregation.api.AggregationResult;
@@ -21,14 +21,24 @@ import org.talend.dataprep.transformation.aggregation.api.AggregationResult;
 /**
  * Base interface for all aggregators.
  *
- * So far, Aggregators are stateful hence not meant to be used across multiple aggregations at the same time.
+ * Aggregators are stateful hence not meant to be used across multiple aggregations at the same time. Rows may however
+ * be split across several aggregators (e.g. one per thread) as long as partial states are {@link #merge(Aggregator)
+ * merged} before the result is {@link #normalize(AggregationResult) written}.
  */
-public interface Aggregator extends BiConsumer<DataSetRow, AggregationResult> {
+public interface Aggregator extends Consumer<DataSetRow> {
 
     /**
-     * Allow aggregators to perform normalization operations on result (e.g. remove invalid values that can only be
-     * detected at end of aggregation).
-     * @param result The {@link AggregationResult result} to normalize.
+     * Merges the partial state of another aggregator (created for the same aggregation) into this one.
+     *
+     * @param other the aggregator to merge.
+     */
+    void merge(Aggregator other);
+
+    /**
+     * Writes the aggregation state to result, once all input was processed (and normalized, e.g. invalid values that
+     * can only be detected at end of aggregation are removed).
+     *
+     * @param result The {@link AggregationResult result} to write to.
      */
     void normalize(AggregationResult result);
 }
@@ -0,0 +1,187 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.aggregation.operation;
+
+import java.util.Arrays;
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * Per group state of an aggregation: an open addressing hash table (linear probing) from group key to a
+ * <code>double</code> value and a <code>long</code> count, so accumulating a value does not allocate any object (once
+ * the group exists).
+ * <p>
+ * Values are combined with an associative operator, hence two accumulators of the same aggregation can be
+ * {@link #merge(GroupAccumulator) merged}.
+ */
+class GroupAccumulator {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** Value of a new group. */
+    private final double identity;
+
+    /** Combines current value of a group with a new value. */
+    private final DoubleBinaryOperator combiner;
+
+    /** Group keys (<code>null</code> for a free slot). */
+    private String[] keys = new String[INITIAL_CAPACITY];
+
+    private double[] values = new double[INITIAL_CAPACITY];
+
+    private long[] counts = new long[INITIAL_CAPACITY];
+
+    private int size;
+
+    /** State of the <code>null</code> group (can't be stored in {@link #keys}). */
+    private double nullValue;
+
+    private long nullCount;
+
+    /**
+     * @param identity the value of a new group.
+     * @param combiner how to combine a group value with a new value (must be associative).
+     */
+    GroupAccumulator(double identity, DoubleBinaryOperator combiner) {
+        this.identity = identity;
+        this.combiner = combiner;
+        this.nullValue = identity;
+        Arrays.fill(values, identity);
+    }
+
+    /**
+     * Accumulates a value in a group.
+     *
+     * @param key the group key (may be <code>null</code>).
+     * @param value the value to accumulate.
+     */
+    void add(String key, double value) {
+        add(key, value, 1);
+    }
+
+    private void add(String key, double value, long count) {
+        if (key == null) {
+            nullValue = combiner.applyAsDouble(nullValue, value);
+            nullCount += count;
+            return;
+        }
+        final int slot = slot(key);
+        values[slot] = combiner.applyAsDouble(values[slot], value);
+        counts[slot] += count;
+    }
+
+    /**
+     * Merges the groups of another accumulator (built with same identity and combiner) into this one.
+     *
+     * @param other the accumulator to merge.
+     */
+    void merge(GroupAccumulator other) {
+        for (int i = 0; i < other.keys.length; i++) {
+            if (other.keys[i] != null) {
+                add(other.keys[i], other.values[i], other.counts[i]);
+            }
+        }
+        if (other.nullCount > 0) {
+            add(null, other.nullValue, other.nullCount);
+        }
+    }
+
+    /**
+     * Visits all groups.
+     *
+     * @param visitor the group visitor.
+     */
+    void forEach(GroupVisitor visitor) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                visitor.visit(keys[i], values[i], counts[i]);
+            }
+        }
+        if (nullCount > 0) {
+            visitor.visit(null, nullValue, nullCount);
+        }
+    }
+
+    /**
+     * @return the number of groups.
+     */
+    int size() {
+        return size + (nullCount > 0 ? 1 : 0);
+    }
+
+    /**
+     * @return the slot of the group (created if needed).
+     */
+    private int slot(String key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != null) {
+            if (keys[slot].equals(key)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if ((size + 1) * 2 > keys.length) {
+            // keep load factor under 0.5
+            grow();
+            mask = keys.length - 1;
+            slot = hash(key) & mask;
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+        }
+        keys[slot] = key;
+        size++;
+        return slot;
+    }
+
+    private void grow() {
+        final String[] oldKeys = keys;
+        final double[] oldValues = values;
+        final long[] oldCounts = counts;
+        keys = new String[oldKeys.length * 2];
+        values = new double[keys.length];
+        counts = new long[keys.length];
+        Arrays.fill(values, identity);
+        final int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    private static int hash(String key) {
+        final int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Visitor of the groups of an accumulator.
+     */
+    @FunctionalInterface
+    interface GroupVisitor {
+
+        /**
+         * @param key the group key (may be <code>null</code>).
+         * @param value the group value.
+         * @param count how many values were accumulated in group.
+         */
+        void visit(String key, double value, long count);
+    }
+}
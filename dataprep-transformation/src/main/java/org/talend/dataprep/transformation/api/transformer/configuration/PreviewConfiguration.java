@@ -55,6 +55,34 @@ public class PreviewConfiguration extends Configuration {
         return previewActions;
     }
 
+    /**
+     * Parses row indexes (TDP ids) given as a JSON array.
+     *
+     * @param indexes The JSON array of indexes, may be <code>null</code>.
+     * @return The parsed indexes or <code>null</code> if <code>indexes</code> is <code>null</code>.
+     */
+    public static List<Long> parseIndexes(final String indexes) {
+        if (indexes == null) {
+            return null;
+        }
+        if (indexes.isEmpty()) {
+            throw new TDPException(CommonErrorCodes.UNABLE_TO_PARSE_ACTIONS,
+                    new IllegalArgumentException("Source should not be empty"));
+        }
+        try {
+            final ObjectMapper mapper = new ObjectMapper(new JsonFactory());
+            final JsonNode json = mapper.readTree(indexes);
+
+            final List<Long> result = new ArrayList<>(json.size());
+            for (JsonNode index : json) {
+                result.add(index.longValue());
+            }
+            return result;
+        } catch (IOException e) {
+            throw new TDPException(CommonErrorCodes.UNABLE_TO_PARSE_ACTIONS, e);
+        }
+    }
+
     /**
      * Builder pattern used to simplify code writing.
      */
@@ -67,28 +95,6 @@ public class PreviewConfiguration extends Configuration {
 
         private Configuration reference;
 
-        private List<Long> parseIndexes(final String indexes) {
-            if (indexes == null) {
-                return null;
-            }
-            if (indexes.isEmpty()) {
-                throw new TDPException(CommonErrorCodes.UNABLE_TO_PARSE_ACTIONS,
-                        new IllegalArgumentException("Source should not be empty"));
-            }
-            try {
-                final ObjectMapper mapper = new ObjectMapper(new JsonFactory());
-                final JsonNode json = mapper.readTree(indexes);
-
-                final List<Long> result = new ArrayList<>(json.size());
-                for (JsonNode index : json) {
-                    result.add(index.longValue());
-                }
-                return result;
-            } catch (IOException e) {
-                throw new TDPException(CommonErrorCodes.UNABLE_TO_PARSE_ACTIONS, e);
-            }
-        }
-
         public Builder withIndexes(final String indexes) {
             this.indexes = parseIndexes(indexes);
             return this;
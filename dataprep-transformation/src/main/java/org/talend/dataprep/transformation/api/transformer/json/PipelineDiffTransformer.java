@@ -13,7 +13,10 @@
 
 package org.talend.dataprep.transformation.api.transformer.json;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.function.Predicate;
 
 import org.apache.commons.lang3.Validate;
@@ -24,8 +27,10 @@ import org.springframework.stereotype.Component;
 import org.talend.dataprep.api.dataset.DataSet;
 import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.preparation.Action;
 import org.talend.dataprep.dataset.StatisticsAdapter;
 import org.talend.dataprep.quality.AnalyzerService;
+import org.talend.dataprep.transformation.actions.common.RunnableAction;
 import org.talend.dataprep.transformation.api.action.ActionParser;
 import org.talend.dataprep.transformation.api.transformer.ExecutableTransformer;
 import org.talend.dataprep.transformation.api.transformer.Transformer;
@@ -79,12 +84,17 @@ class PipelineDiffTransformer implements Transformer {
         final TransformerWriter writer = writerRegistrationService.getWriter(configuration.formatId(),
                 configuration.output(), configuration.getArguments());
 
-        // Build diff pipeline
+        // Build diff pipeline: actions shared by reference and preview are only executed once
         final Node diffWriterNode = new DiffWriterNode(writer);
-        final String referenceActions = previewConfiguration.getReferenceActions();
-        final String previewActions = previewConfiguration.getPreviewActions();
-        final Pipeline referencePipeline = buildPipeline(rowMetadata, referenceActions);
-        final Pipeline previewPipeline = buildPipeline(rowMetadata, previewActions);
+        final List<RunnableAction> referenceActions = actionParser.parse(previewConfiguration.getReferenceActions());
+        final List<RunnableAction> previewActions = actionParser.parse(previewConfiguration.getPreviewActions());
+        final int commonPrefixLength = getCommonPrefixLength(referenceActions, previewActions);
+        LOGGER.debug("Preview shares {} actions out of {} with reference.", commonPrefixLength,
+                referenceActions.size());
+        final Pipeline referencePipeline = buildPipeline(rowMetadata,
+                referenceActions.subList(commonPrefixLength, referenceActions.size()));
+        final Pipeline previewPipeline =
+                buildPipeline(rowMetadata, previewActions.subList(commonPrefixLength, previewActions.size()));
 
         // Filter source records (extract TDP ids information)
         final List<Long> indexes = previewConfiguration.getIndexes();
@@ -97,8 +107,11 @@ class PipelineDiffTransformer implements Transformer {
         }
 
         // Build diff pipeline
-        final Node diffPipeline = NodeBuilder
-                .filteredSource(filter) //
+        final NodeBuilder diffPipelineBuilder = NodeBuilder.filteredSource(filter);
+        if (commonPrefixLength > 0) {
+            diffPipelineBuilder.to(buildPipeline(rowMetadata, referenceActions.subList(0, commonPrefixLength)));
+        }
+        final Node diffPipeline = diffPipelineBuilder //
                 .dispatchTo(referencePipeline, previewPipeline) //
                 .zipTo(diffWriterNode) //
                 .build();
@@ -127,12 +140,37 @@ class PipelineDiffTransformer implements Transformer {
         };
     }
 
-    private Pipeline buildPipeline(RowMetadata rowMetadata, String actions) {
+    /**
+     * Returns the number of leading actions (same name and same parameters) shared by two lists of actions.
+     *
+     * @param referenceActions The reference actions.
+     * @param previewActions The preview actions.
+     * @return The length of the longest common prefix of both lists.
+     */
+    static int getCommonPrefixLength(List<? extends Action> referenceActions, List<? extends Action> previewActions) {
+        final int maxLength = Math.min(referenceActions.size(), previewActions.size());
+        int length = 0;
+        while (length < maxLength && isSameAction(referenceActions.get(length), previewActions.get(length))) {
+            length++;
+        }
+        return length;
+    }
+
+    private static boolean isSameAction(Action action, Action other) {
+        return Objects.equals(action.getName(), other.getName())
+                && Objects.equals(action.getParameters(), other.getParameters());
+    }
+
+    /**
+     * Builds a pipeline for actions. Actions are compiled against the row metadata they receive, so a pipeline may
+     * follow another pipeline (actions can then use columns created by previous pipeline).
+     */
+    private Pipeline buildPipeline(RowMetadata rowMetadata, List<RunnableAction> actions) {
         return Pipeline.Builder
                 .builder() //
                 .withAnalyzerService(analyzerService) //
                 .withActionRegistry(actionRegistry) //
-                .withActions(actionParser.parse(actions)) //
+                .withActions(actions) //
                 .withInitialMetadata(rowMetadata, true) //
                 .withGlobalStatistics(false) //
                 .withOutput(BasicNode::new) //
@@ -146,6 +184,7 @@ class PipelineDiffTransformer implements Transformer {
     }
 
     private Predicate<DataSetRow> isIndexWanted(List<Long> indexes) {
-        return row -> indexes.contains(row.getTdpId());
+        final Set<Long> wantedIndexes = new HashSet<>(indexes);
+        return row -> wantedIndexes.contains(row.getTdpId());
     }
 }
@@ -0,0 +1,169 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+
+package org.talend.dataprep.transformation.format;
+
+import static org.talend.dataprep.transformation.format.AvroFormat.AVRO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.apache.avro.Schema;
+import org.apache.avro.file.DataFileStream;
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.api.dataset.DataSet;
+import org.talend.dataprep.api.dataset.DataSetMetadata;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.exception.error.CommonErrorCodes;
+import org.talend.dataprep.transformation.api.transformer.TransformerWriter;
+import org.talend.dataprep.util.avro.AvroUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writer to serialize a dataset content as an Avro binary stream (Avro object container: the schema, built from the
+ * {@link RowMetadata}, is written before the records). The {@link RowMetadata} itself (with column types and domains
+ * the schema can't hold) is written as JSON in the container metadata. Content written by this writer is read back
+ * with {@link #read(InputStream, ObjectMapper)}.
+ */
+@Scope("prototype")
+@Component("writer#" + AVRO)
+public class AvroWriter implements TransformerWriter {
+
+    /** Key of the JSON {@link RowMetadata} in the Avro container metadata. */
+    static final String ROW_METADATA_KEY = "dataprep.rowMetadata";
+
+    /** Where this writer should write. */
+    private final OutputStream output;
+
+    /** The Avro writer, created once the schema is known. */
+    private DataFileWriter<GenericRecord> writer;
+
+    private Function<DataSetRow, GenericRecord> toRecord;
+
+    /** Jackson API. */
+    @Autowired
+    private ObjectMapper mapper;
+
+    /**
+     * Default constructor.
+     *
+     * @param output Where this writer should write.
+     */
+    public AvroWriter(final OutputStream output) {
+        this.output = output;
+    }
+
+    /**
+     * <b>Needed</b> private constructor for the WriterRegistrationService.
+     *
+     * @param output where to write the transformation.
+     * @param params ignored parameters.
+     */
+    private AvroWriter(final OutputStream output, final Map<String, String> params) {
+        this(output);
+    }
+
+    @Override
+    public void write(final RowMetadata rowMetadata) throws IOException {
+        // Schema can't change once records are written
+        if (writer == null) {
+            start(rowMetadata);
+        }
+    }
+
+    @Override
+    public void write(final DataSetRow row) throws IOException {
+        if (!row.values().isEmpty() && row.getRowMetadata().getColumns().isEmpty()) {
+            throw new IllegalStateException(
+                    " If a dataset row has some values it should at least have columns just before writing the result of a non json transformation.");
+        }
+        if (writer == null) {
+            start(row.getRowMetadata());
+        }
+        writer.append(toRecord.apply(row));
+    }
+
+    private void start(RowMetadata rowMetadata) throws IOException {
+        final Schema schema = AvroUtils.toSchema(rowMetadata);
+        toRecord = AvroUtils.buildToGenericRecordConverter(schema);
+        writer = new DataFileWriter<>(new GenericDatumWriter<GenericRecord>(schema));
+        writer.setMeta(ROW_METADATA_KEY, mapper.writeValueAsString(rowMetadata));
+        writer.create(schema, output);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer == null) {
+            start(new RowMetadata());
+        }
+        // Don't close Avro writer as it would close output
+        writer.flush();
+    }
+
+    /**
+     * Reads a data set written by an {@link AvroWriter}.
+     *
+     * @param input The Avro content, closed when returned data set is closed.
+     * @param mapper The Jackson API to read the {@link RowMetadata} written with content.
+     * @return The data set, its metadata only holds the {@link RowMetadata} written with content (or read from the
+     * Avro schema if content has none).
+     * @throws IOException If content can't be read.
+     */
+    public static DataSet read(InputStream input, ObjectMapper mapper) throws IOException {
+        final DataFileStream<GenericRecord> records = new DataFileStream<>(input, new GenericDatumReader<>());
+        final String rowMetadataJson = records.getMetaString(ROW_METADATA_KEY);
+        final RowMetadata rowMetadata = rowMetadataJson == null ? AvroUtils.toRowMetadata(records.getSchema())
+                : mapper.readerFor(RowMetadata.class).readValue(rowMetadataJson);
+
+        final DataSetMetadata metadata = new DataSetMetadata();
+        metadata.setRowMetadata(rowMetadata);
+        final Stream<DataSetRow> rows = StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(records.iterator(), Spliterator.ORDERED), false) //
+                .map(AvroUtils.buildToDataSetRowConverter(rowMetadata)) //
+                .onClose(() -> {
+                    try {
+                        records.close();
+                    } catch (IOException e) {
+                        throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+                    }
+                });
+
+        final DataSet dataSet = new DataSet();
+        dataSet.setMetadata(metadata);
+        dataSet.setRecords(rows);
+        return dataSet;
+    }
+}
@@ -16,6 +16,8 @@ package org.talend.dataprep.transformation.format;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.talend.dataprep.transformation.format.CSVFormat.CSV;
 
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
@@ -64,7 +66,11 @@ public class CSVWriter extends AbstractTransformerWriter {
 
     private char escapeCharacter;
 
-    private ObjectBuffer<BufferedDatasetRow> objectBuffer;
+    private SpillBuffer<BufferedDatasetRow> objectBuffer;
+
+    /** Number of bytes of buffered records to keep in memory before spilling them to disk. */
+    @Value("${transformation.export.buffer.memory.threshold:" + SpillBuffer.DEFAULT_MEMORY_THRESHOLD + "}")
+    private long bufferMemoryThreshold = SpillBuffer.DEFAULT_MEMORY_THRESHOLD;
 
     /** The default separator. */
     @Value("${default.text.separator:;}")
@@ -188,7 +194,7 @@ public class CSVWriter extends AbstractTransformerWriter {
 
         if (csvWriter == null) {
             if (objectBuffer == null) {
-                objectBuffer = new ObjectBuffer<>(BufferedDatasetRow.class);
+                objectBuffer = new SpillBuffer<>(BufferedDatasetRow.CODEC, bufferMemoryThreshold);
             }
             objectBuffer.appendRow(new BufferedDatasetRow(row));
         } else {
@@ -260,12 +266,35 @@ public class CSVWriter extends AbstractTransformerWriter {
 
     private static final class BufferedDatasetRow {
 
+        /** Binary encoding used to buffer rows until metadata is received. */
+        private static final SpillBuffer.Codec<BufferedDatasetRow> CODEC = new SpillBuffer.Codec<BufferedDatasetRow>() {
+
+            @Override
+            public void write(BufferedDatasetRow row, DataOutput output) throws IOException {
+                SpillBuffer.writeStrings(row.nextLine, output);
+                output.writeInt(row.isEnclosedTypeValues.length);
+                for (Boolean isEnclosed : row.isEnclosedTypeValues) {
+                    output.writeBoolean(Boolean.TRUE.equals(isEnclosed));
+                }
+            }
+
+            @Override
+            public BufferedDatasetRow read(DataInput input) throws IOException {
+                final BufferedDatasetRow row = new BufferedDatasetRow();
+                row.nextLine = SpillBuffer.readStrings(input);
+                row.isEnclosedTypeValues = new Boolean[input.readInt()];
+                for (int i = 0; i < row.isEnclosedTypeValues.length; i++) {
+                    row.isEnclosedTypeValues[i] = input.readBoolean();
+                }
+                return row;
+            }
+        };
+
         public String[] nextLine;
 
         public Boolean[] isEnclosedTypeValues;
 
-        // for jackson serialization
-        public BufferedDatasetRow() {
+        private BufferedDatasetRow() {
         }
 
         public BufferedDatasetRow(RowMetadata rowMetadata) {
@@ -13,7 +13,7 @@
 
 package org.talend.dataprep.transformation.format;
 
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -29,7 +29,7 @@ import static org.apache.commons.lang3.StringUtils.equalsIgnoreCase;
 public class FormatRegistrationService {
 
     /** List of internal format types. */
-    private static final List<String> INTERNAL_TYPES = Collections.singletonList(JsonFormat.JSON);
+    private static final List<String> INTERNAL_TYPES = Arrays.asList(JsonFormat.JSON, AvroFormat.AVRO);
 
     /** List of available format types. */
     private final List<ExportFormat> types;
@@ -16,14 +16,20 @@ package org.talend.dataprep.transformation.format;
 import static org.slf4j.LoggerFactory.getLogger;
 import static org.talend.dataprep.transformation.format.JsonFormat.JSON;
 
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import javax.annotation.PostConstruct;
 
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 import org.talend.dataprep.api.dataset.RowMetadata;
@@ -76,7 +82,11 @@ public class JsonWriter implements TransformerWriter {
     private RowMetadata bufferedRowMetadata;
 
     /** Buffer to store records before we received the metadata. */
-    private ObjectBuffer<BufferedDataSetRow> recordsBuffer;
+    private SpillBuffer<BufferedDataSetRow> recordsBuffer;
+
+    /** Number of bytes of buffered records to keep in memory before spilling them to disk. */
+    @Value("${transformation.export.buffer.memory.threshold:" + SpillBuffer.DEFAULT_MEMORY_THRESHOLD + "}")
+    private long bufferMemoryThreshold = SpillBuffer.DEFAULT_MEMORY_THRESHOLD;
 
     private boolean closed = false;
 
@@ -157,7 +167,7 @@ public class JsonWriter implements TransformerWriter {
     public void write(final DataSetRow row) throws IOException {
         if (bufferedRowMetadata == null) {
             if (recordsBuffer == null) {
-                recordsBuffer = new ObjectBuffer<>(BufferedDataSetRow.class);
+                recordsBuffer = new SpillBuffer<>(BufferedDataSetRow.CODEC, bufferMemoryThreshold);
             }
             recordsBuffer.appendRow(new BufferedDataSetRow(row));
         } else {
@@ -228,15 +238,152 @@ public class JsonWriter implements TransformerWriter {
         generator.flush();
     }
 
-    private static final class BufferedDataSetRow {
+    static final class BufferedDataSetRow {
+
+        /** Value types of the binary encoding used to buffer rows until metadata is received. */
+        private static final byte NULL = 0;
+
+        private static final byte STRING = 1;
+
+        private static final byte LONG = 2;
+
+        private static final byte INTEGER = 3;
+
+        private static final byte DOUBLE = 4;
+
+        private static final byte BOOLEAN = 5;
+
+        private static final byte MAP = 6;
+
+        private static final byte FLOAT = 7;
+
+        private static final byte BIG_DECIMAL = 8;
+
+        private static final byte BIG_INTEGER = 9;
+
+        static final SpillBuffer.Codec<BufferedDataSetRow> CODEC = new SpillBuffer.Codec<BufferedDataSetRow>() {
+
+            @Override
+            public void write(BufferedDataSetRow row, DataOutput output) throws IOException {
+                writeMap(row.values, output);
+            }
+
+            @Override
+            public BufferedDataSetRow read(DataInput input) throws IOException {
+                final BufferedDataSetRow row = new BufferedDataSetRow();
+                row.values = readMap(input);
+                return row;
+            }
+        };
 
         public Map<String, Object> values;
 
-        public BufferedDataSetRow() {
+        private BufferedDataSetRow() {
         }
 
         public BufferedDataSetRow(DataSetRow row) {
             values = row.valuesWithId();
         }
+
+        BufferedDataSetRow(Map<String, Object> values) {
+            this.values = values;
+        }
+
+        private static void writeMap(Map<?, ?> values, DataOutput output) throws IOException {
+            output.writeInt(values.size());
+            for (Map.Entry<?, ?> entry : values.entrySet()) {
+                SpillBuffer.writeString(String.valueOf(entry.getKey()), output);
+                writeValue(entry.getValue(), output);
+            }
+        }
+
+        private static Map<String, Object> readMap(DataInput input) throws IOException {
+            final int size = input.readInt();
+            final Map<String, Object> values = new LinkedHashMap<>(size * 2);
+            for (int i = 0; i < size; i++) {
+                values.put(SpillBuffer.readString(input), readValue(input));
+            }
+            return values;
+        }
+
+        /**
+         * Write a value with its type so it is read back as the same JSON type: numbers stay JSON numbers, values of
+         * unknown types are written as strings.
+         */
+        private static void writeValue(Object value, DataOutput output) throws IOException {
+            if (value == null) {
+                output.writeByte(NULL);
+            } else if (value instanceof Long) {
+                output.writeByte(LONG);
+                output.writeLong((Long) value);
+            } else if (value instanceof Integer) {
+                output.writeByte(INTEGER);
+                output.writeInt((Integer) value);
+            } else if (value instanceof Short || value instanceof Byte) {
+                output.writeByte(INTEGER);
+                output.writeInt(((Number) value).intValue());
+            } else if (value instanceof Double) {
+                output.writeByte(DOUBLE);
+                output.writeDouble((Double) value);
+            } else if (value instanceof Float) {
+                output.writeByte(FLOAT);
+                output.writeFloat((Float) value);
+            } else if (value instanceof BigInteger) {
+                output.writeByte(BIG_INTEGER);
+                SpillBuffer.writeString(value.toString(), output);
+            } else if (value instanceof BigDecimal) {
+                output.writeByte(BIG_DECIMAL);
+                SpillBuffer.writeString(((BigDecimal) value).toString(), output);
+            } else if (value instanceof Number && isDecimal(value.toString())) {
+                output.writeByte(BIG_DECIMAL);
+                SpillBuffer.writeString(value.toString(), output);
+            } else if (value instanceof Boolean) {
+                output.writeByte(BOOLEAN);
+                output.writeBoolean((Boolean) value);
+            } else if (value instanceof Map) {
+                output.writeByte(MAP);
+                writeMap((Map<?, ?>) value, output);
+            } else {
+                output.writeByte(STRING);
+                SpillBuffer.writeString(String.valueOf(value), output);
+            }
+        }
+
+        private static boolean isDecimal(String value) {
+            try {
+                new BigDecimal(value);
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+
+        private static Object readValue(DataInput input) throws IOException {
+            final byte type = input.readByte();
+            switch (type) {
+            case NULL:
+                return null;
+            case LONG:
+                return input.readLong();
+            case INTEGER:
+                return input.readInt();
+            case DOUBLE:
+                return input.readDouble();
+            case FLOAT:
+                return input.readFloat();
+            case BIG_DECIMAL:
+                return new BigDecimal(SpillBuffer.readString(input));
+            case BIG_INTEGER:
+                return new BigInteger(SpillBuffer.readString(input));
+            case BOOLEAN:
+                return input.readBoolean();
+            case MAP:
+                return readMap(input);
+            case STRING:
+                return SpillBuffer.readString(input);
+            default:
+                throw new IOException("Unknown buffered value type: " + type);
+            }
+        }
     }
 }
@@ -0,0 +1,320 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.format;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.talend.dataprep.exception.TDPException;
+import org.talend.dataprep.exception.error.CommonErrorCodes;
+import org.talend.dataprep.util.FilesHelper;
+import org.talend.dataprep.util.MappedBuffers;
+
+/**
+ * Buffer for objects written by export writers before the final {@link org.talend.dataprep.api.dataset.RowMetadata}
+ * is known.
+ *
+ * Objects are encoded by a {@link Codec} in a compact binary form (strings are length-prefixed UTF-8 bytes) and kept in
+ * memory. Once the encoded content exceeds the memory threshold, content is moved to a temporary file and all further
+ * objects are appended to this file, that is memory-mapped when read back.
+ *
+ * This is not intended to be thread-safe. Read is intended to be done after all writes are done.
+ *
+ * @param <T> the type to store.
+ * @see ObjectBuffer
+ */
+public class SpillBuffer<T> implements AutoCloseable {
+
+    /** Default number of bytes kept in memory before spilling to disk (8MB). */
+    public static final long DEFAULT_MEMORY_THRESHOLD = 8L * 1024 * 1024;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpillBuffer.class);
+
+    /** Marker for null strings or arrays. */
+    private static final int NULL_LENGTH = -1;
+
+    private static final int FILE_BUFFER_SIZE = 64 * 1024;
+
+    private final Codec<T> codec;
+
+    private final long memoryThreshold;
+
+    /** Holds the encoded objects until the threshold is reached, null once spilled to disk. */
+    private MemoryOutputStream memory = new MemoryOutputStream();
+
+    /** Where objects are currently written (memory or file). */
+    private DataOutputStream output = new DataOutputStream(memory);
+
+    private Path tempFile;
+
+    private FileChannel channel;
+
+    /** Buffers mapped on read, unmapped on close. */
+    private final List<ByteBuffer> mappedBuffers = new ArrayList<>();
+
+    private long count = 0;
+
+    private boolean readStarted = false;
+
+    private boolean closed = false;
+
+    /**
+     * @param codec the codec to encode / decode buffered objects.
+     * @param memoryThreshold the number of bytes to keep in memory before spilling to disk.
+     */
+    public SpillBuffer(Codec<T> codec, long memoryThreshold) {
+        this.codec = codec;
+        this.memoryThreshold = memoryThreshold;
+    }
+
+    /** Append an object to the buffer. */
+    public void appendRow(T entity) throws IOException {
+        if (closed || readStarted) {
+            throw new IOException("The SpillBuffer is closed for writing");
+        }
+        codec.write(entity, output);
+        count++;
+        if (memory != null && memory.size() > memoryThreshold) {
+            spill();
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the content of this buffer was moved to a temporary file.
+     */
+    public boolean isSpilled() {
+        return tempFile != null;
+    }
+
+    /**
+     * Move buffered content to a temporary file, all further writes go to this file.
+     */
+    private void spill() throws IOException {
+        tempFile = Files.createTempFile("spill-buffer", ".bin");
+        LOGGER.debug("Spill buffer content ({} bytes) to {}", memory.size(), tempFile);
+        channel = FileChannel.open(tempFile, READ, WRITE);
+        output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), FILE_BUFFER_SIZE));
+        memory.writeTo(output);
+        memory = null;
+    }
+
+    /**
+     * Read all data of the buffer, prevent any further writings.
+     */
+    public Stream<T> readAll() throws IOException {
+        if (closed) {
+            throw new IOException("The SpillBuffer is closed");
+        }
+        readStarted = true;
+        output.flush();
+
+        final List<ByteBuffer> buffers = new ArrayList<>();
+        if (memory != null) {
+            buffers.add(ByteBuffer.wrap(memory.buffer(), 0, memory.size()));
+        } else {
+            final long size = channel.size();
+            for (long position = 0; position < size; position += Integer.MAX_VALUE) {
+                final long length = Math.min(Integer.MAX_VALUE, size - position);
+                final ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                mappedBuffers.add(mapped);
+                buffers.add(mapped);
+            }
+        }
+        final DataInputStream input = new DataInputStream(new ByteBuffersInputStream(buffers));
+        final long total = count;
+        final Iterator<T> iterator = new Iterator<T>() {
+
+            private long read = 0;
+
+            @Override
+            public boolean hasNext() {
+                return read < total;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                try {
+                    read++;
+                    return codec.read(input);
+                } catch (IOException e) {
+                    throw new TDPException(CommonErrorCodes.UNEXPECTED_EXCEPTION, e);
+                }
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliterator(iterator, total, Spliterator.ORDERED), false);
+    }
+
+    /**
+     * Close the buffer and delete underlying resources.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        memory = null;
+        mappedBuffers.forEach(MappedBuffers::unmap);
+        mappedBuffers.clear();
+        if (channel != null) {
+            try {
+                output.close();
+            } finally {
+                channel.close();
+                FilesHelper.deleteQuietly(tempFile.toFile());
+            }
+        }
+    }
+
+    /**
+     * Write a possibly null string as its length followed by its UTF-8 bytes.
+     */
+    public static void writeString(String value, DataOutput output) throws IOException {
+        if (value == null) {
+            output.writeInt(NULL_LENGTH);
+        } else {
+            final byte[] bytes = value.getBytes(UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    /**
+     * Read a string written by {@link #writeString(String, DataOutput)}.
+     */
+    public static String readString(DataInput input) throws IOException {
+        final int length = input.readInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    /**
+     * Write a possibly null array of strings as its length followed by its values.
+     */
+    public static void writeStrings(String[] values, DataOutput output) throws IOException {
+        if (values == null) {
+            output.writeInt(NULL_LENGTH);
+        } else {
+            output.writeInt(values.length);
+            for (String value : values) {
+                writeString(value, output);
+            }
+        }
+    }
+
+    /**
+     * Read an array of strings written by {@link #writeStrings(String[], DataOutput)}.
+     */
+    public static String[] readStrings(DataInput input) throws IOException {
+        final int length = input.readInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        final String[] values = new String[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = readString(input);
+        }
+        return values;
+    }
+
+    /**
+     * Binary encoding of the buffered objects.
+     *
+     * @param <T> the type to encode.
+     */
+    public interface Codec<T> {
+
+        void write(T entity, DataOutput output) throws IOException;
+
+        T read(DataInput input) throws IOException;
+    }
+
+    /**
+     * A {@link ByteArrayOutputStream} that gives access to its internal buffer to read it back without any copy.
+     */
+    private static class MemoryOutputStream extends ByteArrayOutputStream {
+
+        private MemoryOutputStream() {
+            super(FILE_BUFFER_SIZE);
+        }
+
+        private byte[] buffer() {
+            return buf;
+        }
+    }
+
+    /**
+     * Sequentially reads a list of {@link ByteBuffer}, needed as a single mapped buffer cannot exceed 2GB.
+     */
+    private static class ByteBuffersInputStream extends InputStream {
+
+        private final Iterator<ByteBuffer> buffers;
+
+        private ByteBuffer current;
+
+        private ByteBuffersInputStream(List<ByteBuffer> buffers) {
+            this.buffers = buffers.iterator();
+            this.current = this.buffers.hasNext() ? this.buffers.next() : ByteBuffer.allocate(0);
+        }
+
+        private boolean ensureRemaining() {
+            while (!current.hasRemaining() && buffers.hasNext()) {
+                current = buffers.next();
+            }
+            return current.hasRemaining();
+        }
+
+        @Override
+        public int read() {
+            return ensureRemaining() ? current.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!ensureRemaining()) {
+                return -1;
+            }
+            final int read = Math.min(length, current.remaining());
+            current.get(bytes, offset, read);
+            return read;
+        }
+    }
+}
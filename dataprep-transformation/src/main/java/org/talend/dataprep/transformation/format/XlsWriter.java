@@ -27,6 +27,7 @@ import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 import org.talend.daikon.number.BigDecimalParser;
@@ -35,7 +36,6 @@ import org.talend.dataprep.api.dataset.RowMetadata;
 import org.talend.dataprep.api.dataset.row.DataSetRow;
 import org.talend.dataprep.api.type.Type;
 import org.talend.dataprep.exception.TDPException;
-import org.talend.dataprep.exception.error.TransformationErrorCodes;
 import org.talend.dataprep.transformation.api.transformer.TransformerWriter;
 import org.talend.dataprep.util.FilesHelper;
 import org.talend.dataprep.util.NumericHelper;
@@ -49,6 +49,20 @@ public class XlsWriter implements TransformerWriter {
     // The separator to be used in temporary record buffer
     private static final char BUFFER_CSV_SEPARATOR = ',';
 
+    /** Binary encoding used to buffer rows until metadata is received. */
+    private static final SpillBuffer.Codec<String[]> ROW_CODEC = new SpillBuffer.Codec<String[]>() {
+
+        @Override
+        public void write(String[] row, DataOutput output) throws IOException {
+            SpillBuffer.writeStrings(row, output);
+        }
+
+        @Override
+        public String[] read(DataInput input) throws IOException {
+            return SpillBuffer.readStrings(input);
+        }
+    };
+
     private final OutputStream outputStream;
 
     private final SXSSFWorkbook workbook;
@@ -56,7 +70,11 @@ public class XlsWriter implements TransformerWriter {
     private final Sheet sheet;
 
     // Holds a temporary buffer on disk of records to be written
-    private ObjectBuffer<String[]> rowsBuffer;
+    private SpillBuffer<String[]> rowsBuffer;
+
+    /** Number of bytes of buffered records to keep in memory before spilling them to disk. */
+    @Value("${transformation.export.buffer.memory.threshold:" + SpillBuffer.DEFAULT_MEMORY_THRESHOLD + "}")
+    private long bufferMemoryThreshold = SpillBuffer.DEFAULT_MEMORY_THRESHOLD;
 
     private RowMetadata writtenMetadata;
 
@@ -69,16 +87,11 @@ public class XlsWriter implements TransformerWriter {
     }
 
     public XlsWriter(final OutputStream output, Map<String, String> parameters) {
-        try {
-            this.outputStream = output;
-            // we limit to only 50 rows in memory
-            this.workbook = new SXSSFWorkbook(50);
-            // TODO sheet name as an option?
-            this.sheet = this.workbook.createSheet("sheet1");
-            rowsBuffer = new ObjectBuffer<>(String[].class);
-        } catch (IOException e) {
-            throw new TDPException(TransformationErrorCodes.UNABLE_TO_USE_EXPORT, e);
-        }
+        this.outputStream = output;
+        // we limit to only 50 rows in memory
+        this.workbook = new SXSSFWorkbook(50);
+        // TODO sheet name as an option?
+        this.sheet = this.workbook.createSheet("sheet1");
     }
 
     @Override
@@ -90,6 +103,9 @@ public class XlsWriter implements TransformerWriter {
         // values need to be written in the same order as the columns
         String[] rowValues = row.order().toArray(DataSetRow.SKIP_TDP_ID);
         if (writtenMetadata == null) {
+            if (rowsBuffer == null) {
+                rowsBuffer = new SpillBuffer<>(ROW_CODEC, bufferMemoryThreshold);
+            }
             rowsBuffer.appendRow(rowValues);
         } else {
             internalWriteRow(writtenMetadata, rowValues);
@@ -104,8 +120,10 @@ public class XlsWriter implements TransformerWriter {
             writtenMetadata = metadata;
 
             // Empty buffer
-            rowsBuffer.readAll().forEach(row -> internalWriteRow(metadata, row));
-            safeCloseObjectBuffer();
+            if (rowsBuffer != null) {
+                rowsBuffer.readAll().forEach(row -> internalWriteRow(metadata, row));
+                safeCloseObjectBuffer();
+            }
         }
     }
 
@@ -27,6 +27,7 @@ import static org.talend.dataprep.exception.error.TransformationErrorCodes.UNEXP
 import static org.talend.dataprep.quality.AnalyzerService.Analysis.SEMANTIC;
 import static org.talend.dataprep.transformation.actions.category.ScopeCategory.COLUMN;
 import static org.talend.dataprep.transformation.actions.category.ScopeCategory.LINE;
+import static org.talend.dataprep.transformation.format.AvroFormat.AVRO;
 import static org.talend.dataprep.transformation.format.JsonFormat.JSON;
 
 import java.io.IOException;
@@ -34,7 +35,6 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
-import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -102,6 +102,7 @@ import org.talend.dataprep.exception.error.TransformationErrorCodes;
 import org.talend.dataprep.exception.json.JsonErrorCodeDescription;
 import org.talend.dataprep.format.export.ExportFormat;
 import org.talend.dataprep.format.export.ExportFormatMessage;
+import org.talend.dataprep.io.AbortablePipedInputStream;
 import org.talend.dataprep.metrics.Timed;
 import org.talend.dataprep.metrics.VolumeMetered;
 import org.talend.dataprep.quality.AnalyzerService;
@@ -122,6 +123,7 @@ import org.talend.dataprep.transformation.api.transformer.configuration.Configur
 import org.talend.dataprep.transformation.api.transformer.configuration.PreviewConfiguration;
 import org.talend.dataprep.transformation.api.transformer.suggestion.Suggestion;
 import org.talend.dataprep.transformation.api.transformer.suggestion.SuggestionEngine;
+import org.talend.dataprep.transformation.format.AvroWriter;
 import org.talend.dataprep.transformation.pipeline.ActionRegistry;
 import org.talend.dataprep.transformation.preview.api.PreviewParameters;
 import org.talend.dataprep.transformation.service.export.PreparationExportStrategy;
@@ -367,49 +369,49 @@ public class TransformationService extends BaseTransformationService {
         }
 
         // apply the aggregation
-        try (InputStream contentToAggregate = getContentToAggregate(parameters);
-                JsonParser parser =
-                        mapper.getFactory().createParser(new InputStreamReader(contentToAggregate, UTF_8))) {
-            final DataSet dataSet = mapper.readerFor(DataSet.class).readValue(parser);
+        try (DataSet dataSet = getContentToAggregate(parameters)) {
             return aggregationService.aggregate(parameters, dataSet);
-        } catch (IOException e) {
-            throw new TDPException(CommonErrorCodes.UNABLE_TO_PARSE_JSON, e);
         }
     }
 
-    private InputStream getContentToAggregate(AggregationParameters parameters) {
-        InputStream contentToAggregate;
-
-        // get the content of the preparation (internal call with piped streams)
+    private DataSet getContentToAggregate(AggregationParameters parameters) {
+        // get the content of the preparation (internal call with piped streams, in Avro binary format)
         if (StringUtils.isNotBlank(parameters.getPreparationId())) {
             try {
                 PipedOutputStream temp = new PipedOutputStream();
-                contentToAggregate = new PipedInputStream(temp);
+                AbortablePipedInputStream contentToAggregate = new AbortablePipedInputStream(temp);
 
                 // because of piped streams, processing must be asynchronous
                 Runnable r = () -> {
-                    try {
-                        final ExportParameters exportParameters = new ExportParameters();
-                        exportParameters.setPreparationId(parameters.getPreparationId());
-                        exportParameters.setDatasetId(parameters.getDatasetId());
-                        exportParameters.setFilter(parameters.getFilter());
-                        exportParameters.setExportType(JSON);
-                        exportParameters.setStepId(parameters.getStepId());
-
-                        final StreamingResponseBody body = executeSampleExportStrategy(exportParameters);
-                        body.writeTo(temp);
+                    try (OutputStream output = temp) {
+                        try {
+                            final ExportParameters exportParameters = new ExportParameters();
+                            exportParameters.setPreparationId(parameters.getPreparationId());
+                            exportParameters.setDatasetId(parameters.getDatasetId());
+                            exportParameters.setFilter(parameters.getFilter());
+                            exportParameters.setExportType(AVRO);
+                            exportParameters.setStepId(parameters.getStepId());
+
+                            final StreamingResponseBody body = executeSampleExportStrategy(exportParameters);
+                            body.writeTo(output);
+                        } catch (IOException | RuntimeException e) {
+                            // closing the pipe must not let the aggregation read truncated content as complete
+                            contentToAggregate.abort(e);
+                            throw e;
+                        }
                     } catch (IOException e) {
                         throw new TDPException(CommonErrorCodes.UNABLE_TO_AGGREGATE, e);
                     }
                 };
                 executor.execute(r);
+                return AvroWriter.read(contentToAggregate, mapper);
             } catch (IOException e) {
                 throw new TDPException(CommonErrorCodes.UNABLE_TO_AGGREGATE, e);
             }
         } else {
-            contentToAggregate = datasetClient.getDataSetGetCommand(parameters.getDatasetId(), false, true).execute();
+            // dataset content is directly read as rows (no JSON serialization)
+            return datasetClient.getDataSet(parameters.getDatasetId(), false, true);
         }
-        return contentToAggregate;
     }
 
     /**
@@ -485,9 +487,14 @@ public class TransformationService extends BaseTransformationService {
 
     private void executeDiffOnDataset(final PreviewParameters previewParameters, final OutputStream output) {
 
+        // Only read the previewed rows (dataset service seeks to them when content is indexed)
+        final List<Long> tdpIds = PreviewConfiguration.parseIndexes(previewParameters.getTdpIds());
+        final List<Long> wantedIds = tdpIds == null || tdpIds.isEmpty() ? null : tdpIds;
+
         boolean identityReleased = false;
         securityProxy.asTechnicalUserForDataSet();
-        try (final DataSet dataSet = datasetClient.getDataSet(previewParameters.getDataSetId(), false, true)) {
+        try (final DataSet dataSet =
+                datasetClient.getDataSet(previewParameters.getDataSetId(), false, true, null, wantedIds)) {
             securityProxy.releaseIdentity();
             identityReleased = true;
 
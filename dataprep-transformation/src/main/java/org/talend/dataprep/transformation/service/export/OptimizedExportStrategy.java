@@ -13,6 +13,7 @@
 package org.talend.dataprep.transformation.service.export;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MINUTES;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -26,6 +27,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.talend.dataprep.api.dataset.DataSet;
@@ -46,6 +48,8 @@ import org.talend.dataprep.transformation.service.BaseExportStrategy;
 import org.talend.dataprep.transformation.service.ExportUtils;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 /**
  * A {@link BaseExportStrategy strategy} to export a preparation (using its default data set), using any information
@@ -59,6 +63,17 @@ public class OptimizedExportStrategy extends BaseSampleExportStrategy {
     @Autowired
     private CacheKeyGenerator cacheKeyGenerator;
 
+    /** How many steps (at most) are replayed from a cached ancestor step. */
+    @Value("${transformation.optimized.max-replayed-steps:10}")
+    private int maxReplayedSteps;
+
+    /**
+     * Inputs found applicable by {@link #test(ExportParameters)}, kept for the {@link #execute(ExportParameters)} of
+     * the same export (parameters are weakly referenced and compared by identity).
+     */
+    private final Cache<ExportParameters, OptimizedPreparationInput> applicableInputs =
+            CacheBuilder.newBuilder().weakKeys().expireAfterWrite(1, MINUTES).build();
+
     @Override
     public boolean test(ExportParameters parameters) {
         if (parameters == null) {
@@ -71,7 +86,11 @@ public class OptimizedExportStrategy extends BaseSampleExportStrategy {
             return false;
         }
         final OptimizedPreparationInput optimizedPreparationInput = new OptimizedPreparationInput(parameters);
-        return optimizedPreparationInput.applicable();
+        if (optimizedPreparationInput.applicable()) {
+            applicableInputs.put(parameters, optimizedPreparationInput);
+            return true;
+        }
+        return false;
     }
 
     @Override
@@ -82,13 +101,16 @@ public class OptimizedExportStrategy extends BaseSampleExportStrategy {
                 parameters.getArguments().get(ExportFormat.PREFIX + CSVFormat.ParametersCSV.ENCODING), //
                 format);
 
-        return outputStream -> performOptimizedTransform(parameters, outputStream);
+        final OptimizedPreparationInput input = applicableInputs.asMap().remove(parameters);
+        return outputStream -> performOptimizedTransform(parameters, input, outputStream);
     }
 
-    private void performOptimizedTransform(ExportParameters parameters, OutputStream outputStream) throws IOException {
-        // Initial check
+    private void performOptimizedTransform(ExportParameters parameters, OptimizedPreparationInput input,
+            OutputStream outputStream) throws IOException {
+        // Initial check (reuse the input found applicable when strategy was tested)
         LOGGER.debug("Prepare optimized transformation");
-        final OptimizedPreparationInput optimizedPreparationInput = new OptimizedPreparationInput(parameters).invoke();
+        final OptimizedPreparationInput optimizedPreparationInput =
+                input != null ? input : new OptimizedPreparationInput(parameters).invoke();
         if (optimizedPreparationInput == null) {
             throw new IllegalStateException("Unable to use this strategy (call accept() before calling this).");
         }
@@ -277,40 +299,62 @@ public class OptimizedExportStrategy extends BaseSampleExportStrategy {
                 LOGGER.debug("Not enough steps ({}) in preparation.", steps.size());
                 return null;
             }
+            final int versionIndex;
             if (StringUtils.equals("head", stepId) || StringUtils.isEmpty(stepId)) {
-                version = steps.get(steps.size() - 1);
-                previousVersion = steps.get(steps.size() - 2);
-            } else if (preparation.getSteps().indexOf(version) >= 1) {
-                version = stepId;
-                previousVersion = steps.get(preparation.getSteps().indexOf(version) - 1);
+                versionIndex = steps.size() - 1;
+                version = steps.get(versionIndex);
+            } else {
+                versionIndex = steps.indexOf(version);
             }
-            // Get metadata of previous step
+            if (versionIndex < 1) {
+                LOGGER.debug("Version '{}' has no ancestor in preparation.", version);
+                return null;
+            }
+            // Walk back to the nearest ancestor step with both metadata and content in cache (each step costs cache
+            // lookups, so walk stops after the max number of steps to replay)
+            final int lastCandidateIndex = Math.max(0, versionIndex - maxReplayedSteps);
+            for (int i = versionIndex - 1; i >= lastCandidateIndex; i--) {
+                if (isCached(steps.get(i))) {
+                    previousVersion = steps.get(i);
+                    LOGGER.debug("Replay from cached step '{}' ({} step(s) to replay)", previousVersion,
+                            versionIndex - i);
+                    return this;
+                }
+            }
+            LOGGER.debug("No cached ancestor for version '{}' in the last {} step(s)", version, maxReplayedSteps);
+            return null;
+        }
+
+        // Check metadata and content of the step are in cache (and initialize metadata and cache key if they are).
+        private boolean isCached(String candidate) throws IOException {
+            // Get metadata of candidate step
             final TransformationMetadataCacheKey transformationMetadataCacheKey =
-                    cacheKeyGenerator.generateMetadataKey(preparationId, previousVersion, sourceType);
+                    cacheKeyGenerator.generateMetadataKey(preparationId, candidate, sourceType);
             if (!contentCache.has(transformationMetadataCacheKey)) {
-                LOGGER.debug("No metadata cached for previous version '{}' (key for lookup: '{}')", previousVersion,
+                LOGGER.debug("No metadata cached for version '{}' (key for lookup: '{}')", candidate,
                         transformationMetadataCacheKey.getKey());
-                return null;
-            }
-            try (InputStream input = contentCache.get(transformationMetadataCacheKey)) {
-                metadata = mapper.readerFor(DataSetMetadata.class).readValue(input);
+                return false;
             }
-            transformationCacheKey = cacheKeyGenerator.generateContentKey( //
+            final TransformationCacheKey candidateCacheKey = cacheKeyGenerator.generateContentKey( //
                     dataSetId, //
                     preparationId, //
-                    previousVersion, //
+                    candidate, //
                     formatName, //
                     sourceType, //
                     filter //
             );
-            LOGGER.debug("Previous content cache key: {}", transformationCacheKey.getKey());
-            LOGGER.debug("Previous content cache key details: {}", transformationCacheKey);
+            LOGGER.debug("Previous content cache key: {}", candidateCacheKey.getKey());
+            LOGGER.debug("Previous content cache key details: {}", candidateCacheKey);
 
-            if (!contentCache.has(transformationCacheKey)) {
-                LOGGER.debug("No content cached for previous version '{}'", previousVersion);
-                return null;
+            if (!contentCache.has(candidateCacheKey)) {
+                LOGGER.debug("No content cached for version '{}'", candidate);
+                return false;
+            }
+            try (InputStream input = contentCache.get(transformationMetadataCacheKey)) {
+                metadata = mapper.readerFor(DataSetMetadata.class).readValue(input);
             }
-            return this;
+            transformationCacheKey = candidateCacheKey;
+            return true;
         }
     }
 
@@ -13,8 +13,18 @@
 
 package org.talend.dataprep.transformation.aggregation.operation;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
 import org.junit.Test;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.transformation.aggregation.api.AggregationOperation;
 import org.talend.dataprep.transformation.aggregation.api.AggregationParameters;
+import org.talend.dataprep.transformation.aggregation.api.AggregationResult;
+import org.talend.dataprep.transformation.aggregation.api.Operator;
 
 /**
  * Unit test for the AggregatorFactory.
@@ -35,4 +45,56 @@ public class AggregatorFactoryTest {
 
         Aggregator actual = factory.get(parameters);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldMergeAverageAggregators() {
+        // given
+        final AggregationParameters parameters = new AggregationParameters();
+        parameters.addGroupBy("0000");
+        parameters.addOperation(new AggregationOperation("0001", Operator.AVERAGE));
+        final Aggregator first = factory.get(parameters);
+        final Aggregator second = factory.get(parameters);
+        first.accept(row("a", "1"));
+        first.accept(row("a", "N/A"));
+        first.accept(row("b", "10"));
+        second.accept(row("a", "5"));
+        second.accept(row("c", ""));
+
+        // when
+        first.merge(second);
+        final AggregationResult result = new AggregationResult(Operator.AVERAGE);
+        first.normalize(result);
+
+        // then
+        assertEquals(3, result.get("a").getValue(), 0);
+        assertEquals(10, result.get("b").getValue(), 0);
+        assertNull(result.get("c"));
+    }
+
+    @Test
+    public void shouldSkipEmptyGroupForSum() {
+        // given
+        final AggregationParameters parameters = new AggregationParameters();
+        parameters.addGroupBy("0000");
+        parameters.addOperation(new AggregationOperation("0001", Operator.SUM));
+        final Aggregator aggregator = factory.get(parameters);
+
+        // when
+        aggregator.accept(row("a", "1.5"));
+        aggregator.accept(row("a", " 2.5"));
+        aggregator.accept(row("", "3"));
+        final AggregationResult result = new AggregationResult(Operator.SUM);
+        aggregator.normalize(result);
+
+        // then
+        assertEquals(4, result.get("a").getValue(), 0);
+        assertNull(result.get(""));
+    }
+
+    private static DataSetRow row(String group, String value) {
+        final Map<String, String> values = new HashMap<>();
+        values.put("0000", group);
+        values.put("0001", value);
+        return new DataSetRow(values);
+    }
+}
@@ -37,21 +37,19 @@ public class AverageTest extends OperationBaseTest {
     public void shouldComputeAverage() {
 
         AggregationResult result = new AggregationResult(Operator.AVERAGE);
-        aggregator.accept(getRow("toto", "10"), result);
-        aggregator.accept(getRow("toto", "2"), result);
-        aggregator.accept(getRow("toto", "3.6"), result);
-        aggregator.accept(getRow("toto", ""), result);
-        aggregator.accept(getRow("toto", "8.2"), result);
-        aggregator.accept(getRow("tata", "10"), result);
-        aggregator.accept(getRow("toto", "-8"), result);
-        aggregator.accept(getRow("toto", "12.3"), result);
-        aggregator.accept(getRow("tata", "5"), result);
-
-        final Average.AverageContext toto = (Average.AverageContext) result.get("toto");
-        assertEquals(4.683d, toto.getValue(), 0.001d);
-
-        final Average.AverageContext tata = (Average.AverageContext) result.get("tata");
-        assertEquals(7.5d, tata.getValue(), 0);
+        aggregator.accept(getRow("toto", "10"));
+        aggregator.accept(getRow("toto", "2"));
+        aggregator.accept(getRow("toto", "3.6"));
+        aggregator.accept(getRow("toto", ""));
+        aggregator.accept(getRow("toto", "8.2"));
+        aggregator.accept(getRow("tata", "10"));
+        aggregator.accept(getRow("toto", "-8"));
+        aggregator.accept(getRow("toto", "12.3"));
+        aggregator.accept(getRow("tata", "5"));
+        aggregator.normalize(result);
+
+        assertEquals(4.683d, result.get("toto").getValue(), 0.001d);
+        assertEquals(7.5d, result.get("tata").getValue(), 0);
 
     }
 
@@ -59,20 +57,36 @@ public class AverageTest extends OperationBaseTest {
     public void shouldRemoveEmptyDuringAverageNormalization() {
 
         AggregationResult result = new AggregationResult(Operator.AVERAGE);
-        aggregator.accept(getRow("toto", "10"), result);
-        aggregator.accept(getRow("toto", "0"), result);
-        aggregator.accept(getRow("empty", ""), result);
-        aggregator.accept(getRow("empty", ""), result);
-
-        final Average.AverageContext toto = (Average.AverageContext) result.get("toto");
-        assertEquals(5d, toto.getValue(), 0d);
+        aggregator.accept(getRow("toto", "10"));
+        aggregator.accept(getRow("toto", "0"));
+        aggregator.accept(getRow("empty", ""));
+        aggregator.accept(getRow("empty", ""));
 
-        final Average.AverageContext empty = (Average.AverageContext) result.get("empty");
-        assertEquals(Double.NaN, empty.getValue(), 0d);
-
-        // Empty results should be removed when normalize() is called on result
+        // Groups without any number should not be part of the result
         aggregator.normalize(result);
+        assertEquals(5d, result.get("toto").getValue(), 0d);
         assertEquals(null, result.get("empty"));
     }
 
+    @Test
+    public void shouldMergePartialAverages() {
+        // given
+        final Aggregator other = new Average("0000", "0001");
+        aggregator.accept(getRow("toto", "10"));
+        aggregator.accept(getRow("toto", "2"));
+        aggregator.accept(getRow("tata", "10"));
+        other.accept(getRow("toto", "3"));
+        other.accept(getRow("tutu", "4"));
+
+        // when
+        aggregator.merge(other);
+        AggregationResult result = new AggregationResult(Operator.AVERAGE);
+        aggregator.normalize(result);
+
+        // then
+        assertEquals(5d, result.get("toto").getValue(), 0d);
+        assertEquals(10d, result.get("tata").getValue(), 0d);
+        assertEquals(4d, result.get("tutu").getValue(), 0d);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.aggregation.operation;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Unit test for the GroupAccumulator.
+ */
+public class GroupAccumulatorTest {
+
+    @Test
+    public void shouldAccumulateManyGroups() {
+        // given
+        final GroupAccumulator accumulator = new GroupAccumulator(0d, Double::sum);
+
+        // when
+        for (int i = 0; i < 10000; i++) {
+            accumulator.add("group" + (i % 1000), i);
+        }
+        accumulator.add(null, 1);
+        accumulator.add(null, 2);
+
+        // then
+        final Map<String, Double> values = new HashMap<>();
+        final Map<String, Long> counts = new HashMap<>();
+        accumulator.forEach((key, value, count) -> {
+            values.put(key, value);
+            counts.put(key, count);
+        });
+        assertEquals(1001, accumulator.size());
+        assertEquals(1001, values.size());
+        assertEquals(0 + 1000 + 2000 + 3000 + 4000 + 5000 + 6000 + 7000 + 8000 + 9000, values.get("group0"), 0);
+        assertEquals(10, (long) counts.get("group999"));
+        assertEquals(3, values.get(null), 0);
+        assertEquals(2, (long) counts.get(null));
+    }
+
+    @Test
+    public void shouldMergePartialStates() {
+        // given
+        final GroupAccumulator first = new GroupAccumulator(Double.POSITIVE_INFINITY, Math::min);
+        final GroupAccumulator second = new GroupAccumulator(Double.POSITIVE_INFINITY, Math::min);
+        first.add("a", 5);
+        first.add("b", 1);
+        second.add("a", 3);
+        second.add("c", 7);
+
+        // when
+        first.merge(second);
+
+        // then
+        final Map<String, Double> values = new HashMap<>();
+        final Map<String, Long> counts = new HashMap<>();
+        first.forEach((key, value, count) -> {
+            values.put(key, value);
+            counts.put(key, count);
+        });
+        assertEquals(3, values.size());
+        assertEquals(3, values.get("a"), 0);
+        assertEquals(2, (long) counts.get("a"));
+        assertEquals(1, values.get("b"), 0);
+        assertEquals(7, values.get("c"), 0);
+    }
+}
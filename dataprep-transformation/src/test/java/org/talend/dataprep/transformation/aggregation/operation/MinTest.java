@@ -36,18 +36,19 @@ public class MinTest extends OperationBaseTest {
     public void shouldComputeMin() {
         // given when
         AggregationResult result = new AggregationResult(Operator.MIN);
-        aggregator.accept(getRow("toto", "5123.4"), result);
-        aggregator.accept(getRow("tata", "-50.2"), result); // <-- min here for tata
-        aggregator.accept(getRow("toto", "786.884"), result);
-        aggregator.accept(getRow("tata", "-0.2"), result);
-        aggregator.accept(getRow("toto", "41843.453"), result);
-        aggregator.accept(getRow("toto", "0"), result);
-        aggregator.accept(getRow("tata", "20"), result);
-        aggregator.accept(getRow("toto", "-1"), result); // <-- min here for toto
-        aggregator.accept(getRow("toto", "8.87"), result);
-        aggregator.accept(getRow("tata", "875"), result);
-        aggregator.accept(getRow("toto", "-0.01"), result);
-        aggregator.accept(getRow("tutu", "dqsfqs"), result); // <-- should not be part of the result
+        aggregator.accept(getRow("toto", "5123.4"));
+        aggregator.accept(getRow("tata", "-50.2")); // <-- min here for tata
+        aggregator.accept(getRow("toto", "786.884"));
+        aggregator.accept(getRow("tata", "-0.2"));
+        aggregator.accept(getRow("toto", "41843.453"));
+        aggregator.accept(getRow("toto", "0"));
+        aggregator.accept(getRow("tata", "20"));
+        aggregator.accept(getRow("toto", "-1")); // <-- min here for toto
+        aggregator.accept(getRow("toto", "8.87"));
+        aggregator.accept(getRow("tata", "875"));
+        aggregator.accept(getRow("toto", "-0.01"));
+        aggregator.accept(getRow("tutu", "dqsfqs")); // <-- should not be part of the result
+        aggregator.normalize(result);
 
         // then
         Assert.assertEquals(result.get("toto").getValue(), -1, 0);
@@ -59,19 +60,20 @@ public class MinTest extends OperationBaseTest {
     public void shouldNormalizeHaveNoEffect() {
         // given when
         AggregationResult result = new AggregationResult(Operator.MIN);
-        aggregator.accept(getRow("toto", "5123.4"), result);
-        aggregator.accept(getRow("tata", "-50.2"), result); // <-- min here for tata
-        aggregator.accept(getRow("toto", "786.884"), result);
-        aggregator.accept(getRow("tata", "-0.2"), result);
-        aggregator.accept(getRow("toto", "41843.453"), result);
-        aggregator.accept(getRow("toto", "0"), result);
-        aggregator.accept(getRow("tata", "20"), result);
-        aggregator.accept(getRow("toto", "-1"), result); // <-- min here for toto
-        aggregator.accept(getRow("toto", "8.87"), result);
-        aggregator.accept(getRow("tata", "875"), result);
-        aggregator.accept(getRow("toto", "-0.01"), result);
-        aggregator.accept(getRow("tutu", "dqsfqs"), result); // <-- should not be part of the result
-        aggregator.normalize(result); // No effect for operation
+        aggregator.accept(getRow("toto", "5123.4"));
+        aggregator.accept(getRow("tata", "-50.2")); // <-- min here for tata
+        aggregator.accept(getRow("toto", "786.884"));
+        aggregator.accept(getRow("tata", "-0.2"));
+        aggregator.accept(getRow("toto", "41843.453"));
+        aggregator.accept(getRow("toto", "0"));
+        aggregator.accept(getRow("tata", "20"));
+        aggregator.accept(getRow("toto", "-1")); // <-- min here for toto
+        aggregator.accept(getRow("toto", "8.87"));
+        aggregator.accept(getRow("tata", "875"));
+        aggregator.accept(getRow("toto", "-0.01"));
+        aggregator.accept(getRow("tutu", "dqsfqs")); // <-- should not be part of the result
+        aggregator.normalize(result);
+        aggregator.normalize(result); // Normalizing again has no effect
 
         // then
         Assert.assertEquals(result.get("toto").getValue(), -1, 0);
@@ -36,12 +36,13 @@ public class SumTest extends OperationBaseTest {
     public void shouldComputeSum() {
         // given when
         AggregationResult result = new AggregationResult(Operator.SUM);
-        aggregator.accept(getRow("toto", "514.3"), result);
-        aggregator.accept(getRow("toto", "0"), result);
-        aggregator.accept(getRow("toto", ""), result);
-        aggregator.accept(getRow("toto", "-786.25"), result);
-        aggregator.accept(getRow("toto", "235874"), result);
-        aggregator.accept(getRow("toto", "-8760"), result);
+        aggregator.accept(getRow("toto", "514.3"));
+        aggregator.accept(getRow("toto", "0"));
+        aggregator.accept(getRow("toto", ""));
+        aggregator.accept(getRow("toto", "-786.25"));
+        aggregator.accept(getRow("toto", "235874"));
+        aggregator.accept(getRow("toto", "-8760"));
+        aggregator.normalize(result);
 
         // then
         Assert.assertEquals(result.get("toto").getValue(), 226842.05, 0);
@@ -52,13 +53,14 @@ public class SumTest extends OperationBaseTest {
     public void shouldNormalizeHaveNoEffect() {
         // given when
         AggregationResult result = new AggregationResult(Operator.SUM);
-        aggregator.accept(getRow("toto", "514.3"), result);
-        aggregator.accept(getRow("toto", "0"), result);
-        aggregator.accept(getRow("toto", ""), result);
-        aggregator.accept(getRow("toto", "-786.25"), result);
-        aggregator.accept(getRow("toto", "235874"), result);
-        aggregator.accept(getRow("toto", "-8760"), result);
-        aggregator.normalize(result); // No effect for operation
+        aggregator.accept(getRow("toto", "514.3"));
+        aggregator.accept(getRow("toto", "0"));
+        aggregator.accept(getRow("toto", ""));
+        aggregator.accept(getRow("toto", "-786.25"));
+        aggregator.accept(getRow("toto", "235874"));
+        aggregator.accept(getRow("toto", "-8760"));
+        aggregator.normalize(result);
+        aggregator.normalize(result); // Normalizing again has no effect
 
         // then
         Assert.assertEquals(result.get("toto").getValue(), 226842.05, 0);
@@ -0,0 +1,47 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+
+package org.talend.dataprep.transformation.api.transformer.json;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.talend.dataprep.api.preparation.Action;
+
+public class PipelineDiffTransformerTest {
+
+    @Test
+    public void shouldFindCommonPrefixOfActions() {
+        // given
+        final Action upper = action("uppercase", "column_id", "0000");
+        final Action lower = action("lowercase", "column_id", "0001");
+        final Action delete = action("delete_empty", "column_id", "0002");
+
+        // then
+        assertEquals(2, PipelineDiffTransformer.getCommonPrefixLength(asList(upper, lower),
+                asList(upper, lower, delete)));
+        assertEquals(1, PipelineDiffTransformer.getCommonPrefixLength(asList(upper, lower),
+                asList(upper, action("lowercase", "column_id", "0002"))));
+        assertEquals(0, PipelineDiffTransformer.getCommonPrefixLength(asList(lower, upper), asList(upper, lower)));
+        assertEquals(0, PipelineDiffTransformer.getCommonPrefixLength(emptyList(), asList(upper)));
+    }
+
+    private static Action action(String name, String parameter, String value) {
+        final Action action = new Action();
+        action.setName(name);
+        action.getParameters().put(parameter, value);
+        return action;
+    }
+}
@@ -0,0 +1,111 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.format;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.talend.dataprep.api.dataset.ColumnMetadata;
+import org.talend.dataprep.api.dataset.DataSet;
+import org.talend.dataprep.api.dataset.RowMetadata;
+import org.talend.dataprep.api.dataset.row.DataSetRow;
+import org.talend.dataprep.api.type.Type;
+
+/**
+ * Unit test for the AvroWriter.
+ *
+ * @see AvroWriter
+ */
+public class AvroWriterTest extends BaseFormatTest {
+
+    /** The writer to test. */
+    private AvroWriter writer;
+
+    /** Where the writer should write. */
+    private ByteArrayOutputStream outputStream;
+
+    @Before
+    public void init() {
+        outputStream = new ByteArrayOutputStream();
+        writer = (AvroWriter) context.getBean("writer#AVRO", outputStream);
+    }
+
+    @Test
+    public void shouldReadWrittenRows() throws Exception {
+        // given
+        final List<ColumnMetadata> columns = new ArrayList<>(2);
+        columns.add(ColumnMetadata.Builder.column().id(0).name("id").type(Type.STRING).build());
+        columns.add(ColumnMetadata.Builder.column().id(1).name("firstname").type(Type.STRING).build());
+        final RowMetadata rowMetadata = new RowMetadata(columns);
+
+        final Map<String, String> values = new HashMap<>();
+        values.put("0000", "64a5456ac148b64524ef165");
+        values.put("0001", "Superman");
+
+        // when
+        writer.write(rowMetadata);
+        writer.write(new DataSetRow(rowMetadata, values));
+        writer.close();
+
+        // then
+        try (DataSet dataSet = AvroWriter.read(new ByteArrayInputStream(outputStream.toByteArray()), mapper)) {
+            assertEquals(2, dataSet.getMetadata().getRowMetadata().getColumns().size());
+            final List<DataSetRow> rows = dataSet.getRecords().collect(toList());
+            assertEquals(1, rows.size());
+            assertEquals("Superman", rows.get(0).get("0001"));
+        }
+    }
+
+    @Test
+    public void shouldReadWrittenRowMetadata() throws Exception {
+        // given
+        final ColumnMetadata column = ColumnMetadata.Builder.column().id(0).name("zip").type(Type.INTEGER).build();
+        column.setDomain("FR_POSTAL_CODE");
+        final RowMetadata rowMetadata = new RowMetadata(new ArrayList<>(Collections.singletonList(column)));
+
+        // when
+        writer.write(rowMetadata);
+        writer.write(new DataSetRow(rowMetadata, Collections.singletonMap("0000", "44000")));
+        writer.close();
+
+        // then
+        try (DataSet dataSet = AvroWriter.read(new ByteArrayInputStream(outputStream.toByteArray()), mapper)) {
+            final ColumnMetadata readColumn = dataSet.getMetadata().getRowMetadata().getById("0000");
+            assertEquals(Type.INTEGER.getName(), readColumn.getType());
+            assertEquals("FR_POSTAL_CODE", readColumn.getDomain());
+            assertEquals("44000", dataSet.getRecords().findFirst().get().get("0000"));
+        }
+    }
+
+    @Test
+    public void shouldWriteEmptyContent() throws Exception {
+        // when
+        writer.close();
+
+        // then
+        try (DataSet dataSet = AvroWriter.read(new ByteArrayInputStream(outputStream.toByteArray()), mapper)) {
+            assertEquals(0, dataSet.getRecords().count());
+        }
+    }
+}
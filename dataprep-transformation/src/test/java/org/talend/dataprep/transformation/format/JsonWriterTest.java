@@ -16,12 +16,16 @@ package org.talend.dataprep.transformation.format;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
 import static uk.co.datumedge.hamcrest.json.SameJSONAs.sameJSONAs;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -146,4 +150,29 @@ public class JsonWriterTest extends BaseFormatTest {
         // then
         assertThat(new String(outputStream.toByteArray()), sameJSONAs(expectedJson));
     }
+
+    @Test
+    public void shouldKeepNumbersOfBufferedRowsAsJsonNumbers() throws IOException {
+        // given
+        final Map<String, Object> values = new LinkedHashMap<>();
+        values.put("decimal", new BigDecimal("12345678901234567890.123"));
+        values.put("integer", new BigInteger("12345678901234567890"));
+        values.put("float", 1.5f);
+        values.put("short", (short) 3);
+        values.put("string", "4.2");
+        final SpillBuffer<JsonWriter.BufferedDataSetRow> buffer =
+                new SpillBuffer<>(JsonWriter.BufferedDataSetRow.CODEC, 0);
+        buffer.appendRow(new JsonWriter.BufferedDataSetRow(values));
+
+        // when
+        final Map<String, Object> read = buffer.readAll().findFirst().get().values;
+        buffer.close();
+
+        // then
+        assertEquals(new BigDecimal("12345678901234567890.123"), read.get("decimal"));
+        assertEquals(new BigInteger("12345678901234567890"), read.get("integer"));
+        assertEquals(1.5f, read.get("float"));
+        assertEquals(3, read.get("short"));
+        assertEquals("4.2", read.get("string"));
+    }
 }
@@ -0,0 +1,106 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.format;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Micro benchmark comparing the JSON {@link ObjectBuffer} with the binary {@link SpillBuffer} used by export writers
+ * to buffer rows. Ignored by default as it buffers millions of rows, run it manually.
+ */
+@Ignore("Micro benchmark, run manually")
+public class SpillBufferBenchmark {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpillBufferBenchmark.class);
+
+    private static final int ROWS = 1_000_000;
+
+    private static final int COLUMNS = 10;
+
+    private static final int ITERATIONS = 5;
+
+    private static final SpillBuffer.Codec<String[]> CODEC = new SpillBuffer.Codec<String[]>() {
+
+        @Override
+        public void write(String[] entity, DataOutput output) throws IOException {
+            SpillBuffer.writeStrings(entity, output);
+        }
+
+        @Override
+        public String[] read(DataInput input) throws IOException {
+            return SpillBuffer.readStrings(input);
+        }
+    };
+
+    private final String[][] rows = new String[ROWS][];
+
+    public SpillBufferBenchmark() {
+        for (int i = 0; i < ROWS; i++) {
+            rows[i] = new String[COLUMNS];
+            for (int j = 0; j < COLUMNS; j++) {
+                rows[i][j] = "value " + i + '-' + j;
+            }
+        }
+    }
+
+    @Test
+    public void objectBuffer() throws IOException {
+        for (int i = 0; i < ITERATIONS; i++) {
+            final long start = System.currentTimeMillis();
+            final long count;
+            try (ObjectBuffer<String[]> buffer = new ObjectBuffer<>(String[].class)) {
+                for (String[] row : rows) {
+                    buffer.appendRow(row);
+                }
+                count = buffer.readAll().filter(row -> row.length > 0).count();
+            }
+            LOGGER.info("ObjectBuffer: {} rows in {} ms", count, System.currentTimeMillis() - start);
+        }
+    }
+
+    @Test
+    public void spillBufferInMemory() throws IOException {
+        run("SpillBuffer (memory)", Long.MAX_VALUE);
+    }
+
+    @Test
+    public void spillBufferOnDisk() throws IOException {
+        run("SpillBuffer (disk)", 0);
+    }
+
+    @Test
+    public void spillBufferDefaultThreshold() throws IOException {
+        run("SpillBuffer (default threshold)", SpillBuffer.DEFAULT_MEMORY_THRESHOLD);
+    }
+
+    private void run(String name, long threshold) throws IOException {
+        for (int i = 0; i < ITERATIONS; i++) {
+            final long start = System.currentTimeMillis();
+            final long count;
+            try (SpillBuffer<String[]> buffer = new SpillBuffer<>(CODEC, threshold)) {
+                for (String[] row : rows) {
+                    buffer.appendRow(row);
+                }
+                count = buffer.readAll().filter(row -> row.length > 0).count();
+            }
+            LOGGER.info("{}: {} rows in {} ms", name, count, System.currentTimeMillis() - start);
+        }
+    }
+}
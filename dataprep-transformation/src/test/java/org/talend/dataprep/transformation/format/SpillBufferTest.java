@@ -0,0 +1,105 @@
+// ============================================================================
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+
+package org.talend.dataprep.transformation.format;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class SpillBufferTest {
+
+    private static final SpillBuffer.Codec<String[]> CODEC = new SpillBuffer.Codec<String[]>() {
+
+        @Override
+        public void write(String[] entity, DataOutput output) throws IOException {
+            SpillBuffer.writeStrings(entity, output);
+        }
+
+        @Override
+        public String[] read(DataInput input) throws IOException {
+            return SpillBuffer.readStrings(input);
+        }
+    };
+
+    @Test
+    public void shouldReadBackInMemoryRows() throws Exception {
+        // Given
+        SpillBuffer<String[]> buffer = new SpillBuffer<>(CODEC, SpillBuffer.DEFAULT_MEMORY_THRESHOLD);
+        buffer.appendRow(new String[] { "David Bowie", "N", "Something" });
+        buffer.appendRow(new String[] { "Lou Reed", null, "été ☃" });
+
+        // When
+        final List<String[]> rows = buffer.readAll().collect(toList());
+
+        // Then
+        assertFalse(buffer.isSpilled());
+        assertEquals(2, rows.size());
+        assertArrayEquals(new String[] { "David Bowie", "N", "Something" }, rows.get(0));
+        assertArrayEquals(new String[] { "Lou Reed", null, "été ☃" }, rows.get(1));
+        buffer.close();
+    }
+
+    @Test
+    public void shouldSpillToDiskPastThreshold() throws Exception {
+        // Given
+        SpillBuffer<String[]> buffer = new SpillBuffer<>(CODEC, 1024);
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            buffer.appendRow(new String[] { "value " + i, String.valueOf(i) });
+        }
+
+        // Then
+        assertTrue(buffer.isSpilled());
+        final List<String[]> rows = buffer.readAll().collect(toList());
+        assertEquals(1000, rows.size());
+        for (int i = 0; i < 1000; i++) {
+            assertArrayEquals(new String[] { "value " + i, String.valueOf(i) }, rows.get(i));
+        }
+        buffer.close();
+    }
+
+    @Test
+    public void testCloseCleanUp() throws Exception {
+        // Given
+        SpillBuffer<String[]> buffer = new SpillBuffer<>(CODEC, 0);
+        buffer.appendRow(new String[] { "David Bowie" });
+        Path tempFile = (Path) ReflectionTestUtils.getField(buffer, "tempFile");
+        assertTrue(Files.exists(tempFile));
+
+        // When
+        buffer.close();
+
+        // Then
+        assertFalse(Files.exists(tempFile));
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldNotReadClosedBuffer() throws Exception {
+        // Given
+        SpillBuffer<String[]> buffer = new SpillBuffer<>(CODEC, SpillBuffer.DEFAULT_MEMORY_THRESHOLD);
+        buffer.close();
+
+        // When
+        buffer.readAll();
+    }
+}
@@ -24,6 +24,7 @@ import java.util.List;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.talend.dataprep.api.dataset.DataSet;
 import org.talend.dataprep.api.export.ExportParameters;
 import org.talend.dataprep.api.preparation.Preparation;
@@ -208,6 +209,62 @@ public class OptimizedExportStrategyTest extends TransformationServiceBaseTest {
         assertTrue(optimizedExportStrategy.test(exportParameters));
     }
 
+    @Test
+    public void testAcceptOK_nearestCachedAncestor() throws Exception {
+        // Given
+        final String datasetId = "1234";
+        final String format = "";
+        final String preparation = createEmptyPreparationFromDataset(datasetId, "test");
+        applyAction(preparation, "[{}]");
+        applyAction(preparation, "[{}]");
+        applyAction(preparation, "[{}]");
+
+        // only first step after root step is in cache
+        final PreparationDTO preparationDetails = getPreparation(preparation);
+        final List<String> steps = preparationDetails.getSteps();
+        putTransformationAndMetadataInCacheForSteps(steps.subList(1, 2), preparation, datasetId, format);
+
+        ExportParameters exportParameters = new ExportParameters();
+        exportParameters.setPreparationId(preparation);
+        exportParameters.setDatasetId(datasetId);
+        exportParameters.setExportType(format);
+        exportParameters.setFrom(HEAD);
+
+        // Then
+        assertTrue(optimizedExportStrategy.test(exportParameters));
+    }
+
+    @Test
+    public void testAcceptKO_cachedAncestorTooFar() throws Exception {
+        // Given
+        final String datasetId = "1234";
+        final String format = "";
+        final String preparation = createEmptyPreparationFromDataset(datasetId, "test");
+        applyAction(preparation, "[{}]");
+        applyAction(preparation, "[{}]");
+        applyAction(preparation, "[{}]");
+
+        // only first step after root step is in cache (2 steps to replay)
+        final PreparationDTO preparationDetails = getPreparation(preparation);
+        final List<String> steps = preparationDetails.getSteps();
+        putTransformationAndMetadataInCacheForSteps(steps.subList(1, 2), preparation, datasetId, format);
+
+        ExportParameters exportParameters = new ExportParameters();
+        exportParameters.setPreparationId(preparation);
+        exportParameters.setDatasetId(datasetId);
+        exportParameters.setExportType(format);
+        exportParameters.setFrom(HEAD);
+
+        // Then
+        final Object maxReplayedSteps = ReflectionTestUtils.getField(optimizedExportStrategy, "maxReplayedSteps");
+        try {
+            ReflectionTestUtils.setField(optimizedExportStrategy, "maxReplayedSteps", 1);
+            assertFalse(optimizedExportStrategy.test(exportParameters));
+        } finally {
+            ReflectionTestUtils.setField(optimizedExportStrategy, "maxReplayedSteps", maxReplayedSteps);
+        }
+    }
+
     @Test
     public void testExecute() throws Exception {
         // Given
@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+ *
+ * This source code is available under agreement available at
+ * https://github.com/Talend/data-prep/blob/master/LICENSE
+ *
+ * You should have received a copy of the agreement
+ * along with this program; if not, write to Talend SA
+ * 9 rue Pages 92150 Suresnes, France
+ */
+
+package org.talend.dataprep.upgrade.to_3_0_0_PE;
+
+import static org.slf4j.LoggerFactory.getLogger;
+import static org.talend.dataprep.upgrade.model.UpgradeTask.target.VERSION;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.talend.dataprep.api.preparation.Action;
+import org.talend.dataprep.api.preparation.PreparationActions;
+import org.talend.dataprep.api.preparation.Step;
+import org.talend.dataprep.preparation.store.PersistentPreparationActions;
+import org.talend.dataprep.preparation.store.PersistentStep;
+import org.talend.dataprep.preparation.store.PreparationRepository;
+import org.talend.dataprep.upgrade.model.UpgradeTask;
+
+/**
+ * Steps used to reference a full copy of all the actions from the root step. This task replaces these full copies by
+ * {@link PersistentPreparationActions} that only hold the actions added by the step and a reference to the parent
+ * step actions.
+ */
+@Component
+public class DeltaEncodePreparationActions extends BaseUpgradeTaskTo_3_0_0_PE {
+
+    /** This class' logger. */
+    private static final Logger LOGGER = getLogger(DeltaEncodePreparationActions.class);
+
+    @Autowired
+    private PreparationRepository preparationRepository;
+
+    @Override
+    public void run() {
+        LOGGER.info("Delta encoding of preparation actions...");
+
+        // First write all delta encoded actions (full actions are still available for parents lookup)
+        final Set<String> encoded = new HashSet<>();
+        try (Stream<PersistentStep> steps = preparationRepository.list(PersistentStep.class)) {
+            steps
+                    .filter(step -> !Step.ROOT_STEP.id().equals(step.id()) && step.getParentId() != null) //
+                    .filter(step -> !encoded.contains(step.getContent())) //
+                    .forEach(step -> {
+                        final PersistentPreparationActions delta = toDelta(step);
+                        if (delta != null) {
+                            preparationRepository.add(delta);
+                            encoded.add(delta.id());
+                        }
+                    });
+        }
+
+        // Then remove full actions now delta encoded
+        for (String id : encoded) {
+            final PreparationActions fullActions = new PreparationActions();
+            fullActions.setId(id);
+            preparationRepository.remove(fullActions);
+        }
+        LOGGER.info("Delta encoding of preparation actions done ({} actions encoded).", encoded.size());
+    }
+
+    private PersistentPreparationActions toDelta(PersistentStep step) {
+        final PersistentStep parent = preparationRepository.get(step.getParentId(), PersistentStep.class);
+        if (parent == null || Objects.equals(parent.getContent(), step.getContent())) {
+            LOGGER.debug("Ignore delta encoding of step #{} (no parent or same actions as parent).", step.id());
+            return null;
+        }
+        final PreparationActions actions = preparationRepository.get(step.getContent(), PreparationActions.class);
+        final PreparationActions parentActions =
+                preparationRepository.get(parent.getContent(), PreparationActions.class);
+        if (actions == null || parentActions == null) {
+            LOGGER.debug("Ignore delta encoding of step #{} (missing actions).", step.id());
+            return null;
+        }
+
+        final List<Action> stepActions = actions.getActions();
+        final List<Action> previousActions = parentActions.getActions();
+        if (!isPrefix(previousActions, stepActions)) {
+            LOGGER.debug("Ignore delta encoding of step #{} (actions do not extend parent's ones).", step.id());
+            return null;
+        }
+
+        final PersistentPreparationActions delta = new PersistentPreparationActions();
+        delta.setId(step.getContent());
+        delta.setParentId(parent.getContent());
+        delta.setActions(new ArrayList<>(stepActions.subList(previousActions.size(), stepActions.size())));
+        return delta;
+    }
+
+    private static boolean isPrefix(List<Action> prefix, List<Action> actions) {
+        if (prefix.size() > actions.size()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.size(); i++) {
+            final Action expected = prefix.get(i);
+            final Action actual = actions.get(i);
+            if (!Objects.equals(expected.getName(), actual.getName())
+                    || !Objects.equals(expected.getParameters(), actual.getParameters())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+
+    @Override
+    public UpgradeTask.target getTarget() {
+        return VERSION;
+    }
+}
@@ -0,0 +1,148 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2018 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// https://github.com/Talend/data-prep/blob/master/LICENSE
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+
+package org.talend.dataprep.upgrade.to_3_0_0_PE;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.talend.dataprep.api.preparation.Action;
+import org.talend.dataprep.api.preparation.PreparationActions;
+import org.talend.dataprep.api.preparation.Step;
+import org.talend.dataprep.preparation.store.PersistentPreparationActions;
+import org.talend.dataprep.preparation.store.PersistentStep;
+import org.talend.dataprep.preparation.store.PreparationRepository;
+import org.talend.dataprep.upgrade.model.UpgradeTaskId;
+
+public class DeltaEncodePreparationActionsTest extends Base_3_0_0_PE_Test {
+
+    @Autowired
+    private DeltaEncodePreparationActions task;
+
+    @Autowired
+    private PreparationRepository preparationRepository;
+
+    private PreparationActions firstActions;
+
+    private PreparationActions secondActions;
+
+    private PreparationActions thirdActions;
+
+    @Before
+    public void setUp() {
+        // a chain of 3 steps, each one storing the full list of actions (pre 3.0.0 format)
+        final Action uppercase = getAction("uppercase", "0001");
+        final Action lowercase = getAction("lowercase", "0002");
+        final Action trim = getAction("trim", "0003");
+        firstActions = getActions(uppercase);
+        secondActions = getActions(uppercase, lowercase);
+        thirdActions = getActions(uppercase, lowercase, trim);
+        preparationRepository.add(firstActions);
+        preparationRepository.add(secondActions);
+        preparationRepository.add(thirdActions);
+        preparationRepository.add(getStep("delta-step-1", Step.ROOT_STEP.id(), firstActions));
+        preparationRepository.add(getStep("delta-step-2", "delta-step-1", secondActions));
+        preparationRepository.add(getStep("delta-step-3", "delta-step-2", thirdActions));
+    }
+
+    @Test
+    public void shouldDeltaEncodeChainedActions() {
+        // when
+        task.run();
+
+        // then
+        assertDelta(firstActions, PreparationActions.ROOT_ACTIONS.id(), "uppercase");
+        assertDelta(secondActions, firstActions.id(), "lowercase");
+        assertDelta(thirdActions, secondActions.id(), "trim");
+        assertFullActions(thirdActions, "uppercase", "lowercase", "trim");
+    }
+
+    @Test
+    public void shouldBeIdempotent() {
+        // given
+        task.run();
+        final long deltaCount = preparationRepository.list(PersistentPreparationActions.class).count();
+
+        // when
+        task.run();
+
+        // then
+        assertEquals(deltaCount, preparationRepository.list(PersistentPreparationActions.class).count());
+        assertDelta(thirdActions, secondActions.id(), "trim");
+        assertFullActions(secondActions, "uppercase", "lowercase");
+        assertFullActions(thirdActions, "uppercase", "lowercase", "trim");
+    }
+
+    private void assertDelta(PreparationActions fullActions, String expectedParentId, String expectedAction) {
+        final Optional<PersistentPreparationActions> delta = preparationRepository
+                .list(PersistentPreparationActions.class) //
+                .filter(d -> fullActions.id().equals(d.id())) //
+                .findFirst();
+        assertTrue(delta.isPresent());
+        assertEquals(expectedParentId, delta.get().getParentId());
+        assertEquals(1, delta.get().getActions().size());
+        assertEquals(expectedAction, delta.get().getActions().get(0).getName());
+    }
+
+    private void assertFullActions(PreparationActions expected, String... expectedNames) {
+        final PreparationActions actual = preparationRepository.get(expected.id(), PreparationActions.class);
+        assertNotNull(actual);
+        final List<String> names = new ArrayList<>();
+        actual.getActions().forEach(action -> names.add(action.getName()));
+        assertEquals(Arrays.asList(expectedNames), names);
+    }
+
+    private static PreparationActions getActions(Action... actions) {
+        final PreparationActions preparationActions = new PreparationActions();
+        preparationActions.setActions(new ArrayList<>(Arrays.asList(actions)));
+        return preparationActions;
+    }
+
+    private static PersistentStep getStep(String id, String parentId, PreparationActions content) {
+        final PersistentStep step = new PersistentStep();
+        step.setId(id);
+        step.setParentId(parentId);
+        step.setContent(content.id());
+        return step;
+    }
+
+    private static Action getAction(String name, String columnId) {
+        final Action action = new Action();
+        action.setName(name);
+        final Map<String, String> parameters = new HashMap<>();
+        parameters.put("column_id", columnId);
+        action.setParameters(parameters);
+        return action;
+    }
+
+    @Override
+    protected UpgradeTaskId getTaskId() {
+        return task.getId();
+    }
+
+    @Override
+    protected int getExpectedTaskOrder() {
+        return 0;
+    }
+
+}
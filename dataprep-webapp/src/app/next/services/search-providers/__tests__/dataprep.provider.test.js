@@ -19,4 +19,11 @@ describe('DataprepProvider', () => {
 		const provider = new DataprepProvider(CATEGORIES);
 		expect(provider.transform(API_RESULTS)).toEqual(FORMATTED_RESULTS);
 	});
+
+	it('should ignore fields that are not categories', () => {
+		const provider = new DataprepProvider(CATEGORIES);
+		const results = JSON.parse(API_RESULTS.data);
+		results.partial = ['dataset'];
+		expect(provider.transform({ data: JSON.stringify(results) })).toEqual(FORMATTED_RESULTS);
+	});
 });
@@ -21,6 +21,8 @@ export default class DataprepSearchProvider extends SearchProvider {
 	transform(data) {
 		const converted = JSON.parse(data.data);
 		return Object.keys(converted)
+			// skip fields that are not categories (e.g. "partial")
+			.filter(type => this.categories.find(cat => cat.type === type))
 			.map((type) => {
 				const category = this.categories.find(cat => cat.type === type);
 
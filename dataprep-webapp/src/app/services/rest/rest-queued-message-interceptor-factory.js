@@ -14,6 +14,7 @@
 const ACCEPTED_CODE = 202;
 const LOOP_DELAY = 1000;
 const FOLLOWED_STATUS = ['NEW', 'RUNNING'];
+const STATUS_EVENT = 'status';
 const FAILED_STATUS = 'FAILED';
 const CANCELLED_STATUS = 'CANCELLED';
 
@@ -30,7 +31,7 @@ const NOOP = () => {};
  * @name data-prep.services.rest.service:RestQueuedMessageHandler
  * @description Queued message interceptor
  */
-export default function RestQueuedMessageHandler($q, $injector, $timeout, RestURLs, MessageService) {
+export default function RestQueuedMessageHandler($q, $injector, $timeout, $window, RestURLs, MessageService) {
 	'ngInject';
 
 	function checkStatus(url) {
@@ -57,19 +58,46 @@ export default function RestQueuedMessageHandler($q, $injector, $timeout, RestUR
 		return checker(url);
 	}
 
+	function listen(url, callback) {
+		return new Promise((resolve, reject) => {
+			const events = new $window.EventSource(url);
+			events.addEventListener(STATUS_EVENT, (event) => {
+				const data = JSON.parse(event.data);
+				(callback || NOOP)(data);
+				if (!FOLLOWED_STATUS.includes(data.status)) {
+					events.close();
+					resolve(data);
+				}
+			});
+			// stream is lost or timed out before the end of the execution
+			events.onerror = () => {
+				events.close();
+				reject();
+			};
+		});
+	}
+
+	function follow(url, callback) {
+		if (!$window.EventSource) {
+			return loop(url, callback);
+		}
+		return listen(`${url}/events`, callback).catch(() => loop(url, callback));
+	}
+
 	return {
 		/**
 		 * @ngdoc method
 		 * @name response
 		 * @methodOf data-prep.services.rest.service:RestQueuedMessageHandler
 		 * @param {object} response - the intercepted response
-		 * @description If a 202 occurs, loop until the status change from NEW/RUNNING to anything else
+		 * @description If a 202 occurs, listen to (or loop on) the status until it changes from NEW/RUNNING to
+		 * anything else
 		 */
 		response(response) {
 			const { headers, config, status } = response;
 
 			if (status === ACCEPTED_CODE && ALLOWED_METHODS.includes(config.method) && !config.async) {
-				return loop(`${RestURLs.context}${headers('Location')}`, config.statusCallback)
+				return follow(`${RestURLs.context}${headers('Location')}`, config.statusCallback)
 					.then((data) => {
 						const $http = $injector.get('$http');
 
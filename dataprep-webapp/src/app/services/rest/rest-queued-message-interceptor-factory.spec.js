@@ -16,6 +16,29 @@ describe('Rest message interceptor factory', () => {
 
 	let $httpBackend;
 	let httpProvider;
+	let $window;
+	let EventSource;
+	let eventSources;
+
+	class FakeEventSource {
+		constructor(url) {
+			this.url = url;
+			this.listeners = {};
+			eventSources.push(this);
+		}
+
+		addEventListener(name, listener) {
+			this.listeners[name] = listener;
+		}
+
+		emit(name, data) {
+			this.listeners[name]({ data: JSON.stringify(data) });
+		}
+
+		close() {
+			this.closed = true;
+		}
+	}
 
 	beforeEach(angular.mock.module('data-prep.services.rest', $httpProvider => {
 		httpProvider = $httpProvider;
@@ -24,8 +47,16 @@ describe('Rest message interceptor factory', () => {
 	beforeEach(inject(($injector, RestURLs, MessageService) => {
 		RestURLs.register({});
 		$httpBackend = $injector.get('$httpBackend');
+		$window = $injector.get('$window');
+		EventSource = $window.EventSource;
+		$window.EventSource = undefined;
+		eventSources = [];
 	}));
 
+	afterEach(() => {
+		$window.EventSource = EventSource;
+	});
+
 	it('should have the RestQueuedMessageHandler as an interceptor', () => {
 		expect(httpProvider.interceptors).toContain('RestQueuedMessageHandler');
 	});
@@ -48,6 +79,50 @@ describe('Rest message interceptor factory', () => {
 		$rootScope.$digest();
 	}));
 
+	it('should listen to the status events on 202', inject(($rootScope, $http) => {
+		// given
+		const statusCallback = jasmine.createSpy('statusCallback');
+		$window.EventSource = FakeEventSource;
+		$httpBackend.expectGET('slooooow').respond(202, '', { 'Location': 'status' });
+		$http.get('slooooow', { statusCallback });
+		$httpBackend.flush();
+		$rootScope.$digest();
+
+		// when
+		eventSources[0].emit('status', { status: 'RUNNING' });
+		eventSources[0].emit('status', { status: 'DONE', result: {} });
+
+		// then
+		expect(eventSources.length).toBe(1);
+		expect(eventSources[0].url).toBe('status/events');
+		expect(statusCallback.calls.count()).toBe(2);
+		expect(statusCallback).toHaveBeenCalledWith({ status: 'DONE', result: {} });
+		expect(eventSources[0].closed).toBe(true);
+	}));
+
+	it('should poll the status when events stream fails', (done) => {
+		inject(($rootScope, $http) => {
+			// given
+			$window.EventSource = FakeEventSource;
+			$httpBackend.expectGET('slooooow').respond(202, '', { 'Location': 'status' });
+			$http.get('slooooow');
+			$httpBackend.flush();
+			$rootScope.$digest();
+
+			// when
+			$httpBackend.expectGET('status').respond(200, { status: 'CANCELLED' });
+			eventSources[0].onerror();
+
+			// then
+			expect(eventSources[0].closed).toBe(true);
+			setTimeout(() => {
+				$httpBackend.flush();
+				$httpBackend.verifyNoOutstandingExpectation();
+				done();
+			});
+		})();
+	});
+
 	it('should do nothing when response code is 200', inject(($rootScope, $http, $timeout, MessageService) => {
 		let forbidden = false;
 		$httpBackend.expectGET('test').respond(200, '', { 'Location': 'status' });